@@ -0,0 +1,89 @@
+package com.clsk.media;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.List;
+
+/**
+ * 북마크/형광펜/말씀노트 조회 모듈 (AnnotationStore).
+ */
+public class AnnotationModule extends ReactContextBaseJavaModule {
+
+    private static final String TAG = "AnnotationModule";
+
+    private final ReactApplicationContext reactContext;
+
+    public AnnotationModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        this.reactContext = reactContext;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "AnnotationModule";
+    }
+
+    /**
+     * 장 화면 표시용. resolve 값: [{ type, color, jul }] (기존 SELECT type, color, jul 결과와 같은 모양)
+     */
+    @ReactMethod
+    public void getChapterMarks(int book, int jang, Promise promise) {
+        try {
+            WritableArray marks = Arguments.createArray();
+            for (AnnotationStore.Annotation annotation : AnnotationStore.getInstance(reactContext).getChapter(book, jang)) {
+                WritableMap mark = Arguments.createMap();
+                mark.putInt("type", annotation.type);
+                mark.putString("color", annotation.color);
+                mark.putInt("jul", annotation.jul);
+                marks.pushMap(mark);
+            }
+            promise.resolve(marks);
+        } catch (Exception e) {
+            Log.e(TAG, "장 표시 조회 실패: " + book + "/" + jang, e);
+            promise.reject("CHAPTER_MARKS_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 목록 화면용 페이지 조회 (최신순).
+     * resolve 값: { total, items: [{ book, jang, jul, bible, color, content, datetime, title }] }
+     */
+    @ReactMethod
+    public void listByType(int type, int page, int pageSize, Promise promise) {
+        try {
+            AnnotationStore store = AnnotationStore.getInstance(reactContext);
+            List<AnnotationStore.Annotation> annotations = store.listByType(type, Math.max(page, 0), Math.max(pageSize, 1));
+            WritableArray items = Arguments.createArray();
+            for (AnnotationStore.Annotation annotation : annotations) {
+                WritableMap item = Arguments.createMap();
+                item.putInt("book", annotation.book);
+                item.putInt("jang", annotation.jang);
+                item.putInt("jul", annotation.jul);
+                item.putString("bible", annotation.bible);
+                item.putString("color", annotation.color);
+                item.putString("content", annotation.content);
+                item.putString("datetime", annotation.datetime);
+                item.putString("title", annotation.title);
+                items.pushMap(item);
+            }
+            WritableMap result = Arguments.createMap();
+            result.putInt("total", store.countByType(type));
+            result.putArray("items", items);
+            promise.resolve(result);
+        } catch (Exception e) {
+            Log.e(TAG, "목록 조회 실패: type " + type, e);
+            promise.reject("LIST_ANNOTATIONS_ERROR", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+import android.util.SparseArray;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * bible_setting (1: 북마크, 2: 형광펜, 3: 말씀노트) 메모리 색인.
+ * 장(전역 장 번호)별, type 별 목록을 들고 있어 장 화면/목록 화면이 매번 테이블 전체를 읽지 않게 한다.
+ * 쓰기는 여전히 JS 에서 하므로 bible_setting 트리거가 올리는 setting_version 을 조회할 때마다 확인해
+ * 바뀌었으면 다시 읽는다. (PRAGMA data_version 은 커넥션마다 값이 달라 WAL 커넥션 풀에서는 쓸 수 없다)
+ */
+public class AnnotationStore {
+
+    private static final String TAG = "AnnotationStore";
+
+    public static final int TYPE_BOOKMARK = 1;
+    public static final int TYPE_HIGHLIGHT = 2;
+    public static final int TYPE_NOTE = 3;
+
+    public static class Annotation {
+        public final long rowId;
+        public final int book;
+        public final int jang;
+        public final int jul;
+        public final String title;
+        public final String content;
+        public final String bible;
+        public final String datetime;
+        public final String color;
+        public final int type;
+        final String sortKey;
+
+        Annotation(Cursor cursor) {
+            rowId = cursor.getLong(0);
+            book = cursor.getInt(1);
+            jang = cursor.getInt(2);
+            jul = cursor.getInt(3);
+            title = cursor.getString(4);
+            content = cursor.getString(5);
+            bible = cursor.getString(6);
+            datetime = cursor.getString(7);
+            color = cursor.getString(8);
+            type = cursor.getInt(9);
+            sortKey = digits(datetime);
+        }
+
+        /**
+         * "2024년01월02일", "2024년 01월 02일" 처럼 형식이 섞여 있어 숫자만 모아 정렬한다.
+         */
+        private static String digits(String value) {
+            if (value == null) {
+                return "";
+            }
+            StringBuilder builder = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    builder.append(c);
+                }
+            }
+            return builder.toString();
+        }
+    }
+
+    /** 최신 datetime 먼저, 같으면 나중에 넣은 행 먼저 */
+    private static final Comparator<Annotation> NEWEST_FIRST = (a, b) -> {
+        int compare = b.sortKey.compareTo(a.sortKey);
+        return compare != 0 ? compare : Long.compare(b.rowId, a.rowId);
+    };
+
+    /** 장 화면 순서: 절 순, 같은 절은 type 순, 같으면 넣은 순 */
+    private static final Comparator<Annotation> CHAPTER_ORDER = (a, b) -> {
+        int compare = Integer.compare(a.jul, b.jul);
+        if (compare == 0) {
+            compare = Integer.compare(a.type, b.type);
+        }
+        return compare != 0 ? compare : Long.compare(a.rowId, b.rowId);
+    };
+
+    private static AnnotationStore instance;
+
+    private final Context context;
+    private final SparseArray<List<Annotation>> byChapter = new SparseArray<>();
+    private final SparseArray<List<Annotation>> byType = new SparseArray<>();
+    private long dataVersion = -1;
+    private boolean schemaReady;
+
+    private AnnotationStore(Context context) {
+        this.context = context;
+    }
+
+    public static synchronized AnnotationStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new AnnotationStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * 다음 조회에서 무조건 다시 읽게 한다.
+     */
+    public synchronized void invalidate() {
+        dataVersion = -1;
+    }
+
+    private void ensureFresh() {
+        SQLiteDatabase db = SettingDatabase.get(context);
+        if (!schemaReady) {
+            prepareSchema(db);
+            schemaReady = true;
+        }
+        long version = readVersion(db);
+        if (version == dataVersion) {
+            return;
+        }
+        reload(db);
+        dataVersion = version;
+    }
+
+    private static void prepareSchema(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_setting_book_jang ON bible_setting(book, jang)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_setting_type ON bible_setting(type)");
+        db.execSQL("CREATE TABLE IF NOT EXISTS setting_version (id INTEGER PRIMARY KEY, version INTEGER)");
+        db.execSQL("INSERT OR IGNORE INTO setting_version (id, version) VALUES (1, 0)");
+        for (String event : new String[]{"INSERT", "UPDATE", "DELETE"}) {
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS bible_setting_version_" + event.toLowerCase(Locale.ROOT)
+                    + " AFTER " + event + " ON bible_setting"
+                    + " BEGIN UPDATE setting_version SET version = version + 1 WHERE id = 1; END");
+        }
+    }
+
+    private static long readVersion(SQLiteDatabase db) {
+        Cursor cursor = db.rawQuery("SELECT version FROM setting_version WHERE id = 1", null);
+        try {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private void reload(SQLiteDatabase db) {
+        long start = System.currentTimeMillis();
+        byChapter.clear();
+        byType.clear();
+        int count = 0;
+        Cursor cursor = db.rawQuery(
+                "SELECT rowid, book, jang, jul, title, content, bible, datetime, color, type FROM bible_setting", null);
+        try {
+            while (cursor.moveToNext()) {
+                Annotation annotation = new Annotation(cursor);
+                if (annotation.book >= 1 && annotation.book <= BibleBooks.BOOK_COUNT
+                        && annotation.jang >= 1 && annotation.jang <= BibleBooks.chapterCount(annotation.book)) {
+                    listFor(byChapter, BibleBooks.chapterIndex(annotation.book, annotation.jang)).add(annotation);
+                }
+                listFor(byType, annotation.type).add(annotation);
+                count++;
+            }
+        } finally {
+            cursor.close();
+        }
+        for (int i = 0; i < byChapter.size(); i++) {
+            Collections.sort(byChapter.valueAt(i), CHAPTER_ORDER);
+        }
+        for (int i = 0; i < byType.size(); i++) {
+            Collections.sort(byType.valueAt(i), NEWEST_FIRST);
+        }
+        Log.d(TAG, "bible_setting 색인: " + count + " rows (" + (System.currentTimeMillis() - start) + "ms)");
+    }
+
+    private static List<Annotation> listFor(SparseArray<List<Annotation>> map, int key) {
+        List<Annotation> list = map.get(key);
+        if (list == null) {
+            list = new ArrayList<>();
+            map.put(key, list);
+        }
+        return list;
+    }
+
+    /**
+     * 장 하나의 북마크/형광펜/노트 전체 (jul, type 순)
+     */
+    public synchronized List<Annotation> getChapter(int book, int jang) {
+        ensureFresh();
+        List<Annotation> list = byChapter.get(BibleBooks.chapterIndex(book, jang));
+        return list == null ? Collections.<Annotation>emptyList() : new ArrayList<>(list);
+    }
+
+    public synchronized int countByType(int type) {
+        ensureFresh();
+        List<Annotation> list = byType.get(type);
+        return list == null ? 0 : list.size();
+    }
+
+    /**
+     * type 별 목록 페이지 (최신순). page 는 0부터.
+     */
+    public synchronized List<Annotation> listByType(int type, int page, int pageSize) {
+        ensureFresh();
+        List<Annotation> list = byType.get(type);
+        if (list == null) {
+            return Collections.emptyList();
+        }
+        int from = Math.min(page * pageSize, list.size());
+        int to = Math.min(from + pageSize, list.size());
+        return new ArrayList<>(list.subList(from, to));
+    }
+}
@@ -0,0 +1,292 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 성경 오디오(장 단위 mp3) 디스크 캐시.
+ * cacheDir/audio 에 PlaybackService.ts 와 같은 파일명(Gen001.mp3)으로 받아 두고, 전체 크기 기준 LRU 로 지운다.
+ * 재생할 때 다음 K 장을 I/O 스레드에서 미리 받아 두어 장 경계에서 끊기지 않게 한다.
+ */
+public class AudioCache {
+
+    private static final String TAG = "AudioCache";
+    private static final String DIR = "audio";
+    private static final String PART_SUFFIX = ".part";
+    private static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+    private static final long MIN_MAX_BYTES = 16L * 1024 * 1024;
+    private static final int DOWNLOAD_THREADS = 2;
+
+    private static AudioCache instance;
+
+    private final File dir;
+    /** AudioDownloader 로 받은 책. LRU 밖이라 지우지 않는다 */
+    private final File offlineDir;
+    /** 파일명 → 바이트, 접근 순서 (가장 오래 안 쓴 것이 맨 앞) */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long sizeBytes;
+    private long maxBytes = DEFAULT_MAX_BYTES;
+    private final AudioOrigins origins;
+    private final MeasuredDurations measured;
+
+    private final ExecutorService ioExecutor = Executors.newFixedThreadPool(DOWNLOAD_THREADS);
+    /** 받을 차례를 기다리거나 받는 중인 파일명 → 마지막으로 요청한 prefetch 세대 */
+    private final ConcurrentHashMap<String, Integer> pending = new ConcurrentHashMap<>();
+    /** prefetch 를 새로 부를 때마다 올려서, 새 요청에 다시 들어오지 않은 이전 요청은 시작하지 않고 버린다 */
+    private final AtomicInteger generation = new AtomicInteger();
+    private final AtomicInteger hitCount = new AtomicInteger();
+    private final AtomicInteger missCount = new AtomicInteger();
+    private final AtomicInteger downloadCount = new AtomicInteger();
+
+    private AudioCache(Context context) {
+        this(new File(context.getCacheDir(), DIR), AudioDownloader.offlineDir(context),
+                AudioOrigins.getInstance(), MeasuredDurations.getInstance(context));
+    }
+
+    AudioCache(File dir, File offlineDir, AudioOrigins origins, MeasuredDurations measured) {
+        this.dir = dir;
+        this.offlineDir = offlineDir;
+        this.origins = origins;
+        this.measured = measured;
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            Log.w(TAG, "캐시 폴더 생성 실패: " + dir);
+        }
+        load();
+        // 처음 받기 전에 원본 서버 지연을 재 둔다
+        ioExecutor.execute(origins::probe);
+    }
+
+    public static synchronized AudioCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new AudioCache(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * 남아 있는 파일을 수정 시각 순으로 LRU 에 넣는다. 받다 만 .part 파일은 지운다.
+     */
+    private synchronized void load() {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            if (file.getName().endsWith(PART_SUFFIX)) {
+                file.delete();
+                continue;
+            }
+            entries.put(file.getName(), file.length());
+            sizeBytes += file.length();
+        }
+        trimToSize(maxBytes);
+    }
+
+    public static String fileName(int book, int jang) {
+        BibleBooks.chapterIndex(book, jang);
+        return BibleBooks.ABBRS[book - 1] + String.format(Locale.US, "%03d", jang) + ".mp3";
+    }
+
+    /**
+     * 원격 URL. 지금 가장 빠르고 건강한 원본 서버를 쓴다.
+     */
+    public String remoteUrl(int book, int jang) {
+        return origins.urlFor(fileName(book, jang));
+    }
+
+    /**
+     * 오프라인으로 받아 둔 파일이나 캐시에 있으면 파일, 없으면 null. 캐시에서 찾으면 최근 사용으로 올린다.
+     */
+    public synchronized File getCached(int book, int jang) {
+        String name = fileName(book, jang);
+        File offline = new File(offlineDir, name);
+        if (offline.isFile()) {
+            return offline;
+        }
+        if (entries.get(name) == null) {
+            return null;
+        }
+        File file = new File(dir, name);
+        if (!file.isFile()) {
+            sizeBytes -= entries.remove(name);
+            return null;
+        }
+        file.setLastModified(System.currentTimeMillis());
+        return file;
+    }
+
+    /**
+     * getCached 와 같지만 LRU 순서를 건드리지 않는다 (전체 훑기용).
+     */
+    public synchronized File peekFile(int book, int jang) {
+        String name = fileName(book, jang);
+        File offline = new File(offlineDir, name);
+        if (offline.isFile()) {
+            return offline;
+        }
+        return entries.containsKey(name) ? new File(dir, name) : null;
+    }
+
+    /**
+     * 재생할 주소. 캐시에 있으면 file:// URI, 없으면 원격 URL.
+     */
+    public String resolveUri(int book, int jang) {
+        File file = getCached(book, jang);
+        if (file != null) {
+            hitCount.incrementAndGet();
+            return "file://" + file.getAbsolutePath();
+        }
+        missCount.incrementAndGet();
+        return remoteUrl(book, jang);
+    }
+
+    /**
+     * 재생 중 uri 가 실패했을 때 다시 불러올 주소 (PlaybackError).
+     * 캐시 파일이면 깨진 것으로 보고 지운 뒤 원격 URL, 원격이면 AudioOrigins.failover 로 다음 서버의 같은 파일.
+     * @return 성경 오디오 주소가 아니면 null
+     */
+    public String failover(String uri) {
+        if (uri.startsWith("file://")) {
+            File file = new File(uri.substring("file://".length()));
+            String name = file.getName();
+            synchronized (this) {
+                if (dir.equals(file.getParentFile()) && entries.containsKey(name)) {
+                    sizeBytes -= entries.remove(name);
+                    file.delete();
+                    Log.w(TAG, "재생 실패한 캐시 파일 삭제: " + name);
+                }
+            }
+            return origins.urlFor(name);
+        }
+        return origins.failover(uri);
+    }
+
+    /**
+     * (book, jang) 다음 장부터 count 장을 미리 받는다. 계획 범위(ReadingPlanEngine.chapterRange)를 넘지 않는다.
+     * 이전 prefetch 중 아직 시작하지 않은 요청은 버린다.
+     */
+    public void prefetch(int book, int jang, int count, String planType) {
+        int index = BibleBooks.chapterIndex(book, jang);
+        int end = ReadingPlanEngine.chapterRange(planType)[1];
+        int current = generation.incrementAndGet();
+        for (int i = index + 1; i <= index + count && i < end; i++) {
+            enqueue(BibleBooks.bookOf(i), BibleBooks.jangOf(i), current);
+        }
+    }
+
+    private void enqueue(int book, int jang, int requestGeneration) {
+        String name = fileName(book, jang);
+        synchronized (this) {
+            if (entries.containsKey(name) || new File(offlineDir, name).isFile()) {
+                return;
+            }
+        }
+        if (pending.put(name, requestGeneration) != null) {
+            // 이미 대기 중이면 세대만 새로 고친다
+            return;
+        }
+        ioExecutor.execute(() -> {
+            try {
+                Integer latest = pending.get(name);
+                if (latest == null || latest != generation.get()) {
+                    return;
+                }
+                download(book, jang);
+            } catch (Exception e) {
+                Log.w(TAG, "미리 받기 실패: " + name, e);
+            } finally {
+                pending.remove(name);
+            }
+        });
+    }
+
+    /**
+     * 원격 파일을 .part 로 받은 뒤 이름을 바꿔 캐시에 넣는다. 서버 선택과 이어 받기는 AudioOrigins 가 한다.
+     */
+    public File download(int book, int jang) throws IOException {
+        String name = fileName(book, jang);
+        File target = new File(dir, name);
+        File part = new File(dir, name + "." + Thread.currentThread().getId() + PART_SUFFIX);
+        long start = System.currentTimeMillis();
+
+        long bytes;
+        try {
+            bytes = origins.download(name, part);
+            if (!part.renameTo(target)) {
+                throw new IOException("이름 변경 실패: " + target);
+            }
+        } finally {
+            part.delete();
+        }
+
+        synchronized (this) {
+            Long previous = entries.put(name, bytes);
+            if (previous != null) {
+                sizeBytes -= previous;
+            }
+            sizeBytes += bytes;
+            trimToSize(maxBytes);
+        }
+        downloadCount.incrementAndGet();
+        measured.record(book, jang, target);
+        Log.d(TAG, "저장: " + name + " " + bytes + " bytes (" + (System.currentTimeMillis() - start) + "ms)");
+        return target;
+    }
+
+    private synchronized void trimToSize(long limit) {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (sizeBytes > limit && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            new File(dir, eldest.getKey()).delete();
+            sizeBytes -= eldest.getValue();
+            iterator.remove();
+        }
+    }
+
+    public synchronized void setMaxBytes(long bytes) {
+        maxBytes = Math.max(bytes, MIN_MAX_BYTES);
+        trimToSize(maxBytes);
+    }
+
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public synchronized int getFileCount() {
+        return entries.size();
+    }
+
+    public int getHitCount() {
+        return hitCount.get();
+    }
+
+    public int getMissCount() {
+        return missCount.get();
+    }
+
+    public int getDownloadCount() {
+        return downloadCount.get();
+    }
+
+    public synchronized void clear() {
+        generation.incrementAndGet();
+        trimToSize(0);
+    }
+}
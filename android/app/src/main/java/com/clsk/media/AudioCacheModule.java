@@ -0,0 +1,215 @@
+package com.clsk.media;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 성경 오디오 캐시 모듈 (AudioCache).
+ * PlaybackService.ts 가 트랙 URL 대신 resolveUri 결과를 쓰고, 재생을 시작할 때 prefetch 로 다음 장을 받아 둔다.
+ * 원본 서버 선택 상태(AudioOrigins)도 여기서 본다.
+ */
+public class AudioCacheModule extends ReactContextBaseJavaModule {
+
+    private static final String TAG = "AudioCacheModule";
+
+    private final ReactApplicationContext reactContext;
+    private final ExecutorService probeExecutor = Executors.newSingleThreadExecutor();
+
+    public AudioCacheModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        this.reactContext = reactContext;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "AudioCacheModule";
+    }
+
+    private AudioCache cache() {
+        return AudioCache.getInstance(reactContext);
+    }
+
+    /**
+     * 장 번호가 잘못되면 INVALID_CHAPTER, setOrigins 전이면 NO_ORIGINS, 파일/네트워크 오류는 IO_ERROR
+     */
+    private static void reject(Promise promise, Exception e) {
+        String code;
+        if (e instanceof IllegalArgumentException) {
+            code = "INVALID_CHAPTER";
+        } else if (e instanceof IllegalStateException) {
+            code = "NO_ORIGINS";
+        } else if (e instanceof IOException || e instanceof UncheckedIOException || e.getCause() instanceof IOException) {
+            code = "IO_ERROR";
+        } else {
+            code = "AUDIO_CACHE_ERROR";
+        }
+        promise.reject(code, e.getMessage(), e);
+    }
+
+    /**
+     * 원본 서버 목록 [AUDIO_BASE_URL, AUDIO_BASE_URL_BACKUP] (src/utils/api.ts).
+     * 네이티브에는 기본 주소가 없으므로 index.js 가 앱(헤드리스 포함)을 시작할 때 넘긴다.
+     * 테스트 때는 로컬 HTTP 서버 주소를 넘긴다.
+     */
+    @ReactMethod
+    public void setOrigins(ReadableArray urls) {
+        String[] list = new String[urls.size()];
+        for (int i = 0; i < list.length; i++) {
+            list[i] = urls.getString(i);
+        }
+        if (list.length > 0) {
+            AudioOrigins origins = AudioOrigins.getInstance();
+            origins.setUrls(list);
+            probeExecutor.execute(origins::probe);
+        }
+    }
+
+    /**
+     * 진단용 서버 상태. resolve 값: [{ url, latencyMs(측정 전 -1), errorRate, successes, failures,
+     *                                cooldownUntil(epoch ms, 0 이면 정상), preferred }, ...] 선호 순
+     */
+    @ReactMethod
+    public void getOriginHealth(Promise promise) {
+        List<AudioOrigins.Origin> ranked = AudioOrigins.getInstance().ranked();
+        WritableArray result = Arguments.createArray();
+        for (int i = 0; i < ranked.size(); i++) {
+            AudioOrigins.Origin origin = ranked.get(i);
+            WritableMap item = Arguments.createMap();
+            item.putString("url", origin.url);
+            item.putDouble("latencyMs", origin.getLatencyMs());
+            item.putDouble("errorRate", origin.getErrorRate());
+            item.putInt("successes", origin.getSuccesses());
+            item.putInt("failures", origin.getFailures());
+            item.putDouble("cooldownUntil", origin.getCooldownUntil());
+            item.putBoolean("preferred", i == 0);
+            result.pushMap(item);
+        }
+        promise.resolve(result);
+    }
+
+    /**
+     * 서버 지연을 다시 잰다 (setOrigins 뒤에는 자동으로 한 번 잰다). resolve 값: 가장 먼저 응답한 서버 url
+     */
+    @ReactMethod
+    public void probeOrigins(Promise promise) {
+        probeExecutor.execute(() -> {
+            AudioOrigins origins = AudioOrigins.getInstance();
+            origins.resetProbe();
+            AudioOrigins.Origin winner = origins.probe();
+            promise.resolve(winner != null ? winner.url : null);
+        });
+    }
+
+    /**
+     * resolve 값: { uri, cached } — 캐시에 있으면 file:// URI, 없으면 원격 URL
+     */
+    @ReactMethod
+    public void resolveUri(int book, int jang, Promise promise) {
+        try {
+            String uri = cache().resolveUri(book, jang);
+            WritableMap result = Arguments.createMap();
+            result.putString("uri", uri);
+            result.putBoolean("cached", uri.startsWith("file://"));
+            promise.resolve(result);
+        } catch (Exception e) {
+            reject(promise, e);
+        }
+    }
+
+    /**
+     * 재생 오류(PlaybackError) 뒤 같은 트랙을 다시 불러올 주소. 실패한 서버는 점수에 반영된다.
+     * resolve 값: 다음 서버(또는 캐시 파일이 깨졌으면 원격) URL, 성경 오디오 주소가 아니면 null
+     */
+    @ReactMethod
+    public void failover(String failedUri, Promise promise) {
+        try {
+            promise.resolve(cache().failover(failedUri));
+        } catch (Exception e) {
+            promise.reject("FAILOVER_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * (book, jang) 다음 장부터 count 장을 백그라운드에서 받는다.
+     * @param planType 통독 계획 종류 (null 이면 성경 전체)
+     */
+    @ReactMethod
+    public void prefetch(int book, int jang, int count, @Nullable String planType) {
+        try {
+            cache().prefetch(book, jang, count, planType);
+        } catch (Exception e) {
+            Log.w(TAG, "미리 받기 요청 실패: " + book + "/" + jang, e);
+        }
+    }
+
+    /**
+     * 연속 재생 큐에 붙일 다음 장들 (PlaybackQueue). 받아 두지 못한 장은 원격 URL 이고 계속 받는다.
+     * resolve 값: [{ book, jang, uri, cached }, ...]
+     */
+    @ReactMethod
+    public void getUpcoming(int book, int jang, int count, @Nullable String planType, Promise promise) {
+        try {
+            WritableArray result = Arguments.createArray();
+            for (PlaybackQueue.Source source : PlaybackQueue.upcoming(reactContext, book, jang, count, planType)) {
+                WritableMap item = Arguments.createMap();
+                item.putInt("book", source.book);
+                item.putInt("jang", source.jang);
+                item.putString("uri", source.uri);
+                item.putBoolean("cached", source.cached);
+                result.pushMap(item);
+            }
+            promise.resolve(result);
+        } catch (Exception e) {
+            reject(promise, e);
+        }
+    }
+
+    /**
+     * resolve 값: { sizeBytes, maxBytes, files, hits, misses, downloads }
+     */
+    @ReactMethod
+    public void getStats(Promise promise) {
+        AudioCache cache = cache();
+        WritableMap result = Arguments.createMap();
+        result.putDouble("sizeBytes", cache.getSizeBytes());
+        result.putDouble("maxBytes", cache.getMaxBytes());
+        result.putInt("files", cache.getFileCount());
+        result.putInt("hits", cache.getHitCount());
+        result.putInt("misses", cache.getMissCount());
+        result.putInt("downloads", cache.getDownloadCount());
+        promise.resolve(result);
+    }
+
+    @ReactMethod
+    public void setMaxBytes(double bytes) {
+        cache().setMaxBytes((long) bytes);
+    }
+
+    @ReactMethod
+    public void clear(Promise promise) {
+        try {
+            cache().clear();
+            promise.resolve(true);
+        } catch (Exception e) {
+            promise.reject("CLEAR_ERROR", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.clsk.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+/**
+ * 책 단위 오디오 오프라인 다운로드 모듈 (AudioDownloader).
+ * 진행 상황은 OnAudioDownloadProgress 이벤트 { book, state, done, total, bytes, failures } 로 보낸다.
+ * state: queued | running | waiting_network | paused | completed | failed
+ */
+public class AudioDownloadModule extends ReactContextBaseJavaModule {
+
+    private static final String TAG = "AudioDownloadModule";
+    public static final String EVENT_PROGRESS = "OnAudioDownloadProgress";
+
+    private final ReactApplicationContext reactContext;
+
+    public AudioDownloadModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        this.reactContext = reactContext;
+        // 만들면서 지난 실행에서 끝나지 않은 작업을 이어 받는다
+        AudioDownloader.getInstance(reactContext).setListener(job -> sendEvent(EVENT_PROGRESS, toMap(job)));
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "AudioDownloadModule";
+    }
+
+    private AudioDownloader downloader() {
+        return AudioDownloader.getInstance(reactContext);
+    }
+
+    /**
+     * @param allowMetered true 면 모바일 데이터에서도 받는다
+     * resolve 값: 작업 상태 { book, state, done, total, bytes, failures }
+     */
+    @ReactMethod
+    public void downloadBook(int book, boolean allowMetered, Promise promise) {
+        try {
+            promise.resolve(toMap(downloader().downloadBook(book, allowMetered)));
+        } catch (Exception e) {
+            promise.reject("DOWNLOAD_ERROR", e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void pause(int book, Promise promise) {
+        downloader().pause(book);
+        promise.resolve(true);
+    }
+
+    /**
+     * 작업과 받은 파일을 지운다.
+     */
+    @ReactMethod
+    public void remove(int book, Promise promise) {
+        try {
+            downloader().remove(book);
+            promise.resolve(true);
+        } catch (Exception e) {
+            promise.reject("REMOVE_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * resolve 값: [{ book, state, done, total, bytes, failures }, ...] 추가한 순서
+     */
+    @ReactMethod
+    public void getDownloads(Promise promise) {
+        WritableArray result = Arguments.createArray();
+        for (AudioDownloader.Job job : downloader().getJobs()) {
+            result.pushMap(toMap(job));
+        }
+        promise.resolve(result);
+    }
+
+    private static WritableMap toMap(AudioDownloader.Job job) {
+        WritableMap map = Arguments.createMap();
+        map.putInt("book", job.book);
+        map.putString("state", job.getState());
+        map.putInt("done", job.getDoneCount());
+        map.putInt("total", job.getTotal());
+        map.putDouble("bytes", job.getDoneBytes());
+        map.putInt("failures", job.getFailures());
+        map.putBoolean("allowMetered", job.isAllowMetered());
+        return map;
+    }
+
+    private void sendEvent(String eventName, @Nullable WritableMap params) {
+        reactContext
+                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                .emit(eventName, params);
+    }
+}
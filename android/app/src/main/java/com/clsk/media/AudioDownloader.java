@@ -0,0 +1,466 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 책 단위 오디오 오프라인 다운로드.
+ * 장 mp3 를 filesDir/audio_offline 에 최대 PARALLELISM 개씩 받는다. 받다 만 장은 .part 로 남겨 두고 Range 로 이어 받는다.
+ * 작업 목록은 jobs.bin 에 저장해 프로세스가 죽어도 다음 실행 때 이어서 받는다.
+ * 데이터 요금 네트워크(metered)에서는 allowMetered 작업만 받고, 나머지는 비종량 네트워크가 잡히면 다시 시작한다.
+ * 여기 받은 파일은 AudioCache LRU 에서 지우지 않는다.
+ */
+public class AudioDownloader {
+
+    private static final String TAG = "AudioDownloader";
+    public static final String OFFLINE_DIR = "audio_offline";
+    private static final String MANIFEST = "jobs.bin";
+    private static final String PART_SUFFIX = ".part";
+    private static final int MANIFEST_MAGIC = 0x42444C4A; // "BDLJ"
+    private static final int MANIFEST_VERSION = 1;
+    private static final int PARALLELISM = 3;
+
+    public static final String STATE_QUEUED = "queued";
+    public static final String STATE_RUNNING = "running";
+    public static final String STATE_WAITING_NETWORK = "waiting_network";
+    public static final String STATE_PAUSED = "paused";
+    public static final String STATE_COMPLETED = "completed";
+    public static final String STATE_FAILED = "failed";
+
+    public interface Listener {
+        void onProgress(Job job);
+    }
+
+    public static final class Job {
+        public final int book;
+        volatile boolean allowMetered;
+        public final long createdAt;
+        /** 장별 파일 크기, 아직 모르면 -1 */
+        final long[] sizes;
+        final boolean[] done;
+        /** 실행 중인 장 수 */
+        int running;
+        int failures;
+        String state = STATE_QUEUED;
+
+        Job(int book, boolean allowMetered, long createdAt) {
+            this.book = book;
+            this.allowMetered = allowMetered;
+            this.createdAt = createdAt;
+            int count = BibleBooks.chapterCount(book);
+            this.sizes = new long[count];
+            this.done = new boolean[count];
+            Arrays.fill(sizes, -1);
+        }
+
+        public boolean isAllowMetered() {
+            return allowMetered;
+        }
+
+        public synchronized String getState() {
+            return state;
+        }
+
+        public int getTotal() {
+            return done.length;
+        }
+
+        public synchronized int getDoneCount() {
+            int count = 0;
+            for (boolean chapterDone : done) {
+                if (chapterDone) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        public synchronized long getDoneBytes() {
+            long bytes = 0;
+            for (int i = 0; i < done.length; i++) {
+                if (done[i]) {
+                    bytes += sizes[i];
+                }
+            }
+            return bytes;
+        }
+
+        public synchronized int getFailures() {
+            return failures;
+        }
+    }
+
+    private static AudioDownloader instance;
+
+    /** 네트워크 감시용. 테스트 생성자로 만들면 null (네트워크는 늘 비종량으로 본다) */
+    private final Context context;
+    private final File dir;
+    private final AudioOrigins origins;
+    private final MeasuredDurations measured;
+    private final ExecutorService pool = Executors.newFixedThreadPool(PARALLELISM);
+    /** 책 → 작업, 추가한 순서 */
+    private final Map<Integer, Job> jobs = new LinkedHashMap<>();
+    private volatile Listener listener;
+    private volatile boolean networkAvailable = true;
+    private volatile boolean networkMetered;
+
+    private AudioDownloader(Context context) {
+        this(context, offlineDir(context), AudioOrigins.getInstance(), MeasuredDurations.getInstance(context));
+    }
+
+    /**
+     * 테스트용. 폴더와 원본 서버를 직접 정한다.
+     */
+    AudioDownloader(File dir, AudioOrigins origins, MeasuredDurations measured) {
+        this(null, dir, origins, measured);
+    }
+
+    private AudioDownloader(Context context, File dir, AudioOrigins origins, MeasuredDurations measured) {
+        this.context = context;
+        this.dir = dir;
+        this.origins = origins;
+        this.measured = measured;
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            Log.w(TAG, "폴더 생성 실패: " + dir);
+        }
+        if (context != null) {
+            watchNetwork();
+        }
+        loadManifest();
+    }
+
+    public static synchronized AudioDownloader getInstance(Context context) {
+        if (instance == null) {
+            instance = new AudioDownloader(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    public static File offlineDir(Context context) {
+        return new File(context.getFilesDir(), OFFLINE_DIR);
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public synchronized List<Job> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    public synchronized Job getJob(int book) {
+        return jobs.get(book);
+    }
+
+    /**
+     * 책 전체 다운로드를 시작한다. 이미 있으면 멈춘 작업을 다시 시작한다.
+     */
+    public synchronized Job downloadBook(int book, boolean allowMetered) {
+        BibleBooks.checkBook(book);
+        Job job = jobs.get(book);
+        if (job == null) {
+            job = new Job(book, allowMetered, System.currentTimeMillis());
+            jobs.put(book, job);
+        }
+        job.allowMetered = allowMetered;
+        saveManifest();
+        synchronized (job) {
+            if (!STATE_COMPLETED.equals(job.state)) {
+                job.state = STATE_QUEUED;
+                job.failures = 0;
+            }
+        }
+        schedule(job);
+        return job;
+    }
+
+    public synchronized void pause(int book) {
+        Job job = jobs.get(book);
+        if (job != null) {
+            synchronized (job) {
+                if (!STATE_COMPLETED.equals(job.state)) {
+                    job.state = STATE_PAUSED;
+                }
+            }
+            notifyProgress(job);
+        }
+    }
+
+    /**
+     * 작업을 지우고 받은 파일도 지운다. 받는 중이던 장은 받은 뒤 runChapter 에서 지운다.
+     */
+    public synchronized void remove(int book) {
+        Job job = jobs.remove(book);
+        if (job != null) {
+            synchronized (job) {
+                job.state = STATE_PAUSED;
+            }
+        }
+        saveManifest();
+        for (int jang = 1; jang <= BibleBooks.chapterCount(book); jang++) {
+            String name = AudioCache.fileName(book, jang);
+            new File(dir, name).delete();
+            new File(dir, name + PART_SUFFIX).delete();
+        }
+    }
+
+    /**
+     * 받을 수 있는 네트워크면 남은 장을 스레드 풀에 넣는다. 동시에 받는 수는 풀 크기로 제한된다.
+     */
+    private void schedule(Job job) {
+        synchronized (job) {
+            if (STATE_PAUSED.equals(job.state) || STATE_COMPLETED.equals(job.state) || job.running > 0) {
+                return;
+            }
+            if (!canDownload(job)) {
+                job.state = STATE_WAITING_NETWORK;
+            } else {
+                job.state = STATE_RUNNING;
+                for (int i = 0; i < job.done.length; i++) {
+                    if (!job.done[i]) {
+                        job.running++;
+                        int jang = i + 1;
+                        pool.execute(() -> runChapter(job, jang));
+                    }
+                }
+                if (job.running == 0) {
+                    job.state = STATE_COMPLETED;
+                }
+            }
+        }
+        notifyProgress(job);
+    }
+
+    private boolean canDownload(Job job) {
+        return networkAvailable && (job.allowMetered || !networkMetered);
+    }
+
+    private void runChapter(Job job, int jang) {
+        int index = jang - 1;
+        String name = AudioCache.fileName(job.book, jang);
+        boolean ok = false;
+        try {
+            synchronized (job) {
+                if (!STATE_RUNNING.equals(job.state) || !canDownload(job)) {
+                    return;
+                }
+            }
+            File target = new File(dir, name);
+            File part = new File(dir, name + PART_SUFFIX);
+            long size = origins.download(name, part, part.length());
+            if (!part.renameTo(target)) {
+                throw new IOException("이름 변경 실패: " + target);
+            }
+            if (getJob(job.book) != job) {
+                target.delete();
+                return;
+            }
+            synchronized (job) {
+                job.sizes[index] = size;
+                job.done[index] = true;
+            }
+            measured.record(job.book, jang, target);
+            ok = true;
+        } catch (Exception e) {
+            Log.w(TAG, "장 받기 실패: " + name, e);
+            synchronized (job) {
+                job.failures++;
+            }
+        } finally {
+            finishChapter(job, ok);
+        }
+    }
+
+    private void finishChapter(Job job, boolean ok) {
+        boolean last;
+        boolean reschedule;
+        synchronized (job) {
+            last = --job.running == 0;
+            // 멈춘 사이 다시 요청된 작업은 남은 장이 다 빠진 뒤 새로 넣는다
+            reschedule = last && STATE_QUEUED.equals(job.state);
+            if (last && STATE_RUNNING.equals(job.state)) {
+                if (job.getDoneCount() == job.done.length) {
+                    job.state = STATE_COMPLETED;
+                } else if (!canDownload(job)) {
+                    job.state = STATE_WAITING_NETWORK;
+                } else {
+                    job.state = STATE_FAILED;
+                }
+            }
+        }
+        if (ok || last) {
+            synchronized (this) {
+                if (jobs.get(job.book) == job) {
+                    saveManifest();
+                }
+            }
+            notifyProgress(job);
+        }
+        if (reschedule) {
+            schedule(job);
+        }
+    }
+
+    private void notifyProgress(Job job) {
+        Listener current = listener;
+        if (current != null) {
+            current.onProgress(job);
+        }
+    }
+
+    // ---- 네트워크 ----
+
+    private void watchNetwork() {
+        ConnectivityManager cm = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (cm == null) {
+            return;
+        }
+        networkMetered = cm.isActiveNetworkMetered();
+        try {
+            cm.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onCapabilitiesChanged(Network network, NetworkCapabilities capabilities) {
+                    onNetworkChanged(true,
+                            !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED));
+                }
+
+                @Override
+                public void onLost(Network network) {
+                    onNetworkChanged(false, networkMetered);
+                }
+            });
+        } catch (Exception e) {
+            Log.w(TAG, "네트워크 콜백 등록 실패", e);
+        }
+    }
+
+    private void onNetworkChanged(boolean available, boolean metered) {
+        if (available == networkAvailable && metered == networkMetered) {
+            return;
+        }
+        networkAvailable = available;
+        networkMetered = metered;
+        Log.d(TAG, "네트워크 변경: available=" + available + " metered=" + metered);
+        if (available) {
+            resumeWaiting();
+        }
+    }
+
+    /**
+     * 네트워크를 기다리던 작업, 실패한 작업을 다시 시작한다.
+     */
+    public void resumeWaiting() {
+        for (Job job : getJobs()) {
+            synchronized (job) {
+                if (STATE_WAITING_NETWORK.equals(job.state) || STATE_FAILED.equals(job.state)) {
+                    job.state = STATE_QUEUED;
+                }
+            }
+            schedule(job);
+        }
+    }
+
+    // ---- 작업 목록 ----
+
+    /**
+     * jobs.bin: magic, version, 작업 수, 작업마다 book, allowMetered, createdAt, paused, 장 수, 장마다 size(-1 = 미완료)
+     */
+    private synchronized void saveManifest() {
+        File file = new File(dir, MANIFEST);
+        File tmp = new File(dir, MANIFEST + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(MANIFEST_MAGIC);
+            out.writeShort(MANIFEST_VERSION);
+            out.writeShort(jobs.size());
+            for (Job job : jobs.values()) {
+                synchronized (job) {
+                    out.writeByte(job.book);
+                    out.writeBoolean(job.allowMetered);
+                    out.writeLong(job.createdAt);
+                    out.writeBoolean(STATE_PAUSED.equals(job.state));
+                    out.writeShort(job.done.length);
+                    for (int i = 0; i < job.done.length; i++) {
+                        out.writeLong(job.done[i] ? job.sizes[i] : -1);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "작업 목록 저장 실패", e);
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            Log.e(TAG, "작업 목록 이름 변경 실패: " + file);
+        }
+    }
+
+    /**
+     * 저장된 작업을 읽고 완료 표시된 장은 파일 크기를 확인한다. 멈춘 작업이 아니면 다시 시작한다.
+     */
+    private synchronized void loadManifest() {
+        File file = new File(dir, MANIFEST);
+        if (!file.isFile()) {
+            return;
+        }
+        List<Job> resume = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MANIFEST_MAGIC || in.readUnsignedShort() != MANIFEST_VERSION) {
+                throw new IOException("알 수 없는 작업 목록 형식");
+            }
+            int count = in.readUnsignedShort();
+            for (int j = 0; j < count; j++) {
+                Job job = new Job(in.readUnsignedByte(), in.readBoolean(), in.readLong());
+                boolean paused = in.readBoolean();
+                int chapters = in.readUnsignedShort();
+                if (chapters != job.done.length) {
+                    throw new IOException("장 수가 다름: " + job.book);
+                }
+                for (int i = 0; i < chapters; i++) {
+                    long size = in.readLong();
+                    File chapter = new File(dir, AudioCache.fileName(job.book, i + 1));
+                    if (size >= 0 && chapter.length() == size) {
+                        job.sizes[i] = size;
+                        job.done[i] = true;
+                    } else if (size >= 0) {
+                        Log.w(TAG, "크기가 맞지 않아 다시 받음: " + chapter.getName());
+                        chapter.delete();
+                    }
+                }
+                if (job.getDoneCount() == job.done.length) {
+                    job.state = STATE_COMPLETED;
+                } else if (paused) {
+                    job.state = STATE_PAUSED;
+                } else {
+                    resume.add(job);
+                }
+                jobs.put(job.book, job);
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "작업 목록 읽기 실패", e);
+            jobs.clear();
+            return;
+        }
+        for (Job job : resume) {
+            schedule(job);
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.clsk.media;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오디오 원본 서버 선택. 서버 목록은 JS 가 setOrigins 로 넘기는 AUDIO_BASE_URL, AUDIO_BASE_URL_BACKUP (src/utils/api.ts) 이고
+ * 여기에는 기본값을 두지 않는다.
+ * 서버마다 첫 바이트까지의 지연과 실패율을 EWMA 로 들고 있다가 점수가 가장 좋은 서버로 받는다.
+ * 받는 도중 끊기면 다음 서버에 Range 요청으로 이어 받는다. 연속으로 실패한 서버는 잠시 쉬게 한다.
+ */
+public class AudioOrigins {
+
+    private static final String TAG = "AudioOrigins";
+    /** 시작할 때 서버마다 첫 바이트만 받아 보는 파일 */
+    private static final String PROBE_FILE = "Gen001.mp3";
+
+    private static final double ALPHA = 0.3;
+    /** 실패율 1 이면 지연을 이만큼 곱해 본다 */
+    private static final double ERROR_PENALTY = 4;
+    private static final int FAILURES_BEFORE_COOLDOWN = 3;
+    private static final long COOLDOWN_MS = 60 * 1000;
+    private static final int CONNECT_TIMEOUT_MS = 10000;
+    private static final int READ_TIMEOUT_MS = 20000;
+    private static final long PROBE_TIMEOUT_MS = 5000;
+    private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+
+    public static final class Origin {
+        public final String url;
+        /** 첫 바이트까지 지연 EWMA, 측정 전에는 -1 */
+        double latencyMs = -1;
+        /** 실패 여부(0/1) EWMA */
+        double errorRate;
+        int consecutiveFailures;
+        long cooldownUntil;
+        int successes;
+        int failures;
+
+        Origin(String url) {
+            this.url = url.endsWith("/") ? url : url + "/";
+        }
+
+        synchronized void record(boolean success, long latency) {
+            errorRate = errorRate * (1 - ALPHA) + (success ? 0 : ALPHA);
+            if (success) {
+                latencyMs = latencyMs < 0 ? latency : latencyMs * (1 - ALPHA) + latency * ALPHA;
+                consecutiveFailures = 0;
+                cooldownUntil = 0;
+                successes++;
+            } else {
+                failures++;
+                if (++consecutiveFailures >= FAILURES_BEFORE_COOLDOWN) {
+                    cooldownUntil = System.currentTimeMillis() + COOLDOWN_MS;
+                }
+            }
+        }
+
+        synchronized boolean isHealthy(long now) {
+            return now >= cooldownUntil;
+        }
+
+        /** 작을수록 좋다. 측정 전(성공한 적 없는) 서버는 측정된 서버 뒤로 */
+        synchronized double score() {
+            return latencyMs < 0 ? Double.MAX_VALUE : latencyMs * (1 + ERROR_PENALTY * errorRate);
+        }
+
+        public synchronized double getLatencyMs() {
+            return latencyMs;
+        }
+
+        public synchronized double getErrorRate() {
+            return errorRate;
+        }
+
+        public synchronized int getSuccesses() {
+            return successes;
+        }
+
+        public synchronized int getFailures() {
+            return failures;
+        }
+
+        public synchronized long getCooldownUntil() {
+            return cooldownUntil;
+        }
+    }
+
+    private static AudioOrigins instance;
+
+    private volatile List<Origin> origins;
+    private final ExecutorService probeExecutor = Executors.newCachedThreadPool();
+    /** probe 는 한 번에 하나만. 동시에 부르면 앞의 probe 가 끝나길 기다렸다가 그 결과를 쓴다 */
+    private final Object probeLock = new Object();
+    /** 마지막으로 잰 목록 (probeLock). setUrls 로 목록이 바뀌면 다시 잰다 */
+    private List<Origin> probedList;
+
+    private AudioOrigins() {
+        this(new String[0]);
+    }
+
+    AudioOrigins(String[] urls) {
+        setUrls(urls);
+    }
+
+    public static synchronized AudioOrigins getInstance() {
+        if (instance == null) {
+            instance = new AudioOrigins();
+        }
+        return instance;
+    }
+
+    /**
+     * 서버 목록을 바꾼다 (앞쪽이 기본). 같은 주소의 통계는 유지한다.
+     */
+    public synchronized void setUrls(String[] urls) {
+        List<Origin> next = new ArrayList<>(urls.length);
+        for (String url : urls) {
+            Origin origin = new Origin(url);
+            if (origins != null) {
+                for (Origin old : origins) {
+                    if (old.url.equals(origin.url)) {
+                        origin = old;
+                        break;
+                    }
+                }
+            }
+            next.add(origin);
+        }
+        origins = Collections.unmodifiableList(next);
+    }
+
+    public void resetProbe() {
+        synchronized (probeLock) {
+            probedList = null;
+        }
+    }
+
+    public List<Origin> getOrigins() {
+        return origins;
+    }
+
+    /**
+     * 쉬는 중이 아닌 서버를 점수 순으로, 쉬는 서버는 맨 뒤에. 모두 쉬는 중이어도 빈 목록은 아니다.
+     */
+    public List<Origin> ranked() {
+        long now = System.currentTimeMillis();
+        List<Origin> healthy = new ArrayList<>();
+        List<Origin> cooling = new ArrayList<>();
+        for (Origin origin : origins) {
+            (origin.isHealthy(now) ? healthy : cooling).add(origin);
+        }
+        // 안정 정렬이라 점수가 같으면(둘 다 측정 전이면) 목록 순서, 기본 서버 먼저
+        Collections.sort(healthy, (a, b) -> Double.compare(a.score(), b.score()));
+        healthy.addAll(cooling);
+        return healthy;
+    }
+
+    /**
+     * @throws IllegalStateException setOrigins 전이라 서버가 없을 때
+     */
+    public Origin best() {
+        List<Origin> list = ranked();
+        if (list.isEmpty()) {
+            throw new IllegalStateException("오디오 원본 서버 목록이 없습니다 (setOrigins 전)");
+        }
+        return list.get(0);
+    }
+
+    public String urlFor(String path) {
+        return best().url + path;
+    }
+
+    /**
+     * 서버마다 동시에 Range: bytes=0-0 요청을 보내 지연을 잰다. 가장 먼저 응답한 서버를 돌려주고,
+     * 나머지 결과는 PROBE_TIMEOUT_MS 안에 오는 대로 통계에 들어간다. 한 번 재면 setUrls 나 resetProbe 전까지 다시 재지 않는다.
+     * AudioCache 생성과 setOrigins 가 거의 동시에 부르므로 한 번에 하나만 잰다.
+     * @return 서버가 없으면 null
+     */
+    public Origin probe() {
+        synchronized (probeLock) {
+            List<Origin> list = origins;
+            if (list.isEmpty()) {
+                return null;
+            }
+            if (list == probedList) {
+                return best();
+            }
+            Origin winner = probe(list);
+            probedList = list;
+            return winner;
+        }
+    }
+
+    private Origin probe(List<Origin> list) {
+        CountDownLatch first = new CountDownLatch(1);
+        Origin[] winner = new Origin[1];
+        CountDownLatch all = new CountDownLatch(list.size());
+        for (Origin origin : list) {
+            probeExecutor.execute(() -> {
+                long start = System.currentTimeMillis();
+                boolean ok = false;
+                HttpURLConnection connection = null;
+                try {
+                    connection = openProbe(origin);
+                    int code = connection.getResponseCode();
+                    ok = code == HttpURLConnection.HTTP_OK || code == HttpURLConnection.HTTP_PARTIAL;
+                } catch (IOException e) {
+                    Log.w(TAG, "probe 실패: " + origin.url + " " + e.getMessage());
+                } finally {
+                    if (connection != null) {
+                        connection.disconnect();
+                    }
+                }
+                origin.record(ok, System.currentTimeMillis() - start);
+                if (ok) {
+                    synchronized (winner) {
+                        if (winner[0] == null) {
+                            winner[0] = origin;
+                        }
+                    }
+                    first.countDown();
+                }
+                all.countDown();
+            });
+        }
+        try {
+            // 모두 실패하면 first 는 내려가지 않으므로 all 도 함께 본다
+            long deadline = System.currentTimeMillis() + PROBE_TIMEOUT_MS;
+            while (first.getCount() > 0 && all.getCount() > 0 && System.currentTimeMillis() < deadline) {
+                first.await(50, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (winner) {
+            Log.d(TAG, "probe 결과: " + (winner[0] != null ? winner[0].url : "응답 없음"));
+            return winner[0] != null ? winner[0] : best();
+        }
+    }
+
+    /**
+     * 재생 중 failedUrl 을 받다가 실패했을 때 다시 시도할 주소. 그 서버를 실패로 기록하고
+     * 나머지 서버 중 점수가 가장 좋은 곳의 같은 파일을 돌려준다. 서버가 하나뿐이면 같은 주소.
+     * @return failedUrl 이 어느 서버 주소도 아니면 null
+     */
+    public String failover(String failedUrl) {
+        Origin failed = null;
+        for (Origin origin : origins) {
+            if (failedUrl.startsWith(origin.url)) {
+                failed = origin;
+                break;
+            }
+        }
+        if (failed == null) {
+            return null;
+        }
+        failed.record(false, 0);
+        String path = failedUrl.substring(failed.url.length());
+        for (Origin origin : ranked()) {
+            if (origin != failed) {
+                Log.d(TAG, "재생 실패, 다음 서버로: " + failed.url + " → " + origin.url + path);
+                return origin.url + path;
+            }
+        }
+        return failedUrl;
+    }
+
+    private static HttpURLConnection openProbe(Origin origin) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(origin.url + PROBE_FILE).openConnection();
+        connection.setConnectTimeout((int) PROBE_TIMEOUT_MS);
+        connection.setReadTimeout((int) PROBE_TIMEOUT_MS);
+        connection.setRequestProperty("Range", "bytes=0-0");
+        return connection;
+    }
+
+    public long download(String path, File out) throws IOException {
+        return download(path, out, 0);
+    }
+
+    /**
+     * path 를 out 에 받는다. 서버를 점수 순으로 시도하고, 도중에 끊기면 받은 데까지 두고
+     * 다음 서버에 Range 로 이어 받는다. Range 를 무시하고 200 을 주면 처음부터 다시 쓴다.
+     * @param offset out 에 이미 받아 둔 바이트 (이어 받기, 처음이면 0)
+     * @return out 의 전체 바이트
+     */
+    public long download(String path, File out, long offset) throws IOException {
+        long written = offset;
+        IOException last = null;
+        for (Origin origin : ranked()) {
+            long start = System.currentTimeMillis();
+            HttpURLConnection connection = null;
+            try {
+                connection = (HttpURLConnection) new URL(origin.url + path).openConnection();
+                connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+                connection.setReadTimeout(READ_TIMEOUT_MS);
+                if (written > 0) {
+                    connection.setRequestProperty("Range", "bytes=" + written + "-");
+                }
+                int code = connection.getResponseCode();
+                if (code == HTTP_RANGE_NOT_SATISFIABLE && written > 0
+                        && ("bytes */" + written).equals(connection.getHeaderField("Content-Range"))) {
+                    // 이미 끝까지 받아 둔 파일
+                    origin.record(true, System.currentTimeMillis() - start);
+                    return written;
+                }
+                boolean append;
+                if (code == HttpURLConnection.HTTP_PARTIAL && written > 0) {
+                    String range = connection.getHeaderField("Content-Range");
+                    if (range == null || !range.startsWith("bytes " + written + "-")) {
+                        throw new IOException("Content-Range 불일치: " + range + " " + origin.url + path);
+                    }
+                    append = true;
+                } else if (code == HttpURLConnection.HTTP_OK) {
+                    append = false;
+                    written = 0;
+                } else {
+                    throw new IOException("HTTP " + code + ": " + origin.url + path);
+                }
+                long expected = connection.getContentLength();
+                InputStream in = connection.getInputStream();
+                long latency = System.currentTimeMillis() - start;
+
+                long received = 0;
+                try (OutputStream output = new FileOutputStream(out, append)) {
+                    byte[] buffer = new byte[64 * 1024];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        output.write(buffer, 0, read);
+                        received += read;
+                        written += read;
+                    }
+                } finally {
+                    in.close();
+                }
+                if (expected >= 0 && received != expected) {
+                    throw new IOException("받은 크기가 다름: " + received + "/" + expected + " " + path);
+                }
+                origin.record(true, latency);
+                return written;
+            } catch (IOException e) {
+                last = e;
+                // 받는 도중 끊긴 것도 실패로 센다
+                origin.record(false, 0);
+                Log.w(TAG, "받기 실패, 다음 서버로: " + origin.url + path + " (" + written + " bytes 받음) " + e.getMessage());
+            } finally {
+                if (connection != null) {
+                    connection.disconnect();
+                }
+            }
+        }
+        throw last != null ? last : new IOException("서버 없음");
+    }
+}
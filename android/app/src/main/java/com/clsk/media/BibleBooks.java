@@ -0,0 +1,110 @@
+package com.clsk.media;
+
+/**
+ * 66권 1189장 고정 정보.
+ * 장을 0..1188 전역 번호(chapter index)로 다루는 모듈들이 공통으로 쓴다.
+ * 책 약자/장 수는 src/utils/bibleBooks.json (JS 와 compileChapterDurations 가 읽는 목록)과 같아야 하며 BibleBooksTest 가 확인한다.
+ * 약자는 오디오 파일명 규칙이고, Bible_Chapter_Mapping.csv 만 아가를 Sol 로 쓴다 (bookOfAbbr 가 받아 준다).
+ */
+public final class BibleBooks {
+
+    public static final int BOOK_COUNT = 66;
+    public static final int CHAPTER_COUNT = 1189;
+    /** 구약 마지막 책 (말라기) */
+    public static final int LAST_OLD_TESTAMENT_BOOK = 39;
+
+    public static final String[] ABBRS = {
+            "Gen", "Exo", "Lev", "Num", "Deu", "Jos", "Jdg", "Rut",
+            "1Sa", "2Sa", "1Ki", "2Ki", "1Ch", "2Ch", "Ezr", "Neh",
+            "Est", "Job", "Psa", "Pro", "Ecc", "Son", "Isa", "Jer",
+            "Lam", "Eze", "Dan", "Hos", "Joe", "Amo", "Oba", "Jon",
+            "Mic", "Nah", "Hab", "Zep", "Hag", "Zec", "Mal",
+            "Mat", "Mar", "Luk", "Joh", "Act", "Rom", "1Co", "2Co",
+            "Gal", "Eph", "Phi", "Col", "1Th", "2Th", "1Ti", "2Ti",
+            "Tit", "Phm", "Heb", "Jam", "1Pe", "2Pe", "1Jo", "2Jo",
+            "3Jo", "Jud", "Rev"
+    };
+
+    private static final int[] CHAPTERS = {
+            50, 40, 27, 36, 34, 24, 21, 4, 31, 24, 22, 25, 29, 36, 10, 13,
+            10, 42, 150, 31, 12, 8, 66, 52, 5, 48, 12, 14, 3, 9, 1, 4,
+            7, 3, 3, 3, 2, 14, 4,
+            28, 16, 24, 21, 28, 16, 16, 13, 6, 6, 4, 4, 5, 3, 6, 4,
+            3, 1, 13, 5, 5, 3, 5, 1, 1, 1, 22
+    };
+
+    /** FIRST_INDEX[book - 1] = 해당 책 1장의 전역 번호, FIRST_INDEX[66] = 1189 */
+    private static final int[] FIRST_INDEX = new int[BOOK_COUNT + 1];
+
+    static {
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            FIRST_INDEX[i + 1] = FIRST_INDEX[i] + CHAPTERS[i];
+        }
+    }
+
+    private BibleBooks() {
+    }
+
+    public static int chapterCount(int book) {
+        checkBook(book);
+        return CHAPTERS[book - 1];
+    }
+
+    public static void checkBook(int book) {
+        if (book < 1 || book > BOOK_COUNT) {
+            throw new IllegalArgumentException("잘못된 book 번호: " + book);
+        }
+    }
+
+    /**
+     * (book, jang) → 0..1188. 범위를 벗어나면 IllegalArgumentException.
+     */
+    public static int chapterIndex(int book, int jang) {
+        checkBook(book);
+        if (jang < 1 || jang > CHAPTERS[book - 1]) {
+            throw new IllegalArgumentException("잘못된 장 번호: " + book + "/" + jang);
+        }
+        return FIRST_INDEX[book - 1] + jang - 1;
+    }
+
+    public static int firstChapterIndex(int book) {
+        checkBook(book);
+        return FIRST_INDEX[book - 1];
+    }
+
+    /**
+     * 전역 번호 → 책 번호 (이진 탐색)
+     */
+    public static int bookOf(int chapterIndex) {
+        int low = 0;
+        int high = BOOK_COUNT - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (FIRST_INDEX[mid] <= chapterIndex) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low + 1;
+    }
+
+    public static int jangOf(int chapterIndex) {
+        return chapterIndex - FIRST_INDEX[bookOf(chapterIndex) - 1] + 1;
+    }
+
+    /**
+     * 책 약자 → 책 번호. 모르는 약자면 0.
+     */
+    public static int bookOfAbbr(String abbr) {
+        if ("Sol".equals(abbr)) {
+            abbr = "Son";
+        }
+        for (int i = 0; i < ABBRS.length; i++) {
+            if (ABBRS[i].equals(abbr)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.clsk.media;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+
+/**
+ * 한 장(chapter)의 본문 데이터.
+ * 선택된 번역본들의 절을 jul 순서, 같은 jul 안에서는 sequence 순서로 담는다 (ParallelBibleMerger.loadChapter).
+ */
+public class BibleChapter {
+
+    public final int book;
+    public final int jang;
+    public final String[] types;
+    public final int[] juls;
+    public final int[] typeIndexes;
+    public final String[] contents;
+
+    public BibleChapter(int book, int jang, String[] types, int[] juls, int[] typeIndexes, String[] contents) {
+        this.book = book;
+        this.jang = jang;
+        this.types = types;
+        this.juls = juls;
+        this.typeIndexes = typeIndexes;
+        this.contents = contents;
+    }
+
+    public int size() {
+        return juls.length;
+    }
+
+    /**
+     * 캐시 크기 계산용 대략적인 메모리 사용량 (UTF-16 본문 + 배열)
+     */
+    public int estimatedBytes() {
+        int bytes = 64 + juls.length * 8;
+        for (String content : contents) {
+            bytes += 40 + (content == null ? 0 : content.length() * 2);
+        }
+        return bytes;
+    }
+
+    /**
+     * JS로 넘길 packed 배열: [jul, typeIndex, content, jul, typeIndex, content, ...]
+     */
+    public WritableArray toPackedArray() {
+        WritableArray array = Arguments.createArray();
+        for (int i = 0; i < juls.length; i++) {
+            array.pushInt(juls[i]);
+            array.pushInt(typeIndexes[i]);
+            array.pushString(contents[i]);
+        }
+        return array;
+    }
+}
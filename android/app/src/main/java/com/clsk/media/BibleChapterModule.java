@@ -0,0 +1,172 @@
+package com.clsk.media;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 성경 본문 장 단위 로딩 모듈.
+ * JS 에서 SQL 문자열을 만들어 브릿지로 보내는 대신 book/jang/번역본 목록만 넘기면
+ * 장 전체를 packed 배열 하나로 돌려준다.
+ */
+public class BibleChapterModule extends ReactContextBaseJavaModule {
+
+    private static final String TAG = "BibleChapterModule";
+    private static final String DEFAULT_TYPE = "nkrv";
+
+    private final ReactApplicationContext reactContext;
+
+    public BibleChapterModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        this.reactContext = reactContext;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "BibleChapterModule";
+    }
+
+    /**
+     * @param types 선택된 번역본 코드 목록 (mmkv 'bibleNames'). 비어 있으면 nkrv.
+     * resolve 값: [jul, typeIndex, content, ...]
+     */
+    @ReactMethod
+    public void loadChapter(int book, int jang, ReadableArray types, Promise promise) {
+        try {
+            String[] typeArray = toTypeArray(types);
+            ChapterCache cache = ChapterCache.getInstance(reactContext);
+            BibleChapter chapter = cache.getChapter(book, jang, typeArray);
+            cache.prefetchAround(book, jang, typeArray);
+            promise.resolve(chapter.toPackedArray());
+        } catch (Exception e) {
+            Log.e(TAG, "장 로딩 실패: " + book + "/" + jang, e);
+            promise.reject("LOAD_CHAPTER_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 대조 읽기용. 절 번호별로 번역본 본문을 나란히 묶어 돌려준다.
+     * resolve 값: [jul, text(types[0]), text(types[1]), ..., jul, ...] (행 길이 1 + types.length)
+     * 해당 번역본에 없는 절은 null.
+     */
+    @ReactMethod
+    public void loadParallelChapter(int book, int jang, ReadableArray types, Promise promise) {
+        try {
+            WritableArray rows = Arguments.createArray();
+            ParallelBibleMerger.mergeChapter(reactContext, book, jang, toTypeArray(types), (jul, texts) -> {
+                rows.pushInt(jul);
+                for (String text : texts) {
+                    if (text == null) {
+                        rows.pushNull();
+                    } else {
+                        rows.pushString(text);
+                    }
+                }
+            });
+            promise.resolve(rows);
+        } catch (Exception e) {
+            Log.e(TAG, "대조 장 로딩 실패: " + book + "/" + jang, e);
+            promise.reject("LOAD_PARALLEL_CHAPTER_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 북마크/형광펜/말씀노트 상세용 절 본문 일괄 조회.
+     * @param refs [{ book, jang, juls: "1,3-5" 또는 숫자, type? }] (type 이 없으면 defaultType)
+     * resolve 값: refs 와 같은 순서의 [[jul, content, jul, content, ...], ...]
+     */
+    @ReactMethod
+    public void resolveVerses(ReadableArray refs, String defaultType, Promise promise) {
+        try {
+            String fallbackType = defaultType == null || defaultType.isEmpty() ? DEFAULT_TYPE : defaultType;
+            List<VerseRangeResolver.Ref> refList = new ArrayList<>(refs.size());
+            for (int i = 0; i < refs.size(); i++) {
+                ReadableMap ref = refs.getMap(i);
+                String juls = ref.getType("juls") == ReadableType.Number
+                        ? String.valueOf(ref.getInt("juls")) : ref.getString("juls");
+                String type = ref.hasKey("type") && !ref.isNull("type") ? ref.getString("type") : fallbackType;
+                refList.add(new VerseRangeResolver.Ref(ref.getInt("book"), ref.getInt("jang"), juls, type));
+            }
+
+            List<List<VerseRangeResolver.Verse>> resolved =
+                    VerseRangeResolver.resolve(BibleDatabase.getInstance(reactContext), refList);
+            WritableArray results = Arguments.createArray();
+            for (List<VerseRangeResolver.Verse> verses : resolved) {
+                WritableArray packed = Arguments.createArray();
+                for (VerseRangeResolver.Verse verse : verses) {
+                    packed.pushInt(verse.jul);
+                    packed.pushString(verse.content);
+                }
+                results.pushArray(packed);
+            }
+            promise.resolve(results);
+        } catch (Exception e) {
+            Log.e(TAG, "절 일괄 조회 실패", e);
+            promise.reject("RESOLVE_VERSES_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 통독 계획의 다음 장처럼 인접하지 않은 장을 미리 읽어 둔다.
+     */
+    @ReactMethod
+    public void prefetchChapter(int book, int jang, ReadableArray types) {
+        try {
+            ChapterCache.getInstance(reactContext).prefetch(book, jang, toTypeArray(types));
+        } catch (Exception e) {
+            Log.w(TAG, "미리 읽기 요청 실패: " + book + "/" + jang, e);
+        }
+    }
+
+    @ReactMethod
+    public void getCacheStats(Promise promise) {
+        ChapterCache cache = ChapterCache.getInstance(reactContext);
+        WritableMap stats = Arguments.createMap();
+        stats.putInt("hits", cache.getHitCount());
+        stats.putInt("misses", cache.getMissCount());
+        stats.putInt("evictions", cache.getEvictionCount());
+        stats.putInt("prefetches", cache.getPrefetchCount());
+        stats.putInt("sizeBytes", cache.getSizeBytes());
+        stats.putInt("maxBytes", cache.getMaxBytes());
+        promise.resolve(stats);
+    }
+
+    /**
+     * 기기 등급별 튜닝용. 0 이하면 기본 크기로 되돌린다.
+     */
+    @ReactMethod
+    public void setCacheSize(int maxBytes) {
+        ChapterCache cache = ChapterCache.getInstance(reactContext);
+        if (maxBytes <= 0) {
+            cache.resetMaxBytes();
+        } else {
+            cache.setMaxBytes(maxBytes);
+        }
+    }
+
+    static String[] toTypeArray(ReadableArray types) {
+        if (types == null || types.size() == 0) {
+            return new String[]{DEFAULT_TYPE};
+        }
+        String[] result = new String[types.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = types.getString(i);
+        }
+        return result;
+    }
+}
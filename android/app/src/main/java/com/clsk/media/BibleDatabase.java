@@ -0,0 +1,90 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import java.io.File;
+
+/**
+ * bible_db 읽기 전용 핸들.
+ * react-native-sqlite-storage 가 ~www/bible_db.db 를 복사해 둔 파일을 그대로 연다.
+ * 책(bible_${book})마다 SQL 문자열을 하나로 고정해서 커넥션의 prepared statement 캐시가
+ * 66개 테이블 쿼리를 모두 재사용하도록 한다.
+ */
+public class BibleDatabase {
+
+    private static final String TAG = "BibleDatabase";
+    private static final String DB_NAME = "bible_db";
+    public static final int BOOK_COUNT = BibleBooks.BOOK_COUNT;
+
+    private static BibleDatabase instance;
+
+    private final SQLiteDatabase db;
+    private final String[] chapterSql = new String[BOOK_COUNT + 1];
+    private final String[] verseSql = new String[BOOK_COUNT + 1];
+
+    private BibleDatabase(SQLiteDatabase db) {
+        this.db = db;
+        for (int book = 1; book <= BOOK_COUNT; book++) {
+            chapterSql[book] = "SELECT jul, content, sequence FROM bible_" + book
+                    + " WHERE type = ? AND jang = ? ORDER BY jul, sequence";
+            verseSql[book] = "SELECT content FROM bible_" + book
+                    + " WHERE type = ? AND jang = ? AND jul = ? ORDER BY sequence LIMIT 1";
+        }
+    }
+
+    public static synchronized BibleDatabase getInstance(Context context) {
+        if (instance == null) {
+            File file = context.getApplicationContext().getDatabasePath(DB_NAME);
+            if (!file.exists()) {
+                throw new IllegalStateException("bible_db 가 아직 복사되지 않았습니다: " + file.getPath());
+            }
+            SQLiteDatabase db = SQLiteDatabase.openDatabase(
+                    file.getPath(), null, SQLiteDatabase.OPEN_READONLY | SQLiteDatabase.NO_LOCALIZED_COLLATORS);
+            db.setMaxSqlCacheSize(SQLiteDatabase.MAX_SQL_CACHE_SIZE);
+            instance = new BibleDatabase(db);
+            Log.d(TAG, "bible_db 열기 완료");
+        }
+        return instance;
+    }
+
+    public SQLiteDatabase getDatabase() {
+        return db;
+    }
+
+    public static void checkBook(int book) {
+        BibleBooks.checkBook(book);
+    }
+
+    /**
+     * 번역본 하나의 장 본문 커서 (jul, content, sequence). 호출한 쪽에서 close 해야 한다.
+     */
+    public Cursor queryChapter(int book, int jang, String type) {
+        checkBook(book);
+        return db.rawQuery(chapterSql[book], new String[]{type, String.valueOf(jang)});
+    }
+
+    /**
+     * 절 하나의 본문. 없으면 null.
+     */
+    public String queryVerse(int book, int jang, int jul, String type) {
+        checkBook(book);
+        Cursor cursor = db.rawQuery(verseSql[book],
+                new String[]{type, String.valueOf(jang), String.valueOf(jul)});
+        try {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * 책 하나의 모든 번역본/장/절 커서 (type, jang, jul, content). 호출한 쪽에서 close 해야 한다.
+     */
+    public Cursor queryBook(int book) {
+        checkBook(book);
+        return db.rawQuery("SELECT type, jang, jul, content FROM bible_" + book, null);
+    }
+}
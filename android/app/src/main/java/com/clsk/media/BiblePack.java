@@ -0,0 +1,201 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.util.Log;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 성경 본문 바이너리 팩 (bible.pack) 리더.
+ * 빌드 때 compileBiblePack 이 assets/www/bible_db.db 에서 만든 팩을 APK 에서 비압축으로 FileChannel.map 한다.
+ * 장의 절 범위는 장 테이블에서 바로 찾고, 본문은 커서가 읽는 시점에만 UTF-8 디코딩한다.
+ * 행은 bible_db 의 "ORDER BY jul, sequence" 순서 그대로 들어 있어 ParallelBibleMerger 에 SQL 커서 대신 넣을 수 있다.
+ *
+ * 포맷 (little-endian)
+ * <pre>
+ * header     16B : magic "BPAK", u16 version, u16 translationCount, u32 chapterCount, u32 reserved
+ * directory  32B * translationCount :
+ *                  code[12] (UTF-8, 0 padding), u32 rowCount,
+ *                  u32 chapterTableOffset, u32 rowTableOffset, u32 blobOffset, u32 blobLength
+ * chapterTable   : u32 * (chapterCount + 1)  장별 첫 행 인덱스 (전역 장 번호 순)
+ * rowTable       : 16B * rowCount           u32 blob 내 오프셋, u32 byte 길이, i32 jul, i32 sequence
+ * blob           : UTF-8 본문
+ * </pre>
+ */
+public class BiblePack {
+
+    private static final String TAG = "BiblePack";
+
+    public static final int MAGIC = 0x4B415042; // "BPAK"
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 16;
+    public static final int DIRECTORY_ENTRY_SIZE = 32;
+    public static final int CODE_SIZE = 12;
+    public static final int ROW_SIZE = 16;
+
+    // build.gradle 의 compileBiblePack 출력 (noCompress)
+    public static final String ASSET_NAME = "bible.pack";
+
+    private static BiblePack instance;
+    private static boolean opened;
+
+    private final ByteBuffer buffer;
+    private final String[] codes;
+    private final int[] chapterTableOffsets;
+    private final int[] rowTableOffsets;
+    private final int[] blobOffsets;
+
+    BiblePack(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("bible.pack 형식이 아닙니다");
+        }
+        int version = buffer.getShort(4) & 0xFFFF;
+        if (version != VERSION) {
+            throw new IOException("지원하지 않는 bible.pack 버전: " + version);
+        }
+        int count = buffer.getShort(6) & 0xFFFF;
+        if (buffer.getInt(8) != BibleBooks.CHAPTER_COUNT) {
+            throw new IOException("bible.pack 장 수가 맞지 않습니다");
+        }
+
+        codes = new String[count];
+        chapterTableOffsets = new int[count];
+        rowTableOffsets = new int[count];
+        blobOffsets = new int[count];
+        byte[] code = new byte[CODE_SIZE];
+        for (int i = 0; i < count; i++) {
+            int entry = HEADER_SIZE + i * DIRECTORY_ENTRY_SIZE;
+            ByteBuffer view = buffer.duplicate();
+            view.position(entry);
+            view.get(code);
+            int length = 0;
+            while (length < CODE_SIZE && code[length] != 0) {
+                length++;
+            }
+            codes[i] = new String(code, 0, length, StandardCharsets.UTF_8);
+            chapterTableOffsets[i] = buffer.getInt(entry + 16);
+            rowTableOffsets[i] = buffer.getInt(entry + 20);
+            blobOffsets[i] = buffer.getInt(entry + 24);
+        }
+    }
+
+    /**
+     * APK 에 들어 있는 팩. bible_db.db 없이 빌드해서 팩이 없으면 null (bible_db 로 읽는다).
+     */
+    public static synchronized BiblePack get(Context context) {
+        if (!opened) {
+            opened = true;
+            instance = open(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private static BiblePack open(Context context) {
+        try (AssetFileDescriptor afd = context.getAssets().openFd(ASSET_NAME);
+             FileInputStream input = afd.createInputStream()) {
+            MappedByteBuffer mapped = input.getChannel()
+                    .map(FileChannel.MapMode.READ_ONLY, afd.getStartOffset(), afd.getLength());
+            Log.d(TAG, "bible.pack 매핑: " + afd.getLength() + " bytes, 번역본 " + (mapped.getShort(6) & 0xFFFF));
+            return new BiblePack(mapped);
+        } catch (IOException e) {
+            // 팩 없이 빌드했거나 압축되어 openFd 가 안 되면 bible_db 로 읽는다
+            Log.w(TAG, "bible.pack 을 쓸 수 없습니다: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 번역본 코드 → 팩 안의 인덱스. 없으면 -1.
+     */
+    public int translationIndex(String code) {
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i].equals(code)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 요청한 번역본이 모두 팩에 있는지
+     */
+    public boolean covers(String[] types) {
+        for (String type : types) {
+            if (translationIndex(type) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 한 번역본의 한 장을 (jul, sequence) 순으로 읽는 커서
+     */
+    public ParallelBibleMerger.VerseCursor openChapter(String type, int book, int jang) {
+        int translation = translationIndex(type);
+        if (translation < 0) {
+            throw new IllegalArgumentException("bible.pack 에 없는 번역본: " + type);
+        }
+        int chapterIndex = BibleBooks.chapterIndex(book, jang);
+        int table = chapterTableOffsets[translation] + chapterIndex * 4;
+        return new PackCursor(translation, buffer.getInt(table), buffer.getInt(table + 4));
+    }
+
+    private final class PackCursor implements ParallelBibleMerger.VerseCursor {
+        private final int translation;
+        private final int end;
+        private int row;
+
+        PackCursor(int translation, int first, int end) {
+            this.translation = translation;
+            this.row = first;
+            this.end = end;
+        }
+
+        private int entry() {
+            return rowTableOffsets[translation] + row * ROW_SIZE;
+        }
+
+        @Override
+        public boolean isDone() {
+            return row >= end;
+        }
+
+        @Override
+        public int jul() {
+            return buffer.getInt(entry() + 8);
+        }
+
+        @Override
+        public int sequence() {
+            return buffer.getInt(entry() + 12);
+        }
+
+        @Override
+        public String text() {
+            int entry = entry();
+            int offset = blobOffsets[translation] + buffer.getInt(entry);
+            ByteBuffer slice = buffer.duplicate();
+            slice.limit(offset + buffer.getInt(entry + 4));
+            slice.position(offset);
+            return StandardCharsets.UTF_8.decode(slice).toString();
+        }
+
+        @Override
+        public void next() {
+            row++;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 전 번역본 절 검색용 FTS4 색인 (bible_search).
+ * 안드로이드 기본 SQLite 는 FTS5 가 보장되지 않아 FTS4 + simple 토크나이저를 쓰고,
+ * 한글 bigram 분리는 HangulTokenizer 가 미리 해 둔 문자열을 넣는다.
+ * 색인은 책 단위 트랜잭션으로 만들고 index_progress 에 완료한 책을 기록하므로
+ * 중간에 앱이 종료되어도 다음 실행에서 남은 책부터 이어서 만든다.
+ */
+public class BibleSearchIndex {
+
+    private static final String TAG = "BibleSearchIndex";
+    private static final String DB_NAME = "bible_search";
+    private static final int INDEX_VERSION = 1;
+
+    public interface ProgressListener {
+        void onProgress(int doneBooks, int totalBooks);
+    }
+
+    public static class Hit {
+        public final int book;
+        public final int jang;
+        public final int jul;
+        public final String type;
+        public final double score;
+
+        Hit(int book, int jang, int jul, String type, double score) {
+            this.book = book;
+            this.jang = jang;
+            this.jul = jul;
+            this.type = type;
+            this.score = score;
+        }
+    }
+
+    public static class Result {
+        public final int total;
+        public final List<Hit> hits;
+
+        Result(int total, List<Hit> hits) {
+            this.total = total;
+            this.hits = hits;
+        }
+    }
+
+    private static BibleSearchIndex instance;
+
+    private final Context context;
+    private final SQLiteDatabase db;
+    private final AtomicBoolean building = new AtomicBoolean(false);
+
+    private BibleSearchIndex(Context context, SQLiteDatabase db) {
+        this.context = context;
+        this.db = db;
+    }
+
+    public static synchronized BibleSearchIndex getInstance(Context context) {
+        if (instance == null) {
+            Context appContext = context.getApplicationContext();
+            SQLiteDatabase db = appContext.openOrCreateDatabase(DB_NAME, Context.MODE_PRIVATE, null);
+            instance = new BibleSearchIndex(appContext, db);
+            instance.prepareSchema();
+        }
+        return instance;
+    }
+
+    private void prepareSchema() {
+        if (db.getVersion() != INDEX_VERSION) {
+            // 토크나이저가 바뀌면 기존 색인은 쓸 수 없으므로 처음부터 다시 만든다
+            db.execSQL("DROP TABLE IF EXISTS verse_fts");
+            db.execSQL("DROP TABLE IF EXISTS verse");
+            db.execSQL("DROP TABLE IF EXISTS index_progress");
+            db.setVersion(INDEX_VERSION);
+        }
+        db.execSQL("CREATE TABLE IF NOT EXISTS verse (id INTEGER PRIMARY KEY, book INTEGER, jang INTEGER, jul INTEGER, type TEXT)");
+        db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS verse_fts USING fts4(tokens)");
+        db.execSQL("CREATE TABLE IF NOT EXISTS index_progress (book INTEGER PRIMARY KEY)");
+    }
+
+    public int getIndexedBookCount() {
+        return (int) DatabaseUtils.queryNumEntries(db, "index_progress");
+    }
+
+    public boolean isComplete() {
+        return getIndexedBookCount() >= BibleDatabase.BOOK_COUNT;
+    }
+
+    public boolean isBuilding() {
+        return building.get();
+    }
+
+    /**
+     * 아직 색인되지 않은 책만 이어서 색인한다. 이미 색인 중이면 false.
+     * 검색은 색인 중에도 완료된 책 범위에서 동작한다.
+     */
+    public boolean build(ProgressListener listener) {
+        if (!building.compareAndSet(false, true)) {
+            return false;
+        }
+        boolean changed = false;
+        BibleDatabase bible = BibleDatabase.getInstance(context);
+        SQLiteStatement insertVerse = db.compileStatement("INSERT INTO verse (book, jang, jul, type) VALUES (?, ?, ?, ?)");
+        SQLiteStatement insertTokens = db.compileStatement("INSERT INTO verse_fts (docid, tokens) VALUES (?, ?)");
+        SQLiteStatement markDone = db.compileStatement("INSERT OR REPLACE INTO index_progress (book) VALUES (?)");
+        try {
+            for (int book = 1; book <= BibleDatabase.BOOK_COUNT; book++) {
+                if (isBookIndexed(book)) {
+                    continue;
+                }
+                long start = System.currentTimeMillis();
+                db.beginTransaction();
+                Cursor cursor = bible.queryBook(book);
+                try {
+                    while (cursor.moveToNext()) {
+                        insertVerse.bindLong(1, book);
+                        insertVerse.bindLong(2, cursor.getInt(1));
+                        insertVerse.bindLong(3, cursor.getInt(2));
+                        insertVerse.bindString(4, cursor.getString(0));
+                        long id = insertVerse.executeInsert();
+
+                        insertTokens.bindLong(1, id);
+                        insertTokens.bindString(2, HangulTokenizer.indexText(cursor.getString(3)));
+                        insertTokens.executeInsert();
+                    }
+                    markDone.bindLong(1, book);
+                    markDone.executeInsert();
+                    db.setTransactionSuccessful();
+                    changed = true;
+                } finally {
+                    cursor.close();
+                    db.endTransaction();
+                }
+                Log.d(TAG, "색인 완료 book " + book + " (" + (System.currentTimeMillis() - start) + "ms)");
+                if (listener != null) {
+                    listener.onProgress(getIndexedBookCount(), BibleDatabase.BOOK_COUNT);
+                }
+            }
+            if (changed) {
+                db.execSQL("INSERT INTO verse_fts(verse_fts) VALUES ('optimize')");
+            }
+            return true;
+        } finally {
+            insertVerse.close();
+            insertTokens.close();
+            markDone.close();
+            building.set(false);
+        }
+    }
+
+    private boolean isBookIndexed(int book) {
+        return DatabaseUtils.longForQuery(db,
+                "SELECT COUNT(*) FROM index_progress WHERE book = ?", new String[]{String.valueOf(book)}) > 0;
+    }
+
+    /**
+     * 점수 계산, 번역본 필터, 정렬, 페이지 자르기를 모두 SQL 에서 하므로 페이지마다 해당 페이지 행만 읽는다.
+     * 점수는 구마다 (이 행의 구 출현 수) * log(1 + 전체 행 수 / 구가 있는 행 수) 의 합 (tf-idf).
+     * 구별 출현 수는 구 하나만으로 MATCH 한 offsets() 에서 센다.
+     *
+     * @param types 결과를 제한할 번역본. null 이나 빈 집합이면 전체.
+     * @param page  0부터 시작하는 페이지 번호
+     */
+    public Result search(String query, Set<String> types, int page, int pageSize) {
+        List<String> phrases = HangulTokenizer.matchPhrases(query);
+        if (phrases.isEmpty()) {
+            return new Result(0, Collections.<Hit>emptyList());
+        }
+
+        double rows = DatabaseUtils.queryNumEntries(db, "verse");
+        List<String> args = new ArrayList<>();
+        StringBuilder from = new StringBuilder(" FROM verse v");
+        StringBuilder score = new StringBuilder();
+        for (int p = 0; p < phrases.size(); p++) {
+            String phrase = phrases.get(p);
+            long rowsWithHit = DatabaseUtils.longForQuery(db,
+                    "SELECT COUNT(*) FROM verse_fts WHERE verse_fts MATCH ?", new String[]{phrase});
+            if (rowsWithHit == 0) {
+                // 구끼리 AND 이므로 하나라도 없으면 결과가 없다
+                return new Result(0, Collections.<Hit>emptyList());
+            }
+            String alias = "m" + p;
+            from.append(" JOIN (SELECT docid, offsets(verse_fts) AS o FROM verse_fts WHERE verse_fts MATCH ?) ")
+                    .append(alias).append(" ON ").append(alias).append(".docid = v.id");
+            args.add(phrase);
+
+            // offsets 는 구의 토큰마다 정수 4개(컬럼, 토큰, 위치, 길이)를 공백으로 이어 적는다
+            double weight = Math.log(1.0 + rows / rowsWithHit) / (4.0 * HangulTokenizer.phraseTokenCount(phrase));
+            if (p > 0) {
+                score.append(" + ");
+            }
+            score.append("(length(").append(alias).append(".o) - length(replace(").append(alias)
+                    .append(".o, ' ', '')) + 1) * ").append(weight);
+        }
+        if (types != null && !types.isEmpty()) {
+            from.append(" WHERE v.type IN (");
+            int i = 0;
+            for (String type : types) {
+                from.append(i++ > 0 ? ", ?" : "?");
+                args.add(type);
+            }
+            from.append(')');
+        }
+
+        String[] countArgs = args.toArray(new String[0]);
+        int total = (int) DatabaseUtils.longForQuery(db, "SELECT COUNT(*)" + from, countArgs);
+        if (total == 0 || (long) page * pageSize >= total) {
+            return new Result(total, Collections.<Hit>emptyList());
+        }
+
+        args.add(String.valueOf(pageSize));
+        args.add(String.valueOf((long) page * pageSize));
+        List<Hit> hits = new ArrayList<>(pageSize);
+        Cursor cursor = db.rawQuery("SELECT v.book, v.jang, v.jul, v.type, " + score + " AS score" + from
+                        + " ORDER BY score DESC, v.book, v.jang, v.jul LIMIT ? OFFSET ?",
+                args.toArray(new String[0]));
+        try {
+            while (cursor.moveToNext()) {
+                hits.add(new Hit(cursor.getInt(0), cursor.getInt(1), cursor.getInt(2), cursor.getString(3),
+                        cursor.getDouble(4)));
+            }
+        } finally {
+            cursor.close();
+        }
+        return new Result(total, hits);
+    }
+}
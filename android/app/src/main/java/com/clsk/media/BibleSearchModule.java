@@ -0,0 +1,126 @@
+package com.clsk.media;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 절 검색 모듈. 색인 생성과 검색 모두 전용 스레드에서 실행한다.
+ */
+public class BibleSearchModule extends ReactContextBaseJavaModule {
+
+    private static final String TAG = "BibleSearchModule";
+    public static final String EVENT_INDEX_PROGRESS = "OnBibleSearchIndexProgress";
+
+    private final ReactApplicationContext reactContext;
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor();
+    private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor();
+
+    public BibleSearchModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        this.reactContext = reactContext;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "BibleSearchModule";
+    }
+
+    /**
+     * 남은 책을 이어서 색인한다. 진행 상황은 OnBibleSearchIndexProgress 이벤트로 보낸다.
+     */
+    @ReactMethod
+    public void buildIndex(Promise promise) {
+        indexExecutor.execute(() -> {
+            try {
+                BibleSearchIndex index = BibleSearchIndex.getInstance(reactContext);
+                boolean started = index.build((done, total) -> {
+                    WritableMap event = Arguments.createMap();
+                    event.putInt("done", done);
+                    event.putInt("total", total);
+                    sendEvent(EVENT_INDEX_PROGRESS, event);
+                });
+                promise.resolve(started && index.isComplete());
+            } catch (Exception e) {
+                Log.e(TAG, "검색 색인 생성 실패", e);
+                promise.reject("BUILD_INDEX_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void getIndexStatus(Promise promise) {
+        try {
+            BibleSearchIndex index = BibleSearchIndex.getInstance(reactContext);
+            WritableMap status = Arguments.createMap();
+            status.putInt("done", index.getIndexedBookCount());
+            status.putInt("total", BibleDatabase.BOOK_COUNT);
+            status.putBoolean("building", index.isBuilding());
+            promise.resolve(status);
+        } catch (Exception e) {
+            promise.reject("INDEX_STATUS_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * resolve 값: { total, items: [{ book, jang, jul, type, content, score }] }
+     */
+    @ReactMethod
+    public void search(String query, @Nullable ReadableArray types, int page, int pageSize, Promise promise) {
+        searchExecutor.execute(() -> {
+            try {
+                Set<String> typeSet = new HashSet<>();
+                if (types != null) {
+                    for (int i = 0; i < types.size(); i++) {
+                        typeSet.add(types.getString(i));
+                    }
+                }
+                BibleSearchIndex.Result result = BibleSearchIndex.getInstance(reactContext)
+                        .search(query, typeSet, Math.max(page, 0), Math.max(pageSize, 1));
+                BibleDatabase bible = BibleDatabase.getInstance(reactContext);
+
+                WritableArray items = Arguments.createArray();
+                for (BibleSearchIndex.Hit hit : result.hits) {
+                    WritableMap item = Arguments.createMap();
+                    item.putInt("book", hit.book);
+                    item.putInt("jang", hit.jang);
+                    item.putInt("jul", hit.jul);
+                    item.putString("type", hit.type);
+                    item.putString("content", bible.queryVerse(hit.book, hit.jang, hit.jul, hit.type));
+                    item.putDouble("score", hit.score);
+                    items.pushMap(item);
+                }
+                WritableMap response = Arguments.createMap();
+                response.putInt("total", result.total);
+                response.putArray("items", items);
+                promise.resolve(response);
+            } catch (Exception e) {
+                Log.e(TAG, "검색 실패: " + query, e);
+                promise.reject("SEARCH_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    private void sendEvent(String eventName, @Nullable WritableMap params) {
+        reactContext
+                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                .emit(eventName, params);
+    }
+}
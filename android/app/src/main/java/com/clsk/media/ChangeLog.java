@@ -0,0 +1,248 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.text.TextUtils;
+import android.util.Log;
+
+import java.util.Set;
+
+/**
+ * bible_setting / reading_table 변경 기록 (동기화용).
+ * 쓰기는 JS(react-native-sqlite-storage)와 네이티브 양쪽에서 일어나므로 settingDB 트리거가
+ * change_log 에 (seq, 테이블, I/U/D, uid) 를 쌓는다. seq 는 AUTOINCREMENT 라 지워도 다시 쓰지 않는다.
+ * 행 식별자는 rowid 가 아니라 INSERT 트리거가 채우는 uid 컬럼이다. rowid 는 VACUUM 때 다시 매겨지고
+ * 지운 뒤 넣은 행이 같은 rowid 를 받을 수 있어 서버 쪽 키로 쓸 수 없다.
+ * 행 내용은 조회 시점의 현재 값을 붙여 주고, 같은 행의 오래된 기록은 compact() 로 지운다.
+ */
+public class ChangeLog {
+
+    private static final String TAG = "ChangeLog";
+
+    public static final String[] TABLES = {"bible_setting", "reading_table"};
+    public static final String[][] COLUMNS = {
+            {"book", "jang", "jul", "title", "content", "bible", "datetime", "color", "type"},
+            {"book", "jang", "read", "time"},
+    };
+    /** 행마다 한 번 정해지는 동기화 키 (32자리 hex) */
+    public static final String UID_COLUMN = "uid";
+    private static final String NEW_UID = "lower(hex(randomblob(16)))";
+    /** 기록이 이만큼 넘으면 앱 시작이나 다음 조회 때 compact 한다 */
+    private static final int COMPACT_THRESHOLD = 5000;
+
+    public static final char OP_INSERT = 'I';
+    public static final char OP_UPDATE = 'U';
+    public static final char OP_DELETE = 'D';
+
+    /**
+     * 한 페이지. rows[t] 는 TABLES[t] 의 변경을 seq 순으로 [seq, op, uid, 컬럼...] 로 이어 붙인 값.
+     * 삭제되었거나 이후에 지워진 행은 op 'D' 에 컬럼 null.
+     */
+    public static final class Page {
+        public final Object[][] rows = new Object[TABLES.length][];
+        public final int[] counts = new int[TABLES.length];
+        public long lastSeq;
+        public boolean hasMore;
+    }
+
+    private static ChangeLog instance;
+
+    private final Context context;
+    /** 스키마를 확인한 핸들. settingDB 가 다시 열리면 다시 확인한다 */
+    private SQLiteDatabase schemaDb;
+
+    private ChangeLog(Context context) {
+        this.context = context;
+    }
+
+    public static synchronized ChangeLog getInstance(Context context) {
+        if (instance == null) {
+            instance = new ChangeLog(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * uid 컬럼, change_log 테이블과 트리거를 만든다. settingDB 가 아직 없으면 IllegalStateException.
+     */
+    public synchronized void ensureSchema() {
+        SQLiteDatabase db = SettingDatabase.get(context);
+        if (schemaDb == db) {
+            return;
+        }
+        db.beginTransactionNonExclusive();
+        try {
+            Set<String> logColumns = SettingDatabase.tableColumns(db, "change_log");
+            long lastSeq = 0;
+            if (!logColumns.isEmpty() && !logColumns.contains("row_uid")) {
+                lastSeq = dropRowidLog(db);
+            }
+            db.execSQL("CREATE TABLE IF NOT EXISTS change_log ("
+                    + "seq INTEGER PRIMARY KEY AUTOINCREMENT, tbl INTEGER NOT NULL, op TEXT NOT NULL, "
+                    + "row_uid TEXT NOT NULL, time INTEGER NOT NULL DEFAULT (strftime('%s', 'now')))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_change_log_uid ON change_log(tbl, row_uid)");
+            if (lastSeq > 0) {
+                // 예전 기록을 받은 클라이언트의 since 보다 seq 가 뒤로 가지 않게 이어 붙인다
+                db.execSQL("INSERT INTO sqlite_sequence (name, seq) VALUES ('change_log', ?)", new Object[]{lastSeq});
+            }
+            for (int t = 0; t < TABLES.length; t++) {
+                if (!SettingDatabase.tableColumns(db, TABLES[t]).contains(UID_COLUMN)) {
+                    db.execSQL("ALTER TABLE " + TABLES[t] + " ADD COLUMN " + UID_COLUMN + " TEXT");
+                }
+                db.execSQL("UPDATE " + TABLES[t] + " SET " + UID_COLUMN + " = " + NEW_UID + " WHERE " + UID_COLUMN + " IS NULL");
+                db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS idx_" + TABLES[t] + "_uid ON " + TABLES[t] + "(" + UID_COLUMN + ")");
+                createTriggers(db, t);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        schemaDb = db;
+    }
+
+    /**
+     * rowid 로 기록하던 change_log 와 트리거를 지운다. rowid 기록은 uid 로 옮길 수 없으므로
+     * 그 이전 since 로 동기화하던 클라이언트는 pruneThrough 이후처럼 전체 동기화(백업)로 넘겨야 한다.
+     * @return 지운 기록의 마지막 seq
+     */
+    private static long dropRowidLog(SQLiteDatabase db) {
+        long lastSeq = queryLong(db, "SELECT IFNULL(MAX(seq), 0) FROM change_log", null);
+        for (String table : TABLES) {
+            for (String event : new String[]{"insert", "update", "delete"}) {
+                db.execSQL("DROP TRIGGER IF EXISTS " + table + "_log_" + event);
+            }
+        }
+        db.execSQL("DROP TABLE change_log");
+        Log.d(TAG, "rowid 변경 기록 삭제 (seq " + lastSeq + " 까지)");
+        return lastSeq;
+    }
+
+    private static void createTriggers(SQLiteDatabase db, int t) {
+        String table = TABLES[t];
+        // uid 가 없으면(JS 쪽 INSERT) 여기서 채우고, 복원처럼 uid 를 넣어 주면 그대로 쓴다
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + table + "_log_insert AFTER INSERT ON " + table
+                + " BEGIN UPDATE " + table + " SET " + UID_COLUMN + " = " + NEW_UID
+                + " WHERE rowid = NEW.rowid AND " + UID_COLUMN + " IS NULL;"
+                + " INSERT INTO change_log (tbl, op, row_uid) SELECT " + t + ", '" + OP_INSERT + "', " + UID_COLUMN
+                + " FROM " + table + " WHERE rowid = NEW.rowid; END");
+        // 데이터 컬럼만 지정해 위 uid 채우기는 수정으로 기록하지 않는다
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + table + "_log_update AFTER UPDATE OF "
+                + TextUtils.join(", ", COLUMNS[t]) + " ON " + table + " WHEN NEW." + UID_COLUMN + " IS NOT NULL"
+                + " BEGIN INSERT INTO change_log (tbl, op, row_uid) VALUES (" + t + ", '" + OP_UPDATE + "', NEW." + UID_COLUMN + "); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + table + "_log_delete AFTER DELETE ON " + table
+                + " WHEN OLD." + UID_COLUMN + " IS NOT NULL"
+                + " BEGIN INSERT INTO change_log (tbl, op, row_uid) VALUES (" + t + ", '" + OP_DELETE + "', OLD." + UID_COLUMN + "); END");
+    }
+
+    public synchronized long getLastSeq() {
+        ensureSchema();
+        return queryLong(SettingDatabase.get(context), "SELECT IFNULL(MAX(seq), 0) FROM change_log", null);
+    }
+
+    /**
+     * since 이후 변경을 최대 limit 건. 다음 페이지는 page.lastSeq 로 다시 부른다.
+     */
+    public synchronized Page getChangesSince(long since, int limit) {
+        ensureSchema();
+        SQLiteDatabase db = SettingDatabase.get(context);
+        compactIfNeeded();
+
+        Page page = new Page();
+        String sinceArg = String.valueOf(since);
+        long end = queryLong(db, "SELECT IFNULL((SELECT seq FROM change_log WHERE seq > ? ORDER BY seq LIMIT 1 OFFSET "
+                + (limit - 1) + "), (SELECT IFNULL(MAX(seq), 0) FROM change_log))", new String[]{sinceArg});
+        page.lastSeq = Math.max(end, since);
+        page.hasMore = queryLong(db, "SELECT EXISTS (SELECT 1 FROM change_log WHERE seq > ?)",
+                new String[]{String.valueOf(page.lastSeq)}) != 0;
+
+        for (int t = 0; t < TABLES.length; t++) {
+            String[] columns = COLUMNS[t];
+            StringBuilder sql = new StringBuilder("SELECT c.seq, c.op, c.row_uid, r.rowid");
+            for (String column : columns) {
+                sql.append(", r.\"").append(column).append('"');
+            }
+            sql.append(" FROM change_log c LEFT JOIN ").append(TABLES[t])
+                    .append(" r ON r.").append(UID_COLUMN).append(" = c.row_uid WHERE c.tbl = ").append(t)
+                    .append(" AND c.seq > ? AND c.seq <= ? ORDER BY c.seq");
+            Cursor cursor = db.rawQuery(sql.toString(), new String[]{sinceArg, String.valueOf(page.lastSeq)});
+            try {
+                int stride = 3 + columns.length;
+                Object[] rows = new Object[cursor.getCount() * stride];
+                int offset = 0;
+                while (cursor.moveToNext()) {
+                    boolean gone = cursor.isNull(3);
+                    char op = gone ? OP_DELETE : cursor.getString(1).charAt(0);
+                    rows[offset++] = cursor.getLong(0);
+                    rows[offset++] = String.valueOf(op);
+                    rows[offset++] = cursor.getString(2);
+                    for (int i = 0; i < columns.length; i++) {
+                        rows[offset++] = gone || op == OP_DELETE ? null : value(cursor, 4 + i);
+                    }
+                }
+                page.rows[t] = rows;
+                page.counts[t] = offset / stride;
+            } finally {
+                cursor.close();
+            }
+        }
+        return page;
+    }
+
+    private static Object value(Cursor cursor, int column) {
+        switch (cursor.getType(column)) {
+            case Cursor.FIELD_TYPE_INTEGER:
+                return cursor.getLong(column);
+            case Cursor.FIELD_TYPE_FLOAT:
+                return cursor.getDouble(column);
+            case Cursor.FIELD_TYPE_NULL:
+                return null;
+            default:
+                return cursor.getString(column);
+        }
+    }
+
+    /**
+     * 행마다 가장 최근 기록만 남긴다. 조회 결과는 최신 값을 붙이므로 지운 기록이 있어도 어떤 since 에서든 결과가 같다.
+     * @return 지운 기록 수
+     */
+    public synchronized int compact() {
+        ensureSchema();
+        SQLiteDatabase db = SettingDatabase.get(context);
+        long start = System.currentTimeMillis();
+        int removed = db.delete("change_log",
+                "seq NOT IN (SELECT MAX(seq) FROM change_log GROUP BY tbl, row_uid)", null);
+        Log.d(TAG, "compact: " + removed + " 건 삭제 (" + (System.currentTimeMillis() - start) + "ms)");
+        return removed;
+    }
+
+    /**
+     * 기록이 COMPACT_THRESHOLD 건을 넘었을 때만 compact 한다 (앱 시작, 조회 때).
+     * @return 지운 기록 수
+     */
+    public synchronized int compactIfNeeded() {
+        ensureSchema();
+        if (queryLong(SettingDatabase.get(context), "SELECT COUNT(*) FROM change_log", null) <= COMPACT_THRESHOLD) {
+            return 0;
+        }
+        return compact();
+    }
+
+    /**
+     * 서버가 seq 까지 받았다고 확인한 뒤 그 이전 기록을 지운다.
+     * 이후 since 가 seq 보다 작은 조회는 지워진 변경을 받지 못하므로 전체 동기화(백업)로 넘겨야 한다.
+     */
+    public synchronized int pruneThrough(long seq) {
+        ensureSchema();
+        return SettingDatabase.get(context).delete("change_log", "seq <= ?", new String[]{String.valueOf(seq)});
+    }
+
+    private static long queryLong(SQLiteDatabase db, String sql, String[] args) {
+        Cursor cursor = db.rawQuery(sql, args);
+        try {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        } finally {
+            cursor.close();
+        }
+    }
+}
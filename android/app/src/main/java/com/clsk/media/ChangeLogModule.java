@@ -0,0 +1,144 @@
+package com.clsk.media;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 북마크/형광펜/말씀노트/통독 변경 기록 모듈 (ChangeLog).
+ * 앱 시작 때 트리거를 설치하고 쌓인 기록을 정리해 두며, 동기화는 getChangesSince 를 hasMore 가 false 일 때까지 부른다.
+ */
+public class ChangeLogModule extends ReactContextBaseJavaModule {
+
+    private static final String TAG = "ChangeLogModule";
+    private static final int DEFAULT_PAGE_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 5000;
+
+    private static final long INSTALL_RETRY_BASE_MS = 1000L;
+    private static final long INSTALL_RETRY_MAX_MS = 30 * 1000L;
+
+    private final ReactApplicationContext reactContext;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    public ChangeLogModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        this.reactContext = reactContext;
+        executor.execute(() -> install(INSTALL_RETRY_BASE_MS));
+    }
+
+    /**
+     * 트리거를 설치하고 쌓인 기록이 많으면 compact 한다.
+     * 첫 실행에는 JS 가 settingDB 를 복사하기 전일 수 있어 복사될 때까지 간격을 늘려 가며 다시 시도한다.
+     */
+    private void install(long retryMs) {
+        try {
+            ChangeLog changeLog = ChangeLog.getInstance(reactContext);
+            changeLog.ensureSchema();
+            changeLog.compactIfNeeded();
+        } catch (IllegalStateException e) {
+            Log.w(TAG, "변경 기록 설치 보류, " + retryMs + "ms 뒤 다시 시도: " + e.getMessage());
+            long next = Math.min(retryMs * 2, INSTALL_RETRY_MAX_MS);
+            executor.schedule(() -> install(next), retryMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            Log.e(TAG, "변경 기록 설치 실패", e);
+        }
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "ChangeLogModule";
+    }
+
+    /**
+     * @param since 마지막으로 받은 seq (처음이면 0)
+     * @param limit 페이지 크기 (0 이하면 500)
+     * resolve 값: { lastSeq, hasMore,
+     *              bible_setting: [seq, op, uid, book, jang, jul, title, content, bible, datetime, color, type, ...],
+     *              reading_table: [seq, op, uid, book, jang, read, time, ...] }
+     *              op 는 'I' | 'U' | 'D', 'D' 는 컬럼이 null. uid 는 행의 uid 컬럼 (rowid 는 VACUUM 때 바뀜)
+     */
+    @ReactMethod
+    public void getChangesSince(double since, int limit, Promise promise) {
+        executor.execute(() -> {
+            try {
+                int pageSize = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+                ChangeLog.Page page = ChangeLog.getInstance(reactContext).getChangesSince((long) since, pageSize);
+                WritableMap result = Arguments.createMap();
+                result.putDouble("lastSeq", page.lastSeq);
+                result.putBoolean("hasMore", page.hasMore);
+                for (int t = 0; t < ChangeLog.TABLES.length; t++) {
+                    result.putArray(ChangeLog.TABLES[t], pack(page.rows[t]));
+                }
+                promise.resolve(result);
+            } catch (Exception e) {
+                Log.e(TAG, "변경 기록 조회 실패: " + since, e);
+                promise.reject("CHANGE_LOG_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void getLastSeq(Promise promise) {
+        executor.execute(() -> {
+            try {
+                promise.resolve((double) ChangeLog.getInstance(reactContext).getLastSeq());
+            } catch (Exception e) {
+                promise.reject("CHANGE_LOG_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * 서버 반영이 끝난 seq 까지 기록을 지운다. resolve 값: 지운 기록 수
+     */
+    @ReactMethod
+    public void pruneThrough(double seq, Promise promise) {
+        executor.execute(() -> {
+            try {
+                promise.resolve(ChangeLog.getInstance(reactContext).pruneThrough((long) seq));
+            } catch (Exception e) {
+                promise.reject("CHANGE_LOG_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void compact(Promise promise) {
+        executor.execute(() -> {
+            try {
+                promise.resolve(ChangeLog.getInstance(reactContext).compact());
+            } catch (Exception e) {
+                promise.reject("CHANGE_LOG_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    private static WritableArray pack(Object[] rows) {
+        WritableArray array = Arguments.createArray();
+        for (Object value : rows) {
+            if (value == null) {
+                array.pushNull();
+            } else if (value instanceof Long) {
+                array.pushDouble((Long) value);
+            } else if (value instanceof Double) {
+                array.pushDouble((Double) value);
+            } else {
+                array.pushString(value.toString());
+            }
+        }
+        return array;
+    }
+}
@@ -0,0 +1,204 @@
+package com.clsk.media;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 디코딩된 장 본문 캐시.
+ * 바이트 크기 기준 LRU 로 최근 장을 들고 있고, 장을 열 때마다 앞뒤 장을 백그라운드에서 미리 읽어 둔다.
+ * MainApplication 의 onLowMemory/onTrimMemory 에서 크기를 줄인다.
+ */
+public class ChapterCache {
+
+    private static final String TAG = "ChapterCache";
+    private static final int MIN_SIZE_BYTES = 1024 * 1024;
+
+    private static ChapterCache instance;
+
+    private final Context context;
+    private final int defaultMaxBytes;
+    private final LruCache<String, BibleChapter> cache;
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor();
+    /** 캐시에 들어 있는 키. get 은 적중 통계와 LRU 순서를 바꾸고 snapshot 은 맵 전체를 복사하므로 따로 들고 있는다 */
+    private final Set<String> cachedKeys = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final Set<String> pending = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final AtomicInteger prefetchCount = new AtomicInteger();
+
+    private ChapterCache(Context context, int maxBytes) {
+        this.context = context;
+        this.defaultMaxBytes = maxBytes;
+        this.cache = new LruCache<String, BibleChapter>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, BibleChapter value) {
+                return value.estimatedBytes();
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, String key, BibleChapter oldValue, BibleChapter newValue) {
+                if (newValue == null) {
+                    cachedKeys.remove(key);
+                }
+            }
+        };
+    }
+
+    public static synchronized ChapterCache getInstance(Context context) {
+        if (instance == null) {
+            Context appContext = context.getApplicationContext();
+            instance = new ChapterCache(appContext, defaultSize(appContext));
+        }
+        return instance;
+    }
+
+    /**
+     * 아직 만들어지지 않았으면 null. 메모리 콜백에서 캐시를 새로 만들지 않기 위해 쓴다.
+     */
+    public static synchronized ChapterCache peekInstance() {
+        return instance;
+    }
+
+    /**
+     * 기기 메모리 등급에 따라 앱 힙의 1/32, 저사양 기기는 1/64 을 쓴다.
+     */
+    private static int defaultSize(Context context) {
+        ActivityManager am = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        int memoryClassBytes = am.getMemoryClass() * 1024 * 1024;
+        int size = am.isLowRamDevice() ? memoryClassBytes / 64 : memoryClassBytes / 32;
+        return Math.max(size, MIN_SIZE_BYTES);
+    }
+
+    private static String key(int book, int jang, String[] types) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(book).append(':').append(jang);
+        for (String type : types) {
+            builder.append(':').append(type);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 캐시에 있으면 바로, 없으면 DB 에서 읽어 캐시에 넣는다.
+     */
+    public BibleChapter getChapter(int book, int jang, String[] types) {
+        String key = key(book, jang, types);
+        BibleChapter chapter = cache.get(key);
+        if (chapter == null) {
+            chapter = read(book, jang, types);
+            put(key, chapter);
+        }
+        return chapter;
+    }
+
+    /**
+     * 키를 먼저 넣어야 put 안에서 바로 밀려난 경우에도 entryRemoved 가 키를 지운다.
+     */
+    private void put(String key, BibleChapter chapter) {
+        cachedKeys.add(key);
+        cache.put(key, chapter);
+    }
+
+    private BibleChapter read(int book, int jang, String[] types) {
+        return ParallelBibleMerger.loadChapter(context, book, jang, types);
+    }
+
+    /**
+     * 책 경계를 넘어 이전/다음 장을 미리 읽는다.
+     */
+    public void prefetchAround(int book, int jang, String[] types) {
+        int index = BibleBooks.chapterIndex(book, jang);
+        if (index + 1 < BibleBooks.CHAPTER_COUNT) {
+            prefetchIndex(index + 1, types);
+        }
+        if (index > 0) {
+            prefetchIndex(index - 1, types);
+        }
+    }
+
+    private void prefetchIndex(int chapterIndex, String[] types) {
+        prefetch(BibleBooks.bookOf(chapterIndex), BibleBooks.jangOf(chapterIndex), types);
+    }
+
+    /**
+     * 장 하나를 미리 읽는다. 이미 캐시에 있거나 읽는 중이면 무시한다.
+     * 통독 계획의 다음 장처럼 인접하지 않은 장에도 쓴다.
+     */
+    public void prefetch(int book, int jang, String[] types) {
+        String key = key(book, jang, types);
+        if (cachedKeys.contains(key) || !pending.add(key)) {
+            return;
+        }
+        prefetchExecutor.execute(() -> {
+            try {
+                if (cachedKeys.contains(key)) {
+                    return;
+                }
+                put(key, read(book, jang, types));
+                prefetchCount.incrementAndGet();
+            } catch (Exception e) {
+                Log.w(TAG, "미리 읽기 실패: " + key, e);
+            } finally {
+                pending.remove(key);
+            }
+        });
+    }
+
+    public void setMaxBytes(int maxBytes) {
+        cache.resize(Math.max(maxBytes, MIN_SIZE_BYTES));
+    }
+
+    public int getMaxBytes() {
+        return cache.maxSize();
+    }
+
+    public int getSizeBytes() {
+        return cache.size();
+    }
+
+    public int getHitCount() {
+        return cache.hitCount();
+    }
+
+    public int getMissCount() {
+        return cache.missCount();
+    }
+
+    public int getEvictionCount() {
+        return cache.evictionCount();
+    }
+
+    public int getPrefetchCount() {
+        return prefetchCount.get();
+    }
+
+    public void onLowMemory() {
+        Log.w(TAG, "메모리 부족 - 장 캐시 비움 (" + cache.size() + " bytes)");
+        cache.evictAll();
+    }
+
+    public void onTrimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            cache.evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            cache.trimToSize(cache.maxSize() / 2);
+        }
+    }
+
+    /**
+     * 설정한 최대 크기를 기기 기본값으로 되돌린다.
+     */
+    public void resetMaxBytes() {
+        cache.resize(defaultMaxBytes);
+    }
+}
@@ -0,0 +1,113 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 장별 시간 asset 리더.
+ * 빌드 때 compileChapterDurations 태스크가 변환해 넣은 asset 을 매핑하므로 실행 중에는 텍스트를 파싱하지 않는다.
+ * <ul>
+ * <li>chapter_durations.bin (get): Bible_Chapter_Mapping.csv 의 오디오 시간</li>
+ * <li>chapter_reading_times.bin (readingTimes): completeBibleReadingTimes.ts 의 읽기 시간 (getChapterReadingTime 의 표)</li>
+ * </ul>
+ *
+ * 포맷 (little-endian int32)
+ * <pre>
+ * magic "CDUR", version, count(1189), seconds[count]  전역 장 번호 순, CSV 에 없는 장은 0
+ * </pre>
+ */
+public class ChapterDurations {
+
+    private static final String TAG = "ChapterDurations";
+
+    public static final int MAGIC = 0x52554443; // "CDUR"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 12;
+    public static final String ASSET_NAME = "chapter_durations.bin";
+    public static final String READING_TIMES_ASSET_NAME = "chapter_reading_times.bin";
+
+    private static ChapterDurations instance;
+    private static boolean opened;
+    private static ChapterDurations readingTimes;
+    private static boolean readingTimesOpened;
+
+    private final IntBuffer seconds;
+
+    ChapterDurations(ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("장별 시간 asset 형식이 다릅니다");
+        }
+        int count = buffer.getInt(8);
+        if (count != BibleBooks.CHAPTER_COUNT || buffer.capacity() < HEADER_SIZE + count * 4) {
+            throw new IOException("장별 시간 asset 장 수가 다릅니다: " + count);
+        }
+        buffer.position(HEADER_SIZE);
+        seconds = buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * asset 이 없거나 형식이 다르면 null
+     */
+    public static synchronized ChapterDurations get(Context context) {
+        if (!opened) {
+            opened = true;
+            instance = open(context.getApplicationContext(), ASSET_NAME);
+        }
+        return instance;
+    }
+
+    /**
+     * 일독 계획용 읽기 시간. asset 이 없거나 형식이 다르면 null
+     */
+    public static synchronized ChapterDurations readingTimes(Context context) {
+        if (!readingTimesOpened) {
+            readingTimesOpened = true;
+            readingTimes = open(context.getApplicationContext(), READING_TIMES_ASSET_NAME);
+        }
+        return readingTimes;
+    }
+
+    private static ChapterDurations open(Context context, String name) {
+        try (AssetFileDescriptor afd = context.getAssets().openFd(name);
+             FileInputStream input = afd.createInputStream()) {
+            return new ChapterDurations(input.getChannel()
+                    .map(FileChannel.MapMode.READ_ONLY, afd.getStartOffset(), afd.getLength()));
+        } catch (IOException e) {
+            // 압축된 채로 들어간 경우 (noCompress 누락) 통째로 읽는다
+        }
+        try (InputStream input = context.getAssets().open(name)) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                output.write(chunk, 0, read);
+            }
+            return new ChapterDurations(ByteBuffer.wrap(output.toByteArray()));
+        } catch (IOException e) {
+            Log.e(TAG, name + " 열기 실패", e);
+            return null;
+        }
+    }
+
+    public int count() {
+        return seconds.capacity();
+    }
+
+    /**
+     * 전역 장 번호의 오디오 시간 (초). 데이터가 없는 장은 0.
+     */
+    public int seconds(int chapterIndex) {
+        return seconds.get(chapterIndex);
+    }
+}
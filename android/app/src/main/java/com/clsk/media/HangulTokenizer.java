@@ -0,0 +1,117 @@
+package com.clsk.media;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 검색 색인용 토크나이저.
+ * 한글은 형태소 분석 없이도 조사/어미가 붙은 어절을 찾을 수 있도록 음절 bigram 으로 자르고,
+ * 영문/숫자 어절은 소문자로 통째로 쓴다.
+ * 결과 토큰은 공백으로 이어 FTS4 simple 토크나이저에 그대로 넘긴다.
+ */
+public final class HangulTokenizer {
+
+    private HangulTokenizer() {
+    }
+
+    public static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣') || (c >= 'ㄱ' && c <= 'ㆎ');
+    }
+
+    private static boolean isWordChar(char c) {
+        return isHangul(c) || Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * 문장을 어절 단위로 나눈다. 문장부호는 구분자로 취급한다.
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && isWordChar(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * 어절 하나의 토큰 목록. 한글 어절은 bigram, 한 글자면 unigram.
+     */
+    public static List<String> tokens(String word) {
+        List<String> tokens = new ArrayList<>();
+        if (word.length() < 2 || !isHangul(word.charAt(0))) {
+            tokens.add(word);
+            return tokens;
+        }
+        for (int i = 0; i + 1 < word.length(); i++) {
+            tokens.add(word.substring(i, i + 2));
+        }
+        return tokens;
+    }
+
+    /**
+     * 색인에 저장할 토큰 문자열.
+     */
+    public static String indexText(String text) {
+        StringBuilder builder = new StringBuilder(text == null ? 0 : text.length() * 2);
+        for (String word : words(text)) {
+            for (String token : tokens(word)) {
+                if (builder.length() > 0) {
+                    builder.append(' ');
+                }
+                builder.append(token);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 검색어를 FTS MATCH 구(phrase) 목록으로 바꾼다.
+     * 어절마다 bigram 을 구로 묶어 연속 위치를 요구하고, 호출한 쪽에서 구끼리 AND 로 묶는다.
+     * 검색할 어절이 없으면 빈 목록.
+     */
+    public static List<String> matchPhrases(String query) {
+        List<String> phrases = new ArrayList<>();
+        for (String word : words(query)) {
+            if (word.length() == 1 && isHangul(word.charAt(0))) {
+                // 한 글자 검색어는 그 글자로 시작하는 bigram 접두어 검색
+                phrases.add(word + '*');
+                continue;
+            }
+            StringBuilder builder = new StringBuilder();
+            builder.append('"');
+            List<String> tokens = tokens(word);
+            for (int i = 0; i < tokens.size(); i++) {
+                if (i > 0) {
+                    builder.append(' ');
+                }
+                builder.append(tokens.get(i));
+            }
+            builder.append('"');
+            phrases.add(builder.toString());
+        }
+        return phrases;
+    }
+
+    /**
+     * matchPhrases 가 만든 구 하나의 토큰 수
+     */
+    public static int phraseTokenCount(String phrase) {
+        int count = 1;
+        for (int i = 0; i < phrase.length(); i++) {
+            if (phrase.charAt(i) == ' ') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -28,6 +28,7 @@ import com.github.wumke.RNExitApp.RNExitAppPackage;
 import com.clsk.media.adpopcorn.RNAdPopcornSSPPackage;
 import com.clsk.media.greenp.GreenpPackage;
 import com.clsk.media.adpopcorn.RNAdPopcornRewardPackage;
+import com.clsk.media.adpopcorn.ads.BannerAdPool;
 import com.clsk.media.ReactWrapperPackage;
 import com.clsk.media.SettingsModule;
 import com.facebook.react.bridge.NativeModule;
@@ -59,7 +60,18 @@ public class MainApplication extends MultiDexApplication implements ReactApplica
                 packages.add(new ReactPackage() {
                     @Override
                     public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
-                        return Arrays.<NativeModule>asList(new SettingsModule(reactContext));
+                        return Arrays.<NativeModule>asList(
+                                new SettingsModule(reactContext),
+                                new BibleChapterModule(reactContext),
+                                new BibleSearchModule(reactContext),
+                                new ReadingProgressModule(reactContext),
+                                new AnnotationModule(reactContext),
+                                new ReadingPlanModule(reactContext),
+                                new SettingBackupModule(reactContext),
+                                new ChangeLogModule(reactContext),
+                                new AudioCacheModule(reactContext),
+                                new AudioDownloadModule(reactContext),
+                                new VerseTimelineModule(reactContext));
                     }
 
                     @Override
@@ -198,5 +210,22 @@ public class MainApplication extends MultiDexApplication implements ReactApplica
     public void onLowMemory() {
         super.onLowMemory();
         Log.w("MainApplication", "메모리 부족 상황 감지");
+
+        ChapterCache chapterCache = ChapterCache.peekInstance();
+        if (chapterCache != null) {
+            chapterCache.onLowMemory();
+        }
+        BannerAdPool.clear();
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+
+        ChapterCache chapterCache = ChapterCache.peekInstance();
+        if (chapterCache != null) {
+            chapterCache.onTrimMemory(level);
+        }
+        BannerAdPool.onTrimMemory(level);
     }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실제 오디오 파일에서 잰 장별 시간 (Mp3Duration).
+ * filesDir/chapter_durations_measured.bin 에 chapter_durations.bin 과 같은 형식(CDUR)으로 저장하고,
+ * 잰 값이 있는 장은 CSV 값 대신 이것을 쓰고(ReadingPlanModule.getChapterDurations), JS 는 계획을 만들 때 그 값을 찍어 둔다.
+ * 받아 둔 파일(AudioCache, AudioDownloader)은 받을 때마다 record 로, 한꺼번에는 scan 으로 갱신한다.
+ */
+public class MeasuredDurations {
+
+    private static final String TAG = "MeasuredDurations";
+    private static final String FILE_NAME = "chapter_durations_measured.bin";
+
+    private static MeasuredDurations instance;
+
+    private final File file;
+    /** 전역 장 번호 → 초, 0 이면 아직 재지 않음 */
+    private final int[] seconds = new int[BibleBooks.CHAPTER_COUNT];
+
+    private MeasuredDurations(Context context) {
+        this(new File(context.getFilesDir(), FILE_NAME));
+    }
+
+    MeasuredDurations(File file) {
+        this.file = file;
+        load();
+    }
+
+    public static synchronized MeasuredDurations getInstance(Context context) {
+        if (instance == null) {
+            instance = new MeasuredDurations(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private void load() {
+        if (!file.isFile()) {
+            return;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            ChapterDurations stored = new ChapterDurations(
+                    raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length()));
+            for (int i = 0; i < seconds.length; i++) {
+                seconds[i] = stored.seconds(i);
+            }
+        } catch (IOException e) {
+            Log.e(TAG, FILE_NAME + " 읽기 실패", e);
+        }
+    }
+
+    private void save() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ChapterDurations.HEADER_SIZE + seconds.length * 4)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(ChapterDurations.MAGIC).putInt(ChapterDurations.VERSION).putInt(seconds.length);
+        for (int value : seconds) {
+            buffer.putInt(value);
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(buffer.array());
+        }
+        if (!tmp.renameTo(file)) {
+            throw new IOException("이름 변경 실패: " + file);
+        }
+    }
+
+    public synchronized int seconds(int chapterIndex) {
+        return seconds[chapterIndex];
+    }
+
+    public synchronized int measuredCount() {
+        int count = 0;
+        for (int value : seconds) {
+            if (value > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 받은 파일 하나를 재서 반영한다. 값이 바뀌면 저장한다.
+     * 진행 중인 계획은 시작할 때 찍어 둔 시간(BiblePlanData.chapterDurations)을 쓰므로 여기서 바뀌지 않는다.
+     */
+    public void record(int book, int jang, File audio) {
+        long ms = Mp3Duration.durationMs(audio);
+        if (ms <= 0) {
+            Log.w(TAG, "시간 계산 실패: " + audio);
+            return;
+        }
+        int index = BibleBooks.chapterIndex(book, jang);
+        int value = (int) Math.round(ms / 1000.0);
+        synchronized (this) {
+            if (seconds[index] == value) {
+                return;
+            }
+            seconds[index] = value;
+            try {
+                save();
+            } catch (IOException e) {
+                Log.e(TAG, FILE_NAME + " 저장 실패", e);
+            }
+        }
+    }
+
+    /**
+     * 기기에 있는 모든 장 파일을 코어 수만큼 나눠 동시에 잰다. 헤더만 읽으므로 1,189 장도 몇 초 안에 끝난다.
+     * @return [찾은 파일 수, 잰 장 수, 바뀐 장 수]
+     */
+    public int[] scan(Context context) throws InterruptedException {
+        AudioCache cache = AudioCache.getInstance(context);
+        List<Integer> indexes = new ArrayList<>();
+        List<File> files = new ArrayList<>();
+        for (int index = 0; index < BibleBooks.CHAPTER_COUNT; index++) {
+            File audio = cache.peekFile(BibleBooks.bookOf(index), BibleBooks.jangOf(index));
+            if (audio != null) {
+                indexes.add(index);
+                files.add(audio);
+            }
+        }
+
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> results = new ArrayList<>(files.size());
+        long start = System.currentTimeMillis();
+        try {
+            for (File audio : files) {
+                results.add(pool.submit(() -> Mp3Duration.durationMs(audio)));
+            }
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int measured = 0;
+        int changed = 0;
+        synchronized (this) {
+            for (int i = 0; i < results.size(); i++) {
+                long ms;
+                try {
+                    ms = results.get(i).isDone() ? results.get(i).get() : -1;
+                } catch (Exception e) {
+                    ms = -1;
+                }
+                if (ms <= 0) {
+                    continue;
+                }
+                measured++;
+                int index = indexes.get(i);
+                int value = (int) Math.round(ms / 1000.0);
+                if (seconds[index] != value) {
+                    seconds[index] = value;
+                    changed++;
+                }
+            }
+            if (changed > 0) {
+                try {
+                    save();
+                } catch (IOException e) {
+                    Log.e(TAG, FILE_NAME + " 저장 실패", e);
+                }
+            }
+        }
+        Log.d(TAG, "scan: 파일 " + files.size() + ", 측정 " + measured + ", 변경 " + changed
+                + " (" + (System.currentTimeMillis() - start) + "ms, " + threads + " threads)");
+        return new int[]{files.size(), measured, changed};
+    }
+}
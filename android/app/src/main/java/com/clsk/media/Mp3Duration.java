@@ -0,0 +1,265 @@
+package com.clsk.media;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+
+/**
+ * mp3 재생 시간 계산 (디코딩 없이 헤더만 읽는다).
+ * 첫 프레임의 Xing/Info 또는 VBRI 헤더에 프레임 수가 있으면 그것으로, 없으면 앞쪽 프레임들의 비트레이트가
+ * 같을 때 CBR 로 보고 파일 크기로, 비트레이트가 바뀌면 프레임 헤더를 끝까지 건너뛰며 세어 계산한다.
+ */
+public final class Mp3Duration {
+
+    /** 비트레이트(kbps) [MPEG1 이면 0, 아니면 1][layer - 1][index] */
+    private static final int[][][] BITRATES = {
+            {
+                    {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448, -1},
+                    {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384, -1},
+                    {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, -1},
+            },
+            {
+                    {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256, -1},
+                    {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160, -1},
+                    {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160, -1},
+            },
+    };
+    private static final int[] SAMPLE_RATES = {44100, 48000, 32000};
+    /** CBR 로 판단하기 전에 비트레이트를 비교해 볼 프레임 수 */
+    private static final int CBR_CHECK_FRAMES = 32;
+    /** 첫 프레임을 찾을 때 ID3 태그 뒤로 훑어 볼 최대 바이트 */
+    private static final int MAX_SYNC_SEARCH = 64 * 1024;
+
+    /** 프레임 헤더 해석 결과 */
+    static final class Frame {
+        int version;      // 1, 2, 25(2.5)
+        int layer;        // 1..3
+        int bitrate;      // kbps, free format 이면 0
+        int sampleRate;
+        int length;       // 헤더 포함 바이트
+        int samples;      // 프레임당 샘플 수
+        boolean mono;
+    }
+
+    private Mp3Duration() {
+    }
+
+    /**
+     * 4바이트 프레임 헤더 해석. 올바른 헤더가 아니면 null.
+     */
+    static Frame parseHeader(int header) {
+        if ((header & 0xFFE00000) != 0xFFE00000) {
+            return null;
+        }
+        int versionBits = (header >>> 19) & 3;
+        int layerBits = (header >>> 17) & 3;
+        int bitrateIndex = (header >>> 12) & 15;
+        int sampleIndex = (header >>> 10) & 3;
+        if (versionBits == 1 || layerBits == 0 || bitrateIndex == 15 || sampleIndex == 3) {
+            return null;
+        }
+        Frame frame = new Frame();
+        frame.version = versionBits == 3 ? 1 : versionBits == 2 ? 2 : 25;
+        frame.layer = 4 - layerBits;
+        frame.bitrate = BITRATES[frame.version == 1 ? 0 : 1][frame.layer - 1][bitrateIndex];
+        frame.sampleRate = SAMPLE_RATES[sampleIndex] >> (frame.version == 1 ? 0 : frame.version == 2 ? 1 : 2);
+        int padding = (header >>> 9) & 1;
+        frame.mono = ((header >>> 6) & 3) == 3;
+        if (frame.layer == 1) {
+            frame.samples = 384;
+            frame.length = (12 * frame.bitrate * 1000 / frame.sampleRate + padding) * 4;
+        } else if (frame.layer == 2 || frame.version == 1) {
+            frame.samples = 1152;
+            frame.length = 144 * frame.bitrate * 1000 / frame.sampleRate + padding;
+        } else {
+            frame.samples = 576;
+            frame.length = 72 * frame.bitrate * 1000 / frame.sampleRate + padding;
+        }
+        return frame.bitrate > 0 ? frame : null;
+    }
+
+    /**
+     * @return 재생 시간 (ms). mp3 가 아니거나 읽을 수 없으면 -1
+     */
+    public static long durationMs(File file) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            return durationMs(raf);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static long durationMs(RandomAccessFile raf) throws IOException {
+        long fileLength = raf.length();
+        long audioEnd = fileLength;
+        if (fileLength >= 128) {
+            byte[] tag = new byte[3];
+            raf.seek(fileLength - 128);
+            raf.readFully(tag);
+            if (tag[0] == 'T' && tag[1] == 'A' && tag[2] == 'G') {
+                audioEnd -= 128;
+            }
+        }
+
+        long start = skipId3v2(raf);
+        long position = findSync(raf, start, audioEnd);
+        if (position < 0) {
+            return -1;
+        }
+        raf.seek(position);
+        Frame first = parseHeader(raf.readInt());
+
+        // Xing/Info: 헤더 4바이트 + side info 뒤
+        int sideInfo = first.version == 1 ? (first.mono ? 17 : 32) : (first.mono ? 9 : 17);
+        byte[] head = new byte[Math.min(first.length, 4 + 32 + 26)];
+        raf.seek(position);
+        raf.readFully(head);
+        long frames = xingFrames(head, 4 + sideInfo);
+        if (frames < 0) {
+            frames = vbriFrames(head, 4 + 32);
+        }
+        if (frames > 0) {
+            return frames * first.samples * 1000L / first.sampleRate;
+        }
+
+        // 헤더가 없으면 앞쪽 프레임 비트레이트가 모두 같은지 본다
+        long scan = position;
+        boolean constant = true;
+        for (int i = 0; i < CBR_CHECK_FRAMES && scan + 4 <= audioEnd; i++) {
+            raf.seek(scan);
+            Frame frame = parseHeader(raf.readInt());
+            if (frame == null) {
+                break;
+            }
+            if (frame.bitrate != first.bitrate || frame.sampleRate != first.sampleRate) {
+                constant = false;
+                break;
+            }
+            scan += frame.length;
+        }
+        if (constant) {
+            return (audioEnd - position) * 8L / first.bitrate;
+        }
+        return countFrames(raf, position, audioEnd, first.sampleRate);
+    }
+
+    /**
+     * ID3v2 태그 뒤 위치 (없으면 0). 태그가 여러 개 붙어 있어도 건너뛴다.
+     */
+    private static long skipId3v2(RandomAccessFile raf) throws IOException {
+        long position = 0;
+        byte[] header = new byte[10];
+        while (position + 10 <= raf.length()) {
+            raf.seek(position);
+            raf.readFully(header);
+            if (header[0] != 'I' || header[1] != 'D' || header[2] != '3') {
+                break;
+            }
+            int size = ((header[6] & 0x7F) << 21) | ((header[7] & 0x7F) << 14)
+                    | ((header[8] & 0x7F) << 7) | (header[9] & 0x7F);
+            boolean footer = (header[5] & 0x10) != 0;
+            position += 10 + size + (footer ? 10 : 0);
+        }
+        return position;
+    }
+
+    /**
+     * start 부터 프레임 동기를 찾는다. 다음 프레임 헤더도 맞아야 인정한다.
+     */
+    private static long findSync(RandomAccessFile raf, long start, long end) throws IOException {
+        long limit = Math.min(end - 4, start + MAX_SYNC_SEARCH);
+        byte[] buffer = new byte[(int) Math.max(limit - start + 4, 0)];
+        raf.seek(start);
+        int read = raf.read(buffer);
+        for (int i = 0; i + 4 <= read; i++) {
+            if ((buffer[i] & 0xFF) != 0xFF) {
+                continue;
+            }
+            Frame frame = parseHeader(readInt(buffer, i));
+            if (frame == null) {
+                continue;
+            }
+            long next = start + i + frame.length;
+            if (next + 4 > end) {
+                return start + i;
+            }
+            raf.seek(next);
+            Frame following = parseHeader(raf.readInt());
+            if (following != null && following.sampleRate == frame.sampleRate) {
+                return start + i;
+            }
+        }
+        return -1;
+    }
+
+    private static long xingFrames(byte[] head, int offset) {
+        if (offset + 12 > head.length) {
+            return -1;
+        }
+        boolean xing = head[offset] == 'X' && head[offset + 1] == 'i' && head[offset + 2] == 'n' && head[offset + 3] == 'g';
+        boolean info = head[offset] == 'I' && head[offset + 1] == 'n' && head[offset + 2] == 'f' && head[offset + 3] == 'o';
+        if (!xing && !info) {
+            return -1;
+        }
+        int flags = readInt(head, offset + 4);
+        return (flags & 1) != 0 ? readInt(head, offset + 8) & 0xFFFFFFFFL : -1;
+    }
+
+    private static long vbriFrames(byte[] head, int offset) {
+        if (offset + 18 > head.length) {
+            return -1;
+        }
+        if (head[offset] != 'V' || head[offset + 1] != 'B' || head[offset + 2] != 'R' || head[offset + 3] != 'I') {
+            return -1;
+        }
+        // VBRI, version(2), delay(2), quality(2), bytes(4), frames(4)
+        return readInt(head, offset + 14) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * 프레임 헤더만 읽고 본문은 건너뛰며 샘플 수를 더한다. 중간에 깨진 곳이 있으면 거기까지.
+     */
+    private static long countFrames(RandomAccessFile raf, long position, long end, int sampleRate) throws IOException {
+        long samples = 0;
+        raf.seek(position);
+        InputStream in = new BufferedInputStream(new FileInputStream(raf.getFD()), 64 * 1024);
+        long offset = position;
+        try {
+            while (offset + 4 <= end) {
+                int header = (in.read() << 24) | (in.read() << 16) | (in.read() << 8) | in.read();
+                Frame frame = parseHeader(header);
+                if (frame == null || frame.length < 4) {
+                    break;
+                }
+                samples += frame.samples;
+                offset += frame.length;
+                skipFully(in, frame.length - 4);
+            }
+        } catch (EOFException e) {
+            // 마지막 프레임이 잘린 파일
+        }
+        return samples * 1000L / sampleRate;
+    }
+
+    private static void skipFully(InputStream in, long count) throws IOException {
+        while (count > 0) {
+            long skipped = in.skip(count);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException();
+                }
+                skipped = 1;
+            }
+            count -= skipped;
+        }
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+    }
+}
@@ -0,0 +1,215 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import java.util.Arrays;
+
+/**
+ * 여러 번역본 병합기. 장 로딩(loadChapter)과 대조 읽기(loadParallelChapter)가 같이 쓴다.
+ * 번역본별로 (jul, sequence) 순으로 정렬된 커서를 하나씩 열고 k-way 병합한다.
+ * 장 로딩은 JS 가 쓰던 "order by jul, sequence" 와 같게 DB 행 하나를 그대로 한 행으로 펼친다.
+ * 대조 읽기는 절 번호가 같은 본문을 번역본별 칸으로 묶고, 어떤 번역본에 없는 절은 그 칸을 null 로 둔다.
+ * 행은 만들어지는 즉시 흘려보내므로 장 전체를 중간 맵에 모으지 않는다.
+ */
+public final class ParallelBibleMerger {
+
+    public interface VerseCursor {
+        boolean isDone();
+
+        int jul();
+
+        int sequence();
+
+        String text();
+
+        void next();
+
+        void close();
+    }
+
+    public interface RowSink {
+        /**
+         * 호출마다 같은 배열을 재사용하므로 보관하려면 복사해야 한다.
+         *
+         * @param texts 번역본 순서의 본문 (없는 번역본은 null)
+         */
+        void onRow(int jul, String[] texts);
+    }
+
+    private ParallelBibleMerger() {
+    }
+
+    /**
+     * 대조 읽기용. 절 번호별로 번역본 칸을 채워 한 행씩 보낸다.
+     * 한 번역본에 같은 절이 여러 행(sequence)으로 나뉘어 있으면 그 칸에서만 sequence 순으로 이어 붙인다.
+     *
+     * @return 만들어진 행 수
+     */
+    public static int merge(VerseCursor[] cursors, RowSink sink) {
+        String[] texts = new String[cursors.length];
+        int rows = 0;
+        while (true) {
+            int jul = Integer.MAX_VALUE;
+            for (VerseCursor cursor : cursors) {
+                if (!cursor.isDone() && cursor.jul() < jul) {
+                    jul = cursor.jul();
+                }
+            }
+            if (jul == Integer.MAX_VALUE) {
+                return rows;
+            }
+            for (int t = 0; t < cursors.length; t++) {
+                String text = null;
+                VerseCursor cursor = cursors[t];
+                while (!cursor.isDone() && cursor.jul() == jul) {
+                    text = text == null ? cursor.text() : text + " " + cursor.text();
+                    cursor.next();
+                }
+                texts[t] = text;
+            }
+            sink.onRow(jul, texts);
+            rows++;
+        }
+    }
+
+    /**
+     * 장 로딩용. 모든 번역본의 행을 (jul, sequence) 순으로 하나씩 펼친다.
+     * jul, sequence 가 같으면 요청한 번역본 순서. 같은 번역본의 sequence 행은 합치지 않는다.
+     */
+    static BibleChapter loadChapter(VerseCursor[] cursors, int book, int jang, String[] types) {
+        ChapterBuilder builder = new ChapterBuilder();
+        while (true) {
+            int next = -1;
+            for (int t = 0; t < cursors.length; t++) {
+                VerseCursor cursor = cursors[t];
+                if (cursor.isDone()) {
+                    continue;
+                }
+                if (next < 0 || cursor.jul() < cursors[next].jul()
+                        || (cursor.jul() == cursors[next].jul() && cursor.sequence() < cursors[next].sequence())) {
+                    next = t;
+                }
+            }
+            if (next < 0) {
+                return builder.build(book, jang, types);
+            }
+            builder.add(cursors[next].jul(), next, cursors[next].text());
+            cursors[next].next();
+        }
+    }
+
+    public static BibleChapter loadChapter(Context context, int book, int jang, String[] types) {
+        VerseCursor[] cursors = openChapter(context, book, jang, types);
+        try {
+            return loadChapter(cursors, book, jang, types);
+        } finally {
+            close(cursors);
+        }
+    }
+
+    public static int mergeChapter(Context context, int book, int jang, String[] types, RowSink sink) {
+        VerseCursor[] cursors = openChapter(context, book, jang, types);
+        try {
+            return merge(cursors, sink);
+        } finally {
+            close(cursors);
+        }
+    }
+
+    /**
+     * 번역본별 커서를 하나씩 연다.
+     * APK 의 bible.pack 에 요청한 번역본이 모두 있으면 매핑된 팩에서, 아니면 bible_db 쿼리로 읽는다.
+     */
+    private static VerseCursor[] openChapter(Context context, int book, int jang, String[] types) {
+        BiblePack pack = BiblePack.get(context);
+        VerseCursor[] cursors = new VerseCursor[types.length];
+        try {
+            if (pack != null && pack.covers(types)) {
+                for (int t = 0; t < types.length; t++) {
+                    cursors[t] = pack.openChapter(types[t], book, jang);
+                }
+            } else {
+                BibleDatabase bible = BibleDatabase.getInstance(context);
+                for (int t = 0; t < types.length; t++) {
+                    cursors[t] = new SqlCursor(bible.queryChapter(book, jang, types[t]));
+                }
+            }
+            return cursors;
+        } catch (RuntimeException e) {
+            close(cursors);
+            throw e;
+        }
+    }
+
+    private static void close(VerseCursor[] cursors) {
+        for (VerseCursor cursor : cursors) {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    private static final class ChapterBuilder {
+        int[] juls = new int[64];
+        int[] typeIndexes = new int[64];
+        String[] contents = new String[64];
+        int size;
+
+        void add(int jul, int typeIndex, String content) {
+            if (size == juls.length) {
+                juls = Arrays.copyOf(juls, size * 2);
+                typeIndexes = Arrays.copyOf(typeIndexes, size * 2);
+                contents = Arrays.copyOf(contents, size * 2);
+            }
+            juls[size] = jul;
+            typeIndexes[size] = typeIndex;
+            contents[size] = content;
+            size++;
+        }
+
+        BibleChapter build(int book, int jang, String[] types) {
+            return new BibleChapter(book, jang, Arrays.copyOf(types, types.length),
+                    Arrays.copyOf(juls, size), Arrays.copyOf(typeIndexes, size), Arrays.copyOf(contents, size));
+        }
+    }
+
+    private static final class SqlCursor implements VerseCursor {
+        private final Cursor cursor;
+
+        SqlCursor(Cursor cursor) {
+            this.cursor = cursor;
+            cursor.moveToFirst();
+        }
+
+        @Override
+        public boolean isDone() {
+            return cursor.isAfterLast();
+        }
+
+        @Override
+        public int jul() {
+            return cursor.getInt(0);
+        }
+
+        @Override
+        public int sequence() {
+            return cursor.getInt(2);
+        }
+
+        @Override
+        public String text() {
+            return cursor.getString(1);
+        }
+
+        @Override
+        public void next() {
+            cursor.moveToNext();
+        }
+
+        @Override
+        public void close() {
+            cursor.close();
+        }
+    }
+}
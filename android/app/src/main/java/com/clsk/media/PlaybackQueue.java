@@ -0,0 +1,49 @@
+package com.clsk.media;
+
+import android.content.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 연속 재생용 다음 장 목록.
+ * 지금 장 뒤로 count 장의 재생 주소를 정해 두고 AudioCache 로 미리 받게 한다.
+ * JS 는 이 목록을 TrackPlayer 큐 뒤에 붙여 두어, 장이 끝날 때 reset/add 없이 플레이어가 바로 다음 트랙으로 넘어간다.
+ */
+public class PlaybackQueue {
+
+    public static final class Source {
+        public final int book;
+        public final int jang;
+        public final String uri;
+        public final boolean cached;
+
+        Source(int book, int jang, String uri) {
+            this.book = book;
+            this.jang = jang;
+            this.uri = uri;
+            this.cached = uri.startsWith("file://");
+        }
+    }
+
+    private PlaybackQueue() {
+    }
+
+    /**
+     * (book, jang) 다음 장부터 최대 count 장. 계획 범위 끝(없으면 요한계시록 22장)에서 멈춘다.
+     * 아직 받지 못한 장은 원격 URL 로 넘기고 백그라운드에서 계속 받는다.
+     */
+    public static List<Source> upcoming(Context context, int book, int jang, int count, String planType) {
+        AudioCache cache = AudioCache.getInstance(context);
+        int index = BibleBooks.chapterIndex(book, jang);
+        int end = Math.min(index + 1 + count, ReadingPlanEngine.chapterRange(planType)[1]);
+        List<Source> sources = new ArrayList<>(Math.max(end - index - 1, 0));
+        for (int i = index + 1; i < end; i++) {
+            int nextBook = BibleBooks.bookOf(i);
+            int nextJang = BibleBooks.jangOf(i);
+            sources.add(new Source(nextBook, nextJang, cache.resolveUri(nextBook, nextJang)));
+        }
+        cache.prefetch(book, jang, count, planType);
+        return sources;
+    }
+}
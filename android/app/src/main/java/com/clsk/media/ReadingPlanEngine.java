@@ -0,0 +1,348 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 성경 일독 계획 계산기 (네이티브).
+ * 장별 시간(초)으로 전역 장 번호 순 누적합(prefix)을 한 번 만들어 두고,
+ * 범위 합계와 "몇 초 읽었을 때 어느 장인가" 를 이진 탐색으로 답한다.
+ * JS 와 같은 결과가 나오도록 시간 출처도 JS 와 맞춘다.
+ * <ul>
+ * <li>summarize/todayTarget/chapterAt: 오디오 시간 (MeasuredDurations 가 있으면 그것, 없으면 chapter_durations.bin),
+ *     biblePlanCalculator.ts 의 csvDataLoader 와 같은 출처</li>
+ * <li>dailySplit: chapter_reading_times.bin, timeBasedBibleReadingFixed.ts 의 getChapterReadingTime 과 같은 표.
+ *     createFixedTimeBasedReadingPlan 처럼 계획 종류와 관계없이 성경 전체를 나눈다</li>
+ * <li>fromSnapshot: 계획을 만들 때 찍어 둔 장별 시간(BiblePlanData.chapterDurations) 하나로 둘 다.
+ *     JS 계산기에 durations 를 넘긴 것과 같은 결과</li>
+ * </ul>
+ */
+public class ReadingPlanEngine {
+
+    private static final String TAG = "ReadingPlanEngine";
+    private static final int MAX_CACHED_SPLITS = 8;
+
+    /**
+     * calculateReadingPlan() 결과와 같은 값
+     */
+    public static final class Summary {
+        public int totalDays;
+        public int totalChapters;
+        public long totalSeconds;
+        public double totalMinutes;
+        public double chaptersPerDayExact;
+        public int chaptersPerDay;
+        public double minutesPerDayExact;
+        /** 목표 시간이 없으면 totalDays, 있으면 목표 시간 기준으로 다시 계산한 일수 */
+        public int daysNeeded;
+    }
+
+    /**
+     * createFixedTimeBasedReadingPlan() 의 일별 분할. dayStarts[d] ~ dayStarts[d + 1] 이 d 일차(0부터) 장 범위.
+     * 일수가 모자라면 성경 끝까지 가지 않고 멈춘다 (TS 와 같이).
+     */
+    public static final class DailySplit {
+        public final long targetMinutesPerDay;
+        public final long totalSeconds;
+        public final int[] dayStarts;
+        /** d 일차 시간 (DailyReadingPlan.totalSeconds 처럼 전날에서 이월된 시간 포함) */
+        public final long[] daySeconds;
+
+        DailySplit(long targetMinutesPerDay, long totalSeconds, int[] dayStarts, long[] daySeconds) {
+            this.targetMinutesPerDay = targetMinutesPerDay;
+            this.totalSeconds = totalSeconds;
+            this.dayStarts = dayStarts;
+            this.daySeconds = daySeconds;
+        }
+
+        public int dayCount() {
+            return dayStarts.length - 1;
+        }
+    }
+
+    private static ReadingPlanEngine instance;
+
+    private final int[] seconds = new int[BibleBooks.CHAPTER_COUNT];
+    private final long[] prefix = new long[BibleBooks.CHAPTER_COUNT + 1];
+    private final int[] readingSeconds = new int[BibleBooks.CHAPTER_COUNT];
+    private final long[] readingPrefix = new long[BibleBooks.CHAPTER_COUNT + 1];
+    private final Map<Integer, DailySplit> splits = new LinkedHashMap<Integer, DailySplit>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, DailySplit> eldest) {
+            return size() > MAX_CACHED_SPLITS;
+        }
+    };
+
+    /**
+     * @param durations    전역 장 번호 순 오디오 시간 (초), 0 이면 기본 추정치
+     * @param readingTimes 전역 장 번호 순 읽기 시간 (초), 0 이면 기본 추정치
+     */
+    ReadingPlanEngine(int[] durations, int[] readingTimes) {
+        int missing = fill(durations, seconds, prefix);
+        if (missing > 0) {
+            Log.w(TAG, "시간 데이터 없는 장: " + missing);
+        }
+        missing = fill(readingTimes, readingSeconds, readingPrefix);
+        if (missing > 0) {
+            Log.w(TAG, "읽기 시간 데이터 없는 장: " + missing);
+        }
+    }
+
+    /**
+     * 프로세스에서 처음 부를 때의 시간으로 한 번 만든다. 그 뒤에 잰 값은 다음 실행이나 새 계획(스냅샷)에 반영된다.
+     */
+    public static synchronized ReadingPlanEngine getInstance(Context context) {
+        if (instance == null) {
+            instance = load(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * 진행 중인 계획의 스냅샷(전역 장 번호 순 초)으로 만든다. 받기/측정으로 시간이 바뀌어도 하루 경계가 움직이지 않는다.
+     */
+    public static ReadingPlanEngine fromSnapshot(int[] durations) {
+        if (durations.length != BibleBooks.CHAPTER_COUNT) {
+            throw new IllegalArgumentException("장별 시간 개수: " + durations.length);
+        }
+        return new ReadingPlanEngine(durations, durations);
+    }
+
+    private static ReadingPlanEngine load(Context context) {
+        ChapterDurations durations = ChapterDurations.get(context);
+        if (durations == null) {
+            Log.e(TAG, "장별 시간 데이터 없음, 기본 추정치 사용");
+        }
+        ChapterDurations readingTimes = ChapterDurations.readingTimes(context);
+        if (readingTimes == null) {
+            Log.e(TAG, "장별 읽기 시간 데이터 없음, 기본 추정치 사용");
+        }
+        MeasuredDurations measured = MeasuredDurations.getInstance(context);
+        int[] audio = new int[BibleBooks.CHAPTER_COUNT];
+        int[] reading = new int[BibleBooks.CHAPTER_COUNT];
+        for (int index = 0; index < audio.length; index++) {
+            // 실제 파일에서 잰 값이 있으면 CSV 값보다 우선한다
+            int value = measured.seconds(index);
+            audio[index] = value > 0 ? value : durations == null ? 0 : durations.seconds(index);
+            reading[index] = readingTimes == null ? 0 : readingTimes.seconds(index);
+        }
+        return new ReadingPlanEngine(audio, reading);
+    }
+
+    /**
+     * 데이터가 없는 장은 기본 추정치(getChapterReadingTime 의 fallback 과 같은 값)로 채운다.
+     * @return 기본 추정치를 쓴 장 수
+     */
+    private static int fill(int[] source, int[] target, long[] targetPrefix) {
+        int missing = 0;
+        for (int index = 0; index < target.length; index++) {
+            int value = source[index];
+            if (value <= 0) {
+                value = defaultSeconds(BibleBooks.bookOf(index));
+                missing++;
+            }
+            target[index] = value;
+            targetPrefix[index + 1] = targetPrefix[index] + value;
+        }
+        return missing;
+    }
+
+    private static int defaultSeconds(int book) {
+        if (book == 19) return 150;
+        if (book == 20) return 210;
+        if (book <= BibleBooks.LAST_OLD_TESTAMENT_BOOK) return 240;
+        return 252;
+    }
+
+    /**
+     * 계획 종류 → [첫 책, 마지막 책] (biblePlanCalculator.ts DETAILED_BIBLE_PLAN_TYPES 의 bookRange)
+     */
+    public static int[] bookRange(String planType) {
+        if (planType == null) {
+            return new int[]{1, BibleBooks.BOOK_COUNT};
+        }
+        switch (planType) {
+            case "old_testament":
+                return new int[]{1, BibleBooks.LAST_OLD_TESTAMENT_BOOK};
+            case "new_testament":
+                return new int[]{BibleBooks.LAST_OLD_TESTAMENT_BOOK + 1, BibleBooks.BOOK_COUNT};
+            case "pentateuch":
+                return new int[]{1, 5};
+            case "psalms":
+                return new int[]{19, 19};
+            case "full_bible":
+            default:
+                return new int[]{1, BibleBooks.BOOK_COUNT};
+        }
+    }
+
+    /**
+     * 계획 범위의 전역 장 번호 [from, to)
+     */
+    public static int[] chapterRange(String planType) {
+        int[] books = bookRange(planType);
+        int from = BibleBooks.firstChapterIndex(books[0]);
+        int to = BibleBooks.firstChapterIndex(books[1]) + BibleBooks.chapterCount(books[1]);
+        return new int[]{from, to};
+    }
+
+    public int chapterSeconds(int chapterIndex) {
+        return seconds[chapterIndex];
+    }
+
+    /**
+     * dailySplit 이 쓰는 읽기 시간 (초)
+     */
+    public int chapterReadingSeconds(int chapterIndex) {
+        return readingSeconds[chapterIndex];
+    }
+
+    /**
+     * 전역 장 번호 [from, to) 의 읽기 시간 합 (초), dailySplit 의 하루 시간
+     */
+    public long rangeReadingSeconds(int from, int to) {
+        return readingPrefix[to] - readingPrefix[from];
+    }
+
+    /**
+     * 전역 장 번호 [from, to) 의 시간 합 (초)
+     */
+    public long rangeSeconds(int from, int to) {
+        return prefix[to] - prefix[from];
+    }
+
+    /**
+     * from 부터 elapsed 초를 읽었을 때 읽고 있는 장 (to 를 넘기면 to - 1)
+     */
+    public int chapterAt(int from, int to, long elapsed) {
+        long target = prefix[from] + elapsed;
+        int low = from;
+        int high = to - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prefix[mid + 1] > target) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * calculateReadingPlan(planType, startDate, endDate, targetMinutesPerDay) 와 같은 계산.
+     * @param targetMinutesPerDay 0 이하면 목표 시간 없음
+     */
+    public Summary summarize(String planType, int totalDays, double targetMinutesPerDay) {
+        int[] range = chapterRange(planType);
+        Summary summary = new Summary();
+        summary.totalDays = totalDays;
+        summary.totalChapters = range[1] - range[0];
+        summary.totalSeconds = rangeSeconds(range[0], range[1]);
+        summary.totalMinutes = summary.totalSeconds / 60.0;
+        summary.chaptersPerDayExact = (double) summary.totalChapters / totalDays;
+        summary.chaptersPerDay = (int) Math.ceil(summary.chaptersPerDayExact);
+        summary.minutesPerDayExact = summary.totalMinutes / totalDays;
+        summary.daysNeeded = totalDays;
+
+        if (targetMinutesPerDay > 0) {
+            double avgMinutesPerChapter = summary.totalMinutes / summary.totalChapters;
+            double chaptersBasedOnTime = targetMinutesPerDay / avgMinutesPerChapter;
+            summary.daysNeeded = (int) Math.ceil(summary.totalChapters / chaptersBasedOnTime);
+            summary.chaptersPerDayExact = chaptersBasedOnTime;
+            summary.chaptersPerDay = (int) Math.ceil(chaptersBasedOnTime);
+        }
+        return summary;
+    }
+
+    /**
+     * 시간 균형 일별 분할 (createFixedTimeBasedReadingPlan(totalDays, ...) 과 같은 규칙, 같은 읽기 시간).
+     * calculateBiblePlanWithFixedTime 이 계획 종류를 넘기지 않으므로 언제나 창세기 1장부터 성경 전체가 대상이다.
+     * 하루 목표 = round(전체 분 / 일수), 첫 장은 무조건 넣고 누적이 목표의 80% 미만인 동안 장을 더하며
+     * 목표를 넘긴 시간은 다음 날로 이월한다. 하루의 끝은 누적합 이진 탐색으로 찾는다.
+     */
+    public synchronized DailySplit dailySplit(int totalDays) {
+        DailySplit cached = splits.get(totalDays);
+        if (cached != null) {
+            return cached;
+        }
+
+        int[] range = {0, BibleBooks.CHAPTER_COUNT};
+        long totalSeconds = rangeReadingSeconds(range[0], range[1]);
+        long targetMinutes = Math.round((totalSeconds / 60.0) / totalDays);
+        long targetSeconds = targetMinutes * 60;
+        double threshold = targetSeconds * 0.8;
+
+        int[] dayStarts = new int[Math.min(totalDays, range[1] - range[0]) + 1];
+        long[] daySeconds = new long[dayStarts.length - 1];
+        int days = 0;
+        int index = range[0];
+        long carry = 0;
+        dayStarts[0] = index;
+        while (days < totalDays && index < range[1]) {
+            int end = dayEnd(index, range[1], carry, threshold);
+            long dayTotal = carry + readingPrefix[end] - readingPrefix[index];
+            carry = Math.max(0, dayTotal - targetSeconds);
+            index = end;
+            daySeconds[days] = dayTotal;
+            dayStarts[++days] = index;
+        }
+
+        DailySplit split = new DailySplit(targetMinutes, totalSeconds,
+                Arrays.copyOf(dayStarts, days + 1), Arrays.copyOf(daySeconds, days));
+        splits.put(totalDays, split);
+        return split;
+    }
+
+    /**
+     * index 부터 시작하는 하루의 끝(배타). carry + (index..k 합) >= threshold 인 가장 작은 k, 없으면 to.
+     */
+    private int dayEnd(int index, int to, long carry, double threshold) {
+        int low = index + 1;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (carry + readingPrefix[mid] - readingPrefix[index] >= threshold) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * getDailyReading(planType, startDate, targetDate) 와 같은 장 수 균등 분할. 결과: 전역 장 번호 [from, to)
+     * 하루 장수 = ceil(계획 장수 / totalDays), 범위 밖의 날은 빈 범위 (from == to).
+     */
+    public static int[] dailyReading(String planType, int totalDays, int dayNumber) {
+        int[] range = chapterRange(planType);
+        int count = range[1] - range[0];
+        int chaptersPerDay = (int) Math.ceil((double) count / totalDays);
+        long start = (long) (dayNumber - 1) * chaptersPerDay;
+        long end = Math.min(start + chaptersPerDay, count);
+        start = Math.max(0, start);
+        if (start >= end) {
+            return new int[]{range[0], range[0]};
+        }
+        return new int[]{range[0] + (int) start, range[0] + (int) end};
+    }
+
+    /**
+     * calculateTodayTarget(planData, currentDay) 와 같은 계산. 결과: [장수, 분]
+     */
+    public long[] todayTarget(String planType, double chaptersPerDayExact, int currentDay, int readCount) {
+        int[] range = chapterRange(planType);
+        int totalChapters = range[1] - range[0];
+        double totalMinutes = rangeSeconds(range[0], range[1]) / 60.0;
+        double cumulativeTarget = Math.min(currentDay * chaptersPerDayExact, totalChapters);
+        long chapters = Math.max(0, (long) Math.ceil(cumulativeTarget) - readCount);
+        double avgMinutesPerChapter = totalMinutes / totalChapters;
+        long minutes = (long) Math.ceil(chapters * avgMinutesPerChapter);
+        return new long[]{chapters, minutes};
+    }
+}
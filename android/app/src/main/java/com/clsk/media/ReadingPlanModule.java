@@ -0,0 +1,252 @@
+package com.clsk.media;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Calendar;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 성경 일독 계획 계산 모듈 (ReadingPlanEngine).
+ * 날짜는 JS Date.getTime() 값(ms)으로 주고받는다.
+ * 계획 계산 메서드의 durations 는 진행 중인 계획의 스냅샷(BiblePlanData.chapterDurations)이고,
+ * null 이면 지금 기기의 시간(getChapterDurations 와 같은 출처)으로 계산한다.
+ */
+public class ReadingPlanModule extends ReactContextBaseJavaModule {
+
+    private static final String TAG = "ReadingPlanModule";
+
+    private final ReactApplicationContext reactContext;
+    private final ExecutorService scanExecutor = Executors.newSingleThreadExecutor();
+
+    public ReadingPlanModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        this.reactContext = reactContext;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "ReadingPlanModule";
+    }
+
+    private ReadingPlanEngine engine(@Nullable ReadableArray durations) {
+        if (durations == null) {
+            return ReadingPlanEngine.getInstance(reactContext);
+        }
+        int[] seconds = new int[durations.size()];
+        for (int index = 0; index < seconds.length; index++) {
+            seconds[index] = durations.getInt(index);
+        }
+        return ReadingPlanEngine.fromSnapshot(seconds);
+    }
+
+    /**
+     * startDate 에서 days - 1 일 뒤 (JS setDate(getDate() + days - 1) 과 같은 로컬 날짜 계산)
+     */
+    private static double endDate(double startDate, int days) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis((long) startDate);
+        calendar.add(Calendar.DAY_OF_MONTH, days - 1);
+        return (double) calendar.getTimeInMillis();
+    }
+
+    /**
+     * calculateReadingPlan 대체.
+     * @param targetMinutesPerDay 0 이면 목표 시간 없음
+     * resolve 값: { totalDays, totalChapters, chaptersPerDay, chaptersPerDayExact, minutesPerDayExact,
+     *              totalTimeSeconds, totalTimeMinutes, daysNeeded, estimatedEndDate }
+     */
+    @ReactMethod
+    public void calculatePlan(String planType, int totalDays, double targetMinutesPerDay, double startDate,
+                              @Nullable ReadableArray durations, Promise promise) {
+        if (totalDays <= 0) {
+            promise.reject("INVALID_PLAN", "잘못된 기간: " + totalDays);
+            return;
+        }
+        try {
+            ReadingPlanEngine.Summary summary = engine(durations).summarize(planType, totalDays, targetMinutesPerDay);
+            WritableMap result = Arguments.createMap();
+            result.putInt("totalDays", summary.totalDays);
+            result.putInt("totalChapters", summary.totalChapters);
+            result.putInt("chaptersPerDay", summary.chaptersPerDay);
+            result.putDouble("chaptersPerDayExact", summary.chaptersPerDayExact);
+            result.putDouble("minutesPerDayExact", summary.minutesPerDayExact);
+            result.putDouble("totalTimeSeconds", summary.totalSeconds);
+            result.putDouble("totalTimeMinutes", summary.totalMinutes);
+            result.putInt("daysNeeded", summary.daysNeeded);
+            result.putDouble("estimatedEndDate", endDate(startDate, summary.daysNeeded));
+            promise.resolve(result);
+        } catch (Exception e) {
+            Log.e(TAG, "계획 계산 실패: " + planType, e);
+            promise.reject("CALCULATE_PLAN_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 시간 균형 일별 분할 전체 (createFixedTimeBasedReadingPlan 대체, 계획 종류와 관계없이 성경 전체).
+     * resolve 값: { totalDays, targetMinutesPerDay, totalSeconds, targetDate,
+     *              days: [startBook, startJang, chapterCount, seconds(이월 포함), ...] (하루당 4개) }
+     */
+    @ReactMethod
+    public void getDailySplit(int totalDays, double startDate, @Nullable ReadableArray durations, Promise promise) {
+        if (totalDays <= 0) {
+            promise.reject("INVALID_PLAN", "잘못된 기간: " + totalDays);
+            return;
+        }
+        try {
+            ReadingPlanEngine engine = engine(durations);
+            ReadingPlanEngine.DailySplit split = engine.dailySplit(totalDays);
+            WritableArray days = Arguments.createArray();
+            for (int day = 0; day < split.dayCount(); day++) {
+                int from = split.dayStarts[day];
+                int to = split.dayStarts[day + 1];
+                days.pushInt(BibleBooks.bookOf(from));
+                days.pushInt(BibleBooks.jangOf(from));
+                days.pushInt(to - from);
+                days.pushDouble(split.daySeconds[day]);
+            }
+            WritableMap result = Arguments.createMap();
+            result.putInt("totalDays", split.dayCount());
+            result.putDouble("targetMinutesPerDay", split.targetMinutesPerDay);
+            result.putDouble("totalSeconds", split.totalSeconds);
+            result.putDouble("targetDate", endDate(startDate, split.dayCount()));
+            result.putArray("days", days);
+            promise.resolve(result);
+        } catch (Exception e) {
+            Log.e(TAG, "일별 분할 실패: " + totalDays + "일", e);
+            promise.reject("DAILY_SPLIT_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * day 일차(1부터) 장 목록. resolve 값: [{ book, chapter, seconds }]
+     */
+    @ReactMethod
+    public void getDayChapters(int totalDays, int day, @Nullable ReadableArray durations, Promise promise) {
+        if (totalDays <= 0) {
+            promise.reject("INVALID_PLAN", "잘못된 기간: " + totalDays);
+            return;
+        }
+        try {
+            ReadingPlanEngine engine = engine(durations);
+            ReadingPlanEngine.DailySplit split = engine.dailySplit(totalDays);
+            WritableArray chapters = Arguments.createArray();
+            if (day >= 1 && day <= split.dayCount()) {
+                for (int index = split.dayStarts[day - 1]; index < split.dayStarts[day]; index++) {
+                    WritableMap chapter = Arguments.createMap();
+                    chapter.putInt("book", BibleBooks.bookOf(index));
+                    chapter.putInt("chapter", BibleBooks.jangOf(index));
+                    chapter.putInt("seconds", engine.chapterReadingSeconds(index));
+                    chapters.pushMap(chapter);
+                }
+            }
+            promise.resolve(chapters);
+        } catch (Exception e) {
+            Log.e(TAG, "일차 장 조회 실패: " + totalDays + "일 중 " + day + "일차", e);
+            promise.reject("DAY_CHAPTERS_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * getDailyReading 대체. dayNumber, totalDays 는 JS 에서 날짜로 구한 값 (getDailyReadingDays).
+     * resolve 값: [{ book, chapter }]
+     */
+    @ReactMethod
+    public void getDailyReading(String planType, int totalDays, int dayNumber, Promise promise) {
+        if (totalDays <= 0) {
+            promise.reject("INVALID_PLAN", "잘못된 기간: " + totalDays);
+            return;
+        }
+        try {
+            int[] range = ReadingPlanEngine.dailyReading(planType, totalDays, dayNumber);
+            WritableArray chapters = Arguments.createArray();
+            for (int index = range[0]; index < range[1]; index++) {
+                WritableMap chapter = Arguments.createMap();
+                chapter.putInt("book", BibleBooks.bookOf(index));
+                chapter.putInt("chapter", BibleBooks.jangOf(index));
+                chapters.pushMap(chapter);
+            }
+            promise.resolve(chapters);
+        } catch (Exception e) {
+            Log.e(TAG, "일차 읽기 조회 실패: " + planType + " " + dayNumber + "일차", e);
+            promise.reject("DAILY_READING_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 장별 오디오 시간. 실제 파일에서 잰 값(MeasuredDurations)이 있으면 그것, 없으면 chapter_durations.bin.
+     * resolve 값: 전역 장 번호 순 초 배열 (둘 다 없는 장은 0), asset 도 잰 값도 없으면 null
+     */
+    @ReactMethod
+    public void getChapterDurations(Promise promise) {
+        try {
+            ChapterDurations durations = ChapterDurations.get(reactContext);
+            MeasuredDurations measured = MeasuredDurations.getInstance(reactContext);
+            if (durations == null && measured.measuredCount() == 0) {
+                promise.resolve(null);
+                return;
+            }
+            WritableArray seconds = Arguments.createArray();
+            for (int index = 0; index < BibleBooks.CHAPTER_COUNT; index++) {
+                int value = measured.seconds(index);
+                seconds.pushInt(value > 0 ? value : durations == null ? 0 : durations.seconds(index));
+            }
+            promise.resolve(seconds);
+        } catch (Exception e) {
+            promise.reject("CHAPTER_DURATIONS_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 캐시/오프라인으로 받아 둔 오디오 파일을 모두 재서 장별 시간을 갱신한다.
+     * resolve 값: { files, measured, changed, elapsedMs }
+     */
+    @ReactMethod
+    public void scanAudioDurations(Promise promise) {
+        scanExecutor.execute(() -> {
+            try {
+                long start = System.currentTimeMillis();
+                int[] result = MeasuredDurations.getInstance(reactContext).scan(reactContext);
+                WritableMap map = Arguments.createMap();
+                map.putInt("files", result[0]);
+                map.putInt("measured", result[1]);
+                map.putInt("changed", result[2]);
+                map.putDouble("elapsedMs", System.currentTimeMillis() - start);
+                promise.resolve(map);
+            } catch (Exception e) {
+                Log.e(TAG, "오디오 시간 측정 실패", e);
+                promise.reject("SCAN_DURATIONS_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * calculateTodayTarget 대체. resolve 값: { chapters, minutes }
+     */
+    @ReactMethod
+    public void getTodayTarget(String planType, double chaptersPerDayExact, int currentDay, int readCount,
+                               @Nullable ReadableArray durations, Promise promise) {
+        try {
+            long[] target = engine(durations).todayTarget(planType, chaptersPerDayExact, currentDay, readCount);
+            WritableMap result = Arguments.createMap();
+            result.putDouble("chapters", target[0]);
+            result.putDouble("minutes", target[1]);
+            promise.resolve(result);
+        } catch (Exception e) {
+            promise.reject("TODAY_TARGET_ERROR", e.getMessage(), e);
+        }
+    }
+}
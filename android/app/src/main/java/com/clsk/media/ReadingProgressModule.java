@@ -0,0 +1,188 @@
+package com.clsk.media;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+/**
+ * 통독 진행 상태 모듈 (ReadingProgressStore).
+ * src/utils/sqlite.ts 의 readingStatusCache 를 대신한다.
+ */
+public class ReadingProgressModule extends ReactContextBaseJavaModule {
+
+    private static final String TAG = "ReadingProgressModule";
+
+    private final ReactApplicationContext reactContext;
+
+    public ReadingProgressModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        this.reactContext = reactContext;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "ReadingProgressModule";
+    }
+
+    private ReadingProgressStore store() {
+        return ReadingProgressStore.getInstance(reactContext);
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public boolean isRead(int book, int jang) {
+        try {
+            return store().isRead(book, jang);
+        } catch (Exception e) {
+            Log.e(TAG, "읽음 조회 실패: " + book + "/" + jang, e);
+            return false;
+        }
+    }
+
+    @ReactMethod
+    public void setRead(int book, int jang, boolean read, Promise promise) {
+        try {
+            BibleBooks.chapterIndex(book, jang);
+        } catch (Exception e) {
+            promise.reject("INVALID_CHAPTER", e.getMessage(), e);
+            return;
+        }
+        ReadingStatusWriter.getInstance(reactContext).submit(
+                new int[]{book}, new int[]{jang}, new boolean[]{read}, (rows, elapsedMs, error) -> {
+                    if (error != null) {
+                        promise.reject("SET_READ_ERROR", error.getMessage(), error);
+                    } else {
+                        promise.resolve(true);
+                    }
+                });
+    }
+
+    /**
+     * 읽음 상태 일괄 기록 (reading_table + 진행 저장소).
+     * @param packed [book, chapter, flag(1/0), book, chapter, flag, ...]
+     * resolve 값: { rows, elapsedMs }
+     */
+    @ReactMethod
+    public void batchSetRead(ReadableArray packed, Promise promise) {
+        int count = packed.size() / 3;
+        int[] books = new int[count];
+        int[] jangs = new int[count];
+        boolean[] reads = new boolean[count];
+        try {
+            for (int i = 0; i < count; i++) {
+                books[i] = packed.getInt(i * 3);
+                jangs[i] = packed.getInt(i * 3 + 1);
+                reads[i] = packed.getInt(i * 3 + 2) != 0;
+                BibleBooks.chapterIndex(books[i], jangs[i]);
+            }
+        } catch (Exception e) {
+            promise.reject("INVALID_CHAPTER", e.getMessage(), e);
+            return;
+        }
+
+        ReadingStatusWriter.getInstance(reactContext).submit(books, jangs, reads, (rows, elapsedMs, error) -> {
+            if (error != null) {
+                promise.reject("BATCH_SET_READ_ERROR", error.getMessage(), error);
+                return;
+            }
+            WritableMap result = Arguments.createMap();
+            result.putInt("rows", rows);
+            result.putDouble("elapsedMs", elapsedMs);
+            promise.resolve(result);
+        });
+    }
+
+    @ReactMethod
+    public void getReadCount(Promise promise) {
+        try {
+            promise.resolve(store().getReadCount());
+        } catch (Exception e) {
+            promise.reject("READ_COUNT_ERROR", e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void getBookReadCount(int book, Promise promise) {
+        try {
+            promise.resolve(store().getBookReadCount(book));
+        } catch (Exception e) {
+            promise.reject("READ_COUNT_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 통계 화면용 스냅샷 (progs, reading 통계 탭, chapter 목록).
+     * resolve 값: { total, oldTestament, newTestament, books: [66], today, activeDays,
+     *              currentStreak, longestStreak, lastReadDay(epoch day, 없으면 -1) }
+     */
+    @ReactMethod
+    public void getStatistics(Promise promise) {
+        try {
+            ReadingStats.Snapshot stats = store().getStats();
+            WritableArray books = Arguments.createArray();
+            for (int count : stats.books) {
+                books.pushInt(count);
+            }
+            WritableMap result = Arguments.createMap();
+            result.putInt("total", stats.total);
+            result.putInt("oldTestament", stats.oldTestament);
+            result.putInt("newTestament", stats.newTestament);
+            result.putArray("books", books);
+            result.putInt("today", stats.today);
+            result.putInt("activeDays", stats.activeDays);
+            result.putInt("currentStreak", stats.currentStreak);
+            result.putInt("longestStreak", stats.longestStreak);
+            result.putInt("lastReadDay", stats.lastReadDay);
+            promise.resolve(result);
+        } catch (Exception e) {
+            Log.e(TAG, "통계 조회 실패", e);
+            promise.reject("STATISTICS_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 읽은 장 목록. resolve 값: [book, jang, book, jang, ...]
+     */
+    @ReactMethod
+    public void getReadChapters(Promise promise) {
+        try {
+            long[] bits = store().snapshotBits();
+            WritableArray chapters = Arguments.createArray();
+            for (int word = 0; word < bits.length; word++) {
+                long value = bits[word];
+                while (value != 0) {
+                    int index = (word << 6) + Long.numberOfTrailingZeros(value);
+                    chapters.pushInt(BibleBooks.bookOf(index));
+                    chapters.pushInt(BibleBooks.jangOf(index));
+                    value &= value - 1;
+                }
+            }
+            promise.resolve(chapters);
+        } catch (Exception e) {
+            promise.reject("READ_CHAPTERS_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 진행 저장소를 reading_table 에서 바로 다시 맞춘다.
+     * JS 가 reading_table 을 직접 고친 것은 트리거 버전으로 다음 조회 때 알아서 맞추므로 꼭 부를 필요는 없다.
+     */
+    @ReactMethod
+    public void migrateFromReadingTable(Promise promise) {
+        try {
+            store().migrateFromReadingTable();
+            promise.resolve(store().getReadCount());
+        } catch (Exception e) {
+            promise.reject("MIGRATE_ERROR", e.getMessage(), e);
+        }
+    }
+}
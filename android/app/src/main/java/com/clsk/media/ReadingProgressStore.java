@@ -0,0 +1,398 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * 1189장 읽음 여부를 bitset 으로, 읽은 시각을 초 단위 int 배열로 들고 있는 진행 저장소.
+ * 변경은 files/reading_progress.bin 에 8바이트 레코드로 덧붙이고, 레코드가 쌓이면 스냅샷으로 압축한다.
+ *
+ * reading_table 은 여전히 JS 에서도 직접 고치므로 (읽음 표시, 계획 초기화, DELETE 등) AnnotationStore 처럼
+ * reading_table 트리거가 올리는 setting_version(id = 2) 을 조회할 때마다 확인하고,
+ * 마지막으로 맞춘 값과 다르면 reading_table 에서 다시 읽는다. 파일이 없을 때의 첫 이전도 같은 경로로 한다.
+ * ReadingStatusWriter 가 쓴 변경은 쓰기 전후 버전을 같이 넘겨 다시 읽지 않고 바로 반영한다.
+ *
+ * 파일 포맷 (little-endian): header "RPRG" u32 version, 이후 레코드
+ * u16 chapterIndex, u8 read(1/0), u8 reserved, u32 time(epoch seconds)
+ * chapterIndex 가 0xFFFF 인 레코드는 그 시점까지 맞춘 setting_version 값 (time 자리)
+ */
+public class ReadingProgressStore {
+
+    private static final String TAG = "ReadingProgressStore";
+    private static final String FILE_NAME = "reading_progress.bin";
+    private static final int MAGIC = 0x47525052; // "RPRG"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 8;
+    private static final int COMPACT_THRESHOLD = BibleBooks.CHAPTER_COUNT * 4;
+    private static final int SYNC_RECORD = 0xFFFF;
+    /** setting_version 의 reading_table 행 (1 은 AnnotationStore 의 bible_setting) */
+    private static final int VERSION_ID = 2;
+
+    private static ReadingProgressStore instance;
+    private static SQLiteDatabase preparedDb;
+
+    private final Context context;
+    private final File file;
+    private final long[] bits = new long[(BibleBooks.CHAPTER_COUNT + 63) / 64];
+    private final int[] times = new int[BibleBooks.CHAPTER_COUNT];
+    private final ReadingStats stats = new ReadingStats();
+    private FileOutputStream log;
+    private int recordCount;
+    /** 지금 상태가 반영하고 있는 setting_version 값. -1 이면 다음 조회에서 reading_table 을 다시 읽는다 */
+    private long syncedVersion = -1;
+
+    private ReadingProgressStore(Context context, File file) {
+        this.context = context;
+        this.file = file;
+    }
+
+    public static synchronized ReadingProgressStore getInstance(Context context) {
+        if (instance == null) {
+            Context appContext = context.getApplicationContext();
+            ReadingProgressStore store = new ReadingProgressStore(appContext, new File(appContext.getFilesDir(), FILE_NAME));
+            if (store.file.exists()) {
+                try {
+                    store.load();
+                } catch (IOException e) {
+                    Log.e(TAG, "진행 파일 읽기 실패 - reading_table 에서 다시 읽음", e);
+                    store.clear();
+                    store.syncedVersion = -1;
+                }
+            }
+            instance = store;
+        }
+        return instance;
+    }
+
+    private void clear() {
+        Arrays.fill(bits, 0);
+        Arrays.fill(times, 0);
+        stats.clear();
+    }
+
+    /**
+     * reading_table 을 고칠 때마다 setting_version(id = 2) 을 올리는 트리거를 만들고 지금 값을 돌려준다.
+     * ReadingStatusWriter 가 쓰기 트랜잭션 안에서 전후 값을 잴 때도 쓴다.
+     */
+    static long readVersion(SQLiteDatabase db) {
+        synchronized (ReadingProgressStore.class) {
+            if (preparedDb != db) {
+                db.execSQL("CREATE TABLE IF NOT EXISTS setting_version (id INTEGER PRIMARY KEY, version INTEGER)");
+                db.execSQL("INSERT OR IGNORE INTO setting_version (id, version) VALUES (" + VERSION_ID + ", 0)");
+                for (String event : new String[]{"INSERT", "UPDATE", "DELETE"}) {
+                    db.execSQL("CREATE TRIGGER IF NOT EXISTS reading_table_version_" + event.toLowerCase(Locale.ROOT)
+                            + " AFTER " + event + " ON reading_table"
+                            + " BEGIN UPDATE setting_version SET version = version + 1 WHERE id = " + VERSION_ID + "; END");
+                }
+                preparedDb = db;
+            }
+        }
+        return DatabaseUtils.longForQuery(db, "SELECT version FROM setting_version WHERE id = " + VERSION_ID, null);
+    }
+
+    /**
+     * 다음 조회에서 무조건 reading_table 을 다시 읽게 한다.
+     */
+    public synchronized void invalidate() {
+        syncedVersion = -1;
+    }
+
+    /**
+     * reading_table 이 마지막으로 맞춘 뒤 바뀌었으면 다시 읽는다.
+     * settingDB 가 아직 복사되지 않았으면 지금 상태로 답한다.
+     */
+    private void ensureFresh() {
+        long version;
+        try {
+            version = readVersion(SettingDatabase.get(context));
+        } catch (Exception e) {
+            Log.w(TAG, "reading_table 버전 확인 실패", e);
+            return;
+        }
+        if (version != syncedVersion) {
+            resync(version);
+        }
+    }
+
+    private void load() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            byte[] header = new byte[HEADER_SIZE];
+            in.readFully(header);
+            ByteBuffer headerBuffer = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+            if (headerBuffer.getInt(0) != MAGIC || headerBuffer.getInt(4) != VERSION) {
+                throw new IOException("진행 파일 형식이 아닙니다");
+            }
+            byte[] record = new byte[RECORD_SIZE];
+            ByteBuffer buffer = ByteBuffer.wrap(record).order(ByteOrder.LITTLE_ENDIAN);
+            while (true) {
+                try {
+                    in.readFully(record);
+                } catch (EOFException e) {
+                    // 마지막 레코드가 쓰다 끊겼으면 버린다
+                    break;
+                }
+                int index = buffer.getShort(0) & 0xFFFF;
+                if (index < BibleBooks.CHAPTER_COUNT) {
+                    apply(index, record[2] != 0, buffer.getInt(4));
+                } else if (index == SYNC_RECORD) {
+                    syncedVersion = buffer.getInt(4) & 0xFFFFFFFFL;
+                }
+                recordCount++;
+            }
+        }
+        Log.d(TAG, "진행 파일 로드: " + recordCount + " records, 읽은 장 " + readCount());
+    }
+
+    /**
+     * settingDB reading_table 의 현재 상태로 다시 맞추고 스냅샷 파일을 다시 만든다.
+     */
+    public synchronized void migrateFromReadingTable() {
+        invalidate();
+        ensureFresh();
+    }
+
+    private void resync(long version) {
+        clear();
+        try {
+            // (book, jang) 유니크 키가 없어 중복 행이 있을 수 있으므로 나중에 넣은 행이 이기도록 rowid 순으로 읽는다
+            Cursor cursor = SettingDatabase.get(context).rawQuery(
+                    "SELECT book, jang, read, time FROM reading_table ORDER BY rowid", null);
+            try {
+                while (cursor.moveToNext()) {
+                    int book = cursor.getInt(0);
+                    int jang = cursor.getInt(1);
+                    if (book < 1 || book > BibleBooks.BOOK_COUNT || jang < 1 || jang > BibleBooks.chapterCount(book)) {
+                        continue;
+                    }
+                    apply(BibleBooks.chapterIndex(book, jang), parseRead(cursor.getString(2)), parseTime(cursor.getString(3)));
+                }
+            } finally {
+                cursor.close();
+            }
+            Log.d(TAG, "reading_table 에서 다시 읽음 (version " + version + "): 읽은 장 " + readCount());
+        } catch (Exception e) {
+            Log.e(TAG, "reading_table 읽기 실패", e);
+            syncedVersion = -1;
+            return;
+        }
+        syncedVersion = version;
+        try {
+            compact();
+        } catch (IOException e) {
+            Log.e(TAG, "진행 파일 저장 실패", e);
+        }
+    }
+
+    static boolean parseRead(String value) {
+        return "true".equalsIgnoreCase(value) || "1".equals(value);
+    }
+
+    /**
+     * reading_table.time (JS Date.toISOString) → epoch seconds. 해석할 수 없으면 0.
+     */
+    static int parseTime(String value) {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        try {
+            return (int) (format.parse(value).getTime() / 1000);
+        } catch (ParseException e) {
+            return 0;
+        }
+    }
+
+    private void apply(int index, boolean read, int time) {
+        boolean wasRead = (bits[index >>> 6] & (1L << index)) != 0;
+        stats.update(index, wasRead, times[index], read, time);
+        if (read) {
+            bits[index >>> 6] |= 1L << index;
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+        times[index] = time;
+    }
+
+    public synchronized boolean isRead(int book, int jang) {
+        int index = BibleBooks.chapterIndex(book, jang);
+        ensureFresh();
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public synchronized int getReadTime(int book, int jang) {
+        int index = BibleBooks.chapterIndex(book, jang);
+        ensureFresh();
+        return times[index];
+    }
+
+    /**
+     * ReadingStatusWriter 가 reading_table 에 커밋한 변경을 여러 장 한 번의 파일 쓰기로 반영한다.
+     * 쓰기 전 버전이 지금 맞춘 버전과 같을 때만 바로 반영하고, 그 사이 JS 가 고친 것이 있으면
+     * 다음 조회에서 reading_table 을 다시 읽게 둔다 (커밋된 행이 그대로 읽힌다).
+     *
+     * @param versionBefore 쓰기 트랜잭션 시작 때 setting_version
+     * @param versionAfter  커밋 직전 setting_version
+     * @return 실제로 상태가 바뀐 장 수 (다시 읽기로 미룬 경우 -1)
+     */
+    public synchronized int markAll(int[] chapterIndexes, boolean[] reads, int count,
+                                    long versionBefore, long versionAfter) {
+        if (syncedVersion != versionBefore) {
+            syncedVersion = -1;
+            return -1;
+        }
+        int now = (int) (System.currentTimeMillis() / 1000);
+        ByteBuffer buffer = ByteBuffer.allocate((count + 1) * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        int changed = 0;
+        for (int i = 0; i < count; i++) {
+            int index = chapterIndexes[i];
+            boolean wasRead = (bits[index >>> 6] & (1L << index)) != 0;
+            if (wasRead != reads[i]) {
+                changed++;
+            }
+            apply(index, reads[i], now);
+            buffer.putShort((short) index);
+            buffer.put((byte) (reads[i] ? 1 : 0));
+            buffer.put((byte) 0);
+            buffer.putInt(now);
+        }
+        syncedVersion = versionAfter;
+        putSyncRecord(buffer);
+        try {
+            append(buffer.array());
+            recordCount += count + 1;
+            if (recordCount > COMPACT_THRESHOLD) {
+                compact();
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "진행 기록 실패", e);
+        }
+        return changed;
+    }
+
+    private void putSyncRecord(ByteBuffer buffer) {
+        buffer.putShort((short) SYNC_RECORD);
+        buffer.put((byte) 0);
+        buffer.put((byte) 0);
+        buffer.putInt((int) syncedVersion);
+    }
+
+    private void append(byte[] data) throws IOException {
+        if (log == null) {
+            if (!file.exists()) {
+                compact();
+            }
+            log = new FileOutputStream(file, true);
+        }
+        log.write(data);
+    }
+
+    /**
+     * 현재 상태만 담은 파일로 다시 쓴다 (읽었거나 시각이 남아 있는 장만).
+     */
+    private void compact() throws IOException {
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        int count = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + (BibleBooks.CHAPTER_COUNT + 1) * RECORD_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        for (int index = 0; index < BibleBooks.CHAPTER_COUNT; index++) {
+            boolean read = (bits[index >>> 6] & (1L << index)) != 0;
+            if (read || times[index] != 0) {
+                buffer.putShort((short) index);
+                buffer.put((byte) (read ? 1 : 0));
+                buffer.put((byte) 0);
+                buffer.putInt(times[index]);
+                count++;
+            }
+        }
+        if (syncedVersion >= 0) {
+            putSyncRecord(buffer);
+            count++;
+        }
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(buffer.array(), 0, buffer.position());
+            out.getFD().sync();
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("진행 파일 교체 실패");
+        }
+        recordCount = count;
+    }
+
+    public synchronized int getReadCount() {
+        ensureFresh();
+        return readCount();
+    }
+
+    private int readCount() {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * [from, to) 전역 장 번호 범위의 읽은 장 수 (popcount)
+     */
+    public synchronized int countRead(int from, int to) {
+        ensureFresh();
+        int count = 0;
+        int index = from;
+        while (index < to) {
+            int word = index >>> 6;
+            int bit = index & 63;
+            int span = Math.min(64 - bit, to - index);
+            long mask = span == 64 ? -1L : ((1L << span) - 1) << bit;
+            count += Long.bitCount(bits[word] & mask);
+            index += span;
+        }
+        return count;
+    }
+
+    public int getBookReadCount(int book) {
+        int from = BibleBooks.firstChapterIndex(book);
+        return countRead(from, from + BibleBooks.chapterCount(book));
+    }
+
+    /**
+     * 책별/구약/신약/날짜별/연속 읽기 통계 (변경 때마다 갱신된 값을 복사만 한다)
+     */
+    public synchronized ReadingStats.Snapshot getStats() {
+        ensureFresh();
+        return stats.snapshot();
+    }
+
+    /**
+     * bitset 사본
+     */
+    public synchronized long[] snapshotBits() {
+        ensureFresh();
+        return bits.clone();
+    }
+}
@@ -0,0 +1,155 @@
+package com.clsk.media;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+
+/**
+ * 통독 통계 집계기. ReadingProgressStore 가 장 상태를 바꿀 때마다 update() 로 받아
+ * 책별/구약/신약 읽은 장 수와 날짜별 읽은 장 수를 바로 고쳐 두므로 통계 화면은 reading_table 을 다시 세지 않는다.
+ * 날짜는 장마다 마지막으로 읽음 처리한 시각(로컬 날짜) 기준이고, 시각을 모르는 장(0)은 날짜 통계에서 빠진다.
+ * 호출은 모두 ReadingProgressStore 의 lock 안에서 이루어진다.
+ */
+public class ReadingStats {
+
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    public static final class Snapshot {
+        public int total;
+        public int oldTestament;
+        public int newTestament;
+        public int[] books;
+        public int today;
+        public int activeDays;
+        public int currentStreak;
+        public int longestStreak;
+        /** 마지막으로 읽은 날 (epoch day, 로컬), 없으면 -1 */
+        public int lastReadDay;
+    }
+
+    private final int[] bookCounts = new int[BibleBooks.BOOK_COUNT];
+    private int oldCount;
+    private int newCount;
+    /** epoch day(로컬) → 그날 읽음 처리된 장 수 */
+    private final TreeMap<Integer, Integer> dayCounts = new TreeMap<>();
+    private int longestStreak;
+    private boolean longestDirty;
+
+    void clear() {
+        Arrays.fill(bookCounts, 0);
+        oldCount = 0;
+        newCount = 0;
+        dayCounts.clear();
+        longestStreak = 0;
+        longestDirty = false;
+    }
+
+    /**
+     * 장 하나의 상태 변화 반영 (이전 읽음/시각 → 새 읽음/시각)
+     */
+    void update(int index, boolean wasRead, int oldTime, boolean read, int time) {
+        if (wasRead) {
+            remove(index, oldTime);
+        }
+        if (read) {
+            add(index, time);
+        }
+    }
+
+    private void add(int index, int time) {
+        int book = BibleBooks.bookOf(index);
+        bookCounts[book - 1]++;
+        if (book <= BibleBooks.LAST_OLD_TESTAMENT_BOOK) {
+            oldCount++;
+        } else {
+            newCount++;
+        }
+        if (time > 0) {
+            int day = localDay(time);
+            Integer count = dayCounts.get(day);
+            if (count == null) {
+                dayCounts.put(day, 1);
+                longestDirty = true;
+            } else {
+                dayCounts.put(day, count + 1);
+            }
+        }
+    }
+
+    private void remove(int index, int time) {
+        int book = BibleBooks.bookOf(index);
+        bookCounts[book - 1]--;
+        if (book <= BibleBooks.LAST_OLD_TESTAMENT_BOOK) {
+            oldCount--;
+        } else {
+            newCount--;
+        }
+        if (time > 0) {
+            int day = localDay(time);
+            Integer count = dayCounts.get(day);
+            if (count != null) {
+                if (count <= 1) {
+                    dayCounts.remove(day);
+                    longestDirty = true;
+                } else {
+                    dayCounts.put(day, count - 1);
+                }
+            }
+        }
+    }
+
+    static int localDay(int epochSeconds) {
+        int offset = TimeZone.getDefault().getOffset(epochSeconds * 1000L) / 1000;
+        return Math.floorDiv(epochSeconds + offset, SECONDS_PER_DAY);
+    }
+
+    /**
+     * 오늘 또는 어제까지 이어진 연속 일수 (오늘 아직 안 읽었어도 어제까지 이어졌으면 유지)
+     */
+    private int currentStreak(int today) {
+        int day = dayCounts.containsKey(today) ? today : today - 1;
+        int streak = 0;
+        while (dayCounts.containsKey(day)) {
+            streak++;
+            day--;
+        }
+        return streak;
+    }
+
+    /**
+     * 날짜 집합이 바뀐 경우에만 다시 센다
+     */
+    private int longestStreak() {
+        if (longestDirty) {
+            int longest = 0;
+            int run = 0;
+            int previous = Integer.MIN_VALUE;
+            for (Map.Entry<Integer, Integer> entry : dayCounts.entrySet()) {
+                int day = entry.getKey();
+                run = day == previous + 1 ? run + 1 : 1;
+                longest = Math.max(longest, run);
+                previous = day;
+            }
+            longestStreak = longest;
+            longestDirty = false;
+        }
+        return longestStreak;
+    }
+
+    Snapshot snapshot() {
+        int today = localDay((int) (System.currentTimeMillis() / 1000));
+        Snapshot snapshot = new Snapshot();
+        snapshot.oldTestament = oldCount;
+        snapshot.newTestament = newCount;
+        snapshot.total = oldCount + newCount;
+        snapshot.books = bookCounts.clone();
+        Integer todayCount = dayCounts.get(today);
+        snapshot.today = todayCount == null ? 0 : todayCount;
+        snapshot.activeDays = dayCounts.size();
+        snapshot.currentStreak = currentStreak(today);
+        snapshot.longestStreak = longestStreak();
+        snapshot.lastReadDay = dayCounts.isEmpty() ? -1 : dayCounts.lastKey();
+        return snapshot;
+    }
+}
@@ -0,0 +1,177 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * reading_table 읽음 상태 일괄 기록기.
+ * 전용 writer 스레드 하나가 쌓인 요청을 모두 꺼내 한 트랜잭션(group commit)으로 쓴다.
+ * reading_table 에는 (book, jang) 유니크 키가 없어 INSERT OR REPLACE 가 중복 행을 만들므로
+ * UPDATE 후 바뀐 행이 없을 때만 INSERT 한다.
+ */
+public class ReadingStatusWriter {
+
+    private static final String TAG = "ReadingStatusWriter";
+
+    public interface Completion {
+        /**
+         * @param error 실패 시 예외, 성공이면 null
+         */
+        void onComplete(int rows, long elapsedMs, Exception error);
+    }
+
+    private static final class Batch {
+        final int[] books;
+        final int[] jangs;
+        final boolean[] reads;
+        final Completion completion;
+        final long submittedAt = System.currentTimeMillis();
+
+        Batch(int[] books, int[] jangs, boolean[] reads, Completion completion) {
+            this.books = books;
+            this.jangs = jangs;
+            this.reads = reads;
+            this.completion = completion;
+        }
+    }
+
+    private static ReadingStatusWriter instance;
+
+    private final Context context;
+    private final ConcurrentLinkedQueue<Batch> queue = new ConcurrentLinkedQueue<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+
+    private ReadingStatusWriter(Context context) {
+        this.context = context;
+    }
+
+    public static synchronized ReadingStatusWriter getInstance(Context context) {
+        if (instance == null) {
+            instance = new ReadingStatusWriter(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    public void submit(int[] books, int[] jangs, boolean[] reads, Completion completion) {
+        queue.add(new Batch(books, jangs, reads, completion));
+        writer.execute(this::drain);
+    }
+
+    /**
+     * 큐에 쌓인 요청을 모두 꺼내 한 번에 커밋한다.
+     * 앞선 drain 이 이미 가져간 경우 빈 큐를 보고 바로 끝난다.
+     */
+    private void drain() {
+        List<Batch> batches = new ArrayList<>();
+        Batch batch;
+        while ((batch = queue.poll()) != null) {
+            batches.add(batch);
+        }
+        if (batches.isEmpty()) {
+            return;
+        }
+
+        Exception error = null;
+        try {
+            write(batches);
+        } catch (Exception e) {
+            Log.e(TAG, "읽음 상태 기록 실패", e);
+            error = e;
+        }
+
+        long now = System.currentTimeMillis();
+        for (Batch done : batches) {
+            if (done.completion != null) {
+                done.completion.onComplete(error == null ? done.books.length : 0, now - done.submittedAt, error);
+            }
+        }
+    }
+
+    private void write(List<Batch> batches) {
+        SQLiteDatabase db = SettingDatabase.get(context);
+        String time = isoNow();
+        int total = 0;
+        SQLiteStatement update = db.compileStatement("UPDATE reading_table SET read = ?, time = ? WHERE book = ? AND jang = ?");
+        SQLiteStatement insert = db.compileStatement("INSERT INTO reading_table (book, jang, read, time) VALUES (?, ?, ?, ?)");
+        long versionBefore;
+        long versionAfter;
+        db.beginTransactionNonExclusive();
+        try {
+            versionBefore = ReadingProgressStore.readVersion(db);
+            for (Batch batch : batches) {
+                for (int i = 0; i < batch.books.length; i++) {
+                    String read = String.valueOf(batch.reads[i]);
+                    update.bindString(1, read);
+                    update.bindString(2, time);
+                    update.bindLong(3, batch.books[i]);
+                    update.bindLong(4, batch.jangs[i]);
+                    if (update.executeUpdateDelete() == 0) {
+                        insert.bindLong(1, batch.books[i]);
+                        insert.bindLong(2, batch.jangs[i]);
+                        insert.bindString(3, read);
+                        insert.bindString(4, time);
+                        insert.executeInsert();
+                    }
+                    total++;
+                }
+            }
+            versionAfter = ReadingProgressStore.readVersion(db);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            update.close();
+            insert.close();
+        }
+
+        Log.d(TAG, "group commit: " + batches.size() + " batches, " + total + " rows");
+        updateStore(batches, total, versionBefore, versionAfter);
+    }
+
+    /**
+     * 커밋이 끝난 뒤 진행 저장소에 반영한다. 여기서 실패해도 행은 이미 기록되었으므로
+     * 요청은 성공으로 끝내고, 저장소는 다음 조회에서 reading_table 을 다시 읽게 한다.
+     */
+    private void updateStore(List<Batch> batches, int total, long versionBefore, long versionAfter) {
+        ReadingProgressStore store = null;
+        try {
+            store = ReadingProgressStore.getInstance(context);
+            int[] indexes = new int[total];
+            boolean[] reads = new boolean[total];
+            int count = 0;
+            for (Batch batch : batches) {
+                for (int i = 0; i < batch.books.length; i++) {
+                    indexes[count] = BibleBooks.chapterIndex(batch.books[i], batch.jangs[i]);
+                    reads[count] = batch.reads[i];
+                    count++;
+                }
+            }
+            store.markAll(indexes, reads, count, versionBefore, versionAfter);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "진행 저장소 반영 실패 - 다음 조회에서 다시 읽음", e);
+            if (store != null) {
+                store.invalidate();
+            }
+        }
+    }
+
+    /**
+     * JS new Date().toISOString() 과 같은 형식
+     */
+    private static String isoNow() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(new Date());
+    }
+}
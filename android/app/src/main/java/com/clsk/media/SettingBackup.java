@@ -0,0 +1,436 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * settingDB 사용자 데이터 (bible_setting, reading_table) 백업/복원.
+ * 커서를 한 행씩 흘려 deflate 스트림에 쓰므로 행 수와 상관없이 메모리를 거의 쓰지 않는다.
+ * 복원은 먼저 끝까지 읽어 체크섬을 확인한 다음, 모든 테이블을 트랜잭션 하나로 통째로 바꾼다.
+ *
+ * 포맷 (DataOutput, big-endian)
+ * <pre>
+ * header  : magic "BBAK", u16 version, u16 tableCount, u64 createdAt(ms)   (비압축)
+ * body    : deflate(zlib) 스트림
+ *           'T' UTF table, u16 columnCount, UTF column * columnCount, u32 rowCount
+ *               rowCount 행 : u64 rowid, 값 * columnCount (u8 tag + payload)
+ *           ...
+ *           'E' u32 crc32 (body 에서 'E' 앞까지), u64 body 길이
+ * </pre>
+ */
+public class SettingBackup {
+
+    private static final String TAG = "SettingBackup";
+
+    public static final int MAGIC = 0x4242414B; // "BBAK"
+    public static final int VERSION = 1;
+    public static final String[] TABLES = {"bible_setting", "reading_table"};
+
+    private static final int SECTION_TABLE = 'T';
+    private static final int SECTION_END = 'E';
+    private static final int VALUE_NULL = 0;
+    private static final int VALUE_LONG = 1;
+    private static final int VALUE_DOUBLE = 2;
+    private static final int VALUE_STRING = 3;
+    private static final int VALUE_BLOB = 4;
+    private static final int PROGRESS_INTERVAL = 500;
+
+    public interface Progress {
+        /**
+         * @param phase "backup", "verify", "restore"
+         */
+        void onProgress(String phase, String table, int done, int total);
+    }
+
+    private SettingBackup() {
+    }
+
+    /**
+     * @return 기록한 행 수
+     */
+    public static int backup(Context context, File target, Progress progress) throws IOException {
+        SQLiteDatabase db = SettingDatabase.get(context);
+        File temp = new File(target.getPath() + ".tmp");
+        File parent = target.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("백업 폴더를 만들 수 없습니다: " + parent.getPath());
+        }
+
+        int totalRows = 0;
+        try (FileOutputStream file = new FileOutputStream(temp)) {
+            DataOutputStream header = new DataOutputStream(new BufferedOutputStream(file));
+            header.writeInt(MAGIC);
+            header.writeShort(VERSION);
+            header.writeShort(TABLES.length);
+            header.writeLong(System.currentTimeMillis());
+            header.flush();
+
+            CRC32 crc = new CRC32();
+            DeflaterOutputStream deflater = new DeflaterOutputStream(
+                    new BufferedOutputStream(file), new Deflater(Deflater.BEST_COMPRESSION), 8192);
+            CheckedOutputStream checked = new CheckedOutputStream(deflater, crc);
+            DataOutputStream out = new DataOutputStream(checked);
+
+            for (String table : TABLES) {
+                totalRows += writeTable(db, table, out, progress);
+            }
+
+            out.flush();
+            long crcValue = crc.getValue();
+            long length = out.size();
+            out.writeByte(SECTION_END);
+            out.writeInt((int) crcValue);
+            out.writeLong(length);
+            out.flush();
+            deflater.finish();
+            deflater.flush();
+            file.getFD().sync();
+        } catch (IOException e) {
+            temp.delete();
+            throw e;
+        }
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("백업 파일 교체 실패: " + target.getPath());
+        }
+        Log.d(TAG, "백업 완료: " + totalRows + " rows, " + target.length() + " bytes");
+        return totalRows;
+    }
+
+    private static int writeTable(SQLiteDatabase db, String table, DataOutputStream out, Progress progress)
+            throws IOException {
+        int total = count(db, table);
+        Cursor cursor = db.rawQuery("SELECT rowid, * FROM " + table + " ORDER BY rowid", null);
+        try {
+            int columns = cursor.getColumnCount() - 1;
+            out.writeByte(SECTION_TABLE);
+            out.writeUTF(table);
+            out.writeShort(columns);
+            for (int i = 1; i <= columns; i++) {
+                out.writeUTF(cursor.getColumnName(i));
+            }
+            out.writeInt(total);
+
+            int done = 0;
+            // COUNT 와 SELECT 사이에 행이 늘어도 헤더에 적은 수만큼만 쓴다
+            while (done < total && cursor.moveToNext()) {
+                out.writeLong(cursor.getLong(0));
+                for (int i = 1; i <= columns; i++) {
+                    writeValue(cursor, i, out);
+                }
+                done++;
+                if (progress != null && done % PROGRESS_INTERVAL == 0) {
+                    progress.onProgress("backup", table, done, total);
+                }
+            }
+            if (done < total) {
+                throw new IOException(table + " 백업 중 행이 줄었습니다: " + done + "/" + total);
+            }
+            if (progress != null) {
+                progress.onProgress("backup", table, done, total);
+            }
+            return done;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static int count(SQLiteDatabase db, String table) {
+        Cursor cursor = db.rawQuery("SELECT COUNT(*) FROM " + table, null);
+        try {
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static void writeValue(Cursor cursor, int column, DataOutputStream out) throws IOException {
+        switch (cursor.getType(column)) {
+            case Cursor.FIELD_TYPE_INTEGER:
+                out.writeByte(VALUE_LONG);
+                out.writeLong(cursor.getLong(column));
+                break;
+            case Cursor.FIELD_TYPE_FLOAT:
+                out.writeByte(VALUE_DOUBLE);
+                out.writeDouble(cursor.getDouble(column));
+                break;
+            case Cursor.FIELD_TYPE_STRING:
+                writeString(out, cursor.getString(column));
+                break;
+            case Cursor.FIELD_TYPE_BLOB:
+                byte[] blob = cursor.getBlob(column);
+                out.writeByte(VALUE_BLOB);
+                out.writeInt(blob.length);
+                out.write(blob);
+                break;
+            default:
+                out.writeByte(VALUE_NULL);
+                break;
+        }
+    }
+
+    /**
+     * writeUTF 는 64KB 까지라 말씀노트 본문을 위해 길이 + UTF-8 바이트로 쓴다
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(VALUE_STRING);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * 백업 파일 하나를 읽는 스트림. verify 와 restore 가 같은 순서로 읽는다.
+     */
+    private static final class Reader implements AutoCloseable {
+        final FileInputStream file;
+        final CRC32 crc = new CRC32();
+        final DataInputStream in;
+        final int tableCount;
+        long length;
+
+        Reader(File source) throws IOException {
+            file = new FileInputStream(source);
+            try {
+                DataInputStream header = new DataInputStream(file);
+                if (header.readInt() != MAGIC) {
+                    throw new IOException("백업 파일 형식이 아닙니다");
+                }
+                int version = header.readUnsignedShort();
+                if (version != VERSION) {
+                    throw new IOException("지원하지 않는 백업 버전: " + version);
+                }
+                tableCount = header.readUnsignedShort();
+                header.readLong();
+                in = new DataInputStream(new CheckedInputStream(
+                        new InflaterInputStream(new BufferedInputStream(file), new Inflater(), 8192), crc) {
+                    @Override
+                    public int read() throws IOException {
+                        int value = super.read();
+                        if (value >= 0) {
+                            length++;
+                        }
+                        return value;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int count) throws IOException {
+                        int read = super.read(buffer, offset, count);
+                        if (read > 0) {
+                            length += read;
+                        }
+                        return read;
+                    }
+                });
+            } catch (IOException e) {
+                file.close();
+                throw e;
+            }
+        }
+
+        /**
+         * 다음 테이블 헤더. 끝 섹션이면 체크섬을 확인하고 null.
+         */
+        TableHeader nextTable() throws IOException {
+            long crcBefore = crc.getValue();
+            long lengthBefore = length;
+            int section = in.readUnsignedByte();
+            if (section == SECTION_END) {
+                int expectedCrc = in.readInt();
+                long expectedLength = in.readLong();
+                if ((int) crcBefore != expectedCrc || lengthBefore != expectedLength) {
+                    throw new IOException("백업 파일 체크섬이 맞지 않습니다");
+                }
+                return null;
+            }
+            if (section != SECTION_TABLE) {
+                throw new IOException("백업 파일이 손상되었습니다");
+            }
+            TableHeader header = new TableHeader();
+            header.name = in.readUTF();
+            int columns = in.readUnsignedShort();
+            header.columns = new String[columns];
+            for (int i = 0; i < columns; i++) {
+                header.columns[i] = in.readUTF();
+            }
+            header.rowCount = in.readInt();
+            return header;
+        }
+
+        /**
+         * 값 하나를 읽어 statement 에 bind 한다 (statement 가 null 이거나 index 가 0 이면 건너뛴다)
+         */
+        void readValue(SQLiteStatement statement, int index) throws IOException {
+            boolean bind = statement != null && index > 0;
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case VALUE_NULL:
+                    if (bind) statement.bindNull(index);
+                    break;
+                case VALUE_LONG:
+                    long longValue = in.readLong();
+                    if (bind) statement.bindLong(index, longValue);
+                    break;
+                case VALUE_DOUBLE:
+                    double doubleValue = in.readDouble();
+                    if (bind) statement.bindDouble(index, doubleValue);
+                    break;
+                case VALUE_STRING:
+                    byte[] text = new byte[in.readInt()];
+                    in.readFully(text);
+                    if (bind) statement.bindString(index, new String(text, StandardCharsets.UTF_8));
+                    break;
+                case VALUE_BLOB:
+                    byte[] blob = new byte[in.readInt()];
+                    in.readFully(blob);
+                    if (bind) statement.bindBlob(index, blob);
+                    break;
+                default:
+                    throw new IOException("알 수 없는 값 형식: " + tag);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            file.close();
+        }
+    }
+
+    private static final class TableHeader {
+        String name;
+        String[] columns;
+        int rowCount;
+    }
+
+    /**
+     * 백업 파일 전체를 읽어 구조와 체크섬을 확인한다.
+     * @return 전체 행 수
+     */
+    public static int verify(File source, Progress progress) throws IOException {
+        int totalRows = 0;
+        try (Reader reader = new Reader(source)) {
+            TableHeader table;
+            while ((table = reader.nextTable()) != null) {
+                for (int row = 0; row < table.rowCount; row++) {
+                    reader.in.readLong();
+                    for (int i = 0; i < table.columns.length; i++) {
+                        reader.readValue(null, 0);
+                    }
+                    if (progress != null && (row + 1) % PROGRESS_INTERVAL == 0) {
+                        progress.onProgress("verify", table.name, row + 1, table.rowCount);
+                    }
+                }
+                totalRows += table.rowCount;
+            }
+        }
+        return totalRows;
+    }
+
+    /**
+     * 체크섬 확인 후 모든 테이블의 (DELETE + 일괄 INSERT) 를 트랜잭션 하나로 복원한다.
+     * 중간에 실패하면 어느 테이블도 바뀌지 않는다 (bible_setting 만 복원되고 reading_table 은 그대로인 상태가 없다).
+     * 백업에만 있는 컬럼은 버리고, 지금 테이블에만 있는 컬럼은 기본값으로 둔다.
+     * @return 복원한 행 수
+     */
+    public static int restore(Context context, File source, Progress progress) throws IOException {
+        verify(source, progress);
+
+        SQLiteDatabase db = SettingDatabase.get(context);
+        Set<String> allowed = new HashSet<>();
+        for (String table : TABLES) {
+            allowed.add(table);
+        }
+
+        int totalRows = 0;
+        db.beginTransactionNonExclusive();
+        try (Reader reader = new Reader(source)) {
+            TableHeader table;
+            while ((table = reader.nextTable()) != null) {
+                if (!allowed.contains(table.name)) {
+                    throw new IOException("알 수 없는 테이블: " + table.name);
+                }
+                totalRows += restoreTable(db, reader, table, progress);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        AnnotationStore.getInstance(context).invalidate();
+        ReadingProgressStore.getInstance(context).invalidate();
+        Log.d(TAG, "복원 완료: " + totalRows + " rows");
+        return totalRows;
+    }
+
+    private static int restoreTable(SQLiteDatabase db, Reader reader, TableHeader table, Progress progress)
+            throws IOException {
+        Set<String> existing = SettingDatabase.tableColumns(db, table.name);
+        // 백업 컬럼 i → INSERT 바인딩 위치 (0 이면 버림). 1번은 rowid
+        int[] bindIndexes = new int[table.columns.length];
+        List<String> insertColumns = new ArrayList<>();
+        insertColumns.add("rowid");
+        for (int i = 0; i < table.columns.length; i++) {
+            if (existing.contains(table.columns[i])) {
+                insertColumns.add("\"" + table.columns[i] + "\"");
+                bindIndexes[i] = insertColumns.size();
+            }
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table.name).append(" (");
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < insertColumns.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+                values.append(", ");
+            }
+            sql.append(insertColumns.get(i));
+            values.append('?');
+        }
+        sql.append(") VALUES (").append(values).append(')');
+
+        SQLiteStatement insert = db.compileStatement(sql.toString());
+        try {
+            db.execSQL("DELETE FROM " + table.name);
+            for (int row = 0; row < table.rowCount; row++) {
+                insert.clearBindings();
+                insert.bindLong(1, reader.in.readLong());
+                for (int i = 0; i < table.columns.length; i++) {
+                    reader.readValue(insert, bindIndexes[i]);
+                }
+                insert.executeInsert();
+                if (progress != null && (row + 1) % PROGRESS_INTERVAL == 0) {
+                    progress.onProgress("restore", table.name, row + 1, table.rowCount);
+                }
+            }
+        } finally {
+            insert.close();
+        }
+        if (progress != null) {
+            progress.onProgress("restore", table.name, table.rowCount, table.rowCount);
+        }
+        return table.rowCount;
+    }
+}
@@ -0,0 +1,113 @@
+package com.clsk.media;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 북마크/형광펜/말씀노트/통독 기록 백업 모듈 (SettingBackup).
+ * 진행 상황은 OnSettingBackupProgress 이벤트 { phase, table, done, total } 로 보낸다.
+ */
+public class SettingBackupModule extends ReactContextBaseJavaModule {
+
+    private static final String TAG = "SettingBackupModule";
+    public static final String EVENT_PROGRESS = "OnSettingBackupProgress";
+    private static final String BACKUP_DIR = "backup";
+
+    private final ReactApplicationContext reactContext;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private final SettingBackup.Progress progress = (phase, table, done, total) -> {
+        WritableMap event = Arguments.createMap();
+        event.putString("phase", phase);
+        event.putString("table", table);
+        event.putInt("done", done);
+        event.putInt("total", total);
+        sendEvent(EVENT_PROGRESS, event);
+    };
+
+    public SettingBackupModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        this.reactContext = reactContext;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "SettingBackupModule";
+    }
+
+    /**
+     * @param path 저장할 파일 경로. null 이면 files/backup/settingDB-yyyyMMdd-HHmmss.bbak
+     * resolve 값: { path, bytes, rows }
+     */
+    @ReactMethod
+    public void backup(@Nullable String path, Promise promise) {
+        executor.execute(() -> {
+            try {
+                File target = path != null ? new File(path) : new File(new File(reactContext.getFilesDir(), BACKUP_DIR),
+                        "settingDB-" + new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date()) + ".bbak");
+                int rows = SettingBackup.backup(reactContext, target, progress);
+                WritableMap result = Arguments.createMap();
+                result.putString("path", target.getPath());
+                result.putDouble("bytes", target.length());
+                result.putInt("rows", rows);
+                promise.resolve(result);
+            } catch (Exception e) {
+                Log.e(TAG, "백업 실패", e);
+                promise.reject("BACKUP_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * 체크섬을 확인한 뒤 bible_setting, reading_table 을 백업 내용으로 바꾼다. resolve 값: 복원한 행 수
+     */
+    @ReactMethod
+    public void restore(String path, Promise promise) {
+        executor.execute(() -> {
+            try {
+                promise.resolve(SettingBackup.restore(reactContext, new File(path), progress));
+            } catch (Exception e) {
+                Log.e(TAG, "복원 실패: " + path, e);
+                promise.reject("RESTORE_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * 복원 없이 파일만 확인한다. resolve 값: 전체 행 수
+     */
+    @ReactMethod
+    public void verify(String path, Promise promise) {
+        executor.execute(() -> {
+            try {
+                promise.resolve(SettingBackup.verify(new File(path), null));
+            } catch (Exception e) {
+                promise.reject("VERIFY_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    private void sendEvent(String eventName, @Nullable WritableMap params) {
+        reactContext
+                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                .emit(eventName, params);
+    }
+}
@@ -0,0 +1,57 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * settingDB (bible_setting, reading_table) 네이티브 핸들.
+ * react-native-sqlite-storage 가 ~www/settingDB.db 를 복사해 둔 파일을 같이 연다.
+ */
+public class SettingDatabase {
+
+    private static final String TAG = "SettingDatabase";
+    private static final String DB_NAME = "settingDB";
+
+    private static SQLiteDatabase db;
+
+    private SettingDatabase() {
+    }
+
+    public static synchronized SQLiteDatabase get(Context context) {
+        if (db == null || !db.isOpen()) {
+            File file = context.getApplicationContext().getDatabasePath(DB_NAME);
+            if (!file.exists()) {
+                throw new IllegalStateException("settingDB 가 아직 복사되지 않았습니다: " + file.getPath());
+            }
+            db = SQLiteDatabase.openDatabase(file.getPath(), null,
+                    SQLiteDatabase.OPEN_READWRITE | SQLiteDatabase.NO_LOCALIZED_COLLATORS);
+            // 일괄 기록 중에도 JS 쪽 읽기가 막히지 않도록 WAL 로 연다
+            db.enableWriteAheadLogging();
+            Log.d(TAG, "settingDB 열기 완료 (WAL)");
+        }
+        return db;
+    }
+
+    /**
+     * PRAGMA table_info 의 컬럼 이름. 테이블이 없으면 빈 집합
+     */
+    static Set<String> tableColumns(SQLiteDatabase db, String table) {
+        Set<String> columns = new HashSet<>();
+        Cursor cursor = db.rawQuery("PRAGMA table_info(" + table + ")", null);
+        try {
+            int nameIndex = cursor.getColumnIndex("name");
+            while (cursor.moveToNext()) {
+                columns.add(cursor.getString(nameIndex));
+            }
+        } finally {
+            cursor.close();
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,212 @@
+package com.clsk.media;
+
+import android.media.MediaCodec;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+/**
+ * 장 오디오에서 쉼(무음 구간) 찾기.
+ * MediaCodec 으로 PCM 까지만 풀어 WINDOW_MS 마다 소리 크기(dBFS)를 재고,
+ * 그 분포에서 바닥 소음(하위 2%)과 말소리 크기(중앙값)를 잡아 그 사이 문턱보다 조용한 구간을 쉼으로 본다.
+ * 디코딩만 안드로이드 API 를 쓰고 levels 이후 계산(Levels, findPauses)은 순수 자바다.
+ */
+public final class SilenceDetector {
+
+    /** 소리 크기를 재는 창 */
+    public static final int WINDOW_MS = 20;
+    /** 이보다 짧은 무음은 쉼으로 보지 않는다 (자음 사이 끊김) */
+    public static final int MIN_PAUSE_MS = 180;
+    /** 완전 무음의 dBFS 값 */
+    static final float SILENT_DB = -100f;
+    /** 문턱 = 바닥 + (말소리 - 바닥) * 이 비율, 적어도 MIN_MARGIN_DB 위 */
+    private static final float THRESHOLD_RATIO = 0.35f;
+    private static final float MIN_MARGIN_DB = 6f;
+    /** 바닥과 말소리 차이가 이보다 작으면 (배경 음악 등) 쉼을 찾지 않는다 */
+    private static final float MIN_CONTRAST_DB = 12f;
+    private static final long TIMEOUT_US = 10_000;
+
+    private SilenceDetector() {
+    }
+
+    /**
+     * PCM 16bit 샘플을 받아 창마다 평균 제곱을 dBFS 로 모은다. 채널은 평균 제곱으로 합친다.
+     */
+    static final class Levels {
+        private int sampleRate;
+        private int channels;
+        private float[] values = new float[1024];
+        private int count;
+        private double sum;
+        private int frames;
+        private int channel;
+        private int framesPerWindow;
+
+        Levels(int sampleRate, int channels) {
+            setFormat(sampleRate, channels);
+        }
+
+        void setFormat(int sampleRate, int channels) {
+            this.sampleRate = sampleRate;
+            this.channels = Math.max(1, channels);
+            this.framesPerWindow = Math.max(1, sampleRate * WINDOW_MS / 1000);
+            this.channel = 0;
+        }
+
+        void add(ShortBuffer samples) {
+            while (samples.hasRemaining()) {
+                double value = samples.get();
+                sum += value * value;
+                if (++channel < channels) {
+                    continue;
+                }
+                channel = 0;
+                if (++frames == framesPerWindow) {
+                    push();
+                }
+            }
+        }
+
+        private void push() {
+            double meanSquare = sum / ((double) frames * channels);
+            float db = meanSquare <= 0 ? SILENT_DB
+                    : (float) Math.max(SILENT_DB, 10 * Math.log10(meanSquare / (32768.0 * 32768.0)));
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = db;
+            sum = 0;
+            frames = 0;
+        }
+
+        float[] finish() {
+            if (frames > framesPerWindow / 2) {
+                push();
+            }
+            return Arrays.copyOf(values, count);
+        }
+    }
+
+    /**
+     * 오디오 파일 전체를 풀어 WINDOW_MS 창별 dBFS.
+     */
+    public static float[] levels(File audio) throws IOException {
+        MediaExtractor extractor = new MediaExtractor();
+        MediaCodec codec = null;
+        try {
+            extractor.setDataSource(audio.getAbsolutePath());
+            MediaFormat format = null;
+            for (int track = 0; track < extractor.getTrackCount(); track++) {
+                MediaFormat candidate = extractor.getTrackFormat(track);
+                String mime = candidate.getString(MediaFormat.KEY_MIME);
+                if (mime != null && mime.startsWith("audio/")) {
+                    extractor.selectTrack(track);
+                    format = candidate;
+                    break;
+                }
+            }
+            if (format == null) {
+                throw new IOException("오디오 트랙 없음: " + audio);
+            }
+            Levels levels = new Levels(format.getInteger(MediaFormat.KEY_SAMPLE_RATE),
+                    format.getInteger(MediaFormat.KEY_CHANNEL_COUNT));
+            codec = MediaCodec.createDecoderByType(format.getString(MediaFormat.KEY_MIME));
+            codec.configure(format, null, null, 0);
+            codec.start();
+
+            MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+            boolean inputDone = false;
+            boolean outputDone = false;
+            while (!outputDone) {
+                if (!inputDone) {
+                    int input = codec.dequeueInputBuffer(TIMEOUT_US);
+                    if (input >= 0) {
+                        int size = extractor.readSampleData(codec.getInputBuffer(input), 0);
+                        if (size < 0) {
+                            codec.queueInputBuffer(input, 0, 0, 0, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                            inputDone = true;
+                        } else {
+                            codec.queueInputBuffer(input, 0, size, extractor.getSampleTime(), 0);
+                            extractor.advance();
+                        }
+                    }
+                }
+                int output = codec.dequeueOutputBuffer(info, TIMEOUT_US);
+                if (output >= 0) {
+                    if (info.size > 0) {
+                        ByteBuffer buffer = codec.getOutputBuffer(output);
+                        buffer.position(info.offset);
+                        buffer.limit(info.offset + info.size);
+                        levels.add(buffer.order(ByteOrder.LITTLE_ENDIAN).asShortBuffer());
+                    }
+                    codec.releaseOutputBuffer(output, false);
+                    outputDone = (info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0;
+                } else if (output == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                    MediaFormat changed = codec.getOutputFormat();
+                    levels.setFormat(changed.getInteger(MediaFormat.KEY_SAMPLE_RATE),
+                            changed.getInteger(MediaFormat.KEY_CHANNEL_COUNT));
+                }
+            }
+            return levels.finish();
+        } catch (IllegalStateException e) {
+            throw new IOException("디코딩 실패: " + audio, e);
+        } finally {
+            if (codec != null) {
+                try {
+                    codec.stop();
+                } catch (IllegalStateException ignored) {
+                    // start 전에 실패
+                }
+                codec.release();
+            }
+            extractor.release();
+        }
+    }
+
+    /**
+     * 창별 dBFS 에서 쉼 구간을 찾는다.
+     * @return [시작ms, 끝ms, 시작ms, 끝ms, ...] 시간 순. 끝은 말소리가 다시 시작하는 위치
+     */
+    public static int[] findPauses(float[] levels) {
+        if (levels.length == 0) {
+            return new int[0];
+        }
+        float[] sorted = levels.clone();
+        Arrays.sort(sorted);
+        float floor = sorted[sorted.length / 50];
+        float speech = sorted[sorted.length / 2];
+        if (speech - floor < MIN_CONTRAST_DB) {
+            return new int[0];
+        }
+        float threshold = floor + Math.max(MIN_MARGIN_DB, (speech - floor) * THRESHOLD_RATIO);
+
+        int[] pauses = new int[32];
+        int count = 0;
+        int minWindows = (MIN_PAUSE_MS + WINDOW_MS - 1) / WINDOW_MS;
+        int start = -1;
+        for (int window = 0; window <= levels.length; window++) {
+            boolean quiet = window < levels.length && levels[window] < threshold;
+            if (quiet) {
+                if (start < 0) {
+                    start = window;
+                }
+                continue;
+            }
+            if (start >= 0 && window - start >= minWindows) {
+                if (count + 2 > pauses.length) {
+                    pauses = Arrays.copyOf(pauses, pauses.length * 2);
+                }
+                pauses[count++] = start * WINDOW_MS;
+                pauses[count++] = window * WINDOW_MS;
+            }
+            start = -1;
+        }
+        return Arrays.copyOf(pauses, count);
+    }
+}
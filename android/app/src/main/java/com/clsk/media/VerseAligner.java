@@ -0,0 +1,202 @@
+package com.clsk.media;
+
+import java.util.Arrays;
+
+/**
+ * 글자 수로 추정한 절 시작 위치를 오디오에서 찾은 쉼(SilenceDetector.findPauses)에 맞춘다.
+ * 절마다 "어느 쉼이 끝나는 곳에서 시작하는가" 를 시간 순서를 지키며 고르는 DP 로,
+ * 맞춘 두 절 사이 간격이 추정 간격과 다른 만큼, 쉼을 안 쓰고 넘기면 그 쉼이 긴 만큼, 절을 건너뛰면 SKIP_COST 가 든다.
+ * 간격만 보므로 긴 장에서 쌓이는 추정 오차(낭독 빠르기 변화)는 비용이 없고, 처음과 마지막 맞춘 절만 추정 위치에 묶인다.
+ * 절 안의 짧은 숨은 싸게 남고, 절 사이의 긴 쉼을 빼먹고 한 칸씩 밀려 맞추는 경로는 비싸다.
+ * 쉼 길이는 낭독자마다 다르므로 그 장의 긴 쉼 절 수 개의 중앙값(보통의 절 사이 쉼)에 견준다.
+ */
+final class VerseAligner {
+
+    /** 절을 쉼에 맞추지 않을 때의 비용 (평균 절 길이 단위) */
+    private static final double SKIP_COST = 0.6;
+    /** 추정 위치에서 장 길이의 이 비율, 또는 MIN_WINDOW_VERSES 절보다 먼 쉼은 후보가 아니다 */
+    private static final double WINDOW_RATIO = 0.1;
+    private static final double MIN_WINDOW_VERSES = 3;
+    /** 맞춘 두 절 사이에 건너뛸 수 있는 절 수 */
+    private static final int MAX_GAP = 8;
+    /** 쉼을 안 쓰고 넘기는 비용: 절 사이 쉼만큼 길면 LENGTH_WEIGHT */
+    private static final double LENGTH_WEIGHT = 1.0;
+
+    static final class Result {
+        /** 절별 시작 ms, 오름차순 */
+        final int[] starts;
+        /** 쉼에 맞춘 절 수 (나머지는 맞춘 절 사이에서 비율로 추정) */
+        final int matched;
+
+        Result(int[] starts, int matched) {
+            this.starts = starts;
+            this.matched = matched;
+        }
+    }
+
+    private VerseAligner() {
+    }
+
+    /**
+     * @param expected   절별 추정 시작 ms (오름차순)
+     * @param pauses     [시작ms, 끝ms, ...] 시간 순
+     * @param durationMs 장 길이
+     */
+    static Result align(int[] expected, int[] pauses, long durationMs) {
+        int[] matches = match(expected, pauses, durationMs);
+        int matched = 0;
+        for (int pause : matches) {
+            if (pause >= 0) {
+                matched++;
+            }
+        }
+        return new Result(interpolate(expected, matches, pauses, durationMs), matched);
+    }
+
+    /**
+     * 절 사이 쉼의 보통 길이: 긴 쉼부터 절 수 개를 골라 그 중앙값 (쉼이 그보다 적으면 전체 중앙값)
+     */
+    static double breakLength(int[] pauses, int verses) {
+        int count = pauses.length / 2;
+        if (count == 0) {
+            return 1.0;
+        }
+        int[] lengths = new int[count];
+        for (int k = 0; k < count; k++) {
+            lengths[k] = pauses[k * 2 + 1] - pauses[k * 2];
+        }
+        Arrays.sort(lengths);
+        int longest = Math.min(count, Math.max(1, verses));
+        return Math.max(1.0, lengths[count - (longest + 1) / 2]);
+    }
+
+    /**
+     * @return 절별로 맞춘 쉼 번호, 없으면 -1
+     */
+    static int[] match(int[] expected, int[] pauses, long durationMs) {
+        int verses = expected.length;
+        int count = pauses.length / 2;
+        int[] result = new int[verses];
+        Arrays.fill(result, -1);
+        if (verses == 0 || count == 0) {
+            return result;
+        }
+        double verseMs = Math.max(1.0, durationMs / (double) verses);
+        double breakMs = breakLength(pauses, verses);
+        // unusedBefore[k]: 쉼 0..k-1 을 모두 안 쓸 때 비용
+        double[] unusedBefore = new double[count + 1];
+        for (int k = 0; k < count; k++) {
+            double length = pauses[k * 2 + 1] - pauses[k * 2];
+            unusedBefore[k + 1] = unusedBefore[k] + LENGTH_WEIGHT * Math.min(1.0, length / breakMs);
+        }
+
+        // 절별 후보 쉼 [lo, hi)
+        double window = Math.max(MIN_WINDOW_VERSES * verseMs, WINDOW_RATIO * durationMs);
+        int[] lo = new int[verses];
+        int[] hi = new int[verses];
+        for (int verse = 0, from = 0, to = 0; verse < verses; verse++) {
+            while (from < count && pauses[from * 2 + 1] < expected[verse] - window) {
+                from++;
+            }
+            to = Math.max(to, from);
+            while (to < count && pauses[to * 2 + 1] <= expected[verse] + window) {
+                to++;
+            }
+            lo[verse] = from;
+            hi[verse] = to;
+        }
+
+        // cost[verse][k - lo]: verse 를 쉼 k 에 맞추고 그 앞은 가장 싸게 맞췄을 때 비용. prev 는 앞에 맞춘 절과 쉼
+        double[][] cost = new double[verses][];
+        int[][] prevVerse = new int[verses][];
+        int[][] prevPause = new int[verses][];
+        double best = SKIP_COST * verses + unusedBefore[count];
+        int lastVerse = -1;
+        int lastPause = -1;
+        for (int verse = 0; verse < verses; verse++) {
+            int candidates = hi[verse] - lo[verse];
+            cost[verse] = new double[candidates];
+            prevVerse[verse] = new int[candidates];
+            prevPause[verse] = new int[candidates];
+            for (int k = lo[verse]; k < hi[verse]; k++) {
+                int end = pauses[k * 2 + 1];
+                // 처음 맞춘 절: 추정 위치에 묶는다
+                double here = SKIP_COST * verse + unusedBefore[k] + Math.abs(end - expected[verse]) / verseMs;
+                int fromVerse = -1;
+                int fromPause = -1;
+                for (int prev = Math.max(0, verse - MAX_GAP - 1); prev < verse; prev++) {
+                    int prevEnd = Math.min(hi[prev], k);
+                    for (int kp = lo[prev]; kp < prevEnd; kp++) {
+                        double gap = (end - pauses[kp * 2 + 1]) - (expected[verse] - expected[prev]);
+                        double step = cost[prev][kp - lo[prev]] + SKIP_COST * (verse - prev - 1)
+                                + unusedBefore[k] - unusedBefore[kp + 1] + Math.abs(gap) / verseMs;
+                        if (step < here) {
+                            here = step;
+                            fromVerse = prev;
+                            fromPause = kp;
+                        }
+                    }
+                }
+                cost[verse][k - lo[verse]] = here;
+                prevVerse[verse][k - lo[verse]] = fromVerse;
+                prevPause[verse][k - lo[verse]] = fromPause;
+
+                // 마지막 맞춘 절: 역시 추정 위치에 묶는다
+                double total = here + SKIP_COST * (verses - 1 - verse) + unusedBefore[count] - unusedBefore[k + 1]
+                        + Math.abs(end - expected[verse]) / verseMs;
+                if (total < best) {
+                    best = total;
+                    lastVerse = verse;
+                    lastPause = k;
+                }
+            }
+        }
+
+        for (int verse = lastVerse, k = lastPause; verse >= 0; ) {
+            result[verse] = k;
+            int at = k - lo[verse];
+            int prev = prevVerse[verse][at];
+            k = prevPause[verse][at];
+            verse = prev;
+        }
+        return result;
+    }
+
+    /**
+     * 맞춘 절은 쉼 끝, 나머지는 앞뒤 맞춘 절(없으면 0 과 장 끝) 사이를 추정 위치 비율로 나눈다.
+     */
+    static int[] interpolate(int[] expected, int[] matches, int[] pauses, long durationMs) {
+        int verses = expected.length;
+        int[] starts = new int[verses];
+        if (verses == 0) {
+            return starts;
+        }
+        int anchor = -1;
+        long anchorTime = 0;
+        long anchorExpected = 0;
+        for (int verse = 0; verse <= verses; verse++) {
+            if (verse < verses && matches[verse] < 0) {
+                continue;
+            }
+            long time = verse < verses ? pauses[matches[verse] * 2 + 1] : durationMs;
+            long expectedTime = verse < verses ? expected[verse] : Math.max(durationMs, expected[verses - 1]);
+            for (int between = anchor + 1; between < verse; between++) {
+                long span = expectedTime - anchorExpected;
+                starts[between] = (int) (span <= 0 ? anchorTime
+                        : anchorTime + (expected[between] - anchorExpected) * (time - anchorTime) / span);
+            }
+            if (verse < verses) {
+                starts[verse] = (int) time;
+            }
+            anchor = verse;
+            anchorTime = time;
+            anchorExpected = expectedTime;
+        }
+        for (int verse = 1; verse < verses; verse++) {
+            if (starts[verse] < starts[verse - 1]) {
+                starts[verse] = starts[verse - 1];
+            }
+        }
+        return starts;
+    }
+}
@@ -0,0 +1,223 @@
+package com.clsk.media;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 북마크/형광펜/말씀노트 상세 화면의 절 본문 일괄 조회.
+ * 참조 (book, jang, "1,3-5", 번역본) 묶음을 (번역본, 책) 단위로 모아 정렬한 뒤
+ * 묶음마다 쿼리 한 번을 jang, jul 순으로 훑으며 필요한 절만 골라 담는다.
+ * 같은 절은 한 번만 읽고, 결과는 입력 순서 그대로 돌려준다.
+ */
+public class VerseRangeResolver {
+
+    /** 키에 jul 을 12비트로 넣으므로 그 이상은 잘라낸다 (실제 최대 절은 176) */
+    private static final int MAX_JUL = (1 << 12) - 1;
+
+    public static final class Ref {
+        public final int book;
+        public final int jang;
+        public final String type;
+        /** 중복 없이 오름차순 */
+        public final int[] juls;
+
+        public Ref(int book, int jang, String juls, String type) {
+            BibleBooks.chapterIndex(book, jang);
+            this.book = book;
+            this.jang = jang;
+            this.type = type;
+            this.juls = parseJuls(juls);
+        }
+    }
+
+    public static final class Verse {
+        public final int jul;
+        public final String content;
+
+        Verse(int jul, String content) {
+            this.jul = jul;
+            this.content = content;
+        }
+    }
+
+    /** (번역본, 책) 묶음의 정렬된 절 키와 키별 본문 행 */
+    private static final class Group {
+        int[] keys = new int[8];
+        int size;
+        List<List<String>> contents;
+
+        void add(int key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            keys[size++] = key;
+        }
+
+        void sortUnique() {
+            Arrays.sort(keys, 0, size);
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || keys[unique - 1] != keys[i]) {
+                    keys[unique++] = keys[i];
+                }
+            }
+            size = unique;
+        }
+
+        List<String> find(int key) {
+            int position = Arrays.binarySearch(keys, 0, size, key);
+            return position < 0 ? null : contents.get(position);
+        }
+    }
+
+    private VerseRangeResolver() {
+    }
+
+    /**
+     * "1,2,5-7" → [1, 2, 5, 6, 7]. 숫자가 아닌 조각은 건너뛴다.
+     */
+    static int[] parseJuls(String spec) {
+        int[] juls = new int[8];
+        int count = 0;
+        if (spec != null) {
+            for (String part : spec.split(",")) {
+                part = part.trim();
+                if (part.isEmpty()) {
+                    continue;
+                }
+                int dash = part.indexOf('-', 1);
+                int from;
+                int to;
+                try {
+                    from = Integer.parseInt(dash < 0 ? part : part.substring(0, dash).trim());
+                    to = dash < 0 ? from : Integer.parseInt(part.substring(dash + 1).trim());
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                for (int jul = Math.max(from, 1); jul <= Math.min(to, MAX_JUL); jul++) {
+                    if (count == juls.length) {
+                        juls = Arrays.copyOf(juls, count * 2);
+                    }
+                    juls[count++] = jul;
+                }
+            }
+        }
+        Arrays.sort(juls, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || juls[unique - 1] != juls[i]) {
+                juls[unique++] = juls[i];
+            }
+        }
+        return Arrays.copyOf(juls, unique);
+    }
+
+    private static int key(int jang, int jul) {
+        return (jang << 12) | jul;
+    }
+
+    /**
+     * @return refs 와 같은 순서의 절 목록 (번역본에 없는 절은 빠진다, 같은 절 번호의 여러 행은 sequence 순)
+     */
+    public static List<List<Verse>> resolve(BibleDatabase db, List<Ref> refs) {
+        return resolve(db.getDatabase(), refs);
+    }
+
+    static List<List<Verse>> resolve(SQLiteDatabase db, List<Ref> refs) {
+        // 번역본 → 책 → 묶음. TreeMap 이라 번역본/책 순으로 훑는다
+        Map<String, TreeMap<Integer, Group>> groups = new TreeMap<>();
+        for (Ref ref : refs) {
+            TreeMap<Integer, Group> books = groups.get(ref.type);
+            if (books == null) {
+                books = new TreeMap<>();
+                groups.put(ref.type, books);
+            }
+            Group group = books.get(ref.book);
+            if (group == null) {
+                group = new Group();
+                books.put(ref.book, group);
+            }
+            for (int jul : ref.juls) {
+                group.add(key(ref.jang, jul));
+            }
+        }
+
+        for (Map.Entry<String, TreeMap<Integer, Group>> typeEntry : groups.entrySet()) {
+            for (Map.Entry<Integer, Group> bookEntry : typeEntry.getValue().entrySet()) {
+                fill(db, typeEntry.getKey(), bookEntry.getKey(), bookEntry.getValue());
+            }
+        }
+
+        List<List<Verse>> results = new ArrayList<>(refs.size());
+        for (Ref ref : refs) {
+            Group group = groups.get(ref.type).get(ref.book);
+            List<Verse> verses = new ArrayList<>(ref.juls.length);
+            for (int jul : ref.juls) {
+                List<String> rows = group.find(key(ref.jang, jul));
+                if (rows != null) {
+                    for (String content : rows) {
+                        verses.add(new Verse(jul, content));
+                    }
+                }
+            }
+            results.add(verses);
+        }
+        return results;
+    }
+
+    /**
+     * 묶음에 필요한 장들만 jang, jul, sequence 순으로 읽으며 키 배열과 나란히 병합한다.
+     */
+    private static void fill(SQLiteDatabase db, String type, int book, Group group) {
+        group.sortUnique();
+        group.contents = new ArrayList<>(group.size);
+        for (int i = 0; i < group.size; i++) {
+            group.contents.add(null);
+        }
+        if (group.size == 0) {
+            return;
+        }
+
+        StringBuilder jangs = new StringBuilder();
+        int previousJang = -1;
+        for (int i = 0; i < group.size; i++) {
+            int jang = group.keys[i] >>> 12;
+            if (jang != previousJang) {
+                if (jangs.length() > 0) {
+                    jangs.append(',');
+                }
+                jangs.append(jang);
+                previousJang = jang;
+            }
+        }
+
+        BibleBooks.checkBook(book);
+        Cursor cursor = db.rawQuery("SELECT jang, jul, content FROM bible_" + book
+                + " WHERE type = ? AND jang IN (" + jangs + ") ORDER BY jang, jul, sequence", new String[]{type});
+        try {
+            int position = 0;
+            while (position < group.size && cursor.moveToNext()) {
+                int rowKey = key(cursor.getInt(0), cursor.getInt(1));
+                while (position < group.size && group.keys[position] < rowKey) {
+                    position++;
+                }
+                if (position < group.size && group.keys[position] == rowKey) {
+                    List<String> rows = group.contents.get(position);
+                    if (rows == null) {
+                        rows = new ArrayList<>(1);
+                        group.contents.set(position, rows);
+                    }
+                    rows.add(cursor.getString(2));
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+}
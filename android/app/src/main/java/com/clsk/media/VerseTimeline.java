@@ -0,0 +1,302 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 장 오디오의 절별 시작 위치 (따라 읽기 강조/자동 스크롤용).
+ * filesDir/verse_timelines/Gen001.verses 사이드카("절 시작ms" 한 줄씩)가 있으면 그것을 쓰고,
+ * 없으면 본문(nkrv) 글자 수 비율로 장 길이를 나눠 추정해 바로 쓴다.
+ * 장 오디오가 AudioCache 에 받아져 있으면 백그라운드에서 쉼을 찾아(SilenceDetector) 추정 위치를 쉼에 맞추고(VerseAligner)
+ * 그 결과를 사이드카로 저장해 추정을 대신한다. 장마다 한 번만 돌고 다음 실행부터는 사이드카를 읽는다.
+ * verseAt 은 읽기 화면의 재생 위치 폴링(250ms)마다 불리므로 장 번호 배열과 int[] 이진 탐색만 쓰고 객체를 만들지 않는다.
+ */
+public class VerseTimeline {
+
+    private static final String TAG = "VerseTimeline";
+    private static final String DIR = "verse_timelines";
+    private static final String SUFFIX = ".verses";
+    private static final String TEXT_TYPE = "nkrv";
+    /** 추정할 때 장 머리("창세기 1장")와 절 사이 쉼을 글자 수로 친 값 */
+    private static final int INTRO_WEIGHT = 8;
+    private static final int PAUSE_WEIGHT = 3;
+    /** 쉼 정렬로 만든 사이드카 머리줄 */
+    private static final String ALIGNED_HEADER = "# silence";
+
+    private static VerseTimeline instance;
+
+    private final Context context;
+    private final File dir;
+    /** 전역 장 번호 → 절 위치. verseAt(JS 스레드)과 prepare(모듈 스레드)가 다른 스레드라 AtomicReferenceArray */
+    private final AtomicReferenceArray<Entry> entries = new AtomicReferenceArray<>(BibleBooks.CHAPTER_COUNT);
+    /** 쉼 정렬을 시작한 장 (실패해도 다시 돌리지 않는다) */
+    private final BitSet aligning = new BitSet(BibleBooks.CHAPTER_COUNT);
+    /** 디코딩이 무거워 한 장씩 */
+    private final ExecutorService alignExecutor = Executors.newSingleThreadExecutor();
+
+    private static final class Entry {
+        final int[] juls;
+        final int[] starts;
+        final boolean estimated;
+
+        Entry(int[] juls, int[] starts, boolean estimated) {
+            this.juls = juls;
+            this.starts = starts;
+            this.estimated = estimated;
+        }
+    }
+
+    private VerseTimeline(Context context) {
+        this.context = context;
+        this.dir = new File(context.getFilesDir(), DIR);
+    }
+
+    public static synchronized VerseTimeline getInstance(Context context) {
+        if (instance == null) {
+            instance = new VerseTimeline(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private static File sidecar(File dir, int book, int jang) {
+        String name = AudioCache.fileName(book, jang);
+        return new File(dir, name.substring(0, name.length() - 4) + SUFFIX);
+    }
+
+    /**
+     * 장의 절 위치를 준비한다. 사이드카가 없고 추정치도 없거나 길이가 바뀌었으면 새로 추정하고,
+     * 오디오가 받아져 있으면 쉼 정렬을 예약한다 (끝나면 다음 verseAt 부터 정렬된 위치).
+     * @param durationMs 플레이어가 알려 준 장 길이. 0 이하면 MeasuredDurations/CSV 값을 쓴다
+     * @return 절 수
+     */
+    public int prepare(int book, int jang, long durationMs) {
+        int index = BibleBooks.chapterIndex(book, jang);
+        Entry entry = entries.get(index);
+        if (entry != null && !entry.estimated) {
+            return entry.juls.length;
+        }
+        Entry loaded = loadSidecar(book, jang);
+        if (loaded == null) {
+            long duration = durationMs > 0 ? durationMs
+                    : ReadingPlanEngine.getInstance(context).chapterSeconds(index) * 1000L;
+            if (entry != null && entry.starts.length > 0 && lastEnd(entry) == duration) {
+                return entry.juls.length;
+            }
+            loaded = estimate(book, jang, duration);
+            scheduleAlign(book, jang);
+        }
+        entries.set(index, loaded);
+        return loaded.juls.length;
+    }
+
+    private void scheduleAlign(int book, int jang) {
+        File audio = AudioCache.getInstance(context).peekFile(book, jang);
+        if (audio == null) {
+            // 스트리밍 중: 다 받은 뒤 길이가 바뀌어 prepare 가 다시 불릴 때 시도
+            return;
+        }
+        int index = BibleBooks.chapterIndex(book, jang);
+        synchronized (aligning) {
+            if (aligning.get(index)) {
+                return;
+            }
+            aligning.set(index);
+        }
+        alignExecutor.execute(() -> align(book, jang, audio));
+    }
+
+    /**
+     * 오디오를 풀어 쉼을 찾고, 풀린 길이로 다시 추정한 위치를 쉼에 맞춰 사이드카로 저장한다.
+     */
+    private void align(int book, int jang, File audio) {
+        long started = System.currentTimeMillis();
+        try {
+            float[] levels = SilenceDetector.levels(audio);
+            long durationMs = (long) levels.length * SilenceDetector.WINDOW_MS;
+            Entry estimated = estimate(book, jang, durationMs);
+            int[] expected = Arrays.copyOf(estimated.starts, estimated.juls.length);
+            VerseAligner.Result result = VerseAligner.align(expected, SilenceDetector.findPauses(levels), durationMs);
+            synchronized (this) {
+                Entry current = entries.get(BibleBooks.chapterIndex(book, jang));
+                if (current != null && !current.estimated) {
+                    // 그 사이 install 로 받은 값이 있다
+                    return;
+                }
+                write(book, jang, ALIGNED_HEADER + " " + result.matched + "/" + expected.length,
+                        estimated.juls, result.starts);
+                entries.set(BibleBooks.chapterIndex(book, jang), new Entry(estimated.juls, result.starts, false));
+            }
+            Log.d(TAG, "쉼 정렬 " + book + "/" + jang + ": " + result.matched + "/" + expected.length
+                    + " 절, " + (System.currentTimeMillis() - started) + "ms");
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "쉼 정렬 실패: " + book + "/" + jang, e);
+        }
+    }
+
+    private static long lastEnd(Entry entry) {
+        // estimate() 는 끝 위치를 starts 뒤에 하나 더 붙여 둔다
+        return entry.starts[entry.starts.length - 1];
+    }
+
+    /**
+     * 재생 위치의 절 번호. 준비되지 않은 장이거나 첫 절 앞이면 0. 할당 없음.
+     */
+    public int verseAt(int book, int jang, long positionMs) {
+        if (book < 1 || book > BibleBooks.BOOK_COUNT || jang < 1 || jang > BibleBooks.chapterCount(book)) {
+            return 0;
+        }
+        Entry entry = entries.get(BibleBooks.firstChapterIndex(book) + jang - 1);
+        if (entry == null || entry.juls.length == 0) {
+            return 0;
+        }
+        int position = Arrays.binarySearch(entry.starts, 0, entry.juls.length,
+                (int) Math.min(positionMs, Integer.MAX_VALUE));
+        int slot = position >= 0 ? position : -position - 2;
+        return slot < 0 ? 0 : entry.juls[slot];
+    }
+
+    /**
+     * 절 시작 위치 (ms). 없으면 -1.
+     */
+    public int startOf(int book, int jang, int jul) {
+        Entry entry = entries.get(BibleBooks.chapterIndex(book, jang));
+        if (entry == null) {
+            return -1;
+        }
+        for (int i = 0; i < entry.juls.length; i++) {
+            if (entry.juls[i] == jul) {
+                return entry.starts[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 서버나 정렬 도구에서 받은 절 위치를 사이드카로 저장하고 바로 쓴다. 쉼 정렬 결과도 덮어쓴다.
+     * @param juls 절 번호, starts 와 같은 길이, 시작 위치 오름차순
+     */
+    public synchronized void install(int book, int jang, int[] juls, int[] starts) throws IOException {
+        int index = BibleBooks.chapterIndex(book, jang);
+        if (juls.length != starts.length) {
+            throw new IllegalArgumentException("절 수와 위치 수가 다릅니다");
+        }
+        for (int i = 1; i < starts.length; i++) {
+            if (starts[i] < starts[i - 1]) {
+                throw new IllegalArgumentException("위치가 오름차순이 아닙니다: " + juls[i]);
+            }
+        }
+        write(book, jang, null, juls, starts);
+        entries.set(index, new Entry(juls.clone(), starts.clone(), false));
+    }
+
+    private void write(int book, int jang, String header, int[] juls, int[] starts) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("폴더 생성 실패: " + dir);
+        }
+        File file = sidecar(dir, book, jang);
+        File tmp = new File(file.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+            if (header != null) {
+                writer.write(header + "\n");
+            }
+            for (int i = 0; i < juls.length; i++) {
+                writer.write(juls[i] + " " + starts[i] + "\n");
+            }
+        }
+        if (!tmp.renameTo(file)) {
+            throw new IOException("이름 변경 실패: " + file);
+        }
+    }
+
+    private Entry loadSidecar(int book, int jang) {
+        File file = sidecar(dir, book, jang);
+        if (!file.isFile()) {
+            return null;
+        }
+        int[] juls = new int[64];
+        int[] starts = new int[64];
+        int count = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int space = line.indexOf(' ');
+                if (count == juls.length) {
+                    juls = Arrays.copyOf(juls, count * 2);
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                juls[count] = Integer.parseInt(line.substring(0, space));
+                starts[count] = Integer.parseInt(line.substring(space + 1).trim());
+                count++;
+            }
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "사이드카 읽기 실패: " + file, e);
+            return null;
+        }
+        return new Entry(Arrays.copyOf(juls, count), Arrays.copyOf(starts, count), false);
+    }
+
+    /**
+     * 절 본문 글자 수(공백 제외) + 쉼 가중치 비율로 duration 을 나눈다.
+     * starts 는 절 수 + 1 길이로 만들고 마지막 칸에 duration 을 넣어 둔다 (길이 변경 확인용, 탐색 범위 밖).
+     */
+    private Entry estimate(int book, int jang, long duration) {
+        BibleChapter chapter = ChapterCache.getInstance(context).getChapter(book, jang, new String[]{TEXT_TYPE});
+        int[] juls = new int[chapter.size()];
+        long[] weights = new long[chapter.size()];
+        int count = 0;
+        for (int row = 0; row < chapter.size(); row++) {
+            int jul = chapter.juls[row];
+            if (count == 0 || juls[count - 1] != jul) {
+                juls[count] = jul;
+                weights[count] = PAUSE_WEIGHT;
+                count++;
+            }
+            weights[count - 1] += letters(chapter.contents[row]);
+        }
+        long total = INTRO_WEIGHT;
+        for (int i = 0; i < count; i++) {
+            total += weights[i];
+        }
+        int[] starts = new int[count + 1];
+        long cumulative = INTRO_WEIGHT;
+        for (int i = 0; i < count; i++) {
+            starts[i] = (int) (duration * cumulative / total);
+            cumulative += weights[i];
+        }
+        starts[count] = (int) duration;
+        return new Entry(Arrays.copyOf(juls, count), starts, true);
+    }
+
+    private static int letters(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,89 @@
+package com.clsk.media;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+
+/**
+ * 오디오 재생 위치 → 절 모듈 (VerseTimeline).
+ * 읽기 화면(connec.tsx)이 장을 열거나 재생 길이를 알게 되면 prepare 를 부르고, 재생 위치 폴링마다 verseAt 을 동기 호출한다.
+ * prepare 는 추정 위치로 바로 답하고 쉼 정렬은 백그라운드에서 돌아 끝나면 verseAt 결과가 바뀐다.
+ */
+public class VerseTimelineModule extends ReactContextBaseJavaModule {
+
+    private static final String TAG = "VerseTimelineModule";
+
+    private final ReactApplicationContext reactContext;
+
+    public VerseTimelineModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        this.reactContext = reactContext;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "VerseTimelineModule";
+    }
+
+    private VerseTimeline timeline() {
+        return VerseTimeline.getInstance(reactContext);
+    }
+
+    /**
+     * @param durationMs TrackPlayer 가 알려 준 길이(ms), 모르면 0
+     * resolve 값: 절 수
+     */
+    @ReactMethod
+    public void prepare(int book, int jang, double durationMs, Promise promise) {
+        try {
+            promise.resolve(timeline().prepare(book, jang, (long) durationMs));
+        } catch (Exception e) {
+            Log.e(TAG, "절 위치 준비 실패: " + book + "/" + jang, e);
+            promise.reject("TIMELINE_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 재생 위치(ms)의 절 번호. prepare 전이거나 첫 절 앞이면 0.
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public int verseAt(int book, int jang, double positionMs) {
+        return timeline().verseAt(book, jang, (long) positionMs);
+    }
+
+    /**
+     * 절 시작 위치(ms), 없으면 -1. 절을 눌러 그 위치로 seek 할 때 쓴다.
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public int startOf(int book, int jang, int jul) {
+        return timeline().startOf(book, jang, jul);
+    }
+
+    /**
+     * 정렬된 절 위치를 사이드카로 저장한다.
+     * @param packed [jul, startMs, jul, startMs, ...] 시작 위치 오름차순
+     */
+    @ReactMethod
+    public void install(int book, int jang, ReadableArray packed, Promise promise) {
+        int count = packed.size() / 2;
+        int[] juls = new int[count];
+        int[] starts = new int[count];
+        for (int i = 0; i < count; i++) {
+            juls[i] = packed.getInt(i * 2);
+            starts[i] = packed.getInt(i * 2 + 1);
+        }
+        try {
+            timeline().install(book, jang, juls, starts);
+            promise.resolve(count);
+        } catch (Exception e) {
+            promise.reject("TIMELINE_INSTALL_ERROR", e.getMessage(), e);
+        }
+    }
+}
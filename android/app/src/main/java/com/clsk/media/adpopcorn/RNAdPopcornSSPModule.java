@@ -3,7 +3,10 @@ package com.clsk.media.adpopcorn;
 import android.content.Context;
 import android.util.Log;
 
+import com.clsk.media.adpopcorn.ads.BannerVisibilityTracker;
+import com.clsk.media.adpopcorn.ads.VideoAdReadiness;
 import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
@@ -30,6 +33,7 @@ public class RNAdPopcornSSPModule extends ReactContextBaseJavaModule {
         AdPopcornSSP.init((Context) context, appKey, new SdkInitListener() {
             @Override
             public void onInitializationFinished() {
+                VideoAdReadiness.onSdkInitialized();
                 (getReactApplicationContext())
                         .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
                         .emit("OnAdPopcornSSPSDKDidInitialize", null);
@@ -43,4 +47,18 @@ public class RNAdPopcornSSPModule extends ReactContextBaseJavaModule {
         ReactApplicationContext context = getReactApplicationContext();
         AdPopcornSSP.setUserId(context, userId);
     }
-}
\ No newline at end of file
+
+    /**
+     * 화면 밖/백그라운드 배너를 멈춰서 아낀 새로고침.
+     * resolve 값: { pauses, pausedSeconds, avoidedRequests }
+     */
+    @ReactMethod
+    public void getBannerRefreshStats(Promise promise) {
+        long[] stats = BannerVisibilityTracker.getStats();
+        WritableMap result = Arguments.createMap();
+        result.putInt("pauses", (int) stats[0]);
+        result.putDouble("pausedSeconds", stats[1] / 1000.0);
+        result.putDouble("avoidedRequests", stats[2]);
+        promise.resolve(result);
+    }
+}
@@ -0,0 +1,129 @@
+package com.clsk.media.adpopcorn.ads;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.igaworks.ssp.SSPErrorCode;
+import com.igaworks.ssp.part.banner.AdPopcornSSPBannerAd;
+import com.igaworks.ssp.part.banner.listener.IBannerEventCallbackListener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 화면에서 빠진 배너(AdPopcornSSPBannerAd)를 placementId + adSize 별로 잠시 맡아 두는 풀.
+ * 목록 안 배너가 스크롤로 내려갔다 다시 올라올 때 새 광고를 요청하지 않고 받아 둔 배너를 다시 붙인다.
+ * 전체 MAX_POOLED 개까지, MAX_IDLE_MS 동안만 두고 MainApplication 의 onTrimMemory/onLowMemory 에서 비운다.
+ * 뷰 생성/해제와 같은 메인 스레드에서만 쓴다.
+ */
+public final class BannerAdPool {
+
+    private static final String TAG = "AdPopcornSSP";
+    private static final int MAX_POOLED = 4;
+    private static final long MAX_IDLE_MS = 5 * 60 * 1000L;
+
+    /** 풀에 있는 동안 콜백을 받을 뷰가 없으므로 이벤트를 버린다 */
+    private static final IBannerEventCallbackListener DETACHED_LISTENER = new IBannerEventCallbackListener() {
+        @Override
+        public void OnBannerAdReceiveSuccess() {
+        }
+
+        @Override
+        public void OnBannerAdReceiveFailed(SSPErrorCode sspErrorCode) {
+        }
+
+        @Override
+        public void OnBannerAdClicked() {
+        }
+    };
+
+    private static final class Entry {
+        final String key;
+        final AdPopcornSSPBannerAd banner;
+        final long releasedAt;
+
+        Entry(String key, AdPopcornSSPBannerAd banner) {
+            this.key = key;
+            this.banner = banner;
+            this.releasedAt = SystemClock.elapsedRealtime();
+        }
+    }
+
+    /** 오래된 것이 앞 */
+    private static final List<Entry> entries = new ArrayList<>();
+
+    private BannerAdPool() {
+    }
+
+    static String key(String appKey, String placementId, String adSize) {
+        return appKey + "/" + placementId + "/" + adSize;
+    }
+
+    /**
+     * 같은 지면·크기로 받아 둔 배너를 꺼낸다. 없으면 null.
+     * 배너는 만들 때의 context 에 묶여 있으므로 같은 context(같은 화면 루트)에서 만든 것만 돌려준다.
+     */
+    static AdPopcornSSPBannerAd acquire(String key, Context context) {
+        evictIdle();
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            Entry entry = entries.get(i);
+            if (entry.key.equals(key) && entry.banner.getContext() == context) {
+                entries.remove(i);
+                Log.d(TAG, "banner reuse : " + key + " (pooled " + entries.size() + ")");
+                return entry.banner;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 뷰에서 떼어 낸 배너를 맡긴다. 광고를 받은 적 없는 배너는 맡기지 말고 stopAd 로 정리해야 한다.
+     */
+    static void release(String key, AdPopcornSSPBannerAd banner) {
+        banner.setBannerEventCallbackListener(DETACHED_LISTENER);
+        banner.onPause();
+        entries.add(new Entry(key, banner));
+        while (entries.size() > MAX_POOLED) {
+            discard(entries.remove(0));
+        }
+        Log.d(TAG, "banner pooled : " + key + " (pooled " + entries.size() + ")");
+    }
+
+    private static void evictIdle() {
+        long now = SystemClock.elapsedRealtime();
+        for (Iterator<Entry> it = entries.iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (now - entry.releasedAt > MAX_IDLE_MS) {
+                it.remove();
+                discard(entry);
+            }
+        }
+    }
+
+    private static void discard(Entry entry) {
+        try {
+            entry.banner.stopAd();
+        } catch (Exception e) {
+            Log.w(TAG, "banner stopAd failed : " + entry.key, e);
+        }
+    }
+
+    public static void clear() {
+        for (Entry entry : entries) {
+            discard(entry);
+        }
+        entries.clear();
+    }
+
+    public static void onTrimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            Log.d(TAG, "banner pool cleared (trim " + level + ", " + entries.size() + ")");
+            clear();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.clsk.media.adpopcorn.ads;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import com.facebook.react.bridge.LifecycleEventListener;
+import com.facebook.react.bridge.ReactContext;
+
+/**
+ * 배너가 화면에 보이는 동안만 SDK 의 자동 새로고침을 돌린다.
+ * 스크롤/레이아웃이 바뀔 때마다(프레임당 한 번으로 모아서) 화면에 보이는 면적 비율을 재고,
+ * MIN_VISIBLE_FRACTION 미만이거나 앱이 백그라운드(onHostPause)면 onPause, 다시 보이면 onResume 을 부른다.
+ * JS 가 onPause 명령을 보냈으면 onResume 명령이 올 때까지 멈춘 채로 둔다.
+ * 멈춰 있던 시간을 새로고침 간격으로 나눠 아낀 요청 수를 모은다 (getStats).
+ */
+public final class BannerVisibilityTracker implements ViewTreeObserver.OnScrollChangedListener,
+        ViewTreeObserver.OnGlobalLayoutListener, LifecycleEventListener {
+
+    private static final String TAG = "AdPopcornSSP";
+    static final float MIN_VISIBLE_FRACTION = 0.5f;
+    /** setRefreshTime 을 주지 않았을 때 SDK 기본 새로고침 간격 */
+    private static final int DEFAULT_REFRESH_SECONDS = 60;
+
+    interface Target {
+        void pauseAd();
+
+        void resumeAd();
+    }
+
+    private static long totalPausedMs;
+    private static long avoidedRequests;
+    private static int pauseCount;
+
+    private final View view;
+    private final Target target;
+    private final Rect rect = new Rect();
+    private ViewTreeObserver observer;
+    private boolean attached;
+    private boolean hostResumed = true;
+    private boolean manuallyPaused;
+    private boolean paused;
+    private long pausedAt;
+    private int refreshSeconds = DEFAULT_REFRESH_SECONDS;
+    private boolean checkPosted;
+
+    private final Runnable check = () -> {
+        checkPosted = false;
+        update(false);
+    };
+
+    BannerVisibilityTracker(View view, Target target) {
+        this.view = view;
+        this.target = target;
+    }
+
+    void setRefreshSeconds(int refreshSeconds) {
+        this.refreshSeconds = refreshSeconds > 0 ? refreshSeconds : DEFAULT_REFRESH_SECONDS;
+    }
+
+    void setManuallyPaused(boolean manuallyPaused) {
+        this.manuallyPaused = manuallyPaused;
+        update(false);
+    }
+
+    void attach() {
+        if (attached) {
+            return;
+        }
+        attached = true;
+        observer = view.getViewTreeObserver();
+        observer.addOnScrollChangedListener(this);
+        observer.addOnGlobalLayoutListener(this);
+        Context context = view.getContext();
+        if (context instanceof ReactContext) {
+            ((ReactContext) context).addLifecycleEventListener(this);
+        }
+        requestCheck();
+    }
+
+    void detach() {
+        if (!attached) {
+            return;
+        }
+        attached = false;
+        ViewTreeObserver current = observer != null && observer.isAlive() ? observer : view.getViewTreeObserver();
+        current.removeOnScrollChangedListener(this);
+        current.removeOnGlobalLayoutListener(this);
+        observer = null;
+        Context context = view.getContext();
+        if (context instanceof ReactContext) {
+            ((ReactContext) context).removeLifecycleEventListener(this);
+        }
+        view.removeCallbacks(check);
+        checkPosted = false;
+        update(false);
+    }
+
+    /**
+     * 배너 객체가 바뀌었을 때(풀에서 꺼냄 등) 지금 상태를 새 배너에 다시 적용한다.
+     */
+    void reapply() {
+        update(true);
+    }
+
+    /** 스크롤 이벤트는 한 프레임에 여러 번 오므로 다음 프레임에 한 번만 잰다 */
+    void requestCheck() {
+        if (!checkPosted && attached) {
+            checkPosted = true;
+            view.post(check);
+        }
+    }
+
+    @Override
+    public void onScrollChanged() {
+        requestCheck();
+    }
+
+    @Override
+    public void onGlobalLayout() {
+        requestCheck();
+    }
+
+    @Override
+    public void onHostResume() {
+        hostResumed = true;
+        requestCheck();
+    }
+
+    @Override
+    public void onHostPause() {
+        hostResumed = false;
+        update(false);
+    }
+
+    @Override
+    public void onHostDestroy() {
+        hostResumed = false;
+        update(false);
+    }
+
+    private float visibleFraction() {
+        int width = view.getWidth();
+        int height = view.getHeight();
+        if (width <= 0 || height <= 0 || !view.isShown() || !view.getGlobalVisibleRect(rect)) {
+            return 0f;
+        }
+        return (float) rect.width() * rect.height() / ((float) width * height);
+    }
+
+    private void update(boolean force) {
+        boolean visible = attached && hostResumed && !manuallyPaused
+                && visibleFraction() >= MIN_VISIBLE_FRACTION;
+        if (!force && visible == !paused) {
+            return;
+        }
+        if (visible) {
+            if (paused) {
+                record(SystemClock.elapsedRealtime() - pausedAt);
+            }
+            paused = false;
+            target.resumeAd();
+        } else {
+            if (!paused) {
+                paused = true;
+                pausedAt = SystemClock.elapsedRealtime();
+            }
+            target.pauseAd();
+        }
+    }
+
+    private void record(long pausedMs) {
+        long avoided = pausedMs / (refreshSeconds * 1000L);
+        synchronized (BannerVisibilityTracker.class) {
+            pauseCount++;
+            totalPausedMs += pausedMs;
+            avoidedRequests += avoided;
+        }
+        Log.d(TAG, "banner resumed after " + pausedMs + "ms, avoided " + avoided + " refresh");
+    }
+
+    /**
+     * @return [멈춘 횟수, 멈춘 시간 ms, 아낀 새로고침 요청 수] (지금 멈춰 있는 배너는 다시 보일 때 더한다)
+     */
+    public static synchronized long[] getStats() {
+        return new long[]{pauseCount, totalPausedMs, avoidedRequests};
+    }
+}
@@ -0,0 +1,411 @@
+package com.clsk.media.adpopcorn.ads;
+
+import android.app.Activity;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+import com.igaworks.ssp.SSPErrorCode;
+import com.igaworks.ssp.part.interstitial.AdPopcornSSPInterstitialAd;
+import com.igaworks.ssp.part.interstitial.listener.IInterstitialEventCallbackListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 지면(placementId) 하나의 전면 광고 미리 받기 풀.
+ * 받아 둔 광고를 size 개까지 유지하고 ttl 이 지나면 버리고 다시 받는다.
+ * 받기에 실패하면 5초, 10초, 20초 ... 최대 5분 간격으로 다시 시도하고, 보여준 뒤에는 바로 빈자리를 채운다.
+ * 모든 메서드는 메인 스레드에서 불러야 한다 (SDK 콜백도 메인 스레드로 온다).
+ */
+class InterstitialAdPool {
+
+    private static final String TAG = "AdPopcornSSP";
+    static final int DEFAULT_SIZE = 1;
+    static final int MAX_SIZE = 3;
+    static final long DEFAULT_TTL_MS = 30 * 60 * 1000L;
+    private static final long BACKOFF_BASE_MS = 5 * 1000L;
+    private static final long BACKOFF_MAX_MS = 5 * 60 * 1000L;
+
+    interface EventSink {
+        void send(String eventName, WritableMap event);
+    }
+
+    interface ActivityProvider {
+        Activity get();
+    }
+
+    private static final class Slot {
+        final AdPopcornSSPInterstitialAd ad;
+        /** 받은 시각 (elapsedRealtime), 받는 중이면 0 */
+        long loadedAt;
+        Waiter waiter;
+
+        Slot(AdPopcornSSPInterstitialAd ad) {
+            this.ad = ad;
+        }
+    }
+
+    private final class Waiter implements Runnable {
+        final Promise promise;
+        /** 이때까지 못 보여주면 false 로 끝낸다 (elapsedRealtime) */
+        final long deadline;
+        boolean done;
+
+        Waiter(Promise promise, long timeoutMs) {
+            this.promise = promise;
+            this.deadline = SystemClock.elapsedRealtime() + Math.max(0, timeoutMs);
+        }
+
+        /** 남은 시간 뒤에 시간 초과를 건다 */
+        void arm() {
+            handler.removeCallbacks(this);
+            handler.postDelayed(this, Math.max(0, deadline - SystemClock.elapsedRealtime()));
+        }
+
+        /** 시간 초과 */
+        @Override
+        public void run() {
+            if (showing != null && showing.waiter == this) {
+                // 이미 showAd 를 불렀으면 열림/실패 콜백에서 끝낸다 (실패하면 retry 가 남은 시간을 본다)
+                return;
+            }
+            waiters.remove(this);
+            finish(false);
+        }
+
+        /** 보여주기에 실패한 뒤 남은 시간이 있으면 맨 앞에서 다시 기다린다 */
+        void retry() {
+            if (done) {
+                return;
+            }
+            if (promise == null || SystemClock.elapsedRealtime() >= deadline) {
+                finish(false);
+                return;
+            }
+            waiters.add(0, this);
+            arm();
+            serveWaiters();
+        }
+
+        void finish(boolean shown) {
+            if (done) {
+                return;
+            }
+            done = true;
+            handler.removeCallbacks(this);
+            if (promise != null) {
+                promise.resolve(shown);
+            }
+        }
+    }
+
+    final String placementId;
+    final String appKey;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final ActivityProvider activityProvider;
+    private final EventSink events;
+
+    private final List<Slot> slots = new ArrayList<>();
+    private final List<Waiter> waiters = new ArrayList<>();
+    private Slot showing;
+    private HashMap extras;
+    private int size = DEFAULT_SIZE;
+    private long ttlMs = DEFAULT_TTL_MS;
+    /** loadAd 나 showWhenReady 가 한 번이라도 불려서 풀을 채우는 중인지 */
+    private boolean active;
+    private int failures;
+    private long retryAt;
+    private boolean released;
+
+    private final Runnable fillTask = this::fill;
+
+    InterstitialAdPool(String appKey, String placementId, ActivityProvider activityProvider, EventSink events) {
+        this.appKey = appKey;
+        this.placementId = placementId;
+        this.activityProvider = activityProvider;
+        this.events = events;
+    }
+
+    void configure(int size, long ttlMs) {
+        this.size = Math.max(1, Math.min(size, MAX_SIZE));
+        this.ttlMs = ttlMs > 0 ? ttlMs : DEFAULT_TTL_MS;
+        if (active) {
+            fill();
+        }
+    }
+
+    void setExtras(HashMap extras) {
+        this.extras = extras;
+        for (Slot slot : slots) {
+            slot.ad.setCustomExtras(extras);
+        }
+    }
+
+    /** 풀 채우기를 시작한다 (예전 loadAd) */
+    void start() {
+        active = true;
+        fill();
+    }
+
+    int readyCount() {
+        int count = 0;
+        long now = SystemClock.elapsedRealtime();
+        for (Slot slot : slots) {
+            if (isReady(slot, now)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    int getFailures() {
+        return failures;
+    }
+
+    boolean isShowing() {
+        return showing != null;
+    }
+
+    private boolean isReady(Slot slot, long now) {
+        return slot.loadedAt > 0 && now - slot.loadedAt < ttlMs;
+    }
+
+    /**
+     * 만료된 광고를 버리고, 받는 중인 광고가 없으면 빈자리 하나를 받기 시작한다.
+     * 한 번에 하나씩만 받아서 실패할 때 요청이 몰리지 않게 한다.
+     */
+    private void fill() {
+        handler.removeCallbacks(fillTask);
+        if (released || !active) {
+            return;
+        }
+        long now = SystemClock.elapsedRealtime();
+        boolean loading = false;
+        long nextExpiry = Long.MAX_VALUE;
+        for (Iterator<Slot> it = slots.iterator(); it.hasNext(); ) {
+            Slot slot = it.next();
+            if (slot.loadedAt == 0) {
+                loading = true;
+            } else if (!isReady(slot, now)) {
+                Log.d(TAG, "interstitialAd expired : " + placementId);
+                it.remove();
+            } else {
+                nextExpiry = Math.min(nextExpiry, slot.loadedAt + ttlMs);
+            }
+        }
+
+        if (!loading && slots.size() < size) {
+            if (now < retryAt) {
+                handler.postDelayed(fillTask, retryAt - now);
+                return;
+            }
+            Activity activity = activityProvider.get();
+            if (activity == null) {
+                onLoadFailed(null, -1, "no activity");
+                return;
+            }
+            AdPopcornSSPInterstitialAd ad = new AdPopcornSSPInterstitialAd(activity);
+            if (appKey != null) {
+                ad.setPlacementAppKey(appKey);
+            }
+            ad.setPlacementId(placementId);
+            if (extras != null) {
+                ad.setCustomExtras(extras);
+            }
+            Slot slot = new Slot(ad);
+            ad.setInterstitialEventCallbackListener(new SlotListener(slot));
+            slots.add(slot);
+            Log.d(TAG, "interstitialAd loadAd : " + placementId + " (" + slots.size() + "/" + size + ")");
+            ad.loadAd();
+        } else if (nextExpiry != Long.MAX_VALUE) {
+            handler.postDelayed(fillTask, nextExpiry - now);
+        }
+    }
+
+    /**
+     * 받아 둔 광고가 있으면 바로, 없으면 받을 때까지 timeoutMs 동안 기다렸다가 보여준다.
+     * promise 는 광고가 열리면 true, 시간 안에 못 보여주면 false 로 끝난다. 다른 광고가 떠 있으면 바로 false.
+     */
+    void showWhenReady(long timeoutMs, Promise promise) {
+        Waiter waiter = new Waiter(promise, timeoutMs);
+        if (showing != null) {
+            waiter.finish(false);
+            return;
+        }
+        active = true;
+        waiters.add(waiter);
+        // 바로 보여주더라도 열기에 실패하면 다시 기다리므로 시간 초과는 항상 건다
+        waiter.arm();
+        if (!serveWaiters()) {
+            if (timeoutMs <= 0) {
+                waiters.remove(waiter);
+                waiter.finish(false);
+            }
+            fill();
+        }
+    }
+
+    /**
+     * 예전 showAd. 받아 둔 광고가 없으면 OnInterstitialOpenFailed 를 보내고 받기를 시작한다.
+     */
+    void showNow() {
+        active = true;
+        if (showing == null && takeReady() != null) {
+            waiters.add(new Waiter(null, 0));
+            serveWaiters();
+            return;
+        }
+        WritableMap event = Arguments.createMap();
+        event.putInt("errorCode", -1);
+        event.putString("errorMessage", showing != null ? "already showing" : "not ready");
+        event.putString("placementId", placementId);
+        events.send(RNAdPopcornInterstitialAdModule.EVENT_INTERSTITIAL_OPEN_FAILED, event);
+        fill();
+    }
+
+    /** 가장 먼저 만료될 준비된 광고 */
+    private Slot takeReady() {
+        long now = SystemClock.elapsedRealtime();
+        Slot oldest = null;
+        for (Slot slot : slots) {
+            if (isReady(slot, now) && (oldest == null || slot.loadedAt < oldest.loadedAt)) {
+                oldest = slot;
+            }
+        }
+        return oldest;
+    }
+
+    /** @return 광고 하나를 보여주기 시작했으면 true */
+    private boolean serveWaiters() {
+        if (showing != null || waiters.isEmpty()) {
+            return showing != null;
+        }
+        Slot slot = takeReady();
+        if (slot == null) {
+            return false;
+        }
+        Waiter waiter = waiters.remove(0);
+        slots.remove(slot);
+        slot.waiter = waiter;
+        showing = slot;
+        Log.d(TAG, "interstitialAd showAd : " + placementId);
+        slot.ad.showAd();
+        return true;
+    }
+
+    private void onLoadFailed(Slot slot, int errorCode, String errorMessage) {
+        if (slot != null) {
+            slots.remove(slot);
+        }
+        failures++;
+        long delay = Math.min(BACKOFF_BASE_MS << Math.min(failures - 1, 16), BACKOFF_MAX_MS);
+        retryAt = SystemClock.elapsedRealtime() + delay;
+        Log.d(TAG, "OnInterstitialReceiveFailed : " + placementId + ", retry in " + delay + "ms");
+
+        WritableMap event = Arguments.createMap();
+        event.putInt("errorCode", errorCode);
+        event.putString("errorMessage", errorMessage);
+        event.putString("placementId", placementId);
+        event.putDouble("retryInMs", delay);
+        events.send(RNAdPopcornInterstitialAdModule.EVENT_INTERSTITIAL_LOAD_FAILED, event);
+        fill();
+    }
+
+    /** 대기 중인 요청을 모두 false 로 끝내고 예약한 작업을 지운다 */
+    void release() {
+        released = true;
+        handler.removeCallbacksAndMessages(null);
+        for (Waiter waiter : waiters) {
+            waiter.finish(false);
+        }
+        waiters.clear();
+        slots.clear();
+    }
+
+    private final class SlotListener implements IInterstitialEventCallbackListener {
+        private final Slot slot;
+
+        SlotListener(Slot slot) {
+            this.slot = slot;
+        }
+
+        private WritableMap event() {
+            WritableMap event = Arguments.createMap();
+            event.putString("placementId", placementId);
+            return event;
+        }
+
+        @Override
+        public void OnInterstitialLoaded() {
+            Log.d(TAG, "OnInterstitialLoaded : " + placementId);
+            if (released || !slots.contains(slot)) {
+                return;
+            }
+            slot.loadedAt = SystemClock.elapsedRealtime();
+            failures = 0;
+            retryAt = 0;
+            events.send(RNAdPopcornInterstitialAdModule.EVENT_INTERSTITIAL_LOAD_SUCCESS, event());
+            serveWaiters();
+            fill();
+        }
+
+        @Override
+        public void OnInterstitialReceiveFailed(SSPErrorCode sspErrorCode) {
+            if (released || !slots.contains(slot)) {
+                return;
+            }
+            onLoadFailed(slot, sspErrorCode.getErrorCode(), sspErrorCode.getErrorMessage());
+        }
+
+        @Override
+        public void OnInterstitialOpened() {
+            Log.d(TAG, "OnInterstitialOpened : " + placementId);
+            if (slot.waiter != null) {
+                slot.waiter.finish(true);
+            }
+            events.send(RNAdPopcornInterstitialAdModule.EVENT_INTERSTITIAL_OPENED, event());
+            // 광고가 떠 있는 동안 다음 광고를 받아 둔다
+            fill();
+        }
+
+        @Override
+        public void OnInterstitialOpenFailed(SSPErrorCode sspErrorCode) {
+            Log.d(TAG, "OnInterstitialOpenFailed : " + placementId);
+            if (showing == slot) {
+                showing = null;
+            }
+            WritableMap event = event();
+            event.putInt("errorCode", sspErrorCode.getErrorCode());
+            event.putString("errorMessage", sspErrorCode.getErrorMessage());
+            events.send(RNAdPopcornInterstitialAdModule.EVENT_INTERSTITIAL_OPEN_FAILED, event);
+
+            // 남은 시간 동안 다른 광고로 다시 시도한다
+            if (slot.waiter != null) {
+                slot.waiter.retry();
+            }
+            fill();
+        }
+
+        @Override
+        public void OnInterstitialClosed(int closeEventType) {
+            Log.d(TAG, "OnInterstitialClosed : " + placementId);
+            if (showing == slot) {
+                showing = null;
+            }
+            events.send(RNAdPopcornInterstitialAdModule.EVENT_INTERSTITIAL_CLOSED, event());
+        }
+
+        @Override
+        public void OnInterstitialClicked() {
+            Log.d(TAG, "OnInterstitialClicked : " + placementId);
+            events.send(RNAdPopcornInterstitialAdModule.EVENT_INTERSTITIAL_CLICKED, event());
+        }
+    }
+}
@@ -31,30 +31,49 @@ import static com.clsk.media.adpopcorn.ads.RNAdPopcornBannerViewManager.EVENT_BA
 import static com.clsk.media.adpopcorn.ads.RNAdPopcornBannerViewManager.EVENT_BANNER_LOAD_FAILED;
 import static com.clsk.media.adpopcorn.ads.RNAdPopcornBannerViewManager.EVENT_BANNER_LOAD_SUCCESS;
 
-public class RNAdPopcornBannerView extends ReactViewGroup implements IBannerEventCallbackListener {
+public class RNAdPopcornBannerView extends ReactViewGroup implements IBannerEventCallbackListener, BannerVisibilityTracker.Target {
 
     private AdPopcornSSPBannerAd adPopcornSSPBannerAd;
+    /** 지금 붙어 있는 배너의 BannerAdPool 키 */
+    private String bannerKey;
+    /** 붙어 있는 배너가 광고를 한 번이라도 받았는지. 받은 배너만 풀에 맡긴다 */
+    private boolean loaded;
     private String mAdSize;
     private String appKey;
     private String placementId;
+    private Integer refreshTime;
+    private Integer networkScheduleTimeout;
+    private Boolean autoBgColor;
+    private BannerAnimType bannerAnimType;
     private int bannerWidth = 0;
     private int bannerHeight = 0;
     private boolean checkLayout = true;
+    private final BannerVisibilityTracker visibilityTracker = new BannerVisibilityTracker(this, this);
 
     public RNAdPopcornBannerView(Context context) {
         super(context);
-        initBannerView();
     }
 
-    private void initBannerView() {
-        adPopcornSSPBannerAd = new AdPopcornSSPBannerAd(getContext());
-        adPopcornSSPBannerAd.setBannerEventCallbackListener(this);
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        visibilityTracker.attach();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        visibilityTracker.detach();
+        super.onDetachedFromWindow();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        visibilityTracker.requestCheck();
     }
 
     public void setAppKey(String appKey) {
         this.appKey = appKey;
-        if(adPopcornSSPBannerAd != null)
-            adPopcornSSPBannerAd.setPlacementAppKey(appKey);
         internalLoadAd();
     }
 
@@ -69,73 +88,143 @@ public class RNAdPopcornBannerView extends ReactViewGroup implements IBannerEven
     }
 
     public void setRefreshTime(int refreshTime) {
+        this.refreshTime = refreshTime;
+        visibilityTracker.setRefreshSeconds(refreshTime);
         if(adPopcornSSPBannerAd != null)
             adPopcornSSPBannerAd.setRefreshTime(refreshTime);
     }
 
     public void setNetworkScheduleTimeout(int timeout){
+        this.networkScheduleTimeout = timeout;
         if(adPopcornSSPBannerAd != null)
             adPopcornSSPBannerAd.setNetworkScheduleTimeout(timeout);
     }
 
     public void setAutoBgColor(boolean flag){
+        this.autoBgColor = flag;
         if(adPopcornSSPBannerAd != null)
             adPopcornSSPBannerAd.setAutoBgColor(flag);
     }
 
     public void setBannerAnimType(String type){
         try {
-            if (adPopcornSSPBannerAd != null && type != null) {
+            if (type != null) {
                 if (type.contentEquals("FADE_IN"))
-                    adPopcornSSPBannerAd.setBannerAnimType(BannerAnimType.FADE_IN);
+                    bannerAnimType = BannerAnimType.FADE_IN;
                 else if (type.contentEquals("SLIDE_LEFT"))
-                    adPopcornSSPBannerAd.setBannerAnimType(BannerAnimType.SLIDE_LEFT);
+                    bannerAnimType = BannerAnimType.SLIDE_LEFT;
                 else if (type.contentEquals("SLIDE_RIGHT"))
-                    adPopcornSSPBannerAd.setBannerAnimType(BannerAnimType.SLIDE_RIGHT);
+                    bannerAnimType = BannerAnimType.SLIDE_RIGHT;
                 else if (type.contentEquals("TOP_SLIDE"))
-                    adPopcornSSPBannerAd.setBannerAnimType(BannerAnimType.TOP_SLIDE);
+                    bannerAnimType = BannerAnimType.TOP_SLIDE;
                 else if (type.contentEquals("BOTTOM_SLIDE"))
-                    adPopcornSSPBannerAd.setBannerAnimType(BannerAnimType.BOTTOM_SLIDE);
+                    bannerAnimType = BannerAnimType.BOTTOM_SLIDE;
                 else if (type.contentEquals("CIRCLE"))
-                    adPopcornSSPBannerAd.setBannerAnimType(BannerAnimType.CIRCLE);
+                    bannerAnimType = BannerAnimType.CIRCLE;
                 else
-                    adPopcornSSPBannerAd.setBannerAnimType(BannerAnimType.NONE);
+                    bannerAnimType = BannerAnimType.NONE;
+                if (adPopcornSSPBannerAd != null)
+                    adPopcornSSPBannerAd.setBannerAnimType(bannerAnimType);
             }
         }catch (Exception e){}
     }
 
+    /** 풀에서 꺼낸 배너는 다른 뷰의 설정을 갖고 있으므로 이 뷰의 설정을 다시 넣는다 */
+    private void applySettings(AdPopcornSSPBannerAd bannerAd) {
+        bannerAd.setPlacementAppKey(appKey);
+        bannerAd.setPlacementId(placementId);
+        if (refreshTime != null)
+            bannerAd.setRefreshTime(refreshTime);
+        if (networkScheduleTimeout != null)
+            bannerAd.setNetworkScheduleTimeout(networkScheduleTimeout);
+        if (autoBgColor != null)
+            bannerAd.setAutoBgColor(autoBgColor);
+        if (bannerAnimType != null)
+            bannerAd.setBannerAnimType(bannerAnimType);
+    }
+
     private void internalLoadAd() {
         try {
-            if (adPopcornSSPBannerAd == null || appKey == null || mAdSize == null || placementId == null) {
+            if (appKey == null || mAdSize == null || placementId == null) {
                 return;
             }
-
-            adPopcornSSPBannerAd.setPlacementId(placementId);
-            if (mAdSize != null) {
-                if (mAdSize.contentEquals("320x50")) {
-                    adPopcornSSPBannerAd.setAdSize(AdSize.BANNER_320x50);
-                    bannerWidth = DpToPxInt(getContext(), 320);
-                    bannerHeight = DpToPxInt(getContext(), 50);
-                } else if (mAdSize.contentEquals("300x250")) {
-                    adPopcornSSPBannerAd.setAdSize(AdSize.BANNER_300x250);
-                    bannerWidth = DpToPxInt(getContext(), 300);
-                    bannerHeight = DpToPxInt(getContext(), 250);
-                } else if (mAdSize.contentEquals("320x100")) {
-                    adPopcornSSPBannerAd.setAdSize(AdSize.BANNER_320x100);
-                    bannerWidth = DpToPxInt(getContext(), 320);
-                    bannerHeight = DpToPxInt(getContext(), 100);
-                } else if (mAdSize.contentEquals("AdaptiveSize")) {
-                    adPopcornSSPBannerAd.setAdSize(AdSize.BANNER_ADAPTIVE_SIZE);
-                    bannerWidth = DpToPxInt(getContext(), 360);
-                    bannerHeight = DpToPxInt(getContext(), 185);
+            String key = BannerAdPool.key(appKey, placementId, mAdSize);
+            if (adPopcornSSPBannerAd != null) {
+                if (key.equals(bannerKey)) {
+                    return;
                 }
+                // 지면이나 크기가 바뀌면 지금 배너는 풀에 돌려주고 새 키로 다시 구한다
+                recycle();
+            }
+
+            AdSize adSize = null;
+            if (mAdSize.contentEquals("320x50")) {
+                adSize = AdSize.BANNER_320x50;
+                bannerWidth = DpToPxInt(getContext(), 320);
+                bannerHeight = DpToPxInt(getContext(), 50);
+            } else if (mAdSize.contentEquals("300x250")) {
+                adSize = AdSize.BANNER_300x250;
+                bannerWidth = DpToPxInt(getContext(), 300);
+                bannerHeight = DpToPxInt(getContext(), 250);
+            } else if (mAdSize.contentEquals("320x100")) {
+                adSize = AdSize.BANNER_320x100;
+                bannerWidth = DpToPxInt(getContext(), 320);
+                bannerHeight = DpToPxInt(getContext(), 100);
+            } else if (mAdSize.contentEquals("AdaptiveSize")) {
+                adSize = AdSize.BANNER_ADAPTIVE_SIZE;
+                bannerWidth = DpToPxInt(getContext(), 360);
+                bannerHeight = DpToPxInt(getContext(), 185);
             }
+
+            bannerKey = key;
+            AdPopcornSSPBannerAd pooled = BannerAdPool.acquire(key, getContext());
+            if (pooled != null) {
+                adPopcornSSPBannerAd = pooled;
+                loaded = true;
+                applySettings(pooled);
+                pooled.setBannerEventCallbackListener(this);
+                addView(pooled);
+                visibilityTracker.reapply();
+                // 이미 받은 광고라 요청 없이 바로 배치하고 JS 에 알린다 (뷰 id 가 정해진 뒤에 보내도록 post)
+                post(this::OnBannerAdReceiveSuccess);
+                return;
+            }
+
+            adPopcornSSPBannerAd = new AdPopcornSSPBannerAd(getContext());
+            loaded = false;
+            applySettings(adPopcornSSPBannerAd);
+            adPopcornSSPBannerAd.setBannerEventCallbackListener(this);
+            if (adSize != null)
+                adPopcornSSPBannerAd.setAdSize(adSize);
             if (adPopcornSSPBannerAd.getParent() == null)
                 addView(adPopcornSSPBannerAd);
             adPopcornSSPBannerAd.loadAd();
+            visibilityTracker.reapply();
         }catch (Exception e){}
     }
 
+    /**
+     * 뷰가 내려갈 때(onDropViewInstance) 배너를 떼어 낸다. 광고를 받은 배너는 BannerAdPool 에 맡기고 아니면 멈춘다.
+     */
+    public void recycle() {
+        AdPopcornSSPBannerAd bannerAd = adPopcornSSPBannerAd;
+        if (bannerAd == null) {
+            return;
+        }
+        adPopcornSSPBannerAd = null;
+        try {
+            removeView(bannerAd);
+            if (loaded) {
+                BannerAdPool.release(bannerKey, bannerAd);
+            } else {
+                bannerAd.stopAd();
+            }
+        } catch (Exception e) {}
+        loaded = false;
+        bannerKey = null;
+        checkLayout = true;
+    }
+
     public void loadAd() {
         try {
             if (mAdSize == null || placementId == null) {
@@ -151,16 +240,29 @@ public class RNAdPopcornBannerView extends ReactViewGroup implements IBannerEven
             adPopcornSSPBannerAd.stopAd();
     }
 
+    /**
+     * JS 명령. 화면에 보이는지와 관계없이 onResume 명령이 올 때까지 멈춘다.
+     */
     public void onResume(){
-        if(adPopcornSSPBannerAd != null)
-            adPopcornSSPBannerAd.onResume();
+        visibilityTracker.setManuallyPaused(false);
     }
 
     public void onPause(){
+        visibilityTracker.setManuallyPaused(true);
+    }
+
+    @Override
+    public void pauseAd() {
         if(adPopcornSSPBannerAd != null)
             adPopcornSSPBannerAd.onPause();
     }
 
+    @Override
+    public void resumeAd() {
+        if(adPopcornSSPBannerAd != null)
+            adPopcornSSPBannerAd.onResume();
+    }
+
     private void sendEvent(String eventName, @Nullable WritableMap params) {
         /*((ThemedReactContext) getContext())
                 //.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
@@ -173,6 +275,10 @@ public class RNAdPopcornBannerView extends ReactViewGroup implements IBannerEven
     @Override
     public void OnBannerAdReceiveSuccess() {
         Log.d("AdPopcornSSP", "OnBannerAdReceiveSuccess bannerWidth : " + bannerWidth + ", bannerHeight : " + bannerHeight);
+        if (adPopcornSSPBannerAd == null) {
+            return;
+        }
+        loaded = true;
         try {
             adPopcornSSPBannerAd.measure(
                     View.MeasureSpec.makeMeasureSpec(bannerWidth, View.MeasureSpec.EXACTLY),
@@ -38,6 +38,15 @@ public class RNAdPopcornBannerViewManager extends SimpleViewManager<RNAdPopcornB
         return new RNAdPopcornBannerView(themedReactContext);
     }
 
+    /**
+     * 목록 스크롤로 배너가 내려가면 받아 둔 광고를 BannerAdPool 에 맡겨 다음 마운트에서 다시 쓴다.
+     */
+    @Override
+    public void onDropViewInstance(@NonNull RNAdPopcornBannerView bannerView) {
+        bannerView.recycle();
+        super.onDropViewInstance(bannerView);
+    }
+
     @Override
     @Nullable
     public Map<String, Object> getExportedCustomDirectEventTypeConstants() {
@@ -6,17 +6,18 @@ import android.util.Log;
 import androidx.annotation.Nullable;
 
 import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
-import com.igaworks.ssp.SSPErrorCode;
 import com.igaworks.ssp.part.interstitial.AdPopcornSSPInterstitialAd;
-import com.igaworks.ssp.part.interstitial.listener.IInterstitialEventCallbackListener;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 public class RNAdPopcornInterstitialAdModule extends ReactContextBaseJavaModule{
     public static final String EVENT_INTERSTITIAL_LOAD_SUCCESS = "OnInterstitialLoaded";
@@ -30,127 +31,134 @@ public class RNAdPopcornInterstitialAdModule extends ReactContextBaseJavaModule{
         super(context);
     }
 
-    private Map<String, AdPopcornSSPInterstitialAd> adMap = new HashMap<>();
+    /** placementId → 미리 받기 풀. 메인 스레드에서만 만진다 */
+    private final Map<String, InterstitialAdPool> adMap = new HashMap<>();
     @Override
     public String getName(){
         return "RNAdPopcornInterstitialAdModule";
     }
 
+    private InterstitialAdPool pool(String placementId) {
+        InterstitialAdPool pool = adMap.get(placementId);
+        if (pool == null) {
+            Log.d("AdPopcornSSP", "interstitialAd not created placementId : " + placementId);
+        }
+        return pool;
+    }
+
+    /**
+     * 같은 appKey 로 이미 만든 지면이면 받아 둔 광고를 그대로 둔다.
+     */
     @ReactMethod
     public void createInstance(String appKey, String placementId) {
-        try {
-            if (adMap == null) {
-                adMap = new HashMap<>();
+        UiThreadUtil.runOnUiThread(() -> {
+            InterstitialAdPool existing = adMap.get(placementId);
+            if (existing != null) {
+                if (Objects.equals(existing.appKey, appKey)) {
+                    Log.d("AdPopcornSSP", "createInstance already exist interstitialAd placementId : " + placementId);
+                    return;
+                }
+                existing.release();
             }
+            Log.d("AdPopcornSSP", "createInstance interstitialAd placementId : " + placementId);
+            adMap.put(placementId, new InterstitialAdPool(appKey, placementId,
+                    this::getCurrentActivity, this::sendEvent));
+        });
+    }
 
-            if (adMap.containsKey(placementId)) {
-                Log.d("AdPopcornSSP", "createInstance already exist interstitialAd placementId : " + placementId);
-                adMap.remove(placementId);
-            } else {
-                Log.d("AdPopcornSSP", "createInstance interstitialAd placementId : " + placementId);
+    /**
+     * 미리 받아 둘 광고 수(1~3)와 유효 시간. 기본 1개, 30분.
+     */
+    @ReactMethod
+    public void setPreloadConfig(String placementId, int count, double ttlMs) {
+        UiThreadUtil.runOnUiThread(() -> {
+            InterstitialAdPool pool = pool(placementId);
+            if (pool != null) {
+                pool.configure(count, (long) ttlMs);
             }
-            AdPopcornSSPInterstitialAd interstitialAd = new AdPopcornSSPInterstitialAd(getReactApplicationContext().getCurrentActivity());
-            if(appKey != null)
-                interstitialAd.setPlacementAppKey(appKey);
-            interstitialAd.setPlacementId(placementId);
-            adMap.put(placementId, interstitialAd);
-        }catch (Exception e){}
+        });
     }
 
+    /**
+     * 풀 채우기를 시작한다. 이후에는 보여줄 때마다, 만료될 때마다 알아서 다시 받는다.
+     */
     @ReactMethod
     public void loadAd(String placementId) {
         Log.d("AdPopcornSSP", "interstitialAd loadAd : " + placementId);
-        if(adMap == null || !adMap.containsKey(placementId)){
-            return;
-        }
-
-        AdPopcornSSPInterstitialAd interstitialAd = adMap.get(placementId);
-        setListener(interstitialAd, placementId);
-        interstitialAd.loadAd();
+        UiThreadUtil.runOnUiThread(() -> {
+            InterstitialAdPool pool = pool(placementId);
+            if (pool != null) {
+                pool.start();
+            }
+        });
     }
 
     @ReactMethod
     public void showAd(String placementId) {
         Log.d("AdPopcornSSP", "interstitialAd showAd : " + placementId);
-        if(adMap == null || !adMap.containsKey(placementId)){
-            return;
-        }
-        AdPopcornSSPInterstitialAd interstitialAd = adMap.get(placementId);
-        if(interstitialAd != null) {
-            setListener(interstitialAd, placementId);
-            interstitialAd.showAd();
-        }
+        UiThreadUtil.runOnUiThread(() -> {
+            InterstitialAdPool pool = pool(placementId);
+            if (pool != null) {
+                pool.showNow();
+            }
+        });
     }
 
+    /**
+     * 받아 둔 광고가 있으면 바로 보여주고, 없으면 timeoutMs 까지 받기를 기다린다.
+     * resolve 값: 광고가 열렸으면 true, 시간 초과나 다른 광고가 떠 있으면 false
+     */
     @ReactMethod
-    public void setAdPopcornAdBackgroundColor(String placementId, String color) {
-        if(adMap == null || !adMap.containsKey(placementId)){
-            return;
-        }
-        AdPopcornSSPInterstitialAd interstitialAd = adMap.get(placementId);
-        if(interstitialAd != null) {
-            HashMap extras = new HashMap<>();
-            extras.put(AdPopcornSSPInterstitialAd.CustomExtraData.APSSP_AD_BACKGROUND_COLOR, Color.parseColor(color));
-            Log.d("AdPopcornSSP", "interstitialAd setAdPopcornAdBackgroundColor : " + placementId + ", color : " + color);
-            interstitialAd.setCustomExtras(extras);
-        }
-    }
-
-    private void setListener(AdPopcornSSPInterstitialAd interstitialAd, String placementId){
-        interstitialAd.setInterstitialEventCallbackListener(new IInterstitialEventCallbackListener() {
-            @Override
-            public void OnInterstitialLoaded() {
-                Log.d("AdPopcornSSP", "OnInterstitialLoaded : " + placementId);
-                WritableMap event = Arguments.createMap();
-                event.putString("placementId", placementId);
-                sendEvent(EVENT_INTERSTITIAL_LOAD_SUCCESS, event);
-            }
-
-            @Override
-            public void OnInterstitialReceiveFailed(SSPErrorCode sspErrorCode) {
-                Log.d("AdPopcornSSP", "OnInterstitialReceiveFailed : " + placementId);
-                WritableMap event = Arguments.createMap();
-                event.putInt("errorCode", sspErrorCode.getErrorCode());
-                event.putString("errorMessage", sspErrorCode.getErrorMessage());
-                event.putString("placementId", placementId);
-                sendEvent(EVENT_INTERSTITIAL_LOAD_FAILED, event);
-            }
-
-            @Override
-            public void OnInterstitialOpened() {
-                Log.d("AdPopcornSSP", "OnInterstitialOpened : " + placementId);
-                WritableMap event = Arguments.createMap();
-                event.putString("placementId", placementId);
-                sendEvent(EVENT_INTERSTITIAL_OPENED, event);
+    public void showWhenReady(String placementId, double timeoutMs, Promise promise) {
+        UiThreadUtil.runOnUiThread(() -> {
+            InterstitialAdPool pool = pool(placementId);
+            if (pool == null) {
+                promise.reject("INTERSTITIAL_NOT_CREATED", "createInstance 를 먼저 불러야 합니다: " + placementId);
+                return;
             }
+            pool.showWhenReady((long) timeoutMs, promise);
+        });
+    }
 
-            @Override
-            public void OnInterstitialOpenFailed(SSPErrorCode sspErrorCode) {
-                Log.d("AdPopcornSSP", "OnInterstitialOpenFailed : " + placementId);
-                WritableMap event = Arguments.createMap();
-                event.putInt("errorCode", sspErrorCode.getErrorCode());
-                event.putString("errorMessage", sspErrorCode.getErrorMessage());
-                event.putString("placementId", placementId);
-                sendEvent(EVENT_INTERSTITIAL_OPEN_FAILED, event);
-            }
+    /**
+     * resolve 값: { ready, failures, showing }
+     */
+    @ReactMethod
+    public void getPoolState(String placementId, Promise promise) {
+        UiThreadUtil.runOnUiThread(() -> {
+            InterstitialAdPool pool = adMap.get(placementId);
+            WritableMap state = Arguments.createMap();
+            state.putInt("ready", pool != null ? pool.readyCount() : 0);
+            state.putInt("failures", pool != null ? pool.getFailures() : 0);
+            state.putBoolean("showing", pool != null && pool.isShowing());
+            promise.resolve(state);
+        });
+    }
 
-            @Override
-            public void OnInterstitialClosed(int closeEventType) {
-                Log.d("AdPopcornSSP", "OnInterstitialClosed : " + placementId);
-                WritableMap event = Arguments.createMap();
-                event.putString("placementId", placementId);
-                sendEvent(EVENT_INTERSTITIAL_CLOSED, event);
+    @ReactMethod
+    public void setAdPopcornAdBackgroundColor(String placementId, String color) {
+        UiThreadUtil.runOnUiThread(() -> {
+            InterstitialAdPool pool = pool(placementId);
+            if (pool != null) {
+                HashMap extras = new HashMap<>();
+                extras.put(AdPopcornSSPInterstitialAd.CustomExtraData.APSSP_AD_BACKGROUND_COLOR, Color.parseColor(color));
+                Log.d("AdPopcornSSP", "interstitialAd setAdPopcornAdBackgroundColor : " + placementId + ", color : " + color);
+                pool.setExtras(extras);
             }
+        });
+    }
 
-            @Override
-            public void OnInterstitialClicked() {
-                Log.d("AdPopcornSSP", "OnInterstitialClicked : " + placementId);
-                WritableMap event = Arguments.createMap();
-                event.putString("placementId", placementId);
-                sendEvent(EVENT_INTERSTITIAL_CLICKED, event);
+    @Override
+    public void invalidate() {
+        UiThreadUtil.runOnUiThread(() -> {
+            for (InterstitialAdPool pool : adMap.values()) {
+                pool.release();
             }
+            adMap.clear();
         });
+        super.invalidate();
     }
+
     private void sendEvent(String eventName, @Nullable WritableMap params) {
         (getReactApplicationContext())
                 .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
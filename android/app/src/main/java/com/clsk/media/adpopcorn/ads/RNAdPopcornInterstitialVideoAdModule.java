@@ -1,5 +1,6 @@
 package com.clsk.media.adpopcorn.ads;
 
+import android.app.Activity;
 import android.util.Log;
 
 import androidx.annotation.Nullable;
@@ -14,9 +15,6 @@ import com.igaworks.ssp.SSPErrorCode;
 import com.igaworks.ssp.part.video.AdPopcornSSPInterstitialVideoAd;
 import com.igaworks.ssp.part.video.listener.IInterstitialVideoAdEventCallbackListener;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public class RNAdPopcornInterstitialVideoAdModule extends ReactContextBaseJavaModule {
     public static final String EVENT_INTERSTITIAL_VIDEO_LOAD_SUCCESS = "OnInterstitialVideoAdLoaded";
     public static final String EVENT_INTERSTITIAL_VIDEO_LOAD_FAILED = "OnInterstitialVideoAdLoadFailed";
@@ -27,67 +25,88 @@ public class RNAdPopcornInterstitialVideoAdModule extends ReactContextBaseJavaMo
 
     public RNAdPopcornInterstitialVideoAdModule(ReactApplicationContext context) {
         super(context);
+        readiness = VideoAdReadiness.getInstance(context);
+        readiness.registerKind(VideoAdReadiness.KIND_INTERSTITIAL_VIDEO, InterstitialVideoSlot::new);
     }
 
-    private Map<String, AdPopcornSSPInterstitialVideoAd> adMap = new HashMap<>();
+    private final VideoAdReadiness readiness;
+
     @Override
     public String getName(){
         return "RNAdPopcornInterstitialVideoAdModule";
     }
 
-    @ReactMethod
-    public void createInstance(String appKey, String placementId) {
-        try {
-            if (adMap == null) {
-                adMap = new HashMap<>();
-            }
+    private final class InterstitialVideoSlot extends VideoAdReadiness.Slot {
+        InterstitialVideoSlot(String appKey, String placementId) {
+            super(VideoAdReadiness.KIND_INTERSTITIAL_VIDEO, appKey, placementId);
+        }
 
-            if (adMap.containsKey(placementId)) {
-                Log.d("AdPopcornSSP", "createInstance already exist interstitialVideoAd placementId : " + placementId);
-                adMap.remove(placementId);
-            } else {
-                Log.d("AdPopcornSSP", "createInstance interstitialVideoAd placementId : " + placementId);
-            }
-            AdPopcornSSPInterstitialVideoAd interstitialVideoAd = new AdPopcornSSPInterstitialVideoAd(getReactApplicationContext().getCurrentActivity());
+        @Override
+        protected Object create(Activity activity) {
+            AdPopcornSSPInterstitialVideoAd interstitialVideoAd = new AdPopcornSSPInterstitialVideoAd(activity);
             if(appKey != null)
                 interstitialVideoAd.setPlacementAppKey(appKey);
             interstitialVideoAd.setPlacementId(placementId);
-            adMap.put(placementId, interstitialVideoAd);
-        }catch (Exception e){}
+            setListener(interstitialVideoAd, this);
+            return interstitialVideoAd;
+        }
+
+        @Override
+        protected void load(Object ad) {
+            ((AdPopcornSSPInterstitialVideoAd) ad).loadAd();
+        }
+
+        @Override
+        protected void show(Object ad) {
+            ((AdPopcornSSPInterstitialVideoAd) ad).showAd();
+        }
     }
 
+    @ReactMethod
+    public void createInstance(String appKey, String placementId) {
+        readiness.register(VideoAdReadiness.KIND_INTERSTITIAL_VIDEO, appKey, placementId);
+    }
+
+    /**
+     * 이미 받아 둔 광고가 있으면 OnInterstitialVideoAdLoaded 를 바로 다시 보낸다.
+     */
     @ReactMethod
     public void loadAd(String placementId) {
         Log.d("AdPopcornSSP", "interstitialVideoAd loadAd : " + placementId);
-        if(adMap == null || !adMap.containsKey(placementId)){
-            return;
-        }
-
-        AdPopcornSSPInterstitialVideoAd interstitialVideoAd = adMap.get(placementId);
-        if(interstitialVideoAd != null) {
-            setListener(interstitialVideoAd, placementId);
-            interstitialVideoAd.loadAd();
-        }
+        readiness.load(VideoAdReadiness.KIND_INTERSTITIAL_VIDEO, placementId, () -> {
+            WritableMap event = Arguments.createMap();
+            event.putString("placementId", placementId);
+            sendEvent(EVENT_INTERSTITIAL_VIDEO_LOAD_SUCCESS, event);
+        });
     }
 
     @ReactMethod
     public void showAd(String placementId) {
         Log.d("AdPopcornSSP", "interstitialVideoAd showAd : " + placementId);
-        if(adMap == null || !adMap.containsKey(placementId)){
-            return;
-        }
-        AdPopcornSSPInterstitialVideoAd interstitialVideoAd = adMap.get(placementId);
-        if(interstitialVideoAd != null) {
-            setListener(interstitialVideoAd, placementId);
-            interstitialVideoAd.showAd();
-        }
+        readiness.show(VideoAdReadiness.KIND_INTERSTITIAL_VIDEO, placementId, () -> {
+            WritableMap event = Arguments.createMap();
+            event.putString("placementId", placementId);
+            sendEvent(EVENT_INTERSTITIAL_VIDEO_OPEN_FAILED, event);
+        });
+    }
+
+    /**
+     * 받아 둔 광고가 있어 바로 보여줄 수 있는지.
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public boolean isReady(String placementId) {
+        return readiness.isReady(VideoAdReadiness.KIND_INTERSTITIAL_VIDEO, placementId);
     }
 
-    private void setListener(AdPopcornSSPInterstitialVideoAd interstitialVideoAd, String placementId){
+    private void setListener(AdPopcornSSPInterstitialVideoAd interstitialVideoAd, InterstitialVideoSlot slot){
+        String placementId = slot.placementId;
         interstitialVideoAd.setEventCallbackListener(new IInterstitialVideoAdEventCallbackListener() {
             @Override
             public void OnInterstitialVideoAdLoaded() {
                 Log.d("AdPopcornSSP", "OnInterstitialVideoAdLoaded : " + placementId);
+                if (!readiness.onLoaded(slot, interstitialVideoAd)) {
+                    return;
+                }
                 WritableMap event = Arguments.createMap();
                 event.putString("placementId", placementId);
                 sendEvent(EVENT_INTERSTITIAL_VIDEO_LOAD_SUCCESS, event);
@@ -96,6 +115,9 @@ public class RNAdPopcornInterstitialVideoAdModule extends ReactContextBaseJavaMo
             @Override
             public void OnInterstitialVideoAdLoadFailed(SSPErrorCode sspErrorCode) {
                 Log.d("AdPopcornSSP", "OnInterstitialVideoAdLoadFailed : " + placementId);
+                if (!readiness.onLoadFailed(slot, interstitialVideoAd)) {
+                    return;
+                }
                 WritableMap event = Arguments.createMap();
                 event.putInt("errorCode", sspErrorCode.getErrorCode());
                 event.putString("errorMessage", sspErrorCode.getErrorMessage());
@@ -114,6 +136,9 @@ public class RNAdPopcornInterstitialVideoAdModule extends ReactContextBaseJavaMo
             @Override
             public void OnInterstitialVideoAdOpenFalied() {
                 Log.d("AdPopcornSSP", "OnInterstitialVideoAdOpenFalied : " + placementId);
+                if (!readiness.onFinished(slot, interstitialVideoAd)) {
+                    return;
+                }
                 WritableMap event = Arguments.createMap();
                 event.putString("placementId", placementId);
                 sendEvent(EVENT_INTERSTITIAL_VIDEO_OPEN_FAILED, event);
@@ -122,6 +147,9 @@ public class RNAdPopcornInterstitialVideoAdModule extends ReactContextBaseJavaMo
             @Override
             public void OnInterstitialVideoAdClosed() {
                 Log.d("AdPopcornSSP", "OnInterstitialVideoAdClosed : " + placementId);
+                if (!readiness.onFinished(slot, interstitialVideoAd)) {
+                    return;
+                }
                 WritableMap event = Arguments.createMap();
                 event.putString("placementId", placementId);
                 sendEvent(EVENT_INTERSTITIAL_VIDEO_CLOSED, event);
@@ -7,6 +7,7 @@ import android.graphics.Point;
 import android.os.Build;
 import android.util.Log;
 import android.util.TypedValue;
+import android.view.Choreographer;
 import android.view.Display;
 import android.view.ViewGroup;
 import android.view.WindowManager;
@@ -34,6 +35,10 @@ public class RNAdPopcornNativeAdView extends ReactViewGroup implements IReactNat
     private String placementId;
     private int nativeWidth = -1;
     private int nativeHeight = -1;
+    /** 마지막으로 loadAd 한 설정 (appKey/placementId/width/height). 같은 설정으로는 다시 요청하지 않는다 */
+    private String loadedConfig;
+    private boolean propsChanged;
+    private boolean layoutScheduled;
 
     public RNAdPopcornNativeAdView(Context context, Activity activity) {
         super(context);
@@ -51,42 +56,63 @@ public class RNAdPopcornNativeAdView extends ReactViewGroup implements IReactNat
 
     public void setAppKey(String appKey) {
         this.appKey = appKey;
-        if(adPopcornSSPReactNativeAd != null)
-            adPopcornSSPReactNativeAd.setPlacementAppKey(appKey);
-        internalLoadAd();
+        propsChanged = true;
     }
 
     public void setPlacementId(String placementId) {
         this.placementId = placementId;
-        internalLoadAd();
+        propsChanged = true;
     }
 
     public void setWidth(int width) {
         this.nativeWidth = DpToPxInt(getContext(), width);
-        internalLoadAd();
+        propsChanged = true;
     }
 
     public void setHeight(int height) {
         this.nativeHeight = DpToPxInt(getContext(), height);
-        internalLoadAd();
+        propsChanged = true;
     }
 
-    @Override
-    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
-        Log.d("AdPopcornSSP", "onMeasure");
+    /**
+     * prop setter 는 값만 바꿔 두고, 한 번의 prop 갱신이 끝나면(onAfterUpdateTransaction) 여기서
+     * 설정이 실제로 바뀐 경우에만 한 번 loadAd 한다.
+     */
+    public void commitProps() {
+        if (!propsChanged) {
+            return;
+        }
+        propsChanged = false;
+        internalLoadAd();
     }
 
+    /**
+     * 스크롤 중에는 한 프레임에도 requestLayout 이 여러 번 오므로 다음 프레임에 한 번만 광고 뷰를 잰다.
+     */
     @Override
     public void requestLayout() {
         super.requestLayout();
-        Log.d("AdPopcornSSP", "requestLayout");
-        post(measureAndLayout);
+        // 부모 생성자에서 불릴 때는 아직 필드가 없다
+        if (measureAndLayout == null || layoutScheduled) {
+            return;
+        }
+        layoutScheduled = true;
+        Choreographer.getInstance().postFrameCallback(measureAndLayout);
     }
 
-    private Runnable measureAndLayout = new Runnable() {
+    @Override
+    protected void onDetachedFromWindow() {
+        if (layoutScheduled) {
+            Choreographer.getInstance().removeFrameCallback(measureAndLayout);
+            layoutScheduled = false;
+        }
+        super.onDetachedFromWindow();
+    }
+
+    private final Choreographer.FrameCallback measureAndLayout = new Choreographer.FrameCallback() {
         @Override
-        public void run() {
+        public void doFrame(long frameTimeNanos) {
+            layoutScheduled = false;
             try {
                 if (adPopcornSSPReactNativeAd != null) {
                     adPopcornSSPReactNativeAd.measure(
@@ -103,8 +129,14 @@ public class RNAdPopcornNativeAdView extends ReactViewGroup implements IReactNat
             if (appKey == null || placementId == null || nativeWidth == -1 || nativeHeight == -1) {
                 return;
             }
+            String config = appKey + "/" + placementId + "/" + nativeWidth + "x" + nativeHeight;
+            if (config.equals(loadedConfig)) {
+                return;
+            }
             Log.d("AdPopcornSSP", "loadAd : nativeWidth : " + nativeWidth + ", nativeHeight : " + nativeHeight);
             if(adPopcornSSPReactNativeAd != null){
+                loadedConfig = config;
+                adPopcornSSPReactNativeAd.setPlacementAppKey(appKey);
                 adPopcornSSPReactNativeAd.setLayoutParams(new ViewGroup.LayoutParams(nativeWidth, nativeHeight));
                 adPopcornSSPReactNativeAd.setPlacementId(placementId);
                 adPopcornSSPReactNativeAd.setReactNativeWidth(nativeWidth);
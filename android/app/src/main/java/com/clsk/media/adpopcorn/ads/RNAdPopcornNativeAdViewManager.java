@@ -34,6 +34,15 @@ public class RNAdPopcornNativeAdViewManager extends SimpleViewManager<RNAdPopcor
         return new RNAdPopcornNativeAdView(themedReactContext, themedReactContext.getCurrentActivity());
     }
 
+    /**
+     * 한 번의 prop 갱신에서 여러 prop 이 바뀌어도 광고 요청은 한 번만 한다.
+     */
+    @Override
+    protected void onAfterUpdateTransaction(@NonNull RNAdPopcornNativeAdView nativeAdView) {
+        super.onAfterUpdateTransaction(nativeAdView);
+        nativeAdView.commitProps();
+    }
+
     @Override
     @Nullable
     public Map<String, Object> getExportedCustomDirectEventTypeConstants() {
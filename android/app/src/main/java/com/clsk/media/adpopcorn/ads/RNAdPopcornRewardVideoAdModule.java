@@ -1,5 +1,6 @@
 package com.clsk.media.adpopcorn.ads;
 
+import android.app.Activity;
 import android.util.Log;
 
 import androidx.annotation.Nullable;
@@ -14,9 +15,6 @@ import com.igaworks.ssp.SSPErrorCode;
 import com.igaworks.ssp.part.video.AdPopcornSSPRewardVideoAd;
 import com.igaworks.ssp.part.video.listener.IRewardVideoAdEventCallbackListener;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public class RNAdPopcornRewardVideoAdModule extends ReactContextBaseJavaModule {
     public static final String EVENT_REWARD_VIDEO_LOAD_SUCCESS = "OnRewardVideoAdLoaded";
     public static final String EVENT_REWARD_VIDEO_LOAD_FAILED = "OnRewardVideoAdLoadFailed";
@@ -28,67 +26,88 @@ public class RNAdPopcornRewardVideoAdModule extends ReactContextBaseJavaModule {
     public static final String EVENT_REWARD_PLUS_COMPLETED = "OnRewardPlusCompleted";
     public RNAdPopcornRewardVideoAdModule(ReactApplicationContext context) {
         super(context);
+        readiness = VideoAdReadiness.getInstance(context);
+        readiness.registerKind(VideoAdReadiness.KIND_REWARD, RewardSlot::new);
     }
 
-    private Map<String, AdPopcornSSPRewardVideoAd> adMap = new HashMap<>();
+    private final VideoAdReadiness readiness;
+
     @Override
     public String getName(){
         return "RNAdPopcornRewardVideoAdModule";
     }
 
-    @ReactMethod
-    public void createInstance(String appKey, String placementId) {
-        try {
-            if (adMap == null) {
-                adMap = new HashMap<>();
-            }
+    private final class RewardSlot extends VideoAdReadiness.Slot {
+        RewardSlot(String appKey, String placementId) {
+            super(VideoAdReadiness.KIND_REWARD, appKey, placementId);
+        }
 
-            if (adMap.containsKey(placementId)) {
-                Log.d("AdPopcornSSP", "createInstance already exist rewardVideoAd placementId : " + placementId);
-                adMap.remove(placementId);
-            } else {
-                Log.d("AdPopcornSSP", "createInstance rewardVideoAd placementId : " + placementId);
-            }
-            AdPopcornSSPRewardVideoAd rewardVideoAd = new AdPopcornSSPRewardVideoAd(getReactApplicationContext().getCurrentActivity());
+        @Override
+        protected Object create(Activity activity) {
+            AdPopcornSSPRewardVideoAd rewardVideoAd = new AdPopcornSSPRewardVideoAd(activity);
             if(appKey != null)
                 rewardVideoAd.setPlacementAppKey(appKey);
             rewardVideoAd.setPlacementId(placementId);
-            adMap.put(placementId, rewardVideoAd);
-        }catch (Exception e){}
+            setEventListener(rewardVideoAd, this);
+            return rewardVideoAd;
+        }
+
+        @Override
+        protected void load(Object ad) {
+            ((AdPopcornSSPRewardVideoAd) ad).loadAd();
+        }
+
+        @Override
+        protected void show(Object ad) {
+            ((AdPopcornSSPRewardVideoAd) ad).showAd();
+        }
     }
 
+    @ReactMethod
+    public void createInstance(String appKey, String placementId) {
+        readiness.register(VideoAdReadiness.KIND_REWARD, appKey, placementId);
+    }
+
+    /**
+     * 이미 받아 둔 광고가 있으면 OnRewardVideoAdLoaded 를 바로 다시 보낸다.
+     */
     @ReactMethod
     public void loadAd(String placementId) {
         Log.d("AdPopcornSSP", "rewardVideoAd loadAd : " + placementId);
-        if(adMap == null || !adMap.containsKey(placementId)){
-            return;
-        }
-
-        AdPopcornSSPRewardVideoAd rewardVideoAd = adMap.get(placementId);
-        if(rewardVideoAd != null) {
-            setEventListener(rewardVideoAd, placementId);
-            rewardVideoAd.loadAd();
-        }
+        readiness.load(VideoAdReadiness.KIND_REWARD, placementId, () -> {
+            WritableMap event = Arguments.createMap();
+            event.putString("placementId", placementId);
+            sendEvent(EVENT_REWARD_VIDEO_LOAD_SUCCESS, event);
+        });
     }
 
     @ReactMethod
     public void showAd(String placementId) {
         Log.d("AdPopcornSSP", "rewardVideoAd showAd : " + placementId);
-        if(adMap == null || !adMap.containsKey(placementId)){
-            return;
-        }
-        AdPopcornSSPRewardVideoAd rewardVideoAd = adMap.get(placementId);
-        if(rewardVideoAd != null) {
-            setEventListener(rewardVideoAd, placementId);
-            rewardVideoAd.showAd();
-        }
+        readiness.show(VideoAdReadiness.KIND_REWARD, placementId, () -> {
+            WritableMap event = Arguments.createMap();
+            event.putString("placementId", placementId);
+            sendEvent(EVENT_REWARD_VIDEO_OPEN_FAILED, event);
+        });
+    }
+
+    /**
+     * 받아 둔 광고가 있어 바로 보여줄 수 있는지. 준비되지 않은 지면의 버튼을 숨기는 데 쓴다.
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public boolean isReady(String placementId) {
+        return readiness.isReady(VideoAdReadiness.KIND_REWARD, placementId);
     }
 
-    private void setEventListener(AdPopcornSSPRewardVideoAd rewardVideoAd, String placementId){
+    private void setEventListener(AdPopcornSSPRewardVideoAd rewardVideoAd, RewardSlot slot){
+        String placementId = slot.placementId;
         rewardVideoAd.setRewardVideoAdEventCallbackListener(new IRewardVideoAdEventCallbackListener() {
             @Override
             public void OnRewardVideoAdLoaded() {
                 Log.d("AdPopcornSSP", "OnRewardVideoAdLoaded : " + placementId);
+                if (!readiness.onLoaded(slot, rewardVideoAd)) {
+                    return;
+                }
                 WritableMap event = Arguments.createMap();
                 event.putString("placementId", placementId);
                 sendEvent(EVENT_REWARD_VIDEO_LOAD_SUCCESS, event);
@@ -97,6 +116,9 @@ public class RNAdPopcornRewardVideoAdModule extends ReactContextBaseJavaModule {
             @Override
             public void OnRewardVideoAdLoadFailed(SSPErrorCode sspErrorCode) {
                 Log.d("AdPopcornSSP", "OnRewardVideoAdLoadFailed : " + placementId);
+                if (!readiness.onLoadFailed(slot, rewardVideoAd)) {
+                    return;
+                }
                 WritableMap event = Arguments.createMap();
                 event.putInt("errorCode", sspErrorCode.getErrorCode());
                 event.putString("errorMessage", sspErrorCode.getErrorMessage());
@@ -114,6 +136,9 @@ public class RNAdPopcornRewardVideoAdModule extends ReactContextBaseJavaModule {
             @Override
             public void OnRewardVideoAdOpenFalied() {
                 Log.d("AdPopcornSSP", "OnRewardVideoAdOpenFalied : " + placementId);
+                if (!readiness.onFinished(slot, rewardVideoAd)) {
+                    return;
+                }
                 WritableMap event = Arguments.createMap();
                 event.putString("placementId", placementId);
                 sendEvent(EVENT_REWARD_VIDEO_OPEN_FAILED, event);
@@ -122,6 +147,9 @@ public class RNAdPopcornRewardVideoAdModule extends ReactContextBaseJavaModule {
             @Override
             public void OnRewardVideoAdClosed() {
                 Log.d("AdPopcornSSP", "OnRewardVideoAdClosed : " + placementId);
+                if (!readiness.onFinished(slot, rewardVideoAd)) {
+                    return;
+                }
                 WritableMap event = Arguments.createMap();
                 event.putString("placementId", placementId);
                 sendEvent(EVENT_REWARD_VIDEO_CLOSED, event);
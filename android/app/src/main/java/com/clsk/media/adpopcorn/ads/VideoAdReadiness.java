@@ -0,0 +1,385 @@
+package com.clsk.media.adpopcorn.ads;
+
+import android.app.Activity;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.facebook.react.bridge.LifecycleEventListener;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.UiThreadUtil;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 보상형 동영상/전면 동영상 광고 준비 관리 (RNAdPopcornRewardVideoAdModule, RNAdPopcornInterstitialVideoAdModule 공용).
+ * createInstance 로 한 번 등록한 지면은 filesDir/video_ad_placements 에 적어 두고, 다음 실행 때는 SDK 초기화와
+ * 액티비티가 준비되는 대로 JS 요청 없이 미리 받는다. 닫히면 바로 다시 받고, 액티비티가 새로 만들어지면
+ * SDK 광고 객체를 새 액티비티로 다시 만든다. 실패하면 5초부터 최대 5분까지 간격을 두 배로 늘려 다시 시도한다.
+ * 지면은 (종류, placementId) 로 구분하므로 보상형과 전면 동영상이 같은 placementId 를 써도 섞이지 않는다.
+ * 미리 받기의 로드 결과는 JS 가 loadAd 로 기다리고 있을 때만 이벤트로 알린다.
+ * isReady 만 JS 스레드에서 불리고 나머지 상태는 메인 스레드에서만 바꾼다.
+ */
+public final class VideoAdReadiness implements LifecycleEventListener {
+
+    private static final String TAG = "AdPopcornSSP";
+    private static final String FILE_NAME = "video_ad_placements";
+    private static final long BACKOFF_BASE_MS = 5 * 1000L;
+    private static final long BACKOFF_MAX_MS = 5 * 60 * 1000L;
+
+    static final String KIND_REWARD = "reward";
+    static final String KIND_INTERSTITIAL_VIDEO = "interstitial_video";
+
+    static final int IDLE = 0;
+    static final int LOADING = 1;
+    static final int READY = 2;
+    static final int SHOWING = 3;
+
+    /**
+     * 지면 하나. 모듈이 SDK 광고 종류에 맞게 create/load/show 를 구현하고,
+     * SDK 콜백에서 onLoaded 등을 광고 객체와 함께 알려 준다.
+     */
+    abstract static class Slot {
+        final String kind;
+        final String appKey;
+        final String placementId;
+        volatile int state = IDLE;
+        /** 지금 광고 객체. 다시 만들면 바뀌므로 이전 객체의 늦은 콜백은 무시한다 */
+        Object ad;
+        WeakReference<Activity> activity = new WeakReference<>(null);
+        int failures;
+        long retryAt;
+        /** JS 가 loadAd 를 불러 로드 결과 이벤트를 기다리는지 */
+        boolean requested;
+
+        Slot(String kind, String appKey, String placementId) {
+            this.kind = kind;
+            this.appKey = appKey;
+            this.placementId = placementId;
+        }
+
+        /** 액티비티에 묶인 SDK 광고 객체를 만들고 콜백을 연결한다 */
+        protected abstract Object create(Activity activity);
+
+        protected abstract void load(Object ad);
+
+        protected abstract void show(Object ad);
+    }
+
+    interface SlotFactory {
+        Slot create(String appKey, String placementId);
+    }
+
+    private static VideoAdReadiness instance;
+
+    private final File file;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    /** key(kind, placementId) → 지면 */
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final Map<String, SlotFactory> factories = new HashMap<>();
+    private ReactApplicationContext context;
+    /** SDK 초기화가 끝났거나 JS 가 loadAd 를 불러서 광고를 받아도 되는지 */
+    private boolean sdkReady;
+
+    private final Runnable warmTask = this::warmAll;
+
+    private VideoAdReadiness(ReactApplicationContext context) {
+        this.file = new File(context.getFilesDir(), FILE_NAME);
+    }
+
+    /**
+     * JS 를 다시 불러 ReactApplicationContext 가 바뀌면 생명주기 리스너도 새 context 에 붙인다.
+     */
+    public static synchronized VideoAdReadiness getInstance(ReactApplicationContext context) {
+        if (instance == null) {
+            instance = new VideoAdReadiness(context);
+        }
+        if (instance.context != context) {
+            if (instance.context != null) {
+                instance.context.removeLifecycleEventListener(instance);
+            }
+            instance.context = context;
+            context.addLifecycleEventListener(instance);
+        }
+        return instance;
+    }
+
+    private static String key(String kind, String placementId) {
+        return kind + "/" + placementId;
+    }
+
+    /**
+     * RNAdPopcornSSPModule.init 이 끝나면 불린다. 등록된 지면을 모두 받기 시작한다.
+     */
+    public static void onSdkInitialized() {
+        UiThreadUtil.runOnUiThread(() -> {
+            VideoAdReadiness readiness;
+            synchronized (VideoAdReadiness.class) {
+                readiness = instance;
+            }
+            if (readiness != null) {
+                readiness.sdkReady = true;
+                readiness.warmAll();
+            }
+        });
+    }
+
+    /**
+     * 모듈 생성 때 부른다. 지난 실행에서 등록했던 이 종류의 지면을 되살린다.
+     * JS 를 다시 불러 모듈이 새로 만들어졌을 때도 지면을 새 모듈 것으로 바꾼다.
+     */
+    void registerKind(String kind, SlotFactory factory) {
+        UiThreadUtil.runOnUiThread(() -> {
+            factories.put(kind, factory);
+            for (String[] saved : readSaved()) {
+                if (saved[0].equals(kind)) {
+                    slots.put(key(kind, saved[2]), factory.create(saved[1], saved[2]));
+                }
+            }
+            warmAll();
+        });
+    }
+
+    /**
+     * createInstance. 같은 appKey 로 이미 있으면 받아 둔 광고를 그대로 쓴다.
+     */
+    void register(String kind, String appKey, String placementId) {
+        UiThreadUtil.runOnUiThread(() -> {
+            Slot existing = slots.get(key(kind, placementId));
+            if (existing != null && Objects.equals(existing.appKey, appKey)) {
+                Log.d(TAG, "createInstance already exist " + kind + " placementId : " + placementId);
+                return;
+            }
+            SlotFactory factory = factories.get(kind);
+            if (factory == null) {
+                return;
+            }
+            Log.d(TAG, "createInstance " + kind + " placementId : " + placementId);
+            slots.put(key(kind, placementId), factory.create(appKey, placementId));
+            save();
+            warmAll();
+        });
+    }
+
+    /**
+     * loadAd. 이미 받아 둔 광고면 onAlreadyLoaded 를 불러 JS 에 로드 이벤트를 다시 보내게 하고,
+     * 아니면 받는 중인 광고의 결과를 이벤트로 알리도록 표시한다.
+     */
+    void load(String kind, String placementId, Runnable onAlreadyLoaded) {
+        UiThreadUtil.runOnUiThread(() -> {
+            sdkReady = true;
+            Slot slot = slots.get(key(kind, placementId));
+            if (slot == null) {
+                return;
+            }
+            if (slot.state == READY) {
+                onAlreadyLoaded.run();
+                return;
+            }
+            slot.requested = true;
+            // JS 가 직접 요청하면 대기 중인 재시도를 기다리지 않는다
+            slot.retryAt = 0;
+            warmAll();
+        });
+    }
+
+    /**
+     * showAd. 준비된 광고가 없으면 onNotReady 를 부르고 받기를 시작한다.
+     */
+    void show(String kind, String placementId, Runnable onNotReady) {
+        UiThreadUtil.runOnUiThread(() -> {
+            Slot slot = slots.get(key(kind, placementId));
+            if (slot == null || slot.state != READY || slot.activity.get() != currentActivity()) {
+                onNotReady.run();
+                if (slot != null) {
+                    slot.retryAt = 0;
+                    warmAll();
+                }
+                return;
+            }
+            slot.state = SHOWING;
+            Log.d(TAG, slot.kind + " showAd : " + placementId);
+            slot.show(slot.ad);
+        });
+    }
+
+    boolean isReady(String kind, String placementId) {
+        Slot slot = slots.get(key(kind, placementId));
+        return slot != null && slot.state == READY;
+    }
+
+    /**
+     * @return JS 에 OnLoaded 이벤트를 보내야 하면 true (지금 광고 객체의 결과이고 JS 가 loadAd 로 기다리는 중)
+     */
+    boolean onLoaded(Slot slot, Object ad) {
+        if (isStale(slot, ad)) {
+            return false;
+        }
+        slot.state = READY;
+        slot.failures = 0;
+        slot.retryAt = 0;
+        return takeRequested(slot);
+    }
+
+    /**
+     * @return JS 에 LoadFailed 이벤트를 보내야 하면 true (onLoaded 와 같은 기준)
+     */
+    boolean onLoadFailed(Slot slot, Object ad) {
+        if (isStale(slot, ad)) {
+            return false;
+        }
+        slot.state = IDLE;
+        slot.failures++;
+        long delay = Math.min(BACKOFF_BASE_MS << Math.min(slot.failures - 1, 16), BACKOFF_MAX_MS);
+        slot.retryAt = SystemClock.elapsedRealtime() + delay;
+        Log.d(TAG, slot.kind + " load failed : " + slot.placementId + ", retry in " + delay + "ms");
+        boolean notify = takeRequested(slot);
+        warmAll();
+        return notify;
+    }
+
+    /**
+     * 열기 실패나 닫힘. 다음 보여줄 광고를 바로 받는다.
+     * @return JS 에 이벤트를 보내야 하면 true (지금 광고 객체의 콜백)
+     */
+    boolean onFinished(Slot slot, Object ad) {
+        if (isStale(slot, ad)) {
+            return false;
+        }
+        slot.state = IDLE;
+        warmAll();
+        return true;
+    }
+
+    private static boolean takeRequested(Slot slot) {
+        boolean requested = slot.requested;
+        slot.requested = false;
+        return requested;
+    }
+
+    private boolean isStale(Slot slot, Object ad) {
+        return slots.get(key(slot.kind, slot.placementId)) != slot || slot.ad != ad;
+    }
+
+    private Activity currentActivity() {
+        Activity activity = context != null ? context.getCurrentActivity() : null;
+        return activity == null || activity.isFinishing() ? null : activity;
+    }
+
+    /**
+     * 모든 지면을 지금 액티비티로 묶고, 비어 있고 재시도 시각이 지난 지면은 받기 시작한다.
+     * 재시도를 기다리는 지면이 있으면 가장 이른 시각에 다시 불리도록 예약한다.
+     */
+    private void warmAll() {
+        handler.removeCallbacks(warmTask);
+        Activity activity = currentActivity();
+        if (activity == null) {
+            return;
+        }
+        long now = SystemClock.elapsedRealtime();
+        long nextRetry = Long.MAX_VALUE;
+        for (Slot slot : slots.values()) {
+            if (slot.state == SHOWING) {
+                continue;
+            }
+            if (slot.activity.get() != activity) {
+                // 액티비티가 새로 만들어졌으면 이전 광고 객체는 버리고 다시 받는다
+                Log.d(TAG, slot.kind + " bind activity : " + slot.placementId);
+                slot.ad = slot.create(activity);
+                slot.activity = new WeakReference<>(activity);
+                slot.state = IDLE;
+            }
+            if (!sdkReady || slot.state != IDLE) {
+                continue;
+            }
+            if (now < slot.retryAt) {
+                nextRetry = Math.min(nextRetry, slot.retryAt);
+                continue;
+            }
+            Log.d(TAG, slot.kind + " loadAd : " + slot.placementId);
+            slot.state = LOADING;
+            slot.load(slot.ad);
+        }
+        if (nextRetry != Long.MAX_VALUE) {
+            handler.postDelayed(warmTask, nextRetry - now);
+        }
+    }
+
+    @Override
+    public void onHostResume() {
+        warmAll();
+    }
+
+    @Override
+    public void onHostPause() {
+    }
+
+    /**
+     * 액티비티가 없어지면 광고 객체가 액티비티를 붙잡고 있지 않게 놓는다. 다음 onHostResume 에서 다시 만든다.
+     */
+    @Override
+    public void onHostDestroy() {
+        handler.removeCallbacks(warmTask);
+        for (Slot slot : slots.values()) {
+            slot.ad = null;
+            slot.activity = new WeakReference<>(null);
+            slot.state = IDLE;
+        }
+    }
+
+    /** [kind, appKey, placementId] 목록 */
+    private List<String[]> readSaved() {
+        List<String[]> result = new ArrayList<>();
+        if (!file.isFile()) {
+            return result;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t");
+                if (parts.length == 3) {
+                    if (parts[1].isEmpty()) {
+                        parts[1] = null;
+                    }
+                    result.add(parts);
+                }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, FILE_NAME + " 읽기 실패", e);
+        }
+        return result;
+    }
+
+    private void save() {
+        File tmp = new File(file.getPath() + ".tmp");
+        try {
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+                for (Slot slot : slots.values()) {
+                    writer.write(slot.kind + "\t" + (slot.appKey != null ? slot.appKey : "") + "\t" + slot.placementId + "\n");
+                }
+            }
+            if (!tmp.renameTo(file)) {
+                throw new IOException("이름 변경 실패: " + file);
+            }
+        } catch (IOException e) {
+            Log.e(TAG, FILE_NAME + " 저장 실패", e);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.clsk.media;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 로컬 HTTP 서버 두 대를 원본 서버 대역으로 두고 AudioCache 의 적중/부재/LRU 삭제/이어 받기를 확인한다.
+ */
+public class AudioCacheTest {
+
+    private static final int MB = 1024 * 1024;
+
+    /**
+     * 오디오 원본 서버 대역. Range 요청을 받고, cutAfter 를 정하면 200 응답을 그만큼만 보내고 끊는다.
+     */
+    private static final class AudioServer {
+        final HttpServer server;
+        final Map<String, byte[]> files = new ConcurrentHashMap<>();
+        /** "파일명" 또는 "파일명 Range" */
+        final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+        volatile int cutAfter = -1;
+        volatile boolean rejectProbe;
+
+        AudioServer() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/audio/", this::handle);
+            server.start();
+        }
+
+        String url() {
+            return "http://127.0.0.1:" + server.getAddress().getPort() + "/audio/";
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            String path = exchange.getRequestURI().getPath();
+            String name = path.substring(path.lastIndexOf('/') + 1);
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            requests.add(range == null ? name : name + " " + range);
+            byte[] body = files.get(name);
+            try {
+                if (body == null || (rejectProbe && "Gen001.mp3".equals(name))) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+                if (range != null) {
+                    String spec = range.substring("bytes=".length());
+                    int from = Integer.parseInt(spec.substring(0, spec.indexOf('-')));
+                    if (from >= body.length) {
+                        exchange.getResponseHeaders().set("Content-Range", "bytes */" + body.length);
+                        exchange.sendResponseHeaders(416, -1);
+                        return;
+                    }
+                    int to = spec.endsWith("-") ? body.length - 1 : Integer.parseInt(spec.substring(spec.indexOf('-') + 1));
+                    exchange.getResponseHeaders().set("Content-Range", "bytes " + from + "-" + to + "/" + body.length);
+                    exchange.sendResponseHeaders(206, to - from + 1);
+                    exchange.getResponseBody().write(body, from, to - from + 1);
+                    return;
+                }
+                exchange.sendResponseHeaders(200, body.length);
+                OutputStream out = exchange.getResponseBody();
+                if (cutAfter >= 0) {
+                    out.write(body, 0, cutAfter);
+                    out.flush();
+                    // Content-Length 보다 덜 보내고 닫으면 연결을 끊는다
+                    return;
+                }
+                out.write(body);
+            } finally {
+                exchange.close();
+            }
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+    }
+
+    private AudioServer primary;
+    private AudioServer backup;
+    private File root;
+    private File cacheDir;
+    private AudioOrigins origins;
+    private AudioCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        primary = new AudioServer();
+        backup = new AudioServer();
+        // probe 는 기본 서버만 성공해서 순서가 기본 → 백업으로 고정된다
+        backup.rejectProbe = true;
+        byte[] probe = {(byte) 0xFF};
+        primary.files.put("Gen001.mp3", probe);
+        backup.files.put("Gen001.mp3", probe);
+
+        root = Files.createTempDirectory("audio-cache").toFile();
+        cacheDir = new File(root, "audio");
+        cache = newCache();
+    }
+
+    private AudioCache newCache() {
+        origins = new AudioOrigins(new String[]{primary.url(), backup.url()});
+        return new AudioCache(cacheDir, new File(root, "offline"), origins,
+                new MeasuredDurations(new File(root, "measured.bin")));
+    }
+
+    @After
+    public void tearDown() {
+        primary.stop();
+        backup.stop();
+        deleteRecursively(root);
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static byte[] audio(int size, long seed) {
+        byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    private void serve(String name, byte[] bytes) {
+        primary.files.put(name, bytes);
+        backup.files.put(name, bytes);
+    }
+
+    @Test
+    public void missThenHitServesFromDisk() throws IOException {
+        byte[] bytes = audio(300 * 1024, 2);
+        serve("Gen002.mp3", bytes);
+
+        String remote = cache.resolveUri(1, 2);
+        assertTrue(remote, remote.endsWith("/audio/Gen002.mp3") && remote.startsWith("http://"));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+
+        cache.download(1, 2);
+        String local = cache.resolveUri(1, 2);
+        assertTrue(local, local.startsWith("file://"));
+        assertEquals(1, cache.getHitCount());
+        assertArrayEquals(bytes, Files.readAllBytes(cache.getCached(1, 2).toPath()));
+        assertEquals(bytes.length, cache.getSizeBytes());
+        assertEquals(1, cache.getDownloadCount());
+
+        // 다시 열어도 디스크에 있는 파일로 적중한다
+        AudioCache reopened = newCache();
+        assertNotNull(reopened.getCached(1, 2));
+        assertEquals(bytes.length, reopened.getSizeBytes());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() throws IOException {
+        cache.setMaxBytes(16L * MB);
+        serve("Gen002.mp3", audio(6 * MB, 2));
+        serve("Gen003.mp3", audio(6 * MB, 3));
+        serve("Gen004.mp3", audio(6 * MB, 4));
+
+        cache.download(1, 2);
+        cache.download(1, 3);
+        // 2장을 다시 써서 3장이 가장 오래된 항목이 된다
+        assertNotNull(cache.getCached(1, 2));
+        cache.download(1, 4);
+
+        assertNull(cache.getCached(1, 3));
+        assertTrue(!new File(cacheDir, "Gen003.mp3").exists());
+        assertNotNull(cache.getCached(1, 2));
+        assertNotNull(cache.getCached(1, 4));
+        assertEquals(2, cache.getFileCount());
+        assertEquals(12L * MB, cache.getSizeBytes());
+    }
+
+    @Test
+    public void partialDownloadResumesOnNextOrigin() throws IOException {
+        byte[] bytes = audio(2 * MB, 5);
+        serve("Gen005.mp3", bytes);
+        primary.cutAfter = MB / 2;
+
+        File file = cache.download(1, 5);
+        assertArrayEquals(bytes, Files.readAllBytes(file.toPath()));
+        assertTrue(primary.requests.toString(), primary.requests.contains("Gen005.mp3"));
+        // 백업 서버에는 받은 데 이후만 요청한다
+        String resumed = null;
+        for (String request : backup.requests) {
+            if (request.startsWith("Gen005.mp3")) {
+                resumed = request;
+            }
+        }
+        assertNotNull(backup.requests.toString(), resumed);
+        assertTrue(resumed, resumed.startsWith("Gen005.mp3 bytes="));
+        long from = Long.parseLong(resumed.substring("Gen005.mp3 bytes=".length(), resumed.length() - 1));
+        assertTrue(resumed, from > 0 && from <= MB / 2);
+        assertEquals(bytes.length, cache.getSizeBytes());
+    }
+
+    @Test
+    public void failedDownloadLeavesNoPartialFile() {
+        primary.cutAfter = 1000;
+        primary.files.put("Gen006.mp3", audio(64 * 1024, 6));
+        // 백업 서버에는 파일이 없다
+
+        try {
+            cache.download(1, 6);
+            fail("받기 실패가 전달되지 않았습니다");
+        } catch (IOException expected) {
+            // 백업 서버 404
+        }
+        assertNull(cache.getCached(1, 6));
+        assertEquals(0, cache.getSizeBytes());
+        String[] left = cacheDir.list();
+        assertEquals(0, left == null ? 0 : left.length);
+    }
+
+    @Test
+    public void dropsLeftoverPartFilesOnStart() throws IOException {
+        byte[] bytes = audio(1000, 7);
+        try (FileOutputStream out = new FileOutputStream(new File(cacheDir, "Gen007.mp3"))) {
+            out.write(bytes);
+        }
+        try (FileOutputStream out = new FileOutputStream(new File(cacheDir, "Gen008.mp3.42.part"))) {
+            out.write(bytes, 0, 500);
+        }
+
+        AudioCache reopened = newCache();
+        assertTrue(!new File(cacheDir, "Gen008.mp3.42.part").exists());
+        assertNull(reopened.getCached(1, 8));
+        assertNotNull(reopened.getCached(1, 7));
+        assertEquals(1, reopened.getFileCount());
+        assertEquals(bytes.length, reopened.getSizeBytes());
+    }
+
+    private static int count(List<String> requests, String request) {
+        synchronized (requests) {
+            return Collections.frequency(requests, request);
+        }
+    }
+
+    @Test
+    public void concurrentProbesShareOneRound() throws InterruptedException {
+        // 생성자가 시작한 probe 와 동시에 여러 곳에서 부른다
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(origins::probe);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(primary.url(), origins.probe().url);
+        assertEquals(1, count(primary.requests, "Gen001.mp3 bytes=0-0"));
+
+        origins.resetProbe();
+        origins.probe();
+        assertEquals(2, count(primary.requests, "Gen001.mp3 bytes=0-0"));
+    }
+
+    @Test
+    public void playbackFailoverMovesToOtherOrigin() {
+        String failed = primary.url() + "Gen009.mp3";
+        assertEquals(backup.url() + "Gen009.mp3", cache.failover(failed));
+        assertEquals(1, origins.getOrigins().get(0).getFailures());
+        // 백업에서도 실패하면 다시 기본 서버로
+        assertEquals(primary.url() + "Gen009.mp3", cache.failover(backup.url() + "Gen009.mp3"));
+        assertNull(cache.failover("https://data.bible25.com/chansong/audio/001.mp3"));
+    }
+
+    @Test
+    public void playbackFailoverDropsBrokenCacheFile() throws IOException {
+        serve("Gen010.mp3", audio(4096, 10));
+        File file = cache.download(1, 10);
+
+        String url = cache.failover("file://" + file.getAbsolutePath());
+        assertTrue(url, url.endsWith("/audio/Gen010.mp3") && url.startsWith("http://"));
+        assertTrue(!file.exists());
+        assertNull(cache.getCached(1, 10));
+        assertEquals(0, cache.getSizeBytes());
+    }
+
+    @Test
+    public void noOriginsUntilConfigured() {
+        AudioOrigins empty = new AudioOrigins(new String[0]);
+        assertNull(empty.probe());
+        try {
+            empty.urlFor("Gen001.mp3");
+            fail("서버 없이 주소를 만들었습니다");
+        } catch (IllegalStateException expected) {
+            // setOrigins 전
+        }
+        try {
+            empty.download("Gen001.mp3", new File(root, "none.part"));
+            fail("서버 없이 받았습니다");
+        } catch (IOException expected) {
+            // 서버 없음
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.clsk.media;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 로컬 HTTP 서버 한 대를 원본 서버로 두고 AudioDownloader 의 책 받기, Range 이어 받기,
+ * 받은 크기 확인, 작업 목록(jobs.bin) 다시 읽기를 확인한다.
+ */
+public class AudioDownloaderTest {
+
+    /** 룻기 (4장) */
+    private static final int BOOK = 8;
+    private static final int CHAPTERS = 4;
+
+    /**
+     * Range 요청을 받고, cutAfter 를 정하면 200 응답을 그만큼만 보내고 끊는다.
+     */
+    private static final class AudioServer {
+        final HttpServer server;
+        final Map<String, byte[]> files = new ConcurrentHashMap<>();
+        /** "파일명" 또는 "파일명 Range" */
+        final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+        volatile int cutAfter = -1;
+
+        AudioServer() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/audio/", this::handle);
+            server.start();
+        }
+
+        String url() {
+            return "http://127.0.0.1:" + server.getAddress().getPort() + "/audio/";
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            String path = exchange.getRequestURI().getPath();
+            String name = path.substring(path.lastIndexOf('/') + 1);
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            byte[] body = files.get(name);
+            try {
+                if (body == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+                requests.add(range == null ? name : name + " " + range);
+                if (range != null) {
+                    int from = Integer.parseInt(range.substring("bytes=".length(), range.indexOf('-')));
+                    if (from >= body.length) {
+                        exchange.getResponseHeaders().set("Content-Range", "bytes */" + body.length);
+                        exchange.sendResponseHeaders(416, -1);
+                        return;
+                    }
+                    int to = range.endsWith("-") ? body.length - 1 : Integer.parseInt(range.substring(range.indexOf('-') + 1));
+                    exchange.getResponseHeaders().set("Content-Range", "bytes " + from + "-" + to + "/" + body.length);
+                    exchange.sendResponseHeaders(206, to - from + 1);
+                    exchange.getResponseBody().write(body, from, to - from + 1);
+                    return;
+                }
+                exchange.sendResponseHeaders(200, body.length);
+                OutputStream out = exchange.getResponseBody();
+                if (cutAfter >= 0) {
+                    out.write(body, 0, cutAfter);
+                    out.flush();
+                    return;
+                }
+                out.write(body);
+            } finally {
+                exchange.close();
+            }
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+    }
+
+    private AudioServer server;
+    private File root;
+    private File dir;
+    private final byte[][] bodies = new byte[CHAPTERS + 1][];
+
+    @Before
+    public void setUp() throws IOException {
+        server = new AudioServer();
+        for (int jang = 1; jang <= CHAPTERS; jang++) {
+            bodies[jang] = new byte[100 * 1024 + jang];
+            new Random(jang).nextBytes(bodies[jang]);
+            server.files.put(AudioCache.fileName(BOOK, jang), bodies[jang]);
+        }
+        root = Files.createTempDirectory("audio-downloader").toFile();
+        dir = new File(root, "offline");
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+        deleteRecursively(root);
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+
+    private AudioDownloader newDownloader() {
+        return new AudioDownloader(dir, new AudioOrigins(new String[]{server.url()}),
+                new MeasuredDurations(new File(root, "measured.bin")));
+    }
+
+    private static AudioDownloader.Job await(AudioDownloader downloader, String state) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            AudioDownloader.Job job = downloader.getJob(BOOK);
+            if (job != null && state.equals(job.getState())) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        fail("상태가 " + state + " 가 되지 않음: " + downloader.getJob(BOOK).getState());
+        return null;
+    }
+
+    private File chapterFile(int jang) {
+        return new File(dir, AudioCache.fileName(BOOK, jang));
+    }
+
+    private void assertChaptersDownloaded() throws IOException {
+        for (int jang = 1; jang <= CHAPTERS; jang++) {
+            assertArrayEquals(bodies[jang], Files.readAllBytes(chapterFile(jang).toPath()));
+            assertFalse(new File(dir, AudioCache.fileName(BOOK, jang) + ".part").exists());
+        }
+    }
+
+    @Test
+    public void downloadsEveryChapterOfBook() throws Exception {
+        AudioDownloader downloader = newDownloader();
+        downloader.downloadBook(BOOK, false);
+
+        AudioDownloader.Job job = await(downloader, AudioDownloader.STATE_COMPLETED);
+        assertEquals(CHAPTERS, job.getDoneCount());
+        long total = 0;
+        for (int jang = 1; jang <= CHAPTERS; jang++) {
+            total += bodies[jang].length;
+        }
+        assertEquals(total, job.getDoneBytes());
+        assertChaptersDownloaded();
+    }
+
+    @Test
+    public void resumesPartFileWithRange() throws Exception {
+        String name = AudioCache.fileName(BOOK, 2);
+        dir.mkdirs();
+        try (FileOutputStream out = new FileOutputStream(new File(dir, name + ".part"))) {
+            out.write(bodies[2], 0, 4000);
+        }
+
+        AudioDownloader downloader = newDownloader();
+        downloader.downloadBook(BOOK, false);
+        await(downloader, AudioDownloader.STATE_COMPLETED);
+
+        assertTrue(server.requests.toString(), server.requests.contains(name + " bytes=4000-"));
+        assertFalse(server.requests.contains(name));
+        assertChaptersDownloaded();
+    }
+
+    @Test
+    public void shortResponseFailsThenResumesFromReceivedBytes() throws Exception {
+        server.cutAfter = 10 * 1024;
+        AudioDownloader downloader = newDownloader();
+        downloader.downloadBook(BOOK, false);
+
+        // Content-Length 보다 덜 받으면 완료로 치지 않고 받은 데까지 .part 로 남긴다
+        AudioDownloader.Job job = await(downloader, AudioDownloader.STATE_FAILED);
+        assertEquals(0, job.getDoneCount());
+        for (int jang = 1; jang <= CHAPTERS; jang++) {
+            assertFalse(chapterFile(jang).exists());
+            File part = new File(dir, AudioCache.fileName(BOOK, jang) + ".part");
+            assertTrue(part.length() > 0 && part.length() <= server.cutAfter);
+        }
+
+        server.cutAfter = -1;
+        server.requests.clear();
+        downloader.resumeWaiting();
+        await(downloader, AudioDownloader.STATE_COMPLETED);
+
+        for (String request : server.requests) {
+            assertTrue(request, request.contains(" bytes="));
+        }
+        assertChaptersDownloaded();
+    }
+
+    @Test
+    public void reloadsManifestAndRefetchesMismatchedChapter() throws Exception {
+        AudioDownloader first = newDownloader();
+        first.downloadBook(BOOK, true);
+        await(first, AudioDownloader.STATE_COMPLETED);
+
+        // 다음 실행: 완료된 작업은 그대로 완료
+        AudioDownloader reloaded = newDownloader();
+        AudioDownloader.Job job = reloaded.getJob(BOOK);
+        assertEquals(AudioDownloader.STATE_COMPLETED, job.getState());
+        assertEquals(CHAPTERS, job.getDoneCount());
+        assertTrue(job.isAllowMetered());
+
+        // 크기가 맞지 않는 장은 지우고 다시 받는다
+        Files.write(chapterFile(3).toPath(), new byte[]{1, 2, 3});
+        server.requests.clear();
+        AudioDownloader repaired = newDownloader();
+        await(repaired, AudioDownloader.STATE_COMPLETED);
+
+        assertEquals(Collections.singletonList(AudioCache.fileName(BOOK, 3)), server.requests);
+        assertChaptersDownloaded();
+    }
+}
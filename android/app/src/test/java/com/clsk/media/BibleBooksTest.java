@@ -0,0 +1,69 @@
+package com.clsk.media;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * BibleBooks 가 JS 와 compileChapterDurations 가 읽는 src/utils/bibleBooks.json 과 같은지 확인한다.
+ * (유닛 테스트에서는 org.json 이 동작하지 않아 필요한 부분만 정규식으로 읽는다)
+ */
+public class BibleBooksTest {
+
+    /** 유닛 테스트 작업 디렉터리(android/app) 기준 */
+    private static final String BOOKS_JSON = "../../src/utils/bibleBooks.json";
+
+    private static String section(String json, String key, char open, char close) {
+        int start = json.indexOf(open, json.indexOf("\"" + key + "\""));
+        return json.substring(start + 1, json.indexOf(close, start));
+    }
+
+    private static List<String> matches(String text, String regex) {
+        List<String> result = new ArrayList<>();
+        Matcher matcher = Pattern.compile(regex).matcher(text);
+        while (matcher.find()) {
+            result.add(matcher.group(1));
+        }
+        return result;
+    }
+
+    @Test
+    public void matchesSharedBookList() throws IOException {
+        String json = new String(Files.readAllBytes(new File(BOOKS_JSON).toPath()), StandardCharsets.UTF_8);
+        List<String> abbrs = matches(section(json, "abbrs", '[', ']'), "\"([^\"]+)\"");
+        List<String> chapters = matches(section(json, "chapters", '[', ']'), "(\\d+)");
+
+        assertEquals(BibleBooks.BOOK_COUNT, abbrs.size());
+        assertEquals(BibleBooks.BOOK_COUNT, chapters.size());
+        int total = 0;
+        for (int book = 1; book <= BibleBooks.BOOK_COUNT; book++) {
+            assertEquals("abbr " + book, abbrs.get(book - 1), BibleBooks.ABBRS[book - 1]);
+            assertEquals("chapters " + book, Integer.parseInt(chapters.get(book - 1)), BibleBooks.chapterCount(book));
+            assertEquals(book, BibleBooks.bookOfAbbr(abbrs.get(book - 1)));
+            total += BibleBooks.chapterCount(book);
+        }
+        assertEquals(BibleBooks.CHAPTER_COUNT, total);
+    }
+
+    @Test
+    public void resolvesCsvAliases() throws IOException {
+        String json = new String(Files.readAllBytes(new File(BOOKS_JSON).toPath()), StandardCharsets.UTF_8);
+        Matcher pairs = Pattern.compile("\"([^\"]+)\"\\s*:\\s*\"([^\"]+)\"").matcher(section(json, "aliases", '{', '}'));
+        int count = 0;
+        while (pairs.find()) {
+            assertEquals(pairs.group(1), BibleBooks.bookOfAbbr(pairs.group(2)), BibleBooks.bookOfAbbr(pairs.group(1)));
+            count++;
+        }
+        assertTrue("별칭 없음", count > 0);
+    }
+}
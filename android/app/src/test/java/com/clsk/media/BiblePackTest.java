@@ -0,0 +1,187 @@
+package com.clsk.media;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * build.gradle 의 compileBiblePack 과 같은 포맷으로 작은 팩을 만들어 BiblePack 커서와 장 로딩을 확인한다.
+ */
+public class BiblePackTest {
+
+    /** compileBiblePack 처럼 번역본마다 (book, jang, jul, sequence) 순으로 정렬된 행을 받아 팩을 만든다 */
+    private static final class PackBuilder {
+        final Map<String, List<Object[]>> rows = new LinkedHashMap<>();
+
+        PackBuilder add(String type, int book, int jang, int jul, int sequence, String content) {
+            rows.computeIfAbsent(type, key -> new ArrayList<>())
+                    .add(new Object[]{BibleBooks.chapterIndex(book, jang), jul, sequence, content});
+            return this;
+        }
+
+        ByteBuffer build(int version) throws IOException {
+            int total = BibleBooks.CHAPTER_COUNT;
+            ByteBuffer directory = ByteBuffer.allocate(BiblePack.DIRECTORY_ENTRY_SIZE * rows.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            int position = BiblePack.HEADER_SIZE + directory.capacity();
+            for (Map.Entry<String, List<Object[]>> entry : rows.entrySet()) {
+                ByteBuffer chapterTable = ByteBuffer.allocate((total + 1) * 4).order(ByteOrder.LITTLE_ENDIAN);
+                ByteBuffer rowTable = ByteBuffer.allocate(entry.getValue().size() * BiblePack.ROW_SIZE)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                ByteArrayOutputStream blob = new ByteArrayOutputStream();
+                int chapter = 0;
+                int count = 0;
+                for (Object[] row : entry.getValue()) {
+                    while (chapter <= (int) row[0]) {
+                        chapterTable.putInt(count);
+                        chapter++;
+                    }
+                    byte[] content = ((String) row[3]).getBytes(StandardCharsets.UTF_8);
+                    rowTable.putInt(blob.size()).putInt(content.length).putInt((int) row[1]).putInt((int) row[2]);
+                    blob.write(content);
+                    count++;
+                }
+                while (chapter <= total) {
+                    chapterTable.putInt(count);
+                    chapter++;
+                }
+
+                byte[] code = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                int rowTableOffset = position + chapterTable.capacity();
+                int blobOffset = rowTableOffset + rowTable.capacity();
+                directory.put(code).put(new byte[BiblePack.CODE_SIZE - code.length]);
+                directory.putInt(count).putInt(position).putInt(rowTableOffset).putInt(blobOffset).putInt(blob.size());
+                body.write(chapterTable.array());
+                body.write(rowTable.array());
+                blob.writeTo(body);
+                position = blobOffset + blob.size();
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(BiblePack.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(BiblePack.MAGIC).putShort((short) version).putShort((short) rows.size())
+                    .putInt(total).putInt(0);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(header.array());
+            out.write(directory.array());
+            body.writeTo(out);
+            return ByteBuffer.wrap(out.toByteArray());
+        }
+    }
+
+    private static BiblePack samplePack() throws IOException {
+        return new BiblePack(new PackBuilder()
+                .add("kor", 1, 1, 1, 1, "태초에 하나님이 천지를 창조하시니라")
+                .add("kor", 1, 1, 2, 1, "땅이 혼돈하고")
+                .add("kor", 1, 2, 1, 1, "천지와 만물이 다 이루어지니라")
+                .add("kor", 66, 22, 21, 1, "주 예수의 은혜가")
+                .add("niv", 1, 1, 1, 2, "In the beginning")
+                .add("niv", 1, 1, 3, 2, "And God said")
+                .build(BiblePack.VERSION));
+    }
+
+    private static BibleChapter load(BiblePack pack, int book, int jang, String... types) {
+        ParallelBibleMerger.VerseCursor[] cursors = new ParallelBibleMerger.VerseCursor[types.length];
+        for (int t = 0; t < types.length; t++) {
+            cursors[t] = pack.openChapter(types[t], book, jang);
+        }
+        return ParallelBibleMerger.loadChapter(cursors, book, jang, types);
+    }
+
+    @Test
+    public void readsChapterRowsFromChapterTable() throws IOException {
+        BiblePack pack = samplePack();
+
+        BibleChapter first = load(pack, 1, 1, "kor");
+        assertArrayEquals(new int[]{1, 2}, first.juls);
+        assertArrayEquals(new String[]{"태초에 하나님이 천지를 창조하시니라", "땅이 혼돈하고"}, first.contents);
+
+        BibleChapter second = load(pack, 1, 2, "kor");
+        assertArrayEquals(new int[]{1}, second.juls);
+        assertEquals("천지와 만물이 다 이루어지니라", second.contents[0]);
+
+        // 행이 없는 장, 마지막 장
+        assertEquals(0, load(pack, 40, 1, "kor").size());
+        assertArrayEquals(new String[]{"주 예수의 은혜가"}, load(pack, 66, 22, "kor").contents);
+    }
+
+    @Test
+    public void mergesTranslationsBySequence() throws IOException {
+        BibleChapter chapter = load(samplePack(), 1, 1, "niv", "kor");
+
+        assertArrayEquals(new int[]{1, 1, 2, 3}, chapter.juls);
+        // 1절은 sequence 순(kor 1, niv 2), 나머지는 본문이 있는 번역본만
+        assertArrayEquals(new int[]{1, 0, 1, 0}, chapter.typeIndexes);
+        assertArrayEquals(new String[]{"태초에 하나님이 천지를 창조하시니라", "In the beginning", "땅이 혼돈하고", "And God said"},
+                chapter.contents);
+    }
+
+    @Test
+    public void keepsSequenceRowsSeparate() throws IOException {
+        BiblePack pack = new BiblePack(new PackBuilder()
+                .add("kor", 19, 3, 1, 1, "[다윗이 그의 아들 압살롬을 피할 때에 지은 시]")
+                .add("kor", 19, 3, 1, 3, "여호와여 나의 대적이 어찌 그리 많은지요")
+                .add("kor", 19, 3, 2, 1, "많은 사람이 나를 가리켜 말하기를")
+                .add("niv", 19, 3, 1, 2, "LORD, how many are my foes!")
+                .build(BiblePack.VERSION));
+
+        // 장 로딩은 DB 행 하나가 한 행 ("order by jul, sequence")
+        BibleChapter chapter = load(pack, 19, 3, "kor", "niv");
+        assertArrayEquals(new int[]{1, 1, 1, 2}, chapter.juls);
+        assertArrayEquals(new int[]{0, 1, 0, 0}, chapter.typeIndexes);
+        assertArrayEquals(new String[]{"[다윗이 그의 아들 압살롬을 피할 때에 지은 시]", "LORD, how many are my foes!",
+                "여호와여 나의 대적이 어찌 그리 많은지요", "많은 사람이 나를 가리켜 말하기를"}, chapter.contents);
+
+        // 대조 읽기는 절마다 번역본 칸 하나
+        List<String> rows = new ArrayList<>();
+        ParallelBibleMerger.merge(new ParallelBibleMerger.VerseCursor[]{
+                pack.openChapter("kor", 19, 3), pack.openChapter("niv", 19, 3)
+        }, (jul, texts) -> rows.add(jul + "|" + texts[0] + "|" + texts[1]));
+        assertEquals(2, rows.size());
+        assertEquals("1|[다윗이 그의 아들 압살롬을 피할 때에 지은 시] 여호와여 나의 대적이 어찌 그리 많은지요|LORD, how many are my foes!",
+                rows.get(0));
+        assertEquals("2|많은 사람이 나를 가리켜 말하기를|null", rows.get(1));
+    }
+
+    @Test
+    public void coversOnlyPackedTranslations() throws IOException {
+        BiblePack pack = samplePack();
+        assertEquals(0, pack.translationIndex("kor"));
+        assertEquals(1, pack.translationIndex("niv"));
+        assertTrue(pack.covers(new String[]{"niv", "kor"}));
+        assertFalse(pack.covers(new String[]{"kor", "kjv"}));
+        try {
+            pack.openChapter("kjv", 1, 1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void rejectsOtherFormats() throws IOException {
+        try {
+            new BiblePack(new PackBuilder().add("kor", 1, 1, 1, 1, "x").build(BiblePack.VERSION - 1));
+            fail();
+        } catch (IOException expected) {
+        }
+        try {
+            new BiblePack(ByteBuffer.wrap(new byte[BiblePack.HEADER_SIZE]));
+            fail();
+        } catch (IOException expected) {
+        }
+    }
+}
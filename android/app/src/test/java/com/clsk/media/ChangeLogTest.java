@@ -0,0 +1,277 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * getChangesSince 를 페이지 단위로 받아 반영하는 서버 대역(FakeSyncServer)이
+ * VACUUM, rowid 재사용, 백업 복원 뒤에도 settingDB 와 같은 상태가 되는지 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ChangeLogTest {
+
+    /** 유닛 테스트 작업 디렉터리(android/app) 기준 */
+    private static final String ASSET_DB = "src/main/assets/www/settingDB.db";
+
+    /**
+     * 동기화 서버 대역. HTTP 로 받을 페이지를 그대로 받아 uid 별 최신 행을 들고 있고,
+     * 반영한 seq 를 클라이언트에 돌려주는(다음 since) 것까지만 흉내 낸다.
+     */
+    private static final class FakeSyncServer {
+        final List<Map<String, List<Object>>> tables = new ArrayList<>();
+        long ackedSeq;
+        int requests;
+
+        FakeSyncServer() {
+            for (int t = 0; t < ChangeLog.TABLES.length; t++) {
+                tables.add(new HashMap<>());
+            }
+        }
+
+        void pull(ChangeLog log, int limit) {
+            ChangeLog.Page page;
+            do {
+                page = log.getChangesSince(ackedSeq, limit);
+                requests++;
+                apply(page);
+                ackedSeq = page.lastSeq;
+            } while (page.hasMore);
+        }
+
+        private void apply(ChangeLog.Page page) {
+            // 테이블 사이 순서는 상관없고 테이블 안에서는 seq 순이다
+            for (int t = 0; t < ChangeLog.TABLES.length; t++) {
+                int stride = 3 + ChangeLog.COLUMNS[t].length;
+                Object[] rows = page.rows[t];
+                for (int offset = 0; offset < page.counts[t] * stride; offset += stride) {
+                    String op = (String) rows[offset + 1];
+                    String uid = (String) rows[offset + 2];
+                    assertNotNull("uid 없는 변경", uid);
+                    if (op.charAt(0) == ChangeLog.OP_DELETE) {
+                        tables.get(t).remove(uid);
+                    } else {
+                        tables.get(t).put(uid, Arrays.asList(Arrays.copyOfRange(rows, offset + 3, offset + stride)));
+                    }
+                }
+            }
+        }
+    }
+
+    private Context context;
+    private SQLiteDatabase db;
+    private ChangeLog log;
+
+    @Before
+    public void setUp() throws IOException {
+        context = RuntimeEnvironment.getApplication();
+        File target = context.getDatabasePath("settingDB");
+        target.getParentFile().mkdirs();
+        Files.copy(new File(ASSET_DB).toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        db = SettingDatabase.get(context);
+        log = ChangeLog.getInstance(context);
+        log.ensureSchema();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    private void insertNote(int book, int jang, int jul, String content) {
+        db.execSQL("INSERT INTO bible_setting (book, jang, jul, title, content, bible, datetime, color, type) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                new Object[]{book, jang, jul, "", content, "nkrv", "2024-01-01T00:00:00.000Z", "#FFEB3B", 1});
+    }
+
+    private void markRead(int book, int jang) {
+        db.execSQL("INSERT INTO reading_table (book, jang, read, time) VALUES (?, ?, ?, ?)",
+                new Object[]{book, jang, "true", "2024-01-01"});
+    }
+
+    /** 현재 settingDB 를 서버와 같은 모양(uid → 컬럼 값)으로 */
+    private Map<String, List<Object>> snapshot(int t) {
+        Map<String, List<Object>> rows = new HashMap<>();
+        String[] columns = ChangeLog.COLUMNS[t];
+        StringBuilder sql = new StringBuilder("SELECT ").append(ChangeLog.UID_COLUMN);
+        for (String column : columns) {
+            sql.append(", \"").append(column).append('"');
+        }
+        Cursor cursor = db.rawQuery(sql.append(" FROM ").append(ChangeLog.TABLES[t]).toString(), null);
+        try {
+            while (cursor.moveToNext()) {
+                Object[] values = new Object[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    switch (cursor.getType(i + 1)) {
+                        case Cursor.FIELD_TYPE_INTEGER:
+                            values[i] = cursor.getLong(i + 1);
+                            break;
+                        case Cursor.FIELD_TYPE_FLOAT:
+                            values[i] = cursor.getDouble(i + 1);
+                            break;
+                        case Cursor.FIELD_TYPE_NULL:
+                            values[i] = null;
+                            break;
+                        default:
+                            values[i] = cursor.getString(i + 1);
+                    }
+                }
+                rows.put(cursor.getString(0), Arrays.asList(values));
+            }
+        } finally {
+            cursor.close();
+        }
+        return rows;
+    }
+
+    private void assertInSync(FakeSyncServer server) {
+        for (int t = 0; t < ChangeLog.TABLES.length; t++) {
+            assertEquals(ChangeLog.TABLES[t], snapshot(t), server.tables.get(t));
+        }
+    }
+
+    @Test
+    public void serverConvergesAcrossPages() {
+        for (int jul = 1; jul <= 20; jul++) {
+            insertNote(1, 1, jul, "노트 " + jul);
+        }
+        for (int jang = 1; jang <= 30; jang++) {
+            markRead(1, jang);
+        }
+        db.execSQL("UPDATE bible_setting SET content = '고침' WHERE jul % 3 = 0");
+        db.execSQL("DELETE FROM reading_table WHERE jang > 25");
+
+        FakeSyncServer server = new FakeSyncServer();
+        server.pull(log, 7);
+        assertInSync(server);
+        assertTrue("페이지가 나뉘지 않음", server.requests > 1);
+        assertEquals(log.getLastSeq(), server.ackedSeq);
+    }
+
+    @Test
+    public void vacuumKeepsRowIdentity() {
+        for (int jul = 1; jul <= 10; jul++) {
+            insertNote(43, 3, jul, "노트 " + jul);
+        }
+        FakeSyncServer server = new FakeSyncServer();
+        server.pull(log, 100);
+
+        // 앞쪽 행을 지우고 VACUUM 하면 남은 행의 rowid 가 앞으로 당겨진다
+        db.execSQL("DELETE FROM bible_setting WHERE jul <= 5");
+        Map<String, List<Object>> before = snapshot(0);
+        db.execSQL("VACUUM");
+        assertEquals(before.keySet(), snapshot(0).keySet());
+
+        db.execSQL("UPDATE bible_setting SET color = '#000000' WHERE jul = 6");
+        server.pull(log, 100);
+        assertInSync(server);
+        assertEquals(5, server.tables.get(0).size());
+    }
+
+    @Test
+    public void reusedRowidIsReportedAsNewRow() {
+        markRead(1, 1);
+        markRead(1, 2);
+        FakeSyncServer server = new FakeSyncServer();
+        server.pull(log, 100);
+
+        // 마지막 행을 지우고 넣으면 SQLite 는 같은 rowid 를 다시 준다
+        db.execSQL("DELETE FROM reading_table WHERE jang = 2");
+        markRead(2, 1);
+        server.pull(log, 100);
+        assertInSync(server);
+        assertEquals(2, server.tables.get(1).size());
+    }
+
+    @Test
+    public void compactDoesNotChangeWhatServerSees() {
+        FakeSyncServer server = new FakeSyncServer();
+        for (int round = 0; round < 5; round++) {
+            for (int jang = 1; jang <= 10; jang++) {
+                markRead(round + 1, jang);
+            }
+            db.execSQL("UPDATE reading_table SET read = 'false' WHERE jang = " + (round + 1));
+            db.execSQL("DELETE FROM reading_table WHERE book = " + round);
+            if (round % 2 == 1) {
+                assertTrue(log.compact() > 0);
+            }
+            server.pull(log, 4);
+            assertInSync(server);
+        }
+        log.compact();
+        assertEquals(0, log.compact());
+        log.pruneThrough(server.ackedSeq);
+        server.pull(log, 4);
+        assertInSync(server);
+    }
+
+    @Test
+    public void restoreKeepsUidsAndResyncs() throws IOException {
+        for (int jul = 1; jul <= 5; jul++) {
+            insertNote(19, 23, jul, "시편 " + jul);
+        }
+        markRead(19, 23);
+        FakeSyncServer server = new FakeSyncServer();
+        server.pull(log, 100);
+        Map<String, List<Object>> backedUp = snapshot(0);
+
+        File backup = new File(context.getCacheDir(), "changelog.bbak");
+        try {
+            SettingBackup.backup(context, backup, null);
+            db.execSQL("DELETE FROM bible_setting WHERE jul > 2");
+            insertNote(19, 24, 1, "백업 뒤");
+            server.pull(log, 100);
+            assertInSync(server);
+
+            SettingBackup.restore(context, backup, null);
+            server.pull(log, 100);
+            assertInSync(server);
+            assertEquals(backedUp, server.tables.get(0));
+        } finally {
+            backup.delete();
+        }
+    }
+
+    @Test
+    public void upgradesRowidLog() {
+        db.close();
+        db = SettingDatabase.get(context);
+        for (String table : ChangeLog.TABLES) {
+            for (String event : new String[]{"insert", "update", "delete"}) {
+                db.execSQL("DROP TRIGGER IF EXISTS " + table + "_log_" + event);
+            }
+        }
+        db.execSQL("DROP TABLE change_log");
+        db.execSQL("CREATE TABLE change_log (seq INTEGER PRIMARY KEY AUTOINCREMENT, tbl INTEGER NOT NULL, "
+                + "op TEXT NOT NULL, row_id INTEGER NOT NULL, time INTEGER NOT NULL DEFAULT (strftime('%s', 'now')))");
+        db.execSQL("INSERT INTO change_log (tbl, op, row_id) VALUES (1, 'I', 1), (1, 'I', 2), (1, 'U', 1)");
+
+        log.ensureSchema();
+        assertFalse(SettingDatabase.tableColumns(db, "change_log").contains("row_id"));
+        assertEquals(3, log.getLastSeq());
+        markRead(1, 1);
+        assertEquals(4, log.getLastSeq());
+    }
+}
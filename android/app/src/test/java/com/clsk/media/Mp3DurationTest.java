@@ -0,0 +1,273 @@
+package com.clsk.media;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 프레임 헤더를 직접 만든 합성 mp3 로 CBR/VBR/Xing/Info/VBRI 각 경로의 재생 시간을 확인한다.
+ * 본문은 0 으로 채워서 디코딩은 안 되지만 Mp3Duration 은 헤더만 읽으므로 상관없다.
+ */
+public class Mp3DurationTest {
+
+    /** MPEG1 Layer III 44.1kHz 스테레오, 보호 비트 없음. 비트레이트 index 는 12~15 비트 */
+    private static final int MPEG1_L3 = 0xFFFB0000;
+    /** MPEG2 Layer III 22.05kHz 스테레오 */
+    private static final int MPEG2_L3 = 0xFFF30000;
+    private static final int MONO = 0xC0;
+
+    private File dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("mp3-duration").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    private static int header(int base, int bitrateIndex) {
+        return base | (bitrateIndex << 12);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    /** 헤더 뒤를 0 으로 채운 프레임 하나 */
+    private static byte[] frame(int header) {
+        Mp3Duration.Frame parsed = Mp3Duration.parseHeader(header);
+        assertNotNull(Integer.toHexString(header), parsed);
+        byte[] frame = new byte[parsed.length];
+        frame[0] = (byte) (header >>> 24);
+        frame[1] = (byte) (header >>> 16);
+        frame[2] = (byte) (header >>> 8);
+        frame[3] = (byte) header;
+        return frame;
+    }
+
+    /** offset 에 tag 와 뒤따르는 값들을 쓴 첫 프레임 (Xing/Info/VBRI 헤더 프레임) */
+    private static byte[] tagFrame(int header, int offset, String tag, byte[] fields) {
+        byte[] frame = frame(header);
+        byte[] name = tag.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(name, 0, frame, offset, name.length);
+        System.arraycopy(fields, 0, frame, offset + name.length, fields.length);
+        return frame;
+    }
+
+    private static byte[] xingFields(int frames) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeInt(out, 1);  // flags: 프레임 수만
+        writeInt(out, frames);
+        return out.toByteArray();
+    }
+
+    private static byte[] id3v2(int size) {
+        byte[] tag = new byte[10 + size];
+        tag[0] = 'I';
+        tag[1] = 'D';
+        tag[2] = '3';
+        tag[3] = 4;
+        tag[6] = (byte) ((size >>> 21) & 0x7F);
+        tag[7] = (byte) ((size >>> 14) & 0x7F);
+        tag[8] = (byte) ((size >>> 7) & 0x7F);
+        tag[9] = (byte) (size & 0x7F);
+        return tag;
+    }
+
+    private static byte[] id3v1() {
+        byte[] tag = new byte[128];
+        tag[0] = 'T';
+        tag[1] = 'A';
+        tag[2] = 'G';
+        return tag;
+    }
+
+    private File write(String name, byte[]... parts) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.write(part);
+        }
+        File file = new File(dir, name);
+        Files.write(file.toPath(), out.toByteArray());
+        return file;
+    }
+
+    private static byte[] repeat(byte[] frame, int count) {
+        byte[] bytes = new byte[frame.length * count];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(frame, 0, bytes, i * frame.length, frame.length);
+        }
+        return bytes;
+    }
+
+    private static long exactMs(long frames, int samples, int sampleRate) {
+        return frames * samples * 1000L / sampleRate;
+    }
+
+    @Test
+    public void parsesFrameHeaders() {
+        Mp3Duration.Frame frame = Mp3Duration.parseHeader(header(MPEG1_L3, 9));
+        assertEquals(1, frame.version);
+        assertEquals(3, frame.layer);
+        assertEquals(128, frame.bitrate);
+        assertEquals(44100, frame.sampleRate);
+        assertEquals(1152, frame.samples);
+        assertEquals(417, frame.length);
+
+        // 패딩 비트
+        assertEquals(418, Mp3Duration.parseHeader(header(MPEG1_L3, 9) | 0x200).length);
+
+        frame = Mp3Duration.parseHeader(header(MPEG2_L3, 8));
+        assertEquals(2, frame.version);
+        assertEquals(64, frame.bitrate);
+        assertEquals(22050, frame.sampleRate);
+        assertEquals(576, frame.samples);
+        assertEquals(208, frame.length);
+
+        assertNull("동기 없음", Mp3Duration.parseHeader(0x00FB9000));
+        assertNull("free format", Mp3Duration.parseHeader(header(MPEG1_L3, 0)));
+        assertNull("잘못된 비트레이트", Mp3Duration.parseHeader(header(MPEG1_L3, 15)));
+        assertNull("잘못된 샘플레이트", Mp3Duration.parseHeader(header(MPEG1_L3, 9) | 0xC00));
+    }
+
+    @Test
+    public void cbrUsesFileSize() throws IOException {
+        int frames = 2000;
+        File file = write("cbr.mp3", repeat(frame(header(MPEG1_L3, 9)), frames));
+        // 417 바이트 * 8 / 128kbps, 패딩 없는 프레임이라 실제 샘플 기준보다 0.25% 짧다
+        assertEquals(frames * 417L * 8 / 128, Mp3Duration.durationMs(file));
+        long exact = exactMs(frames, 1152, 44100);
+        assertTrue(Math.abs(Mp3Duration.durationMs(file) - exact) < exact / 100);
+    }
+
+    @Test
+    public void skipsId3Tags() throws IOException {
+        byte[] audio = repeat(frame(header(MPEG1_L3, 9)), 500);
+        long plain = Mp3Duration.durationMs(write("plain.mp3", audio));
+        // 태그 안에 동기처럼 보이는 바이트가 있어도 태그를 건너뛴다
+        byte[] tag = id3v2(3000);
+        tag[100] = (byte) 0xFF;
+        tag[101] = (byte) 0xFB;
+        tag[102] = (byte) 0x90;
+        assertEquals(plain, Mp3Duration.durationMs(write("tagged.mp3", tag, id3v2(20), audio, id3v1())));
+    }
+
+    @Test
+    public void vbrWithoutHeaderCountsFrames() throws IOException {
+        byte[] high = frame(header(MPEG1_L3, 9));
+        byte[] low = frame(header(MPEG1_L3, 5));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int frames = 1500;
+        for (int i = 0; i < frames; i++) {
+            out.write(i % 3 == 0 ? low : high);
+        }
+        File file = write("vbr.mp3", out.toByteArray());
+        assertEquals(exactMs(frames, 1152, 44100), Mp3Duration.durationMs(file));
+    }
+
+    @Test
+    public void vbrIgnoresTruncatedLastFrame() throws IOException {
+        byte[] high = frame(header(MPEG1_L3, 9));
+        byte[] low = frame(header(MPEG1_L3, 5));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < 100; i++) {
+            out.write(i % 2 == 0 ? low : high);
+        }
+        // 다음 프레임은 헤더와 본문 일부만 있다
+        out.write(high, 0, 100);
+        File file = write("truncated.mp3", out.toByteArray());
+        long ms = Mp3Duration.durationMs(file);
+        assertTrue(String.valueOf(ms), ms == exactMs(100, 1152, 44100) || ms == exactMs(101, 1152, 44100));
+    }
+
+    @Test
+    public void xingFrameCountWins() throws IOException {
+        // 스테레오 MPEG1 은 side info 32 바이트 뒤
+        byte[] first = tagFrame(header(MPEG1_L3, 9), 4 + 32, "Xing", xingFields(9000));
+        File file = write("xing.mp3", first, repeat(frame(header(MPEG1_L3, 5)), 50));
+        // 실제로 있는 프레임 수가 아니라 헤더의 프레임 수를 쓴다
+        assertEquals(exactMs(9000, 1152, 44100), Mp3Duration.durationMs(file));
+    }
+
+    @Test
+    public void infoHeaderOnMonoFrame() throws IOException {
+        // 모노 MPEG1 은 side info 17 바이트 뒤
+        int mono = header(MPEG1_L3, 9) | MONO;
+        byte[] first = tagFrame(mono, 4 + 17, "Info", xingFields(4321));
+        File file = write("info.mp3", id3v2(512), first, repeat(frame(mono), 20));
+        assertEquals(exactMs(4321, 1152, 44100), Mp3Duration.durationMs(file));
+    }
+
+    @Test
+    public void xingOnMpeg2() throws IOException {
+        // MPEG2 스테레오는 side info 17 바이트, 프레임당 576 샘플
+        byte[] first = tagFrame(header(MPEG2_L3, 8), 4 + 17, "Xing", xingFields(7000));
+        File file = write("xing2.mp3", first, repeat(frame(header(MPEG2_L3, 8)), 20));
+        assertEquals(exactMs(7000, 576, 22050), Mp3Duration.durationMs(file));
+    }
+
+    @Test
+    public void xingWithoutFrameCountFallsBack() throws IOException {
+        ByteArrayOutputStream fields = new ByteArrayOutputStream();
+        writeInt(fields, 2);  // flags: 바이트 수만
+        writeInt(fields, 123456);
+        int cbr = header(MPEG1_L3, 9);
+        byte[] first = tagFrame(cbr, 4 + 32, "Xing", fields.toByteArray());
+        File file = write("xing-bytes.mp3", first, repeat(frame(cbr), 99));
+        assertEquals(100 * 417L * 8 / 128, Mp3Duration.durationMs(file));
+    }
+
+    @Test
+    public void vbriFrameCount() throws IOException {
+        ByteArrayOutputStream fields = new ByteArrayOutputStream();
+        fields.write(0);
+        fields.write(1);    // version
+        fields.write(0);
+        fields.write(0);    // delay
+        fields.write(0);
+        fields.write(75);   // quality
+        writeInt(fields, 3_000_000);  // bytes
+        writeInt(fields, 6543);       // frames
+        // VBRI 는 채널과 상관없이 헤더 뒤 32 바이트
+        byte[] first = tagFrame(header(MPEG1_L3, 9), 4 + 32, "VBRI", fields.toByteArray());
+        File file = write("vbri.mp3", first, repeat(frame(header(MPEG1_L3, 5)), 30));
+        assertEquals(exactMs(6543, 1152, 44100), Mp3Duration.durationMs(file));
+    }
+
+    @Test
+    public void notAnMp3() throws IOException {
+        assertEquals(-1, Mp3Duration.durationMs(write("empty.mp3")));
+        assertEquals(-1, Mp3Duration.durationMs(write("text.mp3",
+                "<html>404 Not Found</html>".getBytes(StandardCharsets.US_ASCII))));
+        assertEquals(-1, Mp3Duration.durationMs(write("zeros.mp3", new byte[8192])));
+        // 동기 바이트 하나만 있고 다음 프레임이 맞지 않는다
+        byte[] lone = new byte[4096];
+        System.arraycopy(frame(header(MPEG1_L3, 9)), 0, lone, 10, 4);
+        lone[10 + 417] = 0x12;
+        assertEquals(-1, Mp3Duration.durationMs(write("lone.mp3", lone)));
+        assertEquals(-1, Mp3Duration.durationMs(new File(dir, "missing.mp3")));
+    }
+}
@@ -0,0 +1,153 @@
+package com.clsk.media;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * dailySplit 이 timeBasedBibleReadingFixed.ts 와 같은 분할을 내는지 확인한다.
+ * 골든 데이터(reading_plan_golden.txt)는 기존 TS 함수를 계획 종류마다 calculateBiblePlanWithFixedTime 처럼 불러 만든 값이고,
+ * 읽기 시간은 compileChapterDurations 와 같은 방식으로 completeBibleReadingTimes.ts 에서 읽는다.
+ */
+public class ReadingPlanEngineTest {
+
+    /** 유닛 테스트 작업 디렉터리(android/app) 기준 */
+    private static final String READING_TIMES_TS = "../../src/utils/completeBibleReadingTimes.ts";
+
+    static int[] readingTimes() throws IOException {
+        String source = new String(Files.readAllBytes(new File(READING_TIMES_TS).toPath()), StandardCharsets.UTF_8);
+        int[] seconds = new int[BibleBooks.CHAPTER_COUNT];
+        Matcher books = Pattern.compile("(?m)^\\s*(\\d+):\\s*\\{([^}]*)\\}").matcher(source);
+        while (books.find()) {
+            int book = Integer.parseInt(books.group(1));
+            Matcher pairs = Pattern.compile("(\\d+):\\s*(\\d+)").matcher(books.group(2));
+            while (pairs.find()) {
+                seconds[BibleBooks.chapterIndex(book, Integer.parseInt(pairs.group(1)))] = Integer.parseInt(pairs.group(2));
+            }
+        }
+        return seconds;
+    }
+
+    @Test
+    public void dailySplitMatchesTimeBasedPlan() throws IOException {
+        ReadingPlanEngine engine = new ReadingPlanEngine(new int[BibleBooks.CHAPTER_COUNT], readingTimes());
+        int cases = 0;
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream("reading_plan_golden.txt");
+             BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(" ");
+                String planType = fields[0];
+                int totalDays = Integer.parseInt(fields[1]);
+                String name = planType + " " + totalDays;
+                String[] counts = fields[4].split(",");
+                String[] seconds = fields[5].split(",");
+
+                ReadingPlanEngine.DailySplit split = engine.dailySplit(totalDays);
+                assertEquals(name + " targetMinutesPerDay", Long.parseLong(fields[2]), split.targetMinutesPerDay);
+                assertEquals(name + " totalSeconds", Long.parseLong(fields[3]), split.totalSeconds);
+                assertEquals(name + " days", counts.length, split.dayCount());
+                for (int day = 0; day < split.dayCount(); day++) {
+                    int from = split.dayStarts[day];
+                    int to = split.dayStarts[day + 1];
+                    assertEquals(name + " day " + (day + 1) + " chapters", Integer.parseInt(counts[day]), to - from);
+                    assertEquals(name + " day " + (day + 1) + " seconds", Long.parseLong(seconds[day]), split.daySeconds[day]);
+                }
+                assertEquals(name + " first chapter", 0, split.dayStarts[0]);
+                cases++;
+            }
+        }
+        assertTrue("골든 데이터 없음", cases > 0);
+    }
+
+    @Test
+    public void readingTimesCoverEveryChapter() throws IOException {
+        int[] seconds = readingTimes();
+        for (int index = 0; index < seconds.length; index++) {
+            assertTrue("읽기 시간 없는 장: " + BibleBooks.bookOf(index) + ":" + BibleBooks.jangOf(index), seconds[index] > 0);
+        }
+    }
+
+    @Test
+    public void snapshotFreezesPlanTimes() throws IOException {
+        int[] snapshot = readingTimes();
+        int[] psalms = ReadingPlanEngine.chapterRange("psalms");
+        for (int index = psalms[0]; index < psalms[1]; index += 2) {
+            snapshot[index] += 45;
+        }
+        ReadingPlanEngine engine = ReadingPlanEngine.fromSnapshot(snapshot);
+        long total = 0;
+        for (int index = psalms[0]; index < psalms[1]; index++) {
+            total += snapshot[index];
+        }
+        // 오디오 시간(summarize)과 일별 분할이 같은 스냅샷을 쓴다
+        assertEquals(total, engine.summarize("psalms", 30, 0).totalSeconds);
+        long bibleTotal = 0;
+        for (int seconds : snapshot) {
+            bibleTotal += seconds;
+        }
+        assertEquals(bibleTotal, engine.dailySplit(30).totalSeconds);
+
+        // 찍어 둔 뒤 원본 배열이 바뀌어도 (새로 잰 값) 계획은 그대로
+        snapshot[psalms[0]] += 600;
+        assertEquals(total, engine.rangeSeconds(psalms[0], psalms[1]));
+    }
+
+    @Test
+    public void readingTableSnapshotSplitsLikeDefault() throws IOException {
+        // JS 에서 native 값이 없는 장은 getChapterReadingTime 으로 채운 스냅샷과 같은 경우
+        ReadingPlanEngine snapshot = ReadingPlanEngine.fromSnapshot(readingTimes());
+        ReadingPlanEngine table = new ReadingPlanEngine(new int[BibleBooks.CHAPTER_COUNT], readingTimes());
+        for (int totalDays : new int[]{30, 90, 365}) {
+            ReadingPlanEngine.DailySplit expected = table.dailySplit(totalDays);
+            ReadingPlanEngine.DailySplit actual = snapshot.dailySplit(totalDays);
+            assertArrayEquals("" + totalDays, expected.dayStarts, actual.dayStarts);
+            assertArrayEquals("" + totalDays, expected.daySeconds, actual.daySeconds);
+        }
+    }
+
+    @Test
+    public void dailyReadingSplitsChapterCountLikeGetDailyReading() {
+        // 성경 전체 365일: ceil(1189 / 365) = 4장씩, 298일차가 마지막 1장
+        assertArrayEquals(new int[]{0, 4}, ReadingPlanEngine.dailyReading("full_bible", 365, 1));
+        assertArrayEquals(new int[]{1188, 1189}, ReadingPlanEngine.dailyReading("full_bible", 365, 298));
+        assertEquals(0, size(ReadingPlanEngine.dailyReading("full_bible", 365, 299)));
+        assertEquals(0, size(ReadingPlanEngine.dailyReading("full_bible", 365, 0)));
+
+        int psalm1 = BibleBooks.chapterIndex(19, 1);
+        assertArrayEquals(new int[]{psalm1, psalm1 + 1}, ReadingPlanEngine.dailyReading("psalms", 365, 1));
+        assertArrayEquals(new int[]{psalm1 + 149, psalm1 + 150}, ReadingPlanEngine.dailyReading("psalms", 365, 150));
+        assertEquals(0, size(ReadingPlanEngine.dailyReading("psalms", 365, 151)));
+
+        int matthew3 = BibleBooks.chapterIndex(40, 3);
+        assertArrayEquals(new int[]{matthew3, matthew3 + 1}, ReadingPlanEngine.dailyReading("new_testament", 365, 3));
+    }
+
+    private static int size(int[] range) {
+        return range[1] - range[0];
+    }
+
+    @Test
+    public void missingTimesUseChapterReadingTimeFallback() {
+        ReadingPlanEngine engine = new ReadingPlanEngine(new int[BibleBooks.CHAPTER_COUNT], new int[BibleBooks.CHAPTER_COUNT]);
+        assertEquals(240, engine.chapterReadingSeconds(BibleBooks.chapterIndex(1, 1)));
+        assertEquals(150, engine.chapterReadingSeconds(BibleBooks.chapterIndex(19, 23)));
+        assertEquals(210, engine.chapterReadingSeconds(BibleBooks.chapterIndex(20, 1)));
+        assertEquals(252, engine.chapterReadingSeconds(BibleBooks.chapterIndex(40, 1)));
+    }
+}
@@ -0,0 +1,158 @@
+package com.clsk.media;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * 앱에 들어가는 assets/www/settingDB.db 로 백업 → 변경 → 복원 왕복을 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SettingBackupTest {
+
+    /** 유닛 테스트 작업 디렉터리(android/app) 기준 */
+    private static final String ASSET_DB = "src/main/assets/www/settingDB.db";
+
+    private Context context;
+    private SQLiteDatabase db;
+    private File backup;
+
+    @Before
+    public void setUp() throws IOException {
+        context = RuntimeEnvironment.getApplication();
+        File target = context.getDatabasePath("settingDB");
+        target.getParentFile().mkdirs();
+        Files.copy(new File(ASSET_DB).toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        db = SettingDatabase.get(context);
+        backup = new File(context.getCacheDir(), "setting.bbak");
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+        backup.delete();
+    }
+
+    private void seed() {
+        StringBuilder longNote = new StringBuilder();
+        while (longNote.length() < 70000) {
+            longNote.append("말씀노트 ");
+        }
+        db.execSQL("INSERT INTO bible_setting (book, jang, jul, title, content, bible, datetime, color, type) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                new Object[]{1, 1, 1, "태초에", longNote.toString(), "nkrv", "2024-01-01T00:00:00.000Z", "#FFEB3B", 1});
+        db.execSQL("INSERT INTO bible_setting (book, jang, jul, title, content, bible, datetime, color, type) "
+                        + "VALUES (?, ?, ?, ?, NULL, ?, ?, NULL, ?)",
+                new Object[]{43, 3, 16, "", "nkrv", "2024-01-02T00:00:00.000Z", 2});
+        for (int jang = 1; jang <= 50; jang++) {
+            db.execSQL("INSERT INTO reading_table (book, jang, read, time) VALUES (?, ?, ?, ?)",
+                    new Object[]{1, jang, jang % 7 == 0 ? "false" : "true", "2024-01-" + String.format("%02d", jang % 28 + 1)});
+        }
+    }
+
+    /** rowid 를 포함한 테이블 전체, 행마다 컬럼 값을 문자열로 */
+    private List<String> dump(String table) {
+        List<String> rows = new ArrayList<>();
+        Cursor cursor = db.rawQuery("SELECT rowid, * FROM " + table + " ORDER BY rowid", null);
+        try {
+            while (cursor.moveToNext()) {
+                String[] values = new String[cursor.getColumnCount()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = cursor.getType(i) + ":" + cursor.getString(i);
+                }
+                rows.add(Arrays.toString(values));
+            }
+        } finally {
+            cursor.close();
+        }
+        return rows;
+    }
+
+    @Test
+    public void restoresBackupExactly() throws IOException {
+        seed();
+        List<String> settings = dump("bible_setting");
+        List<String> reading = dump("reading_table");
+
+        assertEquals(52, SettingBackup.backup(context, backup, null));
+        assertEquals(52, SettingBackup.verify(backup, null));
+
+        db.execSQL("DELETE FROM bible_setting WHERE book = 43");
+        db.execSQL("UPDATE reading_table SET read = 'false'");
+        db.execSQL("INSERT INTO reading_table (book, jang, read, time) VALUES (2, 1, 'true', '2024-02-01')");
+
+        assertEquals(52, SettingBackup.restore(context, backup, null));
+        assertEquals(settings, dump("bible_setting"));
+        assertEquals(reading, dump("reading_table"));
+    }
+
+    @Test
+    public void emptyDatabaseRoundTrips() throws IOException {
+        assertEquals(0, SettingBackup.backup(context, backup, null));
+        seed();
+        assertEquals(0, SettingBackup.restore(context, backup, null));
+        assertEquals(0, dump("bible_setting").size());
+        assertEquals(0, dump("reading_table").size());
+    }
+
+    @Test
+    public void corruptBackupLeavesDatabaseUntouched() throws IOException {
+        seed();
+        SettingBackup.backup(context, backup, null);
+        db.execSQL("DELETE FROM bible_setting");
+        List<String> settings = dump("bible_setting");
+        List<String> reading = dump("reading_table");
+
+        try (RandomAccessFile file = new RandomAccessFile(backup, "rw")) {
+            file.seek(file.length() / 2);
+            int value = file.read();
+            file.seek(file.length() / 2);
+            file.write(value ^ 0xFF);
+        }
+        try {
+            SettingBackup.restore(context, backup, null);
+            fail("손상된 백업이 복원되었습니다");
+        } catch (IOException expected) {
+            // 체크섬이나 deflate 오류
+        }
+        assertEquals(settings, dump("bible_setting"));
+        assertEquals(reading, dump("reading_table"));
+    }
+
+    @Test
+    public void failedRestoreRollsBackEveryTable() throws IOException {
+        seed();
+        SettingBackup.backup(context, backup, null);
+        db.execSQL("DELETE FROM bible_setting");
+        // reading_table 복원(두 번째 테이블)에서 실패하게 만든다
+        db.execSQL("DROP TABLE reading_table");
+
+        try {
+            SettingBackup.restore(context, backup, null);
+            fail("없는 테이블에 복원되었습니다");
+        } catch (RuntimeException expected) {
+            // INSERT INTO reading_table 컴파일 실패
+        }
+        // bible_setting 은 먼저 복원됐지만 같은 트랜잭션이라 되돌려진다
+        assertEquals(0, dump("bible_setting").size());
+    }
+}
@@ -0,0 +1,176 @@
+package com.clsk.media;
+
+import org.junit.Test;
+
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 합성 낭독(창별 dBFS)으로 SilenceDetector.findPauses → VerseAligner.align 이
+ * 실제 절 시작 위치를 찾는지 확인한다. 디코딩(MediaCodec)은 기기에서만 돈다.
+ */
+public class VerseAlignerTest {
+
+    private static final float SPEECH_DB = -18f;
+    private static final float QUIET_DB = -62f;
+
+    /** 합성 장: 창별 소리 크기, 실제 절 시작, 글자 수 추정 시작 */
+    private static final class Chapter {
+        float[] levels;
+        int[] truth;
+        int[] expected;
+        long durationMs;
+    }
+
+    /**
+     * 장 머리(2초) + 쉼, 절마다 말소리 사이에 짧은 숨(절 안 쉼)을 넣고 절 사이에는 긴 쉼을 둔다.
+     * 추정은 실제 절 길이에 estimateError 만큼 흔든 비율로 장 길이를 나눈 값 (VerseTimeline.estimate 와 같은 방식).
+     */
+    private static Chapter chapter(int verses, long seed, double estimateError, double drift) {
+        Random random = new Random(seed);
+        int window = SilenceDetector.WINDOW_MS;
+        float[] levels = new float[verses * 20_000 / window + 1000];
+        int[] truth = new int[verses];
+        double[] weights = new double[verses];
+        int at = 0;
+        at = fill(levels, at, 2000, SPEECH_DB, random);
+        for (int verse = 0; verse < verses; verse++) {
+            at = fill(levels, at, 400 + random.nextInt(500), QUIET_DB, random);
+            truth[verse] = at * window;
+            int speech = 4000 + random.nextInt(10_000);
+            int breaths = random.nextInt(3);
+            for (int b = 0; b <= breaths; b++) {
+                at = fill(levels, at, speech / (breaths + 1), SPEECH_DB, random);
+                if (b < breaths) {
+                    at = fill(levels, at, 190 + random.nextInt(150), QUIET_DB, random);
+                }
+            }
+            double bias = 1 + drift * (verse < verses / 2 ? 1 : -1);
+            weights[verse] = speech * bias * (1 + (random.nextDouble() * 2 - 1) * estimateError);
+        }
+        at = fill(levels, at, 600, QUIET_DB, random);
+
+        Chapter chapter = new Chapter();
+        chapter.levels = Arrays.copyOf(levels, at);
+        chapter.truth = truth;
+        chapter.durationMs = (long) at * window;
+        double total = 2000;
+        for (double weight : weights) {
+            total += weight;
+        }
+        chapter.expected = new int[verses];
+        double cumulative = 2000;
+        for (int verse = 0; verse < verses; verse++) {
+            chapter.expected[verse] = (int) (chapter.durationMs * cumulative / total);
+            cumulative += weights[verse];
+        }
+        return chapter;
+    }
+
+    private static int fill(float[] levels, int at, int ms, float db, Random random) {
+        int windows = ms / SilenceDetector.WINDOW_MS;
+        for (int i = 0; i < windows; i++) {
+            levels[at + i] = db + (float) (random.nextGaussian() * 3);
+        }
+        return at + windows;
+    }
+
+    private static int within(int[] actual, int[] truth, int toleranceMs) {
+        int hits = 0;
+        for (int i = 0; i < truth.length; i++) {
+            if (Math.abs(actual[i] - truth[i]) <= toleranceMs) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Test
+    public void findsVerseStartsInShortChapter() {
+        Chapter chapter = chapter(25, 1, 0.2, 0);
+        int[] pauses = SilenceDetector.findPauses(chapter.levels);
+        VerseAligner.Result result = VerseAligner.align(chapter.expected, pauses, chapter.durationMs);
+
+        // 창 경계 잡음으로 한두 창(20ms) 어긋날 수 있다
+        assertEquals(25, within(result.starts, chapter.truth, 40));
+        assertEquals(25, result.matched);
+        // 추정만으로는 대부분 1초 넘게 어긋난다
+        assertTrue(within(chapter.expected, chapter.truth, 1000) < 20);
+    }
+
+    @Test
+    public void followsDriftInLongChapter() {
+        // 시편 119편 크기, 앞 절반은 추정이 15% 길고 뒤 절반은 15% 짧다
+        Chapter chapter = chapter(176, 2, 0.25, 0.15);
+        int[] pauses = SilenceDetector.findPauses(chapter.levels);
+        VerseAligner.Result result = VerseAligner.align(chapter.expected, pauses, chapter.durationMs);
+
+        int found = within(result.starts, chapter.truth, 40);
+        assertTrue("맞춘 절: " + found, found >= 176 * 95 / 100);
+        for (int verse = 1; verse < 176; verse++) {
+            assertTrue(result.starts[verse] >= result.starts[verse - 1]);
+        }
+    }
+
+    @Test
+    public void keepsEstimateWithoutPauses() {
+        // 배경 음악이 깔려 쉼이 없는 녹음
+        int[] expected = {1000, 5000, 9000, 14000};
+        VerseAligner.Result result = VerseAligner.align(expected, new int[0], 20_000);
+        assertArrayEquals(expected, result.starts);
+        assertEquals(0, result.matched);
+        assertEquals(0, VerseAligner.align(new int[0], new int[]{100, 500}, 20_000).starts.length);
+    }
+
+    @Test
+    public void unmatchedVersesFollowNeighbours() {
+        // 절 1, 3 만 쉼에 맞고 2 는 두 절 사이 추정 비율 그대로
+        int[] expected = {1000, 4000, 6000, 9000};
+        int[] matches = {-1, 0, -1, 1};
+        int[] pauses = {4400, 4800, 9500, 10_000};
+        int[] starts = VerseAligner.interpolate(expected, matches, pauses, 12_000);
+        assertEquals(4800 * 1000 / 4000, starts[0]);
+        assertEquals(4800, starts[1]);
+        assertEquals(4800 + (6000 - 4000) * (10_000 - 4800) / (9000 - 4000), starts[2]);
+        assertEquals(10_000, starts[3]);
+    }
+
+    @Test
+    public void findPausesIgnoresShortDips() {
+        float[] levels = new float[300];
+        Arrays.fill(levels, SPEECH_DB);
+        // 앞 300ms 무음, 100ms 끊김(무시), 400ms 쉼
+        Arrays.fill(levels, 0, 15, QUIET_DB);
+        Arrays.fill(levels, 100, 105, QUIET_DB);
+        Arrays.fill(levels, 200, 220, QUIET_DB);
+        assertArrayEquals(new int[]{0, 300, 4000, 4400}, SilenceDetector.findPauses(levels));
+        assertEquals(0, SilenceDetector.findPauses(new float[0]).length);
+    }
+
+    @Test
+    public void levelsMeasureWindows() {
+        // 48kHz 스테레오, 창 960 프레임: 무음 1창, 최대 크기 사각파 1창, 한 채널만 1창
+        SilenceDetector.Levels levels = new SilenceDetector.Levels(48_000, 2);
+        short[] samples = new short[960 * 2 * 3];
+        for (int frame = 960; frame < 960 * 2; frame++) {
+            samples[frame * 2] = (short) (frame % 2 == 0 ? 32767 : -32767);
+            samples[frame * 2 + 1] = samples[frame * 2];
+        }
+        for (int frame = 960 * 2; frame < 960 * 3; frame++) {
+            samples[frame * 2] = (short) (frame % 2 == 0 ? 32767 : -32767);
+        }
+        // 디코더 출력 버퍼처럼 나눠서 준다
+        levels.add(ShortBuffer.wrap(samples, 0, 1001));
+        levels.add(ShortBuffer.wrap(samples, 1001, samples.length - 1001));
+        float[] db = levels.finish();
+        assertEquals(3, db.length);
+        assertEquals(SilenceDetector.SILENT_DB, db[0], 0.001);
+        assertEquals(0, db[1], 0.01);
+        assertEquals(-3.01, db[2], 0.01);
+    }
+}
@@ -0,0 +1,101 @@
+package com.clsk.media;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 상세 화면 절 조회: "1,3-5" 해석과 (번역본, 책) 묶음 조회 뒤 입력 순서대로 돌려주는지 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class VerseRangeResolverTest {
+
+    private SQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        db = SQLiteDatabase.create(null);
+        for (int book : new int[]{1, 19}) {
+            db.execSQL("CREATE TABLE bible_" + book
+                    + " (type TEXT, jang INTEGER, jul INTEGER, sequence INTEGER, content TEXT)");
+        }
+        // 일부러 절 순서와 다르게 넣는다
+        insert(1, "nkrv", 1, 3, 1, "창1:3");
+        insert(1, "nkrv", 1, 1, 1, "창1:1");
+        insert(1, "nkrv", 1, 2, 1, "창1:2");
+        insert(1, "nkrv", 2, 1, 1, "창2:1");
+        insert(1, "niv", 1, 1, 1, "Gen1:1");
+        insert(19, "nkrv", 3, 1, 3, "시3:1 본문");
+        insert(19, "nkrv", 3, 1, 1, "시3:1 제목");
+        insert(19, "nkrv", 3, 2, 1, "시3:2");
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    private void insert(int book, String type, int jang, int jul, int sequence, String content) {
+        db.execSQL("INSERT INTO bible_" + book + " (type, jang, jul, sequence, content) VALUES (?, ?, ?, ?, ?)",
+                new Object[]{type, jang, jul, sequence, content});
+    }
+
+    private static List<String> texts(List<VerseRangeResolver.Verse> verses) {
+        List<String> texts = new ArrayList<>();
+        for (VerseRangeResolver.Verse verse : verses) {
+            texts.add(verse.jul + ":" + verse.content);
+        }
+        return texts;
+    }
+
+    @Test
+    public void parsesRangesSortedWithoutDuplicates() {
+        assertArrayEquals(new int[]{1, 2, 5, 6, 7}, VerseRangeResolver.parseJuls("1,2,5-7"));
+        assertArrayEquals(new int[]{1, 2, 3, 4}, VerseRangeResolver.parseJuls("4, 2-3 ,1,3"));
+        assertArrayEquals(new int[]{3}, VerseRangeResolver.parseJuls("x,3,,0,-2"));
+        assertArrayEquals(new int[0], VerseRangeResolver.parseJuls(null));
+    }
+
+    @Test
+    public void resolvesInInputOrder() {
+        List<VerseRangeResolver.Ref> refs = Arrays.asList(
+                new VerseRangeResolver.Ref(19, 3, "2,1", "nkrv"),
+                new VerseRangeResolver.Ref(1, 1, "3,1-2,2", "nkrv"),
+                new VerseRangeResolver.Ref(1, 1, "1", "niv"),
+                new VerseRangeResolver.Ref(1, 2, "1,9", "nkrv"));
+
+        List<List<VerseRangeResolver.Verse>> resolved = VerseRangeResolver.resolve(db, refs);
+
+        assertEquals(4, resolved.size());
+        // 같은 절 번호의 여러 행은 sequence 순
+        assertEquals(Arrays.asList("1:시3:1 제목", "1:시3:1 본문", "2:시3:2"), texts(resolved.get(0)));
+        // 중복 절은 한 번만, jul 순
+        assertEquals(Arrays.asList("1:창1:1", "2:창1:2", "3:창1:3"), texts(resolved.get(1)));
+        assertEquals(Arrays.asList("1:Gen1:1"), texts(resolved.get(2)));
+        // 없는 절은 빠진다
+        assertEquals(Arrays.asList("1:창2:1"), texts(resolved.get(3)));
+    }
+
+    @Test
+    public void sharesVersesBetweenRefsOfSameChapter() {
+        List<VerseRangeResolver.Ref> refs = Arrays.asList(
+                new VerseRangeResolver.Ref(1, 1, "2-3", "nkrv"),
+                new VerseRangeResolver.Ref(1, 1, "1-2", "nkrv"));
+
+        List<List<VerseRangeResolver.Verse>> resolved = VerseRangeResolver.resolve(db, refs);
+
+        assertEquals(Arrays.asList("2:창1:2", "3:창1:3"), texts(resolved.get(0)));
+        assertEquals(Arrays.asList("1:창1:1", "2:창1:2"), texts(resolved.get(1)));
+    }
+}
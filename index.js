@@ -2,12 +2,13 @@
  * @format
  */
 
-import { AppRegistry, Platform } from 'react-native';
+import { AppRegistry, NativeModules, Platform } from 'react-native';
 import { SafeAreaProvider } from 'react-native-safe-area-context';
 import TrackPlayer from 'react-native-track-player';
 import App from './App';
 import appName from './app.json';
 import { FbBackgrdMsgHandler } from './src/utils/firebase';
+import { API_CONFIG } from './src/utils/api';
 
 import notifee from '@notifee/react-native';
 import messaging from '@react-native-firebase/messaging';
@@ -33,6 +34,11 @@ const setupTrackPlayer = async () => {
 // 앱 시작 시 초기화 시도
 setupTrackPlayer();
 
+// 오디오 원본 서버(기본/백업)를 네이티브 캐시에 넘긴다. 네이티브에는 기본 주소가 없으므로 재생/다운로드 전에 한 번
+if (Platform.OS === 'android' && NativeModules.AudioCacheModule) {
+  NativeModules.AudioCacheModule.setOrigins([API_CONFIG.AUDIO_BASE_URL, API_CONFIG.AUDIO_BASE_URL_BACKUP]);
+}
+
 // App 컴포넌트를 SafeAreaProvider로 감싸기
 function HeadlessCheck({ isHeadless }) {
   if (isHeadless) {
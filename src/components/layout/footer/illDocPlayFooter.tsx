@@ -18,6 +18,7 @@ import TrackPlayer, {
 } from "react-native-track-player"
 import { useDispatch, useSelector } from "react-redux"
 import { illdocSelectSlice, bibleSelectSlice } from "../../../provider/redux/slice"
+import { API_CONFIG } from "../../../utils/api"
 
 export const bibleAudioList = [
     "Gen", "Exo", "Lev", "Num", "Deu", "Jos", "Jdg", "Rut", "1Sa", "2Sa",
@@ -199,8 +200,7 @@ const IllDocPlayFooterLayout = forwardRef<IllDocPlayFooterHandlers, Props>(
         }, [dispatch]);
 
         const soundUrl = useCallback((book: number, jang: number) => {
-            const baseUrl = process.env.AUDIO_BASE_URL || 'https://your-audio-url.com/';
-            const url = `${baseUrl}${
+            const url = `${API_CONFIG.AUDIO_BASE_URL}${
                 bibleAudioList[book - 1]
             }${String(jang).padStart(3, "0")}.mp3`;
             console.log("Audio URL:", url);
@@ -28,6 +28,7 @@ import {
 } from "../../../provider/redux/slice";
 import { BibleStep } from "../../../utils/define";
 import { defaultStorage } from "../../../utils/mmkv";
+import { API_CONFIG } from "../../../utils/api";
 
 export const bibleAudioList: string[] = [
   "Gen",
@@ -101,16 +102,16 @@ export const bibleAudioList: string[] = [
 // 가드 추가 : 이미 같은 장이 재생 중이면 다시 시작하지 않도록 확인하는 함수
 async function ensureNotRestarting(book: number, jang: number) {
   try {
-    const queue = await TrackPlayer.getQueue();
+    // 백그라운드 서비스가 이어 붙인 큐에서는 현재 트랙이 queue[0] 이 아닐 수 있다
+    const track = await TrackPlayer.getActiveTrack();
     const state = await TrackPlayer.getState();
     const pos = await TrackPlayer.getPosition();
     const urlPart = `${bibleAudioList[book - 1]}${String(jang).padStart(3, "0")}.mp3`;
-    const sameTrack =
-      queue.length > 0 &&
-      typeof (queue[0] as any)?.url === "string" &&
-      (queue[0] as any).url.includes(urlPart);
+    const sameTrack = typeof track?.url === "string" && track.url.includes(urlPart);
     const isActive = state === State.Playing || state === State.Buffering;
-    if (sameTrack && isActive && pos > 1) return true;
+    // 미리 붙여 둔 다음 장으로 막 넘어간 경우(위치 1초 미만)도 같은 트랙으로 본다
+    const queuedChapter = track?.book === book && track?.jang === jang;
+    if (sameTrack && isActive && (pos > 1 || queuedChapter)) return true;
   } catch {}
   return false;
 }
@@ -280,8 +281,7 @@ const PlayFooterLayout = ({ onTrigger, openSound }: PlayFooterLayoutProps) => {
 
   // 음원 URL 생성 함수
   const soundUrl = useCallback((book: number, jang: number): string => {
-    const baseUrl = process.env.AUDIO_BASE_URL || "https://your-audio-url.com/";
-    return `${baseUrl}${bibleAudioList[book - 1]}${String(jang).padStart(
+    return `${API_CONFIG.AUDIO_BASE_URL}${bibleAudioList[book - 1]}${String(jang).padStart(
         3,
         "0"
     )}.mp3`;
@@ -358,6 +358,9 @@ const PlayFooterLayout = ({ onTrigger, openSound }: PlayFooterLayoutProps) => {
             title: `${bibleAudioList[book - 1]} ${jang}장`,
             artist: "Bible Audio",
             artwork: require("../../../assets/img/bibile25.png"),
+            // 읽기 화면이 재생 중인 장을 알 수 있게 (PlaybackService 트랙과 같은 필드)
+            book,
+            jang,
           });
 
           // 현재 트랙 정보 업데이트
@@ -791,6 +794,34 @@ const PlayFooterLayout = ({ onTrigger, openSound }: PlayFooterLayoutProps) => {
     currentJang,
   ]);
 
+  // 1-1. 백그라운드 서비스가 큐에 붙여 둔 다음 장으로 넘어가면(gapless) 현재 트랙과 장 상태를 맞춘다.
+  // 맞추지 않으면 저장소 감지(5번)가 장 변경으로 보고 loadTrack 으로 큐를 비우고 다시 받는다.
+  useEffect(() => {
+    if (!isPlayerInitialized) return;
+
+    const listener = TrackPlayer.addEventListener(
+        Event.PlaybackActiveTrackChanged,
+        (event) => {
+          const track = event.track;
+          if (!track || typeof track.book !== "number" || typeof track.jang !== "number") {
+            return;
+          }
+          const previous = currentTrackRef.current;
+          if (previous && previous.book === track.book && previous.jang === track.jang) {
+            return;
+          }
+          console.log(`[GAPLESS] 다음 장으로 전환: ${track.book}권 ${track.jang}장`);
+          currentTrackRef.current = { book: track.book, jang: track.jang };
+          defaultStorage.set("last_audio_book", track.book);
+          defaultStorage.set("last_audio_jang", track.jang);
+          setCurrentBook(track.book);
+          setCurrentJang(track.jang);
+        }
+    );
+
+    return () => listener.remove();
+  }, [isPlayerInitialized]);
+
   // 2. 트랙 종료 이벤트 처리 - 더 엄격한 중복 방지
   useEffect(() => {
     if (!isPlayerInitialized || !enableAutoNext) return;
@@ -10,6 +10,7 @@ import { Share, TouchableOpacity } from "react-native";
 import { gFontTitle } from "../../../constant/global";
 import { hookNavigationProp } from "../../../hooks/navigate/useNativeNavigation.type";
 import { APP_STORE_URL } from "../../../utils";
+import { hasNativeSearch } from "../../../native/BibleSearchNative";
 
 export default function HomeHeaderLayout() {
   const { route } = useNativeNavigation();
@@ -41,8 +42,11 @@ export default function HomeHeaderLayout() {
     data: string,
     setInputValue: Dispatch<SetStateAction<string>>
   ) => {
+    // 안드로이드는 기기 안의 검색 색인, 그 외는 웹 검색
     !!data &&
-      navigation.navigate("CommonScreen", { data: `search/${data.trim()}` });
+      (hasNativeSearch()
+        ? navigation.navigate("SearchScreen", { query: data.trim() })
+        : navigation.navigate("CommonScreen", { data: `search/${data.trim()}` }));
     setInputValue("");
   };
 
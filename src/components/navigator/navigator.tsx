@@ -394,6 +394,14 @@ export const AppNavigator = () => {
                     navigationBarHidden: false
                 }}
             />
+            <Stack.Screen
+                name="SearchScreen"
+                component={route[39].component}
+                options={{
+                    orientation: 'all',
+                    navigationBarHidden: false
+                }}
+            />
 
         </Stack.Navigator>
     );
@@ -2,7 +2,8 @@ import { useFocusEffect, useIsFocused } from '@react-navigation/native';
 import { Text, View } from 'native-base';
 import { memo, useCallback, useEffect, useLayoutEffect, useState } from 'react';
 import { useDispatch, useSelector } from 'react-redux';
-import { BibleNewDB, color, fetchSql } from '../../../../utils';
+import { loadChapterVerses, getSelectedTypes } from '../../../../native/BibleChapterNative';
+import { color } from '../../../../utils';
 
 import { TouchableOpacity } from 'react-native';
 import Highlighter from 'react-native-highlight-words';
@@ -21,19 +22,6 @@ interface PropsType {
   content: string;
 }
 
-function organizeData(res?: any) {
-  const result = [];
-
-  for (let i = 0; i < res.length; i++) {
-    const sameJul = res.filter((item: any) => item.jul === i + 1);
-    if (sameJul.length === 0) {
-      continue;
-    }
-    result.push(sameJul);
-  }
-  return result;
-}
-
 function BibleSubPage({
   markData,
   onPressforward,
@@ -48,23 +36,16 @@ function BibleSubPage({
 
   const fontStyle = JSON.parse(defaultStorage.getString('fontStyle') ?? '');
 
-  const [data, setData] = useState<{ content: string; jul: number }[]>([]);
+  const [data, setData] = useState<PropsType[][]>([]);
 
   const isFocused = useIsFocused();
 
   useLayoutEffect(() => {
-    const mmkv = defaultStorage.getString('bibleNames');
-
-    if (mmkv) {
-      const dataSelectSql = `SELECT content, jul FROM bible_${BOOK} WHERE type in(${JSON.parse(
-        mmkv
-      )
-        .map((val: string) => (val = "'" + val + "'"))
-        .join(',')})  and jang =${JANG} order by jul ,sequence ASC`;
+    const types = getSelectedTypes();
 
-      fetchSql(BibleNewDB, dataSelectSql, []).then((res: any) => {
-        // organizeData(res)
-        setData(organizeData(res));
+    if (types) {
+      loadChapterVerses(BOOK, JANG, types).then((verses) => {
+        setData(verses);
       });
     }
     return () => {};
@@ -7,7 +7,8 @@ import TrackPlayer from 'react-native-track-player';
 import FontAwesomeIcon from 'react-native-vector-icons/FontAwesome';
 import { useDispatch, useSelector } from 'react-redux';
 import { bibleSelectSlice } from '../../../../provider/redux/slice';
-import { BibleNewDB, color, fetchSql } from '../../../../utils';
+import { loadChapterVerses, getSelectedTypes } from '../../../../native/BibleChapterNative';
+import { color } from '../../../../utils';
 import { defaultStorage } from '../../../../utils/mmkv';
 import ConectionContainerFlatList from '../../../section/containerFlatList/connec';
 
@@ -21,19 +22,6 @@ interface PropsType {
   content: string;
 }
 
-function organizeData(res?: any) {
-  const result = [];
-
-  for (let i = 0; i < res.length; i++) {
-    const sameJul = res.filter((item: any) => item.jul === i + 1);
-    if (sameJul.length === 0) {
-      continue;
-    }
-    result.push(sameJul);
-  }
-  return result;
-}
-
 function BibleConectionSubPage({
                                  markData,
                                  onPressforward,
@@ -53,23 +41,19 @@ function BibleConectionSubPage({
       defaultStorage.getString('illDocFontStyle') ?? ''
   );
 
-  const [data, setData] = useState<{ content: string; jul: number }[]>([]);
+  const [data, setData] = useState<PropsType[][]>([]);
+  // 오디오가 읽고 있는 절 (0 이면 없음)
+  const [spokenJul, setSpokenJul] = useState(0);
 
   const isFocused = useIsFocused();
 
   useLayoutEffect(() => {
-    const mmkv = defaultStorage.getString('bibleNames');
-
-    if (mmkv) {
-      const dataSelectSql = `SELECT content, jul FROM bible_${BOOK} WHERE type in(${JSON.parse(
-          mmkv
-      )
-          .map((val: string) => (val = "'" + val + "'"))
-          .join(',')})  and jang =${JANG} order by jul ,sequence ASC`;
+    const types = getSelectedTypes();
 
-      fetchSql(BibleNewDB, dataSelectSql, [])
-          .then((res: any) => {
-            setData(organizeData(res));
+    if (types) {
+      loadChapterVerses(BOOK, JANG, types)
+          .then((verses) => {
+            setData(verses);
           })
           .catch((err) => {
             console.log(err);
@@ -125,9 +109,11 @@ function BibleConectionSubPage({
               paddingHorizontal: 2
             }}
             data={data}
+            extraData={spokenJul}
             renderItem={({ item }) => (
                 <ListItem
                     item={item}
+                    spoken={item[0].jul === spokenJul}
                     fontStyle={fontStyle}
                     onTextBgStyles={onTextBgStyles}
                     changePage={{ BOOK, JANG }}
@@ -146,6 +132,7 @@ function BibleConectionSubPage({
             onReadStatusChange={onReadStatusChange}
             isAutoProgressEnabled={isAutoProgressEnabled} // 자동 진행 상태 전달
             sound={sound} // 오디오 상태 전달
+            onSpokenVerseChange={setSpokenJul}
         />
       </>
   );
@@ -156,12 +143,14 @@ export default memo(BibleConectionSubPage);
 //! 절 정보 밖으로 뺌
 const ListItem = ({
                     item,
+                    spoken,
                     fontStyle,
                     onTextBgStyles,
                     changePage,
                     components
                   }: {
   item: PropsType[];
+  spoken?: boolean;
   fontStyle: any;
   onTextBgStyles: any;
   changePage: any;
@@ -210,7 +199,10 @@ const ListItem = ({
               display: 'flex',
               flexDirection: 'row',
               alignItems: 'flex-start',
-              marginBottom: 20
+              marginBottom: 20,
+              // 오디오가 읽고 있는 절
+              borderRadius: 6,
+              backgroundColor: spoken ? 'rgba(178,60,10,0.08)' : undefined
             }}
         >
           <Text
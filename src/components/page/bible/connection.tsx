@@ -16,7 +16,9 @@ import {
     bibleTextSlice,
     illdocSelectSlice,
 } from "../../../provider/redux/slice";
-import { BibleNewDB, bibleSetting, color, fetchSql, defineSQL } from "../../../utils";
+import { color, upsertReadingStatus } from "../../../utils";
+import { loadChapterMarks } from "../../../native/AnnotationNative";
+import { getSelectedTypes, loadSelectedVerses } from "../../../native/BibleChapterNative";
 import { BibleStep } from "../../../utils/define";
 import { defaultStorage } from "../../../utils/mmkv";
 import { useBibleReading } from "../../../utils/useBibleReading";
@@ -150,23 +152,20 @@ export default function BibleConectionScreen() {
         }
     }, []);
 
-    const selectSql = `SELECT type, color, jul FROM 'bible_setting'
-                       WHERE book = ${BOOK} and jang = ${JANG}`;
+    // 장의 북마크/형광펜/노트 표시 (SWR 키)
+    const marksKey = `chapterMarks/${BOOK}/${JANG}`;
 
     const bibleName = `${BibleStep?.[BOOK - 1]?.name} ${JANG}장` ?? "";
 
-    const fetcher = async (url: string) => {
-        const data = await fetchSql(bibleSetting, url, []);
-        return data;
-    };
+    const fetcher = () => loadChapterMarks(BOOK, JANG);
 
-    const { data: markData, mutate } = useSWR(selectSql, fetcher);
+    const { data: markData, mutate } = useSWR(marksKey, fetcher);
 
     const handleUpdateData = useCallback(async () => {
         if (!isMountedRef.current) return;
 
-        const data = await fetchSql(bibleSetting, selectSql, []);
-        return mutate(selectSql, data);
+        const data = await loadChapterMarks(BOOK, JANG);
+        return mutate(marksKey, data);
     }, [BOOK, JANG]);
 
     const handleGlobalRefresh = useCallback(() => {
@@ -206,38 +205,9 @@ export default function BibleConectionScreen() {
         try {
             console.log(`📝 Marking chapter ${bookToMark}:${jangToMark} as read`);
 
-            const settingSelectSql = `${defineSQL(['read'], 'SELECT', 'reading_table', {
-                WHERE: { BOOK: '?', JANG: '?' }
-            })}`;
-
-            const result = await fetchSql(bibleSetting, settingSelectSql, [bookToMark, jangToMark], 0);
-
-            if (result) {
-                const settingUpdateSql = `${defineSQL(
-                    ['read', 'time'],
-                    'UPDATE',
-                    'reading_table',
-                    { WHERE: { BOOK: bookToMark, JANG: jangToMark } }
-                )}`;
-                await fetchSql(bibleSetting, settingUpdateSql, [
-                    'true',
-                    String(new Date())
-                ]);
-                console.log('✅ Connection: Updated existing reading record');
-            } else {
-                const settingInsertSql = `${defineSQL(
-                    ['book', 'jang', 'read', 'time'],
-                    'INSERT',
-                    'reading_table',
-                    {}
-                )}`;
-                await fetchSql(bibleSetting, settingInsertSql, [
-                    bookToMark,
-                    jangToMark,
-                    'true',
-                    String(new Date())
-                ]);
-                console.log('✅ Connection: Created new reading record');
+            // 안드로이드는 네이티브 group commit writer 로 기록한다
+            if (!(await upsertReadingStatus(bookToMark, jangToMark, true))) {
+                throw new Error(`reading_table 기록 실패: ${bookToMark}:${jangToMark}`);
             }
 
             // 캐시 업데이트
@@ -706,27 +676,9 @@ const getBibleSettingData = async (
     jang: number,
     totaljul: number[]
 ) => {
-    let sqlQuery;
-
-    const mmkv = defaultStorage.getString("bibleNames");
-
-    if (mmkv) {
-        sqlQuery = `SELECT jul, content FROM bible_${book} WHERE  type in(${JSON.parse(
-                mmkv
-        )
-                .map((val: string) => (val = "'" + val + "'"))
-                .join(",")}) and jang = ${jang} and jul in (${totaljul.join(
-                ","
-        )}) order by jul;`;
-    } else {
-        sqlQuery = `SELECT jul, content FROM bible_${book} WHERE  type = "nkrv" and jang = ${jang} and jul in (${totaljul.join(
-                ","
-        )}) order by jul;`;
-    }
-
     try {
-        const result = await fetchSql(BibleNewDB, sqlQuery, []);
-        return String(result.map(({ jul, content }: any) => `${jul} ${content}`));
+        const result = await loadSelectedVerses(book, jang, getSelectedTypes() ?? ["nkrv"], totaljul);
+        return String(result.map(({ jul, content }) => `${jul} ${content}`));
     } catch (err) {
         return console.log(err);
     }
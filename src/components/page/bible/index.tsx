@@ -12,7 +12,9 @@ import {
   bibleSelectSlice,
   bibleTextSlice,
 } from "../../../provider/redux/slice";
-import { BibleNewDB, bibleSetting, color, fetchSql } from "../../../utils";
+import { color } from "../../../utils";
+import { loadChapterMarks } from "../../../native/AnnotationNative";
+import { getSelectedTypes, loadSelectedVerses } from "../../../native/BibleChapterNative";
 import { BibleStep } from "../../../utils/define";
 import { defaultStorage } from "../../../utils/mmkv";
 import FooterLayout from "../../layout/footer/footer";
@@ -129,24 +131,21 @@ export default function BibleScreen() {
   }, []); // 빈 dependency array로 초기에만 실행
 
   // 나머지 코드는 동일...
-  const selectSql = `SELECT type, color, jul FROM 'bible_setting'
-  WHERE book = ${BOOK} and jang = ${JANG}`;
+  // 장의 북마크/형광펜/노트 표시 (SWR 키)
+  const marksKey = `chapterMarks/${BOOK}/${JANG}`;
   const bibleName = `${BibleStep?.[BOOK - 1]?.name} ${JANG}장` ?? "";
 
   const [menuIndex, setMenuIndex] = useState<number>(0);
   const isFocused = useIsFocused();
 
-  const fetcher = async (url: string) => {
-    const data = await fetchSql(bibleSetting, url, []);
-    return data;
-  };
+  const fetcher = () => loadChapterMarks(BOOK, JANG);
 
-  const { data: markData, mutate } = useSWR(selectSql, fetcher);
+  const { data: markData, mutate } = useSWR(marksKey, fetcher);
 
   const handleUpdateData = useCallback(async () => {
-    const data = await fetchSql(bibleSetting, selectSql, []);
-    return mutate(selectSql, data);
-  }, [BOOK, JANG, selectSql, mutate]);
+    const data = await loadChapterMarks(BOOK, JANG);
+    return mutate(marksKey, data);
+  }, [BOOK, JANG, marksKey, mutate]);
 
   const onMenuPress = useCallback((index: number) => {
     setMenuIndex(index);
@@ -341,27 +340,9 @@ const getBibleSettingData = async (
   jang: number,
   totaljul: number[]
 ) => {
-  let sqlQuery;
-
-  const mmkv = defaultStorage.getString("bibleNames");
-
-  if (mmkv) {
-    sqlQuery = `SELECT jul, content FROM bible_${book} WHERE  type in(${JSON.parse(
-      mmkv
-    )
-      .map((val: string) => (val = "'" + val + "'"))
-      .join(",")}) and jang = ${jang} and jul in (${totaljul.join(
-      ","
-    )}) order by jul;`;
-  } else {
-    sqlQuery = `SELECT jul, content FROM bible_${book} WHERE  type = "nkrv" and jang = ${jang} and jul in (${totaljul.join(
-      ","
-    )}) order by jul;`;
-  }
-
   try {
-    const result = await fetchSql(BibleNewDB, sqlQuery, []);
-    return String(result.map(({ jul, content }: any) => `${jul} ${content}`));
+    const result = await loadSelectedVerses(book, jang, getSelectedTypes() ?? ["nkrv"], totaljul);
+    return String(result.map(({ jul, content }) => `${jul} ${content}`));
   } catch (err) {
     return console.log(err);
   }
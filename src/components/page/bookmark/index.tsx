@@ -16,6 +16,7 @@ import { Toast } from 'react-native-toast-message/lib/src/Toast';
 import { useDispatch } from 'react-redux';
 import { useBaseStyle, useNativeNavigation } from '../../../hooks';
 import { bibleSetting, fetchSql } from '../../../utils';
+import { ANNOTATION_BOOKMARK, loadAnnotationsByType } from '../../../native/AnnotationNative';
 import { groupObjectsByTwoCriteria } from '../../../utils/define';
 import FooterLayout from '../../layout/footer/footer';
 
@@ -34,8 +35,6 @@ export default function BookMarkScreen() {
   const [trigger, setTrigger] = useState<number>(1);
   const [fSize, setFSize] = useState<number>(settingFontSize);
 
-  const selectSql = `SELECT book, jang, jul, bible, color, content, datetime, title FROM bible_setting WHERE type = 1`;
-
   const onLightNavigate = (book: number, jang: number, jul: string) => {
     defaultStorage.set('bible_book', book);
     defaultStorage.set('bible_jang', jang);
@@ -43,7 +42,7 @@ export default function BookMarkScreen() {
   };
 
   useEffect(() => {
-    fetchSql(bibleSetting, selectSql, []).then((res: any) => {
+    loadAnnotationsByType(ANNOTATION_BOOKMARK).then((res: any) => {
       setData(res);
     });
   }, [route, trigger]);
@@ -13,7 +13,7 @@ import { useEffect, useState } from 'react';
 import { TouchableOpacity } from 'react-native';
 import { gBibleBook } from '../../../constant/global';
 import { useBaseStyle, useNativeNavigation } from '../../../hooks';
-import { BibleNewDB, fetchSql } from '../../../utils';
+import { loadVerses } from '../../../native/BibleChapterNative';
 import { defaultStorage } from '../../../utils/mmkv';
 import FooterLayout from '../../layout/footer/footer';
 import BibleBackHeaderLayout from '../../layout/header/bibleBackHeader';
@@ -37,8 +37,7 @@ export default function BookMarkDetailScreen() {
 
   useEffect(() => {
     try {
-      const dataSelectSql = `SELECT content, jul FROM bible_${book} WHERE type = '${gBibleBook}' and jang=${jang} and jul in (${jul})`;
-      fetchSql(BibleNewDB, dataSelectSql, []).then((res: any) => {
+      loadVerses(book, jang, jul, gBibleBook).then((res: any) => {
         setData(res);
       });
     } catch (err) {
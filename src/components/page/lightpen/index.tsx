@@ -13,6 +13,7 @@ import FooterLayout from '../../layout/footer/footer';
 import SectionHeaderLayout from '../../layout/header/sectionHeader';
 import { TouchableOpacity } from 'react-native';
 import { bibleSetting, defineSQL, fetchSql } from '../../../utils';
+import { ANNOTATION_HIGHLIGHT, loadAnnotationsByType } from '../../../native/AnnotationNative';
 import { useEffect, useState } from 'react';
 import { isEmpty } from 'lodash';
 import { BibleStep, groupObjectsByTwoCriteria } from '../../../utils/define';
@@ -31,8 +32,6 @@ export default function LightPenScreen() {
   const [data, setData] = useState<any[]>([]);
   const [trigger, setTrigger] = useState<number>(1);
 
-  const selectSql = `SELECT bible, book, color, content, datetime, jang, jul, title FROM bible_setting WHERE type = 2`;
-
   const onNavigate = (
     name: string,
     _id: string,
@@ -63,7 +62,7 @@ export default function LightPenScreen() {
   };
 
   useEffect(() => {
-    fetchSql(bibleSetting, selectSql, []).then((res: any) => {
+    loadAnnotationsByType(ANNOTATION_HIGHLIGHT).then((res: any) => {
       setData(res);
     });
   }, [route, trigger]);
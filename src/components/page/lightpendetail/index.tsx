@@ -10,7 +10,8 @@ import {
 import FooterLayout from '../../layout/footer/footer';
 import { useBaseStyle, useNativeNavigation } from '../../../hooks';
 import { useEffect, useState } from 'react';
-import { BibleNewDB, bibleSetting, defineSQL, fetchSql } from '../../../utils';
+import { bibleSetting, defineSQL, fetchSql } from '../../../utils';
+import { loadVerses } from '../../../native/BibleChapterNative';
 import { BibleStep } from '../../../utils/define';
 import { isEmpty } from 'lodash';
 import { useIsFocused } from '@react-navigation/native';
@@ -49,8 +50,7 @@ export default function LightPenDetailScreen() {
       fetchSql(bibleSetting, sqlQuery, [], 0).then(async (res) => {
         const { bible, title, content, book, jang } = res;
 
-        const dataSelectSql = `SELECT content, jul FROM bible_${book} WHERE type = '${gBibleBook}' and jang=${jang} and jul in (${title})`;
-        const result = await fetchSql(BibleNewDB, dataSelectSql, []);
+        const result = await loadVerses(book, jang, title, gBibleBook);
 
         setData({ ...res, contents: result });
       });
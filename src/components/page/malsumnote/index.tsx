@@ -16,6 +16,7 @@ import { Toast } from 'react-native-toast-message/lib/src/Toast';
 import { useDispatch } from 'react-redux';
 import { useBaseStyle, useNativeNavigation } from '../../../hooks';
 import { bibleSetting, fetchSql } from '../../../utils';
+import { ANNOTATION_NOTE, loadAnnotationsByType } from '../../../native/AnnotationNative';
 import { groupObjectsByTwoCriteria } from '../../../utils/define';
 import FooterLayout from '../../layout/footer/footer';
 // import { indexSlice } from '../../../provider/redux/slice';
@@ -33,10 +34,8 @@ export default function MalSumNoteScreen() {
   const [trigger, setTrigger] = useState<number>(1);
   const [fSize, setFSize] = useState<number>(settingFontSize);
 
-  const selectSql = `SELECT bible, book, color, content, datetime, jang, jul, title FROM bible_setting WHERE type = 3`;
-
   useEffect(() => {
-    fetchSql(bibleSetting, selectSql, []).then((res: any) => {
+    loadAnnotationsByType(ANNOTATION_NOTE).then((res: any) => {
       setData(res);
     });
   }, [route, trigger]);
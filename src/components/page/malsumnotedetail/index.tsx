@@ -9,7 +9,8 @@ import {
 } from 'native-base';
 import { useEffect, useState } from 'react';
 import { useBaseStyle, useNativeNavigation } from '../../../hooks';
-import { BibleNewDB, bibleSetting, fetchSql } from '../../../utils';
+import { bibleSetting, fetchSql } from '../../../utils';
+import { loadVerses } from '../../../native/BibleChapterNative';
 
 import { useIsFocused } from '@react-navigation/native';
 import { isEmpty } from 'lodash';
@@ -44,8 +45,7 @@ export default function MalSumNoteDetailScreen() {
       fetchSql(bibleSetting, sqlQuery, [], 0).then(async (res) => {
         const { bible, title, content, book, jang } = res;
 
-        const dataSelectSql = `SELECT content, jul FROM bible_${book} WHERE type = '${gBibleBook}' and jang=${jang} and jul in (${title})`;
-        const result = await fetchSql(BibleNewDB, dataSelectSql, []);
+        const result = await loadVerses(book, jang, title, gBibleBook);
 
         setData({ ...res, contents: result });
       });
@@ -11,7 +11,8 @@ import FooterLayout from '../../layout/footer/footer';
 import SectionHeaderLayout from '../../layout/header/sectionHeader';
 import { useBaseStyle, useNativeNavigation } from '../../../hooks';
 import { useEffect, useState } from 'react';
-import { BibleNewDB, bibleSetting, defineSQL, fetchSql } from '../../../utils';
+import { bibleSetting, defineSQL, fetchSql } from '../../../utils';
+import { loadVerses } from '../../../native/BibleChapterNative';
 import { isEmpty } from 'lodash';
 import { useIsFocused } from '@react-navigation/native';
 import { useDispatch } from 'react-redux';
@@ -49,11 +50,9 @@ export default function MenuDetailScreen() {
             WHERE: { id: '?', type: '?' }
           })}`;
 
-          const dataSelectSql = `SELECT content, jul FROM bible_${book} WHERE type = '${gBibleBook}' and jang=${jang} and jul in (${jul})`;
-
           try {
             const result = await fetchSql(bibleSetting, selectSql, [id, 2], 0);
-            const contents = await fetchSql(BibleNewDB, dataSelectSql, []);
+            const contents = await loadVerses(book, jang, jul, gBibleBook);
 
             setData({ ...result, contents });
           } catch (err) {
@@ -74,8 +73,7 @@ export default function MenuDetailScreen() {
           try {
             fetchSql(bibleSetting, selectSql, [id, 3], 0).then(async (res) => {
               const { bible } = res;
-              const dataSelectSql = `SELECT content, jul FROM bible_${book} WHERE type = '${gBibleBook}' and jang=${jang} and jul in (${bible})`;
-              const result = await fetchSql(BibleNewDB, dataSelectSql, []);
+              const result = await loadVerses(book, jang, bible, gBibleBook);
 
               setData({ ...res, contents: result });
             });
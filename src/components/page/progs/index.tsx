@@ -2,12 +2,23 @@ import { Box, HStack, Progress, VStack, Text, Pressable } from 'native-base';
 import FooterLayout from '../../layout/footer/footer';
 import BibleBackHeaderLayout from '../../layout/header/backHeader';
 import { useBaseStyle, useNativeNavigation } from '../../../hooks';
-import { ScrollView } from 'react-native';
+import { NativeModules, Platform, ScrollView } from 'react-native';
 import useSWR from 'swr';
 import { bibleSetting, fetchSql } from '../../../utils';
 import { loadBiblePlanData } from '../../../utils/biblePlanUtils';
 import { useEffect, useState } from 'react';
 
+const { ReadingProgressModule } = NativeModules;
+
+// 읽은 장 수 (구약/신약/모세오경/시편/전체)
+interface ProgressCounts {
+  old: number;
+  new: number;
+  pentateuch: number;
+  psalms: number;
+  total: number;
+}
+
 export default function ProgressScreen() {
   const { color } = useBaseStyle();
   const { route, navigation } = useNativeNavigation();
@@ -15,9 +26,32 @@ export default function ProgressScreen() {
 
   const selectSql = `SELECT * FROM 'reading_table' where read = 'true'`;
 
-  const fetcher = async (url: string) => {
+  const fetcher = async (url: string): Promise<ProgressCounts> => {
+    // 안드로이드: 네이티브 진행 저장소 통계 (reading_table 이 바뀌면 저장소가 다시 읽어 맞춘다)
+    if (Platform.OS === 'android' && ReadingProgressModule) {
+      try {
+        const stats = await ReadingProgressModule.getStatistics();
+        const books: number[] = stats.books;
+        return {
+          old: stats.oldTestament,
+          new: stats.newTestament,
+          pentateuch: books.slice(0, 5).reduce((sum, count) => sum + count, 0),
+          psalms: books[18],
+          total: stats.total,
+        };
+      } catch (error) {
+        console.error('진행 통계 조회 실패, SQL 로 계산:', error);
+      }
+    }
     const data = await fetchSql(bibleSetting, url, []);
-    return data;
+    return {
+      old: data?.filter((d: any) => d?.book <= 39).length,
+      new: data?.filter((d: any) => d?.book > 39).length,
+      // 모세오경: 창세기~신명기 1~5번 책, 시편: 19번 책
+      pentateuch: data?.filter((d: any) => d?.book >= 1 && d?.book <= 5).length,
+      psalms: data?.filter((d: any) => d?.book === 19).length,
+      total: data?.length ?? 0,
+    };
   };
 
   const { data } = useSWR(selectSql, fetcher);
@@ -31,25 +65,25 @@ export default function ProgressScreen() {
   }, []);
 
   // 구약 진도 계산
-  const oldChapther = data?.filter((d: any) => d?.book <= 39).length;
+  const oldChapther = data?.old;
   const oldPercent = (oldChapther / 929) * 100;
 
   // 신약 진도 계산
-  const newChapther = data?.filter((d: any) => d?.book > 39).length;
+  const newChapther = data?.new;
   const newPercent = (newChapther / 260) * 100;
 
   // 모세오경 진도 계산 (창세기~신명기: 1~5번 책)
-  const pentateuchChapters = data?.filter((d: any) => d?.book >= 1 && d?.book <= 5).length;
+  const pentateuchChapters = data?.pentateuch;
   const pentateuchPercent = (pentateuchChapters / 187) * 100; // 모세오경 총 187장
 
   // 시편 진도 계산 (시편: 19번 책)
-  const psalmsChapters = data?.filter((d: any) => d?.book === 19).length;
+  const psalmsChapters = data?.psalms;
   const psalmsPercent = (psalmsChapters / 150) * 100; // 시편 총 150장
 
   const dayPercent = (route.params?.parcent / route.params?.total) * 100;
 
   // 전체 학습장수 계산
-  const totalChapters = data?.length ?? 0;
+  const totalChapters = data?.total ?? 0;
   const totalPercent = (totalChapters / 1189) * 100;
 
   // 설정된 일독 타입에 따른 강조 색상 반환
@@ -30,10 +30,10 @@ import {
 import {useBibleReading} from "../../../../utils/useBibleReading";
 import {bibleSelectSlice, bibleTextSlice, illdocSelectSlice} from "../../../../provider/redux/slice";
 import {store} from "../../../../provider/redux/store";
-import {getChapterTimeDataForPlan, loadChapterTimeDataFromCSV} from "../../../../utils/csvDataLoader";
+import {getChapterTimeDataForPlan, loadChapterDurationSnapshot, loadChapterTimeDataFromCSV} from "../../../../utils/csvDataLoader";
 import {createTimeBasedReadingPlan} from "../../../../utils/timeBasedBibleReading";
 import { BibleStep } from '../../../../utils/define';
-import { getChapterReadingTime } from '../../../../utils/completeBibleReadingTimes';
+import { getPlanChapterTime } from '../../../../utils/completeBibleReadingTimes';
 
 interface Props {
   readState: any;
@@ -58,11 +58,12 @@ interface DailyChapterPlan {
   actualChapterCount: number;
 }
 
-// 시간 기반 일별 계획 생성 함수
+// 시간 기반 일별 계획 생성 함수 (durations: 계획에 찍어 둘 장별 시간, 없으면 읽기 시간 표)
 function generateTimeBasedDailyPlan(
     planType: string,
     totalDays: number,
-    startDate: Date
+    startDate: Date,
+    durations?: number[] | null
 ): DailyChapterPlan[] {
   let startBook = 1;
   let endBook = 66;
@@ -97,7 +98,7 @@ function generateTimeBasedDailyPlan(
     if (!bookInfo) continue;
 
     for (let chapter = 1; chapter <= bookInfo.count; chapter++) {
-      const chapterSeconds = getChapterReadingTime(bookIndex, chapter);
+      const chapterSeconds = getPlanChapterTime(bookIndex, chapter, durations);
       totalSeconds += chapterSeconds;
       totalChapters++;
 
@@ -331,6 +332,8 @@ export default function SettingSidePage({ readState, onTrigger }: Props) {
   });
 
   const [isTimeDataLoaded, setIsTimeDataLoaded] = useState(false);
+  // 새 계획에 찍어 둘 장별 시간 (불러오기 전에는 읽기 시간 표로 계산)
+  const [durationSnapshot, setDurationSnapshot] = useState<number[] | null>(null);
 
   const [actualChapterCounts, setActualChapterCounts] = useState<{ [key: string]: number }>({
     full_bible: 1189,
@@ -356,6 +359,7 @@ export default function SettingSidePage({ readState, onTrigger }: Props) {
         };
 
         setActualChapterCounts(defaultCounts);
+        setDurationSnapshot(await loadChapterDurationSnapshot());
       } catch (error) {
         console.error('시간 데이터 로드 오류:', error);
         setIsTimeDataLoaded(false);
@@ -525,7 +529,7 @@ export default function SettingSidePage({ readState, onTrigger }: Props) {
           if (!selectedPlan) return;
 
           const totalDays = Math.ceil((endDate.getTime() - startDate.getTime()) / (1000 * 60 * 60 * 24)) + 1;
-          const dailyPlan = generateTimeBasedDailyPlan(selectedPlanType, totalDays, startDate);
+          const dailyPlan = generateTimeBasedDailyPlan(selectedPlanType, totalDays, startDate, durationSnapshot);
 
           const totalChapters = dailyPlan.reduce((sum, day) => sum + day.actualChapterCount, 0);
           const totalSeconds = dailyPlan.reduce((sum, day) => sum + day.totalSeconds, 0);
@@ -554,7 +558,7 @@ export default function SettingSidePage({ readState, onTrigger }: Props) {
         setCalculationResult(null);
       }
     }
-  }, [selectedPlanType, calendarState]);
+  }, [selectedPlanType, calendarState, durationSnapshot]);
 
   const loadExistingPlan = () => {
     const existingPlan = loadBiblePlanData();
@@ -897,7 +901,8 @@ export default function SettingSidePage({ readState, onTrigger }: Props) {
       totalTimeMinutes: calculationResult.totalTimeMinutes,
       totalTimeSeconds: calculationResult.totalTimeSeconds,
       hasActualTimeData: true,
-      dailyPlan: calculationResult.dailyPlan
+      dailyPlan: calculationResult.dailyPlan,
+      ...(durationSnapshot ? { chapterDurations: durationSnapshot } : {})
     };
 
     saveBiblePlanData(newPlanData);
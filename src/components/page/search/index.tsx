@@ -0,0 +1,143 @@
+import { Box, Center, HStack, Text, VStack } from 'native-base';
+import { useCallback, useEffect, useRef, useState } from 'react';
+import { ActivityIndicator, FlatList, TouchableOpacity } from 'react-native';
+import { gBibleBook } from '../../../constant/global';
+import { useBaseStyle, useNativeNavigation } from '../../../hooks';
+import { getSelectedTypes } from '../../../native/BibleChapterNative';
+import {
+  SearchHit,
+  buildSearchIndex,
+  getSearchIndexStatus,
+  onSearchIndexProgress,
+  searchVerses
+} from '../../../native/BibleSearchNative';
+import { defaultStorage } from '../../../utils/mmkv';
+import FooterLayout from '../../layout/footer/footer';
+import BackHeaderLayout from '../../layout/header/backHeader';
+import SearchBar from '../../section/search';
+import { bibleList } from '../../section/flatList';
+
+const PAGE_SIZE = 30;
+
+/**
+ *
+ * @link 성경 검색 화면 (안드로이드 네이티브 색인, BibleSearchModule)
+ *
+ */
+export default function SearchScreen() {
+  const { color } = useBaseStyle();
+  const { navigation, route } = useNativeNavigation();
+  const { query: initialQuery } = (route.params as any) ?? {};
+
+  const [query, setQuery] = useState<string>(initialQuery ?? '');
+  const [items, setItems] = useState<SearchHit[]>([]);
+  const [total, setTotal] = useState(0);
+  const [loading, setLoading] = useState(false);
+  // 색인된 책 수. 66 이 되기 전에도 끝난 책 범위에서는 검색된다
+  const [indexed, setIndexed] = useState({ done: 0, total: 66 });
+
+  const pageRef = useRef(0);
+  const types = getSelectedTypes() ?? [gBibleBook];
+
+  // 처음 들어오면 남은 책을 이어서 색인한다 (앱이 중간에 꺼져도 끝난 책은 다시 하지 않는다)
+  useEffect(() => {
+    const subscription = onSearchIndexProgress(setIndexed);
+    getSearchIndexStatus()
+      .then((status) => {
+        setIndexed(status);
+        if (status.done < status.total && !status.building) {
+          return buildSearchIndex();
+        }
+      })
+      .catch((err) => console.log('검색 색인 실패', err));
+    return () => subscription.remove();
+  }, []);
+
+  const loadPage = useCallback(
+    async (text: string, page: number) => {
+      if (!text.trim()) return;
+      setLoading(true);
+      try {
+        const result = await searchVerses(text.trim(), types, page, PAGE_SIZE);
+        pageRef.current = page;
+        setTotal(result.total);
+        setItems((prev) => (page === 0 ? result.items : [...prev, ...result.items]));
+      } catch (err) {
+        console.log('검색 실패', err);
+      } finally {
+        setLoading(false);
+      }
+    },
+    [types.join(',')]
+  );
+
+  useEffect(() => {
+    loadPage(query, 0);
+  }, [query, indexed.done === indexed.total]);
+
+  const onSearch = (text: string, setInputValue: (value: string) => void) => {
+    !!text.trim() && setQuery(text.trim());
+    setInputValue('');
+  };
+
+  const onEndReached = () => {
+    if (!loading && items.length < total) {
+      loadPage(query, pageRef.current + 1);
+    }
+  };
+
+  const onHitPress = ({ book, jang }: SearchHit) => {
+    defaultStorage.set('bible_book', book);
+    defaultStorage.set('bible_jang', jang);
+    navigation.navigate('BibleScreen', {});
+  };
+
+  const renderItem = ({ item }: { item: SearchHit }) => (
+    <TouchableOpacity onPress={() => onHitPress(item)}>
+      <VStack
+        px={4}
+        py={3}
+        borderBottomColor={color.status}
+        borderBottomWidth={1}
+      >
+        <Text style={{ color: color.bible }} fontWeight={700}>
+          {`${bibleList[item.book - 1]} ${item.jang}:${item.jul}`}
+          {types.length > 1 ? ` (${item.type})` : ''}
+        </Text>
+        <Text marginTop={1}>{item.content}</Text>
+      </VStack>
+    </TouchableOpacity>
+  );
+
+  return (
+    <>
+      <BackHeaderLayout title="검색" />
+      <Box px={3} py={2} bg={color.white}>
+        <SearchBar placeholder={query || '검색어를 입력하세요'} onPress={onSearch} />
+        <HStack justifyContent="space-between" marginTop={2}>
+          <Text color={color.gray8}>{query ? `'${query}' ${total}건` : ''}</Text>
+          {indexed.done < indexed.total && (
+            <Text color={color.gray8}>{`색인 중 ${indexed.done}/${indexed.total}권`}</Text>
+          )}
+        </HStack>
+      </Box>
+      <FlatList
+        style={{ backgroundColor: color.white }}
+        data={items}
+        renderItem={renderItem}
+        keyExtractor={(item) => `${item.book}_${item.jang}_${item.jul}_${item.type}`}
+        onEndReached={onEndReached}
+        onEndReachedThreshold={0.5}
+        ListEmptyComponent={
+          loading ? null : (
+            <Center marginTop={12}>
+              <Text color={color.gray8}>{query ? '검색 결과가 없습니다.' : ''}</Text>
+            </Center>
+          )
+        }
+        ListFooterComponent={loading ? <ActivityIndicator style={{ margin: 16 }} /> : null}
+      />
+      <FooterLayout />
+    </>
+  );
+}
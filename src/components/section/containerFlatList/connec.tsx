@@ -21,13 +21,13 @@ import { Toast } from "react-native-toast-message/lib/src/Toast";
 import { defaultStorage } from "../../../utils/mmkv";
 import ConectionPageBar from "../pagebar/connec";
 import BannerAdMain from "../../../adforus/BannerAdMain";
-import {
-    bibleSetting,
-    defineSQL,
-    fetchSql,
-} from '../../../utils';
+import { upsertReadingStatus } from '../../../utils';
 import { useBibleReading } from '../../../utils/useBibleReading';
 import { useSafeAreaInsets } from "react-native-safe-area-context";
+import { prepareVerseTimeline, spokenVerseAt } from "../../../native/VerseTimelineNative";
+
+// 사용자가 직접 스크롤하면 이 시간 동안 자동 스크롤을 멈춘다
+const USER_SCROLL_HOLD_MS = 5000;
 
 interface Props extends FlatListProps<any> {
     style?: StyleProp<ViewStyle>;
@@ -43,6 +43,7 @@ interface Props extends FlatListProps<any> {
     isAutoProgressEnabled?: boolean;
     sound?: boolean;
     onSyncToChapter?: (book: number, chapter: number) => void;
+    onSpokenVerseChange?: (jul: number) => void;
 }
 
 const ConectionContainerFlatList = ({
@@ -59,6 +60,7 @@ const ConectionContainerFlatList = ({
                                         isAutoProgressEnabled = true,
                                         sound = false,
                                         onSyncToChapter,
+                                        onSpokenVerseChange,
                                         ...rest
                                     }: Props) => {
     const scrollRef = useRef<FlatList>(null);
@@ -82,7 +84,13 @@ const ConectionContainerFlatList = ({
 
     // TrackPlayer 상태
     const playbackState = usePlaybackState();
-    const progress = useProgress();
+    // 재생 중인 절을 따라가도록 250ms 마다 위치를 받는다
+    const progress = useProgress(250);
+
+    // 따라 읽기: 재생 중인 장(트랙의 book/jang), 마지막으로 알린 절, 사용자가 마지막으로 스크롤한 시각
+    const playingChapterRef = useRef<{ book: number; jang: number } | null>(null);
+    const spokenJulRef = useRef(0);
+    const userScrollAtRef = useRef(0);
 
     // 자동 진행 처리 중 상태
     const [isAutoProcessing, setIsAutoProcessing] = useState(false);
@@ -115,10 +123,65 @@ const ConectionContainerFlatList = ({
         setIsAutoProcessing(false);
         autoProcessingRef.current = false;
 
+        // 따라 읽기 초기화
+        spokenJulRef.current = 0;
+        onSpokenVerseChange?.(0);
+
         // 현재 트랙 정보 업데이트
         updateCurrentTrackInfo();
+        updatePlayingChapter();
     }, [BOOK, JANG]);
 
+    // 재생 중인 장. 트랙에 book/jang 이 없으면 (이전 버전 큐) 모름
+    const updatePlayingChapter = useCallback(async () => {
+        try {
+            const track = await TrackPlayer.getActiveTrack();
+            playingChapterRef.current = track?.book && track?.jang
+                ? { book: track.book, jang: track.jang }
+                : null;
+        } catch (error) {
+            playingChapterRef.current = null;
+        }
+    }, []);
+
+    useTrackPlayerEvents([Event.PlaybackActiveTrackChanged], (event) => {
+        const track = event.track;
+        playingChapterRef.current = track?.book && track?.jang
+            ? { book: track.book, jang: track.jang }
+            : null;
+    });
+
+    const isPlayingScreenChapter = () => {
+        const playing = playingChapterRef.current;
+        return !!playing && playing.book === currentBookRef.current && playing.jang === currentJangRef.current;
+    };
+
+    // 절 위치 준비: 화면 장이 바뀌거나 재생 길이를 알게 되면
+    useEffect(() => {
+        if (!sound) return;
+        prepareVerseTimeline(BOOK, JANG, isPlayingScreenChapter() ? progress.duration : 0);
+    }, [BOOK, JANG, sound, progress.duration]);
+
+    // 재생 위치 → 절: 바뀌면 알리고 그 절로 스크롤
+    useEffect(() => {
+        if (!sound || !isPlayingScreenChapter()) return;
+        const jul = spokenVerseAt(BOOK, JANG, progress.position);
+        if (jul === 0 || jul === spokenJulRef.current) return;
+        spokenJulRef.current = jul;
+        onSpokenVerseChange?.(jul);
+
+        if (Date.now() - userScrollAtRef.current < USER_SCROLL_HOLD_MS) return;
+        const index = (rest.data as any[] | undefined)?.findIndex((item) => item?.[0]?.jul === jul) ?? -1;
+        if (index >= 0) {
+            scrollRef.current?.scrollToIndex({ index, animated: true, viewPosition: 0.3 });
+        }
+    }, [progress.position]);
+
+    // 아직 그려지지 않은 절: 평균 높이로 근처까지 간다 (다음 절에서 다시 맞춘다)
+    const handleScrollToIndexFailed = useCallback((info: { index: number; averageItemLength: number }) => {
+        scrollRef.current?.scrollToOffset({ offset: info.averageItemLength * info.index, animated: true });
+    }, []);
+
     // 현재 트랙 정보 업데이트
     const updateCurrentTrackInfo = useCallback(async () => {
         try {
@@ -293,18 +356,25 @@ const ConectionContainerFlatList = ({
             if (savedBook === currentBook && savedChapter < currentChapter) {
                 console.log(`[SYNC] Background progress: ${savedChapter} → ${currentChapter}`);
 
+                const unread: number[] = [];
                 for (let ch = savedChapter; ch < currentChapter; ch++) {
-                    const isAlreadyRead = isChapterReadSync(savedBook, ch);
-                    if (!isAlreadyRead) {
-                        await upsertReadingStatus(savedBook, ch, true);
-                        updateReadingTableCache(savedBook, ch, true);
+                    if (!isChapterReadSync(savedBook, ch)) {
+                        unread.push(ch);
+                    }
+                }
 
-                        if (planData) {
-                            await markChapterAsRead(savedBook, ch);
-                        }
+                // 한꺼번에 넘겨서 writer 가 한 트랜잭션으로 커밋하게 한다
+                const saved = await Promise.all(unread.map((ch) => upsertReadingStatus(savedBook, ch, true)));
+                for (let i = 0; i < unread.length; i++) {
+                    if (!saved[i]) continue;
+                    const ch = unread[i];
+                    updateReadingTableCache(savedBook, ch, true);
 
-                        console.log(`[SYNC] Marked ${savedBook}:${ch} as read (background)`);
+                    if (planData) {
+                        await markChapterAsRead(savedBook, ch);
                     }
+
+                    console.log(`[SYNC] Marked ${savedBook}:${ch} as read (background)`);
                 }
 
                 if (onReadStatusChange) {
@@ -321,28 +391,9 @@ const ConectionContainerFlatList = ({
         try {
             console.log(`[AUTO] Marking ${bookToMark}:${jangToMark} as read`);
 
-            // DB 업데이트
-            const settingSelectSql = `SELECT read FROM reading_table WHERE book = ? AND jang = ?`;
-            const result = await fetchSql(bibleSetting, settingSelectSql, [bookToMark, jangToMark], 0);
-
-            if (result) {
-                const updateSql = `UPDATE reading_table SET read = ?, time = ? WHERE book = ? AND jang = ?`;
-                await fetchSql(bibleSetting, updateSql, [
-                    'true',
-                    String(new Date()),
-                    bookToMark,
-                    jangToMark
-                ]);
-                console.log('[AUTO] Updated existing record');
-            } else {
-                const insertSql = `INSERT INTO reading_table (book, jang, read, time) VALUES (?, ?, ?, ?)`;
-                await fetchSql(bibleSetting, insertSql, [
-                    bookToMark,
-                    jangToMark,
-                    'true',
-                    String(new Date())
-                ]);
-                console.log('[AUTO] Created new record');
+            // DB 업데이트 (안드로이드는 네이티브 group commit writer)
+            if (!(await upsertReadingStatus(bookToMark, jangToMark, true))) {
+                throw new Error(`reading_table 기록 실패: ${bookToMark}:${jangToMark}`);
             }
 
             // 캐시 업데이트
@@ -541,6 +592,8 @@ const ConectionContainerFlatList = ({
                 scrollEventThrottle={200}
                 showsVerticalScrollIndicator={false}
                 showsHorizontalScrollIndicator={false}
+                onScrollBeginDrag={() => { userScrollAtRef.current = Date.now(); }}
+                onScrollToIndexFailed={handleScrollToIndexFailed}
                 {...rest}
             />
 
@@ -557,35 +610,6 @@ const ConectionContainerFlatList = ({
     );
 };
 
-// DB 업데이트 헬퍼 함수
-const upsertReadingStatus = async (book: number, jang: number, isRead: boolean) => {
-    try {
-        const selectSql = `SELECT read FROM reading_table WHERE book = ? AND jang = ?`;
-        const result = await fetchSql(bibleSetting, selectSql, [book, jang], 0);
-
-        if (result) {
-            const updateSql = `UPDATE reading_table SET read = ?, time = ? WHERE book = ? AND jang = ?`;
-            await fetchSql(bibleSetting, updateSql, [
-                String(isRead),
-                String(new Date()),
-                book,
-                jang
-            ]);
-        } else {
-            const insertSql = `INSERT INTO reading_table (book, jang, read, time) VALUES (?, ?, ?, ?)`;
-            await fetchSql(bibleSetting, insertSql, [
-                book,
-                jang,
-                String(isRead),
-                String(new Date())
-            ]);
-        }
-    } catch (error) {
-        console.error('upsertReadingStatus error:', error);
-        throw error;
-    }
-};
-
 // 책 이름 가져오기 헬퍼 함수
 const getBookName = (bookIndex: number): string => {
     const bookNames: { [key: number]: string } = {
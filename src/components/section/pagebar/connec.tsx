@@ -3,7 +3,7 @@ import { useCallback, useEffect, useState, useRef } from 'react';
 import { Dimensions } from 'react-native';
 import AntDesignIcon from 'react-native-vector-icons/AntDesign';
 import { useBaseStyle } from '../../../hooks';
-import { bibleSetting, defineSQL, fetchSql } from '../../../utils';
+import { bibleSetting, fetchSql, upsertReadingStatus } from '../../../utils';
 import { defaultStorage } from '../../../utils/mmkv';
 import { useBibleReading } from '../../../utils/useBibleReading';
 
@@ -143,30 +143,9 @@ export default function ConectionPageBar({
             //UI 즉시 업데이트
             setRead(newReadStatus);
 
-            //DB 업데이트
-            const settingSelectSql = `SELECT read FROM reading_table WHERE book = ? AND jang = ?`;
-            const result = await fetchSql(bibleSetting, settingSelectSql, [BOOK, JANG], 0);
-
-            if (result) {
-                // 기존 레코드 업데이트
-                const updateSql = `UPDATE reading_table SET read = ?, time = ? WHERE book = ? AND jang = ?`;
-                await fetchSql(bibleSetting, updateSql, [
-                    String(newReadStatus),
-                    String(new Date()),
-                    BOOK,
-                    JANG
-                ]);
-                console.log('DB: Updated existing record');
-            } else {
-                // 새 레코드 삽입
-                const insertSql = `INSERT INTO reading_table (book, jang, read, time) VALUES (?, ?, ?, ?)`;
-                await fetchSql(bibleSetting, insertSql, [
-                    BOOK,
-                    JANG,
-                    String(newReadStatus),
-                    String(new Date())
-                ]);
-                console.log('DB: Created new record');
+            //DB 업데이트 (안드로이드는 네이티브 group commit writer)
+            if (!(await upsertReadingStatus(BOOK, JANG, newReadStatus))) {
+                throw new Error(`reading_table 기록 실패: ${BOOK}:${JANG}`);
             }
 
             //캐시 업데이트 (명시적 저장!)
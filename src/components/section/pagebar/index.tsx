@@ -2,7 +2,7 @@ import { Button, IconButton, Text } from 'native-base';
 import { useEffect, useState } from 'react';
 import { Dimensions } from 'react-native';
 import { useBaseStyle, useNativeNavigation } from '../../../hooks';
-import { bibleSetting, defineSQL, fetchSql } from '../../../utils';
+import { bibleSetting, defineSQL, fetchSql, upsertReadingStatus } from '../../../utils';
 
 import AntDesignIcon from 'react-native-vector-icons/AntDesign';
 import { defaultStorage } from '../../../utils/mmkv';
@@ -44,44 +44,8 @@ export default function PageBar({
   }, [BOOK, JANG]);
 
   const onReadPress = async () => {
-    const settingSelectSql = `${defineSQL(['read'], 'SELECT', 'reading_table', {
-      WHERE: { BOOK: '?', JANG: '?' }
-    })}`;
-
-    const settingInserttSql = `${defineSQL(
-      ['book', 'jang', 'read', 'time'],
-      'INSERT',
-      'reading_table',
-      {}
-    )}`;
-
-    const settingUpdatetSql = `${defineSQL(
-      ['read', 'time'],
-      'UPDATE',
-      'reading_table',
-      {
-        WHERE: { BOOK, JANG }
-      }
-    )}`;
-
-    const result = await fetchSql(
-      bibleSetting,
-      settingSelectSql,
-      [BOOK, JANG],
-      0
-    );
-
-    result
-      ? await fetchSql(bibleSetting, settingUpdatetSql, [
-          String(!read),
-          String(new Date())
-        ])
-      : await fetchSql(bibleSetting, settingInserttSql, [
-          BOOK,
-          JANG,
-          String(!read),
-          String(new Date())
-        ]);
+    // 안드로이드는 네이티브 group commit writer 로 기록한다
+    if (!(await upsertReadingStatus(BOOK, JANG, !read))) return;
     setRead(!read);
     onPressNext(JANG);
   };
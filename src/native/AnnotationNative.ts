@@ -0,0 +1,61 @@
+import { NativeModules, Platform } from 'react-native';
+import { bibleSetting, fetchSql } from '../utils/sqlite';
+
+const { AnnotationModule } = NativeModules;
+
+// bible_setting type: 1 북마크, 2 형광펜, 3 말씀노트
+export const ANNOTATION_BOOKMARK = 1;
+export const ANNOTATION_HIGHLIGHT = 2;
+export const ANNOTATION_NOTE = 3;
+
+export interface ChapterMark {
+  type: number;
+  color: string;
+  jul: number;
+}
+
+export interface AnnotationItem {
+  book: number;
+  jang: number;
+  jul: number;
+  bible: string;
+  color: string;
+  content: string;
+  datetime: string;
+  title: string;
+}
+
+const LIST_PAGE_SIZE = 500;
+
+const hasNativeAnnotations = (): boolean => Platform.OS === 'android' && !!AnnotationModule;
+
+// 장 화면의 북마크/형광펜/노트 표시 (jul, type 순). 안드로이드는 메모리 색인, 그 외에는 SQL
+export const loadChapterMarks = async (book: number, jang: number): Promise<ChapterMark[]> => {
+  if (hasNativeAnnotations()) {
+    return AnnotationModule.getChapterMarks(book, jang);
+  }
+  return fetchSql(
+    bibleSetting,
+    `SELECT type, color, jul FROM 'bible_setting' WHERE book = ${book} and jang = ${jang} ORDER BY jul, type`,
+    []
+  );
+};
+
+// 목록 화면용 type 전체 (최신순). 네이티브는 쪽 단위로 받아 이어 붙인다
+export const loadAnnotationsByType = async (type: number): Promise<AnnotationItem[]> => {
+  if (!hasNativeAnnotations()) {
+    return fetchSql(
+      bibleSetting,
+      `SELECT book, jang, jul, bible, color, content, datetime, title FROM bible_setting WHERE type = ${type}`,
+      []
+    );
+  }
+  const items: AnnotationItem[] = [];
+  for (let page = 0; ; page++) {
+    const result = await AnnotationModule.listByType(type, page, LIST_PAGE_SIZE);
+    items.push(...result.items);
+    if (result.items.length < LIST_PAGE_SIZE || items.length >= result.total) {
+      return items;
+    }
+  }
+};
@@ -0,0 +1,151 @@
+import { NativeModules, Platform } from 'react-native';
+import { defaultStorage } from '../utils/mmkv';
+import { BibleNewDB, fetchSql } from '../utils/sqlite';
+
+const { BibleChapterModule } = NativeModules;
+
+// mmkv 'bibleNames' 에 저장된 선택 번역본 목록, 없으면 null
+export const getSelectedTypes = (): string[] | null => {
+  const mmkv = defaultStorage.getString('bibleNames');
+  return mmkv ? JSON.parse(mmkv) : null;
+};
+
+export interface ChapterRow {
+  jul: number;
+  type: string;
+  content: string;
+}
+
+// packed 배열 [jul, typeIndex, content, ...] 을 fetchSql 결과와 같은 행 배열로 변환
+export const loadChapter = async (
+  book: number,
+  jang: number,
+  types: string[]
+): Promise<ChapterRow[]> => {
+  const packed: any[] = await BibleChapterModule.loadChapter(book, jang, types);
+  const rows: ChapterRow[] = [];
+  for (let i = 0; i < packed.length; i += 3) {
+    rows.push({ jul: packed[i], type: types[packed[i + 1]] ?? 'nkrv', content: packed[i + 2] });
+  }
+  return rows;
+};
+
+// 절별로 묶은 장 본문. 행이 이미 jul 순으로 오므로 한 번만 훑는다
+export const loadChapterVerses = async (
+  book: number,
+  jang: number,
+  types: string[]
+): Promise<ChapterRow[][]> => {
+  const rows = await loadChapter(book, jang, types);
+  const verses: ChapterRow[][] = [];
+  for (const row of rows) {
+    const last = verses[verses.length - 1];
+    if (last && last[0].jul === row.jul) {
+      last.push(row);
+    } else {
+      verses.push([row]);
+    }
+  }
+  return verses;
+};
+
+// 선택한 절들의 본문 (복사/공유용), jul 순
+export const loadSelectedVerses = async (
+  book: number,
+  jang: number,
+  types: string[],
+  juls: number[]
+): Promise<ChapterRow[]> => {
+  const selected = new Set(juls);
+  const rows = await loadChapter(book, jang, types);
+  return rows.filter(({ jul }) => selected.has(jul));
+};
+
+export interface ParallelRow {
+  jul: number;
+  // types 순서의 본문, 해당 번역본에 없는 절은 null
+  texts: (string | null)[];
+}
+
+// 대조 읽기: 절 번호별로 번역본 본문이 이미 묶여서 온다
+export const loadParallelChapter = async (
+  book: number,
+  jang: number,
+  types: string[]
+): Promise<ParallelRow[]> => {
+  const packed: any[] = await BibleChapterModule.loadParallelChapter(book, jang, types);
+  const stride = 1 + Math.max(types.length, 1);
+  const rows: ParallelRow[] = [];
+  for (let i = 0; i < packed.length; i += stride) {
+    rows.push({ jul: packed[i], texts: packed.slice(i + 1, i + stride) });
+  }
+  return rows;
+};
+
+export interface VerseRef {
+  book: number;
+  jang: number;
+  // "1,3-5" 또는 절 번호 하나
+  juls: string | number;
+  // 없으면 defaultType
+  type?: string;
+}
+
+export interface VerseRow {
+  jul: number;
+  content: string;
+}
+
+// 북마크/형광펜/말씀노트 상세의 절 본문. refs 와 같은 순서로 참조마다 jul 순 (중복 절은 한 번)
+export const resolveVerses = async (refs: VerseRef[], defaultType: string): Promise<VerseRow[][]> => {
+  if (Platform.OS === 'android' && BibleChapterModule) {
+    // 라우트 파라미터/설정 DB 값이 문자열로 오기도 해서 모양을 맞춰 넘긴다
+    const normalized = refs.map(({ book, jang, juls, type }) => ({
+      book: Number(book),
+      jang: Number(jang),
+      juls: String(juls),
+      type: type ?? null
+    }));
+    const packed: any[][] = await BibleChapterModule.resolveVerses(normalized, defaultType);
+    return packed.map((verses) => {
+      const rows: VerseRow[] = [];
+      for (let i = 0; i < verses.length; i += 2) {
+        rows.push({ jul: verses[i], content: verses[i + 1] });
+      }
+      return rows;
+    });
+  }
+  return Promise.all(
+    refs.map(({ book, jang, juls, type }) =>
+      fetchSql(
+        BibleNewDB,
+        `SELECT content, jul FROM bible_${book} WHERE type = '${type ?? defaultType}' and jang=${jang} and jul in (${juls})`,
+        []
+      )
+    )
+  );
+};
+
+// 한 장의 절 본문 (상세 화면 하나)
+export const loadVerses = async (
+  book: number,
+  jang: number,
+  juls: string | number,
+  type: string
+): Promise<VerseRow[]> => (await resolveVerses([{ book, jang, juls }], type))[0];
+
+// 통독 계획의 다음 장 등 인접하지 않은 장 미리 읽기
+export const prefetchChapter = (book: number, jang: number, types: string[]) =>
+  BibleChapterModule.prefetchChapter(book, jang, types);
+
+export interface ChapterCacheStats {
+  hits: number;
+  misses: number;
+  evictions: number;
+  prefetches: number;
+  sizeBytes: number;
+  maxBytes: number;
+}
+
+export const getChapterCacheStats = (): Promise<ChapterCacheStats> =>
+  BibleChapterModule.getCacheStats();
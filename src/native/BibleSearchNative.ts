@@ -0,0 +1,44 @@
+import { DeviceEventEmitter, EmitterSubscription, NativeModules, Platform } from 'react-native';
+
+const { BibleSearchModule } = NativeModules;
+
+export interface SearchHit {
+  book: number;
+  jang: number;
+  jul: number;
+  type: string;
+  content: string;
+  score: number;
+}
+
+export interface SearchPage {
+  total: number;
+  items: SearchHit[];
+}
+
+export interface SearchIndexStatus {
+  done: number;
+  total: number;
+  building: boolean;
+}
+
+// 안드로이드 네이티브 색인이 있으면 true. 없으면 (iOS) 웹 검색을 쓴다
+export const hasNativeSearch = (): boolean => Platform.OS === 'android' && !!BibleSearchModule;
+
+export const getSearchIndexStatus = (): Promise<SearchIndexStatus> => BibleSearchModule.getIndexStatus();
+
+// 남은 책을 이어서 색인한다. 이미 다 됐으면 바로 true
+export const buildSearchIndex = (): Promise<boolean> => BibleSearchModule.buildIndex();
+
+// 색인 진행 { done, total } (책 단위)
+export const onSearchIndexProgress = (
+  listener: (status: { done: number; total: number }) => void
+): EmitterSubscription => DeviceEventEmitter.addListener('OnBibleSearchIndexProgress', listener);
+
+// 점수 순 한 쪽. types 가 비어 있으면 모든 번역본
+export const searchVerses = (
+  query: string,
+  types: string[],
+  page: number,
+  pageSize: number
+): Promise<SearchPage> => BibleSearchModule.search(query, types, page, pageSize);
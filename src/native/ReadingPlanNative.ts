@@ -0,0 +1,41 @@
+import { NativeModules, Platform } from 'react-native';
+import { BibleStep } from '../utils/define';
+import {
+  DailyReading,
+  DETAILED_BIBLE_PLAN_TYPES,
+  getDailyReading,
+  getDailyReadingDays
+} from '../utils/biblePlanCalculator';
+
+const { ReadingPlanModule } = NativeModules;
+
+// 특정 날짜에 읽을 장. 안드로이드는 ReadingPlanEngine 누적합, 그 외(또는 실패 시)에는 getDailyReading
+export const loadDailyReading = async (
+  planType: string,
+  startDate: Date,
+  targetDate: Date
+): Promise<DailyReading | null> => {
+  if (Platform.OS === 'android' && ReadingPlanModule && DETAILED_BIBLE_PLAN_TYPES.some(p => p.id === planType)) {
+    try {
+      const { dayNumber, totalDays } = getDailyReadingDays(startDate, targetDate);
+      const rows: { book: number; chapter: number }[] =
+        await ReadingPlanModule.getDailyReading(planType, totalDays, dayNumber);
+      const chapters = rows.map(row => ({
+        bookIndex: row.book,
+        bookName: BibleStep.find(b => b.index === row.book)?.name || '',
+        chapter: row.chapter,
+        isCompleted: false
+      }));
+      return {
+        date: targetDate,
+        dayNumber,
+        chapters,
+        totalChapters: chapters.length,
+        completedChapters: 0
+      };
+    } catch (error) {
+      console.error('네이티브 일독 조회 실패, JS 계산으로 대체:', error);
+    }
+  }
+  return getDailyReading(planType, startDate, targetDate);
+};
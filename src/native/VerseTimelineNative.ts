@@ -0,0 +1,24 @@
+import { NativeModules } from 'react-native';
+
+const { VerseTimelineModule } = NativeModules;
+
+// 장의 절 위치를 준비한다 (사이드카 → 추정, 받아 둔 오디오는 백그라운드에서 쉼 정렬). 절 수, 모듈이 없으면 0
+export const prepareVerseTimeline = async (
+  book: number,
+  jang: number,
+  durationSeconds: number
+): Promise<number> => {
+  if (!VerseTimelineModule) return 0;
+  try {
+    return await VerseTimelineModule.prepare(book, jang, Math.round(durationSeconds * 1000));
+  } catch (e) {
+    console.log('절 위치 준비 실패', e);
+    return 0;
+  }
+};
+
+// 재생 위치의 절 번호 (동기 호출). 준비 전이거나 첫 절 앞이면 0
+export const spokenVerseAt = (book: number, jang: number, positionSeconds: number): number => {
+  if (!VerseTimelineModule) return 0;
+  return VerseTimelineModule.verseAt(book, jang, Math.round(positionSeconds * 1000));
+};
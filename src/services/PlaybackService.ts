@@ -5,11 +5,26 @@ import TrackPlayer, {
   AppKilledPlaybackBehavior,
   Capability,
 } from "react-native-track-player";
-import { Platform, AppState } from "react-native";
+import { Platform, AppState, NativeModules } from "react-native";
 import { defaultStorage } from "../utils/mmkv";
 import { BibleStep } from "../utils/define";
 import { illdocSelectSlice, bibleSelectSlice } from "../provider/redux/slice";
 import { store } from "../provider/redux/store";
+import { API_CONFIG } from "../utils/api";
+import { loadBiblePlanData } from "../utils/biblePlanUtils";
+
+const { AudioCacheModule } = NativeModules;
+
+// 미리 받아 둘 다음 장 수 (연속 재생 큐에도 이만큼 붙여 둔다)
+const AUDIO_PREFETCH_COUNT = 3;
+
+// 장 전환 끊김 목표. 트랙이 바뀐 뒤 Buffering/Loading 에 들어갔다가 Playing 으로 돌아오기까지의 시간이고,
+// TRANSITION_WINDOW_MS 안에 Buffering 이 없으면 0 으로 센다. 결과는 mmkv 'audio_transition_stats' 에 쌓는다
+const TRANSITION_TARGET_MS = 100;
+const TRANSITION_WINDOW_MS = 3000;
+
+// 재생 오류 때 같은 트랙을 다른 원본 서버로 다시 불러 보는 횟수 (기본/백업 두 곳)
+const MAX_FAILOVERS_PER_TRACK = 2;
 
 // 전역 변수
 let processingChapter = false;
@@ -20,6 +35,8 @@ let lastChapterInfo = { book: 0, jang: 0 };
 let lastHymnId = 0; // ✅ 마지막 처리된 찬송가 ID
 let appState = "active";
 let backgroundEventCount = 0;
+let failoverState = { trackId: "", attempts: 0 };
+let transition: { label: string; stalledAt: number; timer: ReturnType<typeof setTimeout> } | null = null;
 
 // 성경 오디오 파일 목록
 const bibleAudioList: string[] = [
@@ -44,10 +61,160 @@ const clearProcessingFlags = () => {
   }
 };
 
-// 음원 URL 생성 함수
+// 음원 URL 생성 함수 (캐시 모듈을 못 쓸 때, 기본 원본 서버)
 const createSoundUrl = (book: number, jang: number): string => {
-  const baseUrl = process.env.AUDIO_BASE_URL || "https://your-audio-url.com/";
-  return `${baseUrl}${bibleAudioList[book - 1]}${String(jang).padStart(3, "0")}.mp3`;
+  return `${API_CONFIG.AUDIO_BASE_URL}${bibleAudioList[book - 1]}${String(jang).padStart(3, "0")}.mp3`;
+};
+
+// 성경일독 재생이면 통독 계획 범위(planType) 안의 장만 미리 받고 큐에 붙인다. 일반 성경은 null(성경 전체)
+const activePlanType = (): string | null => {
+  if (!(defaultStorage.getBoolean("is_illdoc_player") ?? false)) {
+    return null;
+  }
+  return loadBiblePlanData()?.planType ?? null;
+};
+
+// 안드로이드: 캐시에 있으면 file:// URI, 다음 장들은 백그라운드에서 미리 받는다
+const resolveSoundUrl = async (book: number, jang: number): Promise<string> => {
+  if (Platform.OS === "android" && AudioCacheModule) {
+    try {
+      const { uri, cached } = await AudioCacheModule.resolveUri(book, jang);
+      console.log(`[BACKGROUND_SERVICE] Audio cache ${cached ? "hit" : "miss"}: ${book}권 ${jang}장`);
+      AudioCacheModule.prefetch(book, jang, AUDIO_PREFETCH_COUNT, activePlanType());
+      return uri;
+    } catch (error) {
+      console.error("[BACKGROUND_SERVICE] ⚠️ Audio cache error (non-critical):", error);
+    }
+  }
+  return createSoundUrl(book, jang);
+};
+
+// 자동으로 다음 장을 이어 듣는 상태인지 (찬송가 제외)
+// 성경일독은 백그라운드에서만: 포어그라운드에서는 화면이 큐 끝(PlaybackQueueEnded)을 받아 읽음 처리와 다음 장 이동을 한다
+const isContinuousBiblePlayback = (): boolean => {
+  if (defaultStorage.getBoolean("is_hymn_player") ?? false) {
+    return false;
+  }
+  if (defaultStorage.getBoolean("is_illdoc_player") ?? false) {
+    return AppState.currentState !== "active";
+  }
+  return defaultStorage.getBoolean("auto_next_chapter_enabled") ?? false;
+};
+
+const createBibleTrack = (book: number, jang: number, url: string) => ({
+  id: `bible-bg-${book}-${jang}-${Date.now()}`,
+  url: url,
+  title: `${bibleAudioList[book - 1]} ${jang}`,
+  artist: "성경",
+  artwork: require("../assets/img/bibile25.png"),
+  book,
+  jang,
+});
+
+// 안드로이드: 다음 장들을 큐 뒤에 미리 붙여 둔다.
+// 플레이어가 다음 트랙을 미리 버퍼링하므로 reset/add 없이 바로 넘어가고 재생 속도도 그대로 유지된다.
+const appendUpcomingTracks = async (book: number, jang: number) => {
+  if (Platform.OS !== "android" || !AudioCacheModule || !isContinuousBiblePlayback()) {
+    return;
+  }
+  try {
+    const queue = await TrackPlayer.getQueue();
+    const queued = new Set(queue.map((track) => `${track.book}-${track.jang}`));
+    const upcoming: { book: number; jang: number; uri: string }[] =
+        await AudioCacheModule.getUpcoming(book, jang, AUDIO_PREFETCH_COUNT, activePlanType());
+    const tracks = upcoming
+        .filter((source) => !queued.has(`${source.book}-${source.jang}`))
+        .map((source) => createBibleTrack(source.book, source.jang, source.uri));
+    if (tracks.length > 0) {
+      await TrackPlayer.add(tracks);
+      console.log(`[BACKGROUND_SERVICE] ⏭️ Queued ${tracks.length} upcoming chapters after ${book}권 ${jang}장`);
+    }
+  } catch (error) {
+    console.error("[BACKGROUND_SERVICE] ⚠️ Upcoming queue error (non-critical):", error);
+  }
+};
+
+const recordTransition = (label: string, stallMs: number) => {
+  const saved = defaultStorage.getString("audio_transition_stats");
+  const stats = saved ? JSON.parse(saved) : { count: 0, overTarget: 0, totalMs: 0, maxMs: 0, lastMs: 0 };
+  stats.count += 1;
+  stats.totalMs += stallMs;
+  stats.maxMs = Math.max(stats.maxMs, stallMs);
+  stats.lastMs = stallMs;
+  if (stallMs >= TRANSITION_TARGET_MS) {
+    stats.overTarget += 1;
+    console.warn(`[BACKGROUND_SERVICE] ⏱️ Transition to ${label} stalled ${stallMs}ms (target < ${TRANSITION_TARGET_MS}ms)`);
+  } else {
+    console.log(`[BACKGROUND_SERVICE] ⏱️ Transition to ${label}: ${stallMs}ms`);
+  }
+  defaultStorage.set("audio_transition_stats", JSON.stringify(stats));
+};
+
+const beginTransition = (label: string) => {
+  if (transition) {
+    clearTimeout(transition.timer);
+  }
+  const timer = setTimeout(() => {
+    // 창 안에 Playing 으로 돌아오지 못했으면 창 끝까지를 끊김으로 센다
+    if (transition && transition.timer === timer) {
+      recordTransition(label, transition.stalledAt ? Date.now() - transition.stalledAt : 0);
+      transition = null;
+    }
+  }, TRANSITION_WINDOW_MS);
+  transition = { label, stalledAt: 0, timer };
+};
+
+const onTransitionState = (state: State) => {
+  if (!transition) {
+    return;
+  }
+  if (state === State.Buffering || state === State.Loading) {
+    if (!transition.stalledAt) {
+      transition.stalledAt = Date.now();
+    }
+  } else if (state === State.Playing && transition.stalledAt) {
+    clearTimeout(transition.timer);
+    recordTransition(transition.label, Date.now() - transition.stalledAt);
+    transition = null;
+  }
+};
+
+// 재생 오류(서버 오류, 끊긴 연결, 깨진 캐시 파일): 같은 장을 다음 원본 서버 주소로 바꿔 끊긴 위치부터 이어 재생한다.
+// 서버 주소가 아니면(찬송가 등) 네이티브가 null 을 주므로 건드리지 않는다.
+const failoverToNextOrigin = async () => {
+  if (Platform.OS !== "android" || !AudioCacheModule) {
+    return;
+  }
+  try {
+    const track = await TrackPlayer.getActiveTrack();
+    if (!track || typeof track.url !== "string") {
+      return;
+    }
+    const trackId = String(track.id);
+    failoverState = failoverState.trackId === trackId
+        ? { trackId, attempts: failoverState.attempts + 1 }
+        : { trackId, attempts: 1 };
+    if (failoverState.attempts > MAX_FAILOVERS_PER_TRACK) {
+      console.error(`[BACKGROUND_SERVICE] ❌ All audio origins failed for ${trackId}`);
+      return;
+    }
+
+    // ExoPlayer 는 오류가 나도 위치를 유지한다
+    const { position } = await TrackPlayer.getProgress();
+    const url: string | null = await AudioCacheModule.failover(track.url);
+    if (!url) {
+      return;
+    }
+    console.log(`[BACKGROUND_SERVICE] 🔁 Failover ${trackId} at ${position.toFixed(1)}s → ${url}`);
+    // load 는 큐의 현재 트랙만 바꾸므로 뒤에 붙여 둔 다음 장들은 그대로다
+    await TrackPlayer.load({ ...track, url });
+    if (position > 0) {
+      await TrackPlayer.seekTo(position);
+    }
+    await TrackPlayer.play();
+  } catch (error) {
+    console.error("[BACKGROUND_SERVICE] ❌ Failover error:", error);
+  }
 };
 
 // 트랙 로드 함수
@@ -60,18 +227,14 @@ const loadTrack = async (book: number, jang: number): Promise<boolean> => {
 
     await TrackPlayer.setRepeatMode(RepeatMode.Off);
 
-    const url = createSoundUrl(book, jang);
+    const url = await resolveSoundUrl(book, jang);
     console.log(`[BACKGROUND_SERVICE] Track URL: ${url}`);
 
-    await TrackPlayer.add({
-      id: `bible-bg-${book}-${jang}-${Date.now()}`,
-      url: url,
-      title: `${bibleAudioList[book - 1]} ${jang}`,
-      artist: "성경",
-      artwork: require("../assets/img/bibile25.png"),
-    });
+    await TrackPlayer.add(createBibleTrack(book, jang, url));
     console.log(`[BACKGROUND_SERVICE] Track added to queue`);
 
+    await appendUpcomingTracks(book, jang);
+
     const soundSpeed = defaultStorage.getNumber("last_audio_speed") ?? 1;
     if (soundSpeed !== 1) {
       await TrackPlayer.setRate(soundSpeed);
@@ -456,11 +619,53 @@ const PlaybackService = async () => {
         }
     );
 
+    // 미리 붙여 둔 다음 장으로 플레이어가 넘어갔을 때 위치를 맞추고 큐를 다시 채운다
+    const activeTrackListener = TrackPlayer.addEventListener(
+        Event.PlaybackActiveTrackChanged,
+        async (event) => {
+          const track = event.track;
+          if (!track || !event.lastTrack || !String(event.lastTrack.id).startsWith("bible-bg-")) {
+            return;
+          }
+          if (typeof track.book !== "number" || typeof track.jang !== "number") {
+            return;
+          }
+          console.log(`[BACKGROUND_SERVICE] ⏭️ Gapless transition to ${track.book}권 ${track.jang}장`);
+          beginTransition(`${track.book}권 ${track.jang}장`);
+
+          defaultStorage.set("bible_book", track.book);
+          defaultStorage.set("bible_jang", track.jang);
+          defaultStorage.set("bible_book_connec", track.book);
+          defaultStorage.set("bible_jang_connec", track.jang);
+          lastChapterInfo = { book: track.book, jang: track.jang };
+
+          try {
+            store.dispatch(bibleSelectSlice.actions.changePage({
+              book: track.book,
+              jang: track.jang,
+            }));
+          } catch (error) {
+            console.error("[BACKGROUND_SERVICE] ⚠️ Redux dispatch error (non-critical):", error);
+          }
+
+          // 지나간 트랙은 큐에서 뺀다
+          if (event.index !== undefined && event.index > 0) {
+            try {
+              await TrackPlayer.remove([...Array(event.index).keys()]);
+            } catch (error) {
+              console.error("[BACKGROUND_SERVICE] ⚠️ Queue trim error (non-critical):", error);
+            }
+          }
+          await appendUpcomingTracks(track.book, track.jang);
+        }
+    );
+
     // Playback state 이벤트 리스너
     const stateListener = TrackPlayer.addEventListener(
         Event.PlaybackState,
         (event) => {
           console.log(`[BACKGROUND_SERVICE] 🎵 Playback state changed: ${event.state}`);
+          onTransitionState(event.state);
 
           if (event.state === State.Playing) {
             const isHymnPlayer = defaultStorage.getBoolean("is_hymn_player") ?? false;
@@ -486,9 +691,10 @@ const PlaybackService = async () => {
     // 에러 이벤트 리스너
     const errorListener = TrackPlayer.addEventListener(
         Event.PlaybackError,
-        (event) => {
+        async (event) => {
           console.error("[BACKGROUND_SERVICE] ❌ Playback error:", event);
           clearProcessingFlags();
+          await failoverToNextOrigin();
         }
     );
 
@@ -506,6 +712,15 @@ const PlaybackService = async () => {
 
             // ✅ 찬송가 플레이어 마커 리셋
             lastHymnId = 0;
+
+            // 성경일독: 백그라운드에서 붙여 둔 다음 장들을 빼서 지금 장이 끝나면 화면이 진도를 처리하게 한다
+            if (defaultStorage.getBoolean("is_illdoc_player") ?? false) {
+              try {
+                await TrackPlayer.removeUpcomingTracks();
+              } catch (error) {
+                console.error("[BACKGROUND_SERVICE] ⚠️ Upcoming queue trim error (non-critical):", error);
+              }
+            }
           }
 
           appState = nextAppState;
@@ -515,9 +730,14 @@ const PlaybackService = async () => {
     return () => {
       console.log("[BACKGROUND_SERVICE] 🛑 Cleaning up listeners");
       queueEndListener.remove();
+      activeTrackListener.remove();
       stateListener.remove();
       errorListener.remove();
       appStateSubscription.remove();
+      if (transition) {
+        clearTimeout(transition.timer);
+        transition = null;
+      }
       clearProcessingFlags();
     };
   } catch (error) {
@@ -1,5 +1,13 @@
 // src/utils/audioChapterData.ts
 // 🔥 실제 음성파일 길이 데이터 정의
+// csvDataLoader 가 Bible_Chapter_Mapping.csv 데이터를 불러왔으면 그 값을 쓰고, 아래 표는 그 전의 대체값이다
+
+import {
+    getBookIndexByAbbr,
+    getBookTotalTime,
+    getChapterTimeInSeconds,
+    isChapterTimeDataLoaded
+} from './csvDataLoader';
 
 export interface AudioChapterData {
     book: string;  // Gen, Exo 등의 약자
@@ -587,6 +595,11 @@ export const BOOK_ABBREVIATIONS: { [key: string]: string } = {
  * 특정 장의 음성 길이 가져오기
  */
 export const getChapterAudioLength = (bookAbbr: string, chapter: number): number => {
+    const bookIndex = getBookIndexByAbbr(bookAbbr);
+    if (bookIndex && isChapterTimeDataLoaded()) {
+        return getChapterTimeInSeconds(bookIndex, chapter);
+    }
+
     const bookData = AUDIO_CHAPTER_DATA[bookAbbr];
     if (!bookData) {
         // 책별 기본 추정치 (초 단위)
@@ -610,6 +623,11 @@ export const getChapterAudioLength = (bookAbbr: string, chapter: number): number
  * 책 전체의 총 음성 길이 가져오기 (초 단위)
  */
 export const getBookTotalAudioLength = (bookAbbr: string): number => {
+    const bookIndex = getBookIndexByAbbr(bookAbbr);
+    if (bookIndex && isChapterTimeDataLoaded()) {
+        return getBookTotalTime(bookIndex).totalSeconds;
+    }
+
     const bookData = AUDIO_CHAPTER_DATA[bookAbbr];
     if (!bookData) {
         // 책별 추정 총 시간 (초 단위)
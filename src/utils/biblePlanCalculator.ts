@@ -3,6 +3,7 @@
 
 import { BibleStep } from './define';
 import { getChapterTimeDataForPlan } from './csvDataLoader';
+import { chapterIndexOf } from './completeBibleReadingTimes';
 import {createFixedTimeBasedReadingPlan} from "./timeBasedBibleReadingFixed";
 
 // 타입 정의
@@ -87,12 +88,14 @@ export const DETAILED_BIBLE_PLAN_TYPES: BiblePlanTypeDetail[] = [
 
 /**
  * 🔥 CSV 데이터 기반 계산 - 메인 함수 (CSV 데이터 필수)
+ * @param durations 계획에 찍어 둔 장별 시간 (BiblePlanData.chapterDurations), 있으면 CSV 값 대신 쓴다
  */
 export function calculateReadingPlan(
     planType: string,
     startDate: Date,
     endDate: Date,
-    targetMinutesPerDay?: number
+    targetMinutesPerDay?: number,
+    durations?: number[] | null
 ): BibleReadingPlanCalculation | null {
     const plan = DETAILED_BIBLE_PLAN_TYPES.find(p => p.id === planType);
     if (!plan) {
@@ -123,7 +126,10 @@ export function calculateReadingPlan(
         }
 
         // 실제 총 시간 계산 (초 단위)
-        const totalSeconds = timeData.reduce((sum, chapter) => sum + chapter.totalSeconds, 0);
+        const totalSeconds = timeData.reduce(
+            (sum, chapter) => sum + (durations?.[chapterIndexOf(chapter.book, chapter.chapter)] || chapter.totalSeconds),
+            0
+        );
         const totalMinutes = totalSeconds / 60;
 
         // 실제 장수 (CSV 데이터 기반)
@@ -313,6 +319,21 @@ export interface DailyReading {
     completedChapters?: number;
 }
 
+/**
+ * getDailyReading 의 일차와 전체 기간 (네이티브 ReadingPlanModule.getDailyReading 에도 이 값을 넘긴다)
+ */
+export function getDailyReadingDays(startDate: Date, targetDate: Date): { dayNumber: number; totalDays: number } {
+    // 날짜 차이 계산
+    const dayNumber = Math.floor((targetDate.getTime() - startDate.getTime()) / (1000 * 60 * 60 * 24)) + 1;
+
+    // 전체 기간 계산 (임시로 365일로 설정, 실제로는 계획 데이터에서 가져와야 함)
+    const endDate = new Date(startDate);
+    endDate.setDate(endDate.getDate() + 364); // 365일 계획
+
+    const totalDays = Math.ceil((endDate.getTime() - startDate.getTime()) / (1000 * 60 * 60 * 24)) + 1;
+    return { dayNumber, totalDays };
+}
+
 /**
  * 특정 날짜의 읽기 계획 가져오기 - CSV 데이터 기반
  */
@@ -339,14 +360,7 @@ export function getDailyReading(
             return null;
         }
 
-        // 날짜 차이 계산
-        const dayNumber = Math.floor((targetDate.getTime() - startDate.getTime()) / (1000 * 60 * 60 * 24)) + 1;
-
-        // 전체 기간 계산 (임시로 365일로 설정, 실제로는 계획 데이터에서 가져와야 함)
-        const endDate = new Date(startDate);
-        endDate.setDate(endDate.getDate() + 364); // 365일 계획
-
-        const totalDays = Math.ceil((endDate.getTime() - startDate.getTime()) / (1000 * 60 * 60 * 24)) + 1;
+        const { dayNumber, totalDays } = getDailyReadingDays(startDate, targetDate);
         const chaptersPerDay = Math.ceil(timeData.length / totalDays);
 
         // 해당 날짜의 시작 장과 끝 장 인덱스 계산
@@ -385,11 +399,13 @@ export function getDailyReading(
 
 /**
  * CSV 데이터와 시간 기반 계산을 통합한 계산 함수
+ * @param durations 계획에 찍어 둔 장별 시간 (loadChapterDurationSnapshot)
  */
 export function calculateBiblePlanWithFixedTime(
     planType: string,
     startDate: Date,
-    endDate: Date
+    endDate: Date,
+    durations?: number[] | null
 ): BibleReadingPlanCalculation | null {
     const plan = DETAILED_BIBLE_PLAN_TYPES.find(p => p.id === planType);
     if (!plan) {
@@ -404,7 +420,8 @@ export function calculateBiblePlanWithFixedTime(
     const timeBasedPlan = createFixedTimeBasedReadingPlan(
         totalDays,
         plan.totalChapters,
-        startDate
+        startDate,
+        durations
     );
 
     // 일일 평균 계산
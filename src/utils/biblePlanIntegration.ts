@@ -6,7 +6,7 @@ import {
     type ChapterReading
 } from './biblePlanCalculator';
 import { defaultStorage } from './mmkv';
-import { initializeChapterTimeData } from './csvDataLoader';
+import { initializeChapterTimeData, loadChapterDurationSnapshot } from './csvDataLoader';
 
 // 타입 정의
 export interface TimeBasedBiblePlan {
@@ -22,6 +22,7 @@ export interface TimeBasedBiblePlan {
     targetMinutesPerDay: number;
     totalMinutes: number;
     dailyReadingSchedule: DailyReadingSchedule[];
+    chapterDurations?: number[];  // 계획을 만들 때 찍어 둔 장별 시간 (전역 장 번호 순 초)
 
     // 읽기 상태
     readChapters: ReadChapterStatus[];
@@ -68,8 +69,9 @@ export async function createTimeBasedBiblePlan(
     const start = new Date(startDate);
     const end = new Date(endDate);
 
-    // 계획 계산
-    const calculation = await calculateReadingPlan(planType, start, end);
+    // 계획 계산 (이 계획 동안 쓸 장별 시간을 지금 찍어 둔다)
+    const chapterDurations = await loadChapterDurationSnapshot();
+    const calculation = await calculateReadingPlan(planType, start, end, undefined, chapterDurations);
 
     if (!calculation) {
         throw new Error('일독 계획 생성 실패');
@@ -120,6 +122,7 @@ export async function createTimeBasedBiblePlan(
         targetMinutesPerDay: calculation.targetMinutesPerDay,
         totalMinutes: calculation.totalTimeMinutes,
         dailyReadingSchedule,
+        chapterDurations,
 
         // 읽기 상태
         readChapters,
@@ -30,6 +30,7 @@ export interface BiblePlanData {
     averageTimePerDay?: string;
     todayEstimatedSeconds?: number;
     selectedBooks?: [number, number];
+    chapterDurations?: number[];  // 계획을 만들 때 찍어 둔 장별 시간 (loadChapterDurationSnapshot)
 }
 
 // 캐시 변수들 추가
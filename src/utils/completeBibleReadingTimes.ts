@@ -1,5 +1,6 @@
 // src/utils/completeBibleReadingTimes.ts
 // 성경 전체 읽기 시간 데이터 (초 단위) - 수정된 버전
+import bibleBooks from './bibleBooks.json';
 
 /**
  * 구약 성경 읽기 시간 (초 단위)
@@ -392,6 +393,31 @@ export const getChapterReadingTime = (book: number, chapter: number): number =>
     return 252;                       // 신약
 };
 
+// 책별 첫 장의 전역 장 번호 (창세기 1장 = 0, 네이티브 BibleBooks.firstChapterIndex 와 같은 값)
+const FIRST_CHAPTER_INDEX: number[] = [];
+bibleBooks.chapters.reduce((index, count) => {
+    FIRST_CHAPTER_INDEX.push(index);
+    return index + count;
+}, 0);
+
+/**
+ * 전역 장 번호 (ReadingPlanModule.getChapterDurations 배열의 위치)
+ */
+export const chapterIndexOf = (book: number, chapter: number): number => {
+    return FIRST_CHAPTER_INDEX[book - 1] + chapter - 1;
+};
+
+/**
+ * 계획에 찍어 둔 장별 시간(BiblePlanData.chapterDurations)이 있으면 그 값, 없으면 읽기 시간 표
+ */
+export const getPlanChapterTime = (
+    book: number,
+    chapter: number,
+    durations?: number[] | null
+): number => {
+    return durations?.[chapterIndexOf(book, chapter)] || getChapterReadingTime(book, chapter);
+};
+
 /**
  * 특정 성경책의 전체 읽기 시간 계산 (초 단위)
  */
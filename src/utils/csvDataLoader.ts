@@ -1,4 +1,9 @@
+import { NativeModules, Platform } from 'react-native';
 import { BibleStep } from './define';
+import bibleBooks from './bibleBooks.json';
+import { getChapterReadingTime } from './completeBibleReadingTimes';
+
+const { ReadingPlanModule } = NativeModules;
 
 interface ChapterTimeData {
     bookCode: string;
@@ -16,23 +21,24 @@ let chapterTimeData: Map<string, ChapterTimeData> = new Map();
 let chapterTimeDataCache: ChapterTimeData[] = [];
 let isDataLoaded = false;
 
-// CSV 파일명과 북 인덱스 매핑
-const BOOK_ABBR_TO_INDEX: { [key: string]: number } = {
-    'Gen': 1, 'Exo': 2, 'Lev': 3, 'Num': 4, 'Deu': 5, 'Jos': 6, 'Jdg': 7, 'Rut': 8,
-    '1Sa': 9, '2Sa': 10, '1Ki': 11, '2Ki': 12, '1Ch': 13, '2Ch': 14, 'Ezr': 15, 'Neh': 16,
-    'Est': 17, 'Job': 18, 'Psa': 19, 'Pro': 20, 'Ecc': 21, 'Son': 22, 'Isa': 23, 'Jer': 24,
-    'Lam': 25, 'Eze': 26, 'Dan': 27, 'Hos': 28, 'Joe': 29, 'Amo': 30, 'Oba': 31, 'Jon': 32,
-    'Mic': 33, 'Nah': 34, 'Hab': 35, 'Zep': 36, 'Hag': 37, 'Zec': 38, 'Mal': 39,
-    'Mat': 40, 'Mar': 41, 'Luk': 42, 'Joh': 43, 'Act': 44, 'Rom': 45, '1Co': 46, '2Co': 47,
-    'Gal': 48, 'Eph': 49, 'Phi': 50, 'Col': 51, '1Th': 52, '2Th': 53, '1Ti': 54, '2Ti': 55,
-    'Tit': 56, 'Phm': 57, 'Heb': 58, 'Jam': 59, '1Pe': 60, '2Pe': 61, '1Jo': 62, '2Jo': 63,
-    '3Jo': 64, 'Jud': 65, 'Rev': 66
-};
+// CSV 파일명과 북 인덱스 매핑 (네이티브 BibleBooks, compileChapterDurations 와 같은 bibleBooks.json)
+// Bible_Chapter_Mapping.csv 는 아가를 Sol 로 써서 별칭도 넣는다
+const BOOK_ABBR_TO_INDEX: { [key: string]: number } = {};
+bibleBooks.abbrs.forEach((abbr, i) => {
+    BOOK_ABBR_TO_INDEX[abbr] = i + 1;
+});
+Object.entries(bibleBooks.aliases).forEach(([alias, abbr]) => {
+    BOOK_ABBR_TO_INDEX[alias] = BOOK_ABBR_TO_INDEX[abbr];
+});
 
 // 북 인덱스로 북 코드 반환
 const getBookCodeByIndex = (index: number): string => {
-    const mapping = Object.entries(BOOK_ABBR_TO_INDEX).find(([_, idx]) => idx === index);
-    return mapping ? mapping[0] : 'Unknown';
+    return bibleBooks.abbrs[index - 1] ?? 'Unknown';
+};
+
+// 책 약자 → 책 번호, 모르는 약자면 0
+export const getBookIndexByAbbr = (abbr: string): number => {
+    return BOOK_ABBR_TO_INDEX[abbr] ?? 0;
 };
 
 /**
@@ -153,6 +159,75 @@ const generateCompleteChapterData = (): ChapterTimeData[] => {
     return completeData;
 };
 
+/**
+ * 안드로이드: Bible_Chapter_Mapping.csv 전체를 빌드 때 변환한 chapter_durations.bin
+ * (ReadingPlanModule.getChapterDurations, 전역 장 번호 순 초 배열)로 번들 샘플/추정치를 덮어쓴다.
+ * 모듈이 없거나 실패하면 번들 데이터를 그대로 쓴다.
+ */
+const applyCompiledDurations = async (): Promise<void> => {
+    if (Platform.OS !== 'android' || !ReadingPlanModule) {
+        return;
+    }
+    try {
+        const seconds: number[] | null = await ReadingPlanModule.getChapterDurations();
+        if (!seconds) {
+            return;
+        }
+        let index = 0;
+        let applied = 0;
+        bibleBooks.abbrs.forEach((bookCode, i) => {
+            const bookIndex = i + 1;
+            const bookName = BibleStep.find(b => b.index === bookIndex)?.name || bookCode;
+            for (let chapter = 1; chapter <= bibleBooks.chapters[i]; chapter++, index++) {
+                const totalSeconds = seconds[index];
+                if (!totalSeconds) {
+                    continue;
+                }
+                chapterTimeData.set(`${bookIndex}_${chapter}`, {
+                    bookCode,
+                    bookIndex,
+                    book: bookIndex,
+                    bookName,
+                    chapter,
+                    minutes: Math.floor(totalSeconds / 60),
+                    seconds: totalSeconds % 60,
+                    totalSeconds
+                });
+                applied++;
+            }
+        });
+        // chapterTimeData 는 책/장 순으로 채워져 있으므로 그대로 캐시를 다시 만든다
+        chapterTimeDataCache = Array.from(chapterTimeData.values());
+        console.log(`✅ chapter_durations.bin 적용: ${applied}장`);
+    } catch (error) {
+        console.error('⚠️ chapter_durations.bin 읽기 실패, 번들 데이터 사용:', error);
+    }
+};
+
+/**
+ * 새 계획에 찍어 둘 장별 시간 (전역 장 번호 순 초, BiblePlanData.chapterDurations).
+ * 안드로이드는 실제 파일에서 잰 값 → chapter_durations.bin 순(ReadingPlanModule.getChapterDurations),
+ * 둘 다 없는 장과 다른 플랫폼은 getChapterReadingTime 표로 채운다.
+ * 계획이 시작된 뒤에 잰 값이 바뀌어도 그 계획의 하루 경계는 움직이지 않는다.
+ */
+export const loadChapterDurationSnapshot = async (): Promise<number[]> => {
+    let measured: number[] | null = null;
+    if (Platform.OS === 'android' && ReadingPlanModule) {
+        try {
+            measured = await ReadingPlanModule.getChapterDurations();
+        } catch (error) {
+            console.error('⚠️ 장별 시간 읽기 실패, 읽기 시간 표 사용:', error);
+        }
+    }
+    const snapshot: number[] = [];
+    bibleBooks.chapters.forEach((count, i) => {
+        for (let chapter = 1; chapter <= count; chapter++) {
+            snapshot.push(measured?.[snapshot.length] || getChapterReadingTime(i + 1, chapter));
+        }
+    });
+    return snapshot;
+};
+
 /**
  * CSV 데이터 로드 메인 함수
  */
@@ -160,7 +235,7 @@ export const loadChapterTimeDataFromCSV = async (): Promise<boolean> => {
     try {
         console.log('🔄 CSV 시간 데이터 로드 시작...');
 
-        // 기존 샘플 데이터와 전체 데이터 병합
+        // 기존 샘플 데이터와 전체 데이터 병합 (안드로이드는 아래에서 빌드 때 만든 전체 CSV 로 다시 덮는다)
         const csvData = getFullCsvData();
         const completeData = generateCompleteChapterData();
 
@@ -220,6 +295,8 @@ export const loadChapterTimeDataFromCSV = async (): Promise<boolean> => {
 
         isDataLoaded = true;
 
+        await applyCompiledDurations();
+
         // 통계 계산
         const stats = getLoadedDataStats();
 
@@ -39,6 +39,7 @@ import HymnDetailScreen from "../components/section/hymn/HymnDetailScreen";
 import HymnDocScreen from "../components/section/hymn/HymnDocScreen";
 // 교독문 상세 화면 추가
 import GyodokDetailScreen from "../components/section/hymn/GyodokDetailScreen";
+import SearchScreen from '../components/page/search';
 
 export const route = [
   {
@@ -198,4 +199,8 @@ export const route = [
     name: 'GyodokDetailScreen',
     component: GyodokDetailScreen
   },
+  {
+    name: 'SearchScreen',
+    component: SearchScreen
+  },
 ];
\ No newline at end of file
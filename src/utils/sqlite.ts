@@ -1,4 +1,7 @@
 import SQLite, { SQLiteDatabase } from 'react-native-sqlite-storage';
+import { NativeModules, Platform } from 'react-native';
+
+const { ReadingProgressModule } = NativeModules;
 
 const successLog = () => {
     console.log('db connect success');
@@ -216,17 +219,35 @@ export async function upsertReadingStatus(
 
     // DB 업데이트
     try {
-        const upsertSql = `
-            INSERT OR REPLACE INTO reading_table (book, jang, read, time)
-            VALUES (?, ?, ?, ?)
-        `;
+        // 안드로이드: 네이티브 writer 스레드에서 group commit (진행 저장소에도 바로 반영)
+        if (Platform.OS === 'android' && ReadingProgressModule) {
+            await ReadingProgressModule.setRead(book, chapter, isRead);
+            return true;
+        }
 
-        await fetchSql(bibleSetting, upsertSql, [
-            book,
-            chapter,
-            String(isRead),
-            new Date().toISOString()
-        ]);
+        // reading_table 에는 (book, jang) 유니크 키가 없어 INSERT OR REPLACE 는 중복 행을 만든다
+        const time = new Date().toISOString();
+        const existing = await fetchSql(
+            bibleSetting,
+            'SELECT read FROM reading_table WHERE book = ? AND jang = ?',
+            [book, chapter],
+            0
+        );
+        if (existing) {
+            await fetchSql(bibleSetting, 'UPDATE reading_table SET read = ?, time = ? WHERE book = ? AND jang = ?', [
+                String(isRead),
+                time,
+                book,
+                chapter
+            ]);
+        } else {
+            await fetchSql(bibleSetting, 'INSERT INTO reading_table (book, jang, read, time) VALUES (?, ?, ?, ?)', [
+                book,
+                chapter,
+                String(isRead),
+                time
+            ]);
+        }
 
         return true;
     } catch (error) {
@@ -257,6 +278,17 @@ export async function batchUpsertReadingStatus(
             });
         }
 
+        // 안드로이드: 네이티브 writer 스레드에서 group commit
+        if (Platform.OS === 'android' && ReadingProgressModule) {
+            const packed: number[] = [];
+            updates.forEach(({ book, chapter, isRead }) => {
+                packed.push(book, chapter, isRead ? 1 : 0);
+            });
+            const { rows, elapsedMs } = await ReadingProgressModule.batchSetRead(packed);
+            console.log(`Batch (native): ${rows} items in ${elapsedMs}ms`);
+            return true;
+        }
+
         // 한 트랜잭션으로 모든 업데이트
         await new Promise<void>((resolve, reject) => {
             bibleSetting.transaction(
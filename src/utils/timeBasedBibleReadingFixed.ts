@@ -1,5 +1,5 @@
 import { BibleStep } from './define';
-import { getChapterReadingTime } from './completeBibleReadingTimes';
+import { getPlanChapterTime } from './completeBibleReadingTimes';
 
 // 일일 읽기 계획 타입
 export interface DailyReadingPlan {
@@ -50,11 +50,13 @@ function formatTime(totalSeconds: number): string {
 
 /**
  * 시간 기반으로 성경 일독 계획 생성 (하루 목표 시간 고정)
+ * @param durations 계획을 만들 때 찍어 둔 장별 시간 (loadChapterDurationSnapshot), 없으면 읽기 시간 표
  */
 export function createFixedTimeBasedReadingPlan(
     totalDays: number,
     totalChapters: number,
-    startDate: Date
+    startDate: Date,
+    durations?: number[] | null
 ): TimeBasedPlanData {
     // 1. 전체 성경 시간 계산
     let totalBibleSeconds = 0;
@@ -64,7 +66,7 @@ export function createFixedTimeBasedReadingPlan(
         if (!bookInfo) continue;
 
         for (let chapter = 1; chapter <= bookInfo.count; chapter++) {
-            totalBibleSeconds += getChapterReadingTime(bookIndex, chapter);
+            totalBibleSeconds += getPlanChapterTime(bookIndex, chapter, durations);
         }
     }
 
@@ -101,7 +103,7 @@ export function createFixedTimeBasedReadingPlan(
                 continue;
             }
 
-            const chapterSeconds = getChapterReadingTime(bookIndex, chapterIndex);
+            const chapterSeconds = getPlanChapterTime(bookIndex, chapterIndex, durations);
 
             // 첫 장이거나 목표 시간의 80% 미만일 때만 추가
             if (dayChapters.length === 0 || dayTotalSeconds < targetSecondsPerDay * 0.8) {
@@ -1,4 +1,4 @@
-import {useState, useEffect, useCallback, useRef, useMemo} from 'react';
+import {useState, useEffect, useCallback, useRef} from 'react';
 import { Toast } from 'react-native-toast-message/lib/src/Toast';
 import { AppState } from 'react-native';
 import {
@@ -16,9 +16,9 @@ import {
     ChapterReading,
     DailyReading,
     DETAILED_BIBLE_PLAN_TYPES,
-    estimateCompletionDate,
-    getDailyReading
+    estimateCompletionDate
 } from "./biblePlanCalculator";
+import { loadDailyReading } from "../native/ReadingPlanNative";
 import { bibleSetting, defineSQL, fetchSql } from "./index";
 import { defaultStorage } from "./mmkv";
 import { BibleStep } from "./define";
@@ -80,22 +80,29 @@ export const useBibleReading = (readState?: any) => {
     //전역 새로고침 콜백 상태 추가
     const [globalRefreshCallback, setGlobalRefreshCallback] = useState<(() => void) | null>(null);
 
-    //todayReading을 useMemo로 메모이제이션
-    const todayReading = useMemo(() => {
+    //todayReading은 planData/refreshKey 가 바뀔 때만 계산 (안드로이드는 네이티브 일독 엔진)
+    const [todayReading, setTodayReading] = useState<DailyReading | null>(null);
+    useEffect(() => {
         if (!planData) {
             console.log('planData 없음 - todayReading null');
-            return null;
+            setTodayReading(null);
+            return;
         }
 
-        try {
-            const today = new Date();
-            const todayData = getDailyReading(planData.planType, new Date(planData.startDate), today);
-            console.log(`오늘 읽을 내용: ${todayData?.chapters.length || 0}장`);
-            return todayData;
-        } catch (error) {
-            console.error('todayReading 계산 오류:', error);
-            return null;
-        }
+        let cancelled = false;
+        loadDailyReading(planData.planType, new Date(planData.startDate), new Date())
+            .then(todayData => {
+                if (cancelled) return;
+                console.log(`오늘 읽을 내용: ${todayData?.chapters.length || 0}장`);
+                setTodayReading(todayData);
+            })
+            .catch(error => {
+                console.error('todayReading 계산 오류:', error);
+                if (!cancelled) setTodayReading(null);
+            });
+        return () => {
+            cancelled = true;
+        };
     }, [planData, refreshKey]); // refreshKey 변경 시에만 재계산
 
     useEffect(() => {
@@ -177,14 +184,11 @@ export const useBibleReading = (readState?: any) => {
     const updateYesterdayReading = useCallback(() => {
         if (!planData) return;
 
-        try {
-            const yesterday = new Date();
-            yesterday.setDate(yesterday.getDate() - 1);
-            const yesterdayData = getDailyReading(planData.planType, new Date(planData.startDate), yesterday);
-            setYesterdayReading(yesterdayData);
-        } catch (error) {
-            console.error('어제 읽을 내용 업데이트 오류:', error);
-        }
+        const yesterday = new Date();
+        yesterday.setDate(yesterday.getDate() - 1);
+        loadDailyReading(planData.planType, new Date(planData.startDate), yesterday)
+            .then(setYesterdayReading)
+            .catch(error => console.error('어제 읽을 내용 업데이트 오류:', error));
     }, [planData]);
 
     //진행률 정보 업데이트